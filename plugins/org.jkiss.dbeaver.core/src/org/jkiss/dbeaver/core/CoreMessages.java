@@ -242,6 +242,14 @@ public class CoreMessages extends NLS {
 
 	public static String controls_querylog_action_select_all;
 
+	public static String controls_querylog_action_show_older;
+
+	public static String controls_querylog_action_search_history;
+
+	public static String controls_querylog_action_show_current;
+
+	public static String controls_querylog_search_history_text;
+
 	public static String controls_querylog_column_duration_name;
 
 	public static String controls_querylog_column_duration_tooltip;
@@ -618,6 +626,10 @@ public class CoreMessages extends NLS {
 
 	public static String data_transfer_wizard_output_checkbox_open_folder;
 
+	public static String data_transfer_wizard_output_checkbox_pipelined;
+
+	public static String data_transfer_wizard_output_checkbox_pipelined_tooltip;
+
 	public static String data_transfer_wizard_output_checkbox_select_row_count;
 
 	public static String data_transfer_wizard_output_combo_extract_type_item_by_segments;
@@ -1188,6 +1200,20 @@ public class CoreMessages extends NLS {
 
 	public static String pref_page_database_general_group_metadata;
 
+	public static String pref_page_database_general_group_connection_pool;
+
+	public static String pref_page_database_general_checkbox_pool_isolated;
+
+	public static String pref_page_database_general_label_pool_max_idle;
+
+	public static String pref_page_database_general_label_pool_idle_timeout;
+
+	public static String pref_page_database_general_checkbox_preload_folders;
+
+	public static String pref_page_database_general_label_preload_threads;
+
+	public static String pref_page_database_general_checkbox_disk_cache;
+
 	public static String pref_page_database_general_group_ordering;
 
 	public static String pref_page_database_general_group_queries;
@@ -1206,6 +1232,7 @@ public class CoreMessages extends NLS {
     public static String pref_page_database_resultsets_label_auto_fetch_segment;
     public static String pref_page_database_resultsets_label_use_sql;
     public static String pref_page_database_resultsets_label_server_side_order;
+    public static String pref_page_database_resultsets_label_spill_rows;
 
     public static String pref_page_query_manager_checkbox_ddl_executions;
 
@@ -1234,6 +1261,7 @@ public class CoreMessages extends NLS {
     public static String pref_page_query_manager_group_settings;
 	public static String pref_page_query_manager_group_storage;
     public static String pref_page_query_manager_checkbox_store_log_file;
+    public static String pref_page_query_manager_checkbox_store_history;
     public static String pref_page_query_manager_logs_folder;
 
 	public static String pref_page_query_manager_label_days_to_store_log;
@@ -1275,6 +1303,7 @@ public class CoreMessages extends NLS {
 	public static String pref_page_sql_editor_group_delimiters;
 
 	public static String pref_page_sql_editor_label_commit_after_line;
+	public static String pref_page_sql_editor_label_batch_size;
 
 	public static String pref_page_sql_editor_label_commit_type;
 
@@ -35,6 +35,7 @@ import org.jkiss.dbeaver.model.data.DBDRegistry;
 import org.jkiss.dbeaver.model.edit.DBERegistry;
 import org.jkiss.dbeaver.model.navigator.DBNModel;
 import org.jkiss.dbeaver.model.qm.QMController;
+import org.jkiss.dbeaver.model.qm.QMConstants;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
@@ -45,9 +46,12 @@ import org.jkiss.dbeaver.registry.PluginServiceRegistry;
 import org.jkiss.dbeaver.registry.ProjectRegistry;
 import org.jkiss.dbeaver.registry.editor.EntityEditorsRegistry;
 import org.jkiss.dbeaver.runtime.IPluginService;
+import org.jkiss.dbeaver.runtime.meta.MetadataNameIndex;
+import org.jkiss.dbeaver.runtime.meta.MetadataSnapshotStore;
 import org.jkiss.dbeaver.runtime.net.GlobalProxyAuthenticator;
 import org.jkiss.dbeaver.runtime.net.GlobalProxySelector;
 import org.jkiss.dbeaver.runtime.qm.QMControllerImpl;
+import org.jkiss.dbeaver.runtime.qm.QMHistoryStore;
 import org.jkiss.dbeaver.runtime.qm.QMLogFileWriter;
 import org.jkiss.utils.CommonUtils;
 import org.osgi.framework.Bundle;
@@ -84,6 +88,9 @@ public class DBeaverCore implements DBPApplication {
     private DBNModel navigatorModel;
     private QMControllerImpl queryManager;
     private QMLogFileWriter qmLogWriter;
+    private QMHistoryStore qmHistoryStore;
+    private MetadataSnapshotStore metadataSnapshots;
+    private MetadataNameIndex metadataNameIndex;
     private ProjectRegistry projectRegistry;
 
     private final List<IPluginService> activatedServices = new ArrayList<>();
@@ -214,6 +221,13 @@ public class DBeaverCore implements DBPApplication {
         this.qmLogWriter = new QMLogFileWriter();
         this.queryManager.registerMetaListener(qmLogWriter);
 
+        if (getGlobalPreferenceStore().getBoolean(QMConstants.PROP_STORE_HISTORY)) {
+            this.qmHistoryStore = new QMHistoryStore(new File(DBeaverActivator.getInstance().getStateLocation().toFile(), "qm-history"));
+            this.queryManager.registerMetaListener(qmHistoryStore);
+        }
+
+        this.metadataSnapshots = new MetadataSnapshotStore(new File(DBeaverActivator.getInstance().getStateLocation().toFile(), "metadata-cache"));
+
         // Init default network settings
         Authenticator.setDefault(new GlobalProxyAuthenticator());
         ProxySelector.setDefault(new GlobalProxySelector(ProxySelector.getDefault()));
@@ -227,6 +241,9 @@ public class DBeaverCore implements DBPApplication {
         // Navigator model
         this.navigatorModel = new DBNModel(this);
         this.navigatorModel.initialize();
+        this.navigatorModel.addListener(metadataSnapshots);
+        this.metadataNameIndex = new MetadataNameIndex(navigatorModel);
+        this.navigatorModel.addListener(metadataNameIndex);
 
         // Activate plugin services
         for (IPluginService pluginService : PluginServiceRegistry.getInstance().getServices()) {
@@ -270,6 +287,10 @@ public class DBeaverCore implements DBPApplication {
         // Dispose navigator model first
         // It is a part of UI
         if (this.navigatorModel != null) {
+            // Save metadata snapshots while navigator nodes are still alive
+            this.metadataSnapshots.captureAll(navigatorModel);
+            this.navigatorModel.removeListener(metadataSnapshots);
+            this.navigatorModel.removeListener(metadataNameIndex);
             this.navigatorModel.dispose();
             //this.navigatorModel = null;
         }
@@ -286,6 +307,19 @@ public class DBeaverCore implements DBPApplication {
             this.qmLogWriter.dispose();
             this.qmLogWriter = null;
         }
+        if (this.qmHistoryStore != null) {
+            this.queryManager.unregisterMetaListener(qmHistoryStore);
+            this.qmHistoryStore.dispose();
+            this.qmHistoryStore = null;
+        }
+        if (this.metadataSnapshots != null) {
+            this.metadataSnapshots.dispose();
+            this.metadataSnapshots = null;
+        }
+        if (this.metadataNameIndex != null) {
+            this.metadataNameIndex.dispose();
+            this.metadataNameIndex = null;
+        }
         if (this.queryManager != null) {
             this.queryManager.dispose();
             //queryManager = null;
@@ -358,6 +392,21 @@ public class DBeaverCore implements DBPApplication {
         return queryManager;
     }
 
+    public QMHistoryStore getQueryHistory()
+    {
+        return qmHistoryStore;
+    }
+
+    public MetadataSnapshotStore getMetadataSnapshots()
+    {
+        return metadataSnapshots;
+    }
+
+    public MetadataNameIndex getMetadataNameIndex()
+    {
+        return metadataNameIndex;
+    }
+
     @NotNull
     @Override
     public DBDRegistry getValueHandlerRegistry() {
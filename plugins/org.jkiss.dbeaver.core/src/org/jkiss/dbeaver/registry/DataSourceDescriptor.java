@@ -49,6 +49,8 @@ import org.jkiss.dbeaver.registry.driver.DriverDescriptor;
 import org.jkiss.dbeaver.registry.formatter.DataFormatterProfile;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.dbeaver.runtime.TasksJob;
+import org.jkiss.dbeaver.runtime.meta.MetadataNameIndex;
+import org.jkiss.dbeaver.runtime.meta.MetadataSnapshotStore;
 import org.jkiss.dbeaver.runtime.properties.PropertyCollector;
 import org.jkiss.dbeaver.ui.actions.datasource.DataSourceHandler;
 import org.jkiss.utils.CommonUtils;
@@ -608,6 +610,17 @@ public class DataSourceDescriptor
             connectFailed = false;
             connectTime = new Date();
 
+            if (initialize) {
+                MetadataSnapshotStore metadataSnapshots = DBeaverCore.getInstance().getMetadataSnapshots();
+                if (metadataSnapshots != null) {
+                    metadataSnapshots.revalidate(this);
+                }
+                MetadataNameIndex metadataNameIndex = DBeaverCore.getInstance().getMetadataNameIndex();
+                if (metadataNameIndex != null) {
+                    metadataNameIndex.scheduleBuild(this);
+                }
+            }
+
             if (reflect) {
                 getRegistry().notifyDataSourceListeners(new DBPEvent(
                     DBPEvent.Action.OBJECT_UPDATE,
@@ -727,6 +740,18 @@ public class DataSourceDescriptor
 
             monitor.beginTask("Disconnect from '" + getName() + "'", 4);
 
+            {
+                // Save metadata read in this session
+                MetadataSnapshotStore metadataSnapshots = DBeaverCore.getInstance().getMetadataSnapshots();
+                if (metadataSnapshots != null) {
+                    metadataSnapshots.captureSnapshot(this, DBeaverCore.getInstance().getNavigatorModel());
+                }
+                MetadataNameIndex metadataNameIndex = DBeaverCore.getInstance().getMetadataNameIndex();
+                if (metadataNameIndex != null) {
+                    metadataNameIndex.removeIndex(this);
+                }
+            }
+
             // Close datasource
             monitor.subTask("Close connection");
             if (dataSource != null) {
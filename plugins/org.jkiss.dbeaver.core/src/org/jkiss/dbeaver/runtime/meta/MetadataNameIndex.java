@@ -0,0 +1,467 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.runtime.meta;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.impl.struct.RelationalObjectType;
+import org.jkiss.dbeaver.model.navigator.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of table and view names for SQL completion.
+ * Index of each connected data source is built in background from metadata already read into navigator caches
+ * (it never queries the server) and rebuilt after navigator changes (refresh, create, drop).
+ * Lookups are binary searches in a sorted array. Index also remembers containers which were completely read
+ * (see {@link #isIndexed}). For other containers index results are incomplete and the caller has to merge them
+ * with {@link DBSStructureAssistant} (server lookup) results. Tables of such container are loaded into navigator
+ * in background once, so next lookups in the same scope are answered from memory.
+ * Index is rebuilt only if navigator nodes were loaded or changed since the last build.
+ */
+public class MetadataNameIndex implements INavigatorListener {
+
+    static final Log log = Log.getLog(MetadataNameIndex.class);
+
+    private static final long BUILD_DELAY = 500;
+
+    private final DBNModel navigatorModel;
+    private final Map<String, IndexBuildJob> buildJobs = new HashMap<>();
+    private final Map<String, NameIndex> indexes = new HashMap<>();
+    // Scopes whose tables were requested to load (per data source). Compared by identity.
+    private final Map<String, Set<DBSObject>> loadedScopes = new HashMap<>();
+    // Incremented on navigator changes (see also DBNModel#getChildrenLoadCount)
+    private final AtomicLong changeCount = new AtomicLong();
+
+    public MetadataNameIndex(@NotNull DBNModel navigatorModel)
+    {
+        this.navigatorModel = navigatorModel;
+    }
+
+    public synchronized void dispose()
+    {
+        for (IndexBuildJob job : buildJobs.values()) {
+            job.cancel();
+        }
+        buildJobs.clear();
+        indexes.clear();
+        loadedScopes.clear();
+    }
+
+    /**
+     * Index stamp. Changes when navigator nodes are loaded, refreshed, added or removed.
+     */
+    private long getChangeStamp()
+    {
+        return navigatorModel.getChildrenLoadCount() + changeCount.get();
+    }
+
+    /**
+     * Checks whether object types found by completion are all indexed (index contains only tables and views).
+     */
+    public static boolean isIndexedTypes(@NotNull DBSObjectType[] objectTypes)
+    {
+        for (DBSObjectType type : objectTypes) {
+            Class<? extends DBSObject> typeClass = type.getTypeClass();
+            if (typeClass == null || !DBSEntity.class.isAssignableFrom(typeClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Schedules (re)build of data source index. Called after connect and after metadata changes.
+     */
+    public synchronized void scheduleBuild(@NotNull DBPDataSourceContainer container)
+    {
+        IndexBuildJob job = buildJobs.get(container.getId());
+        if (job == null) {
+            job = new IndexBuildJob(container);
+            buildJobs.put(container.getId(), job);
+        }
+        job.schedule(BUILD_DELAY);
+    }
+
+    /**
+     * Removes data source index. Called on disconnect.
+     */
+    public synchronized void removeIndex(@NotNull DBPDataSourceContainer container)
+    {
+        IndexBuildJob job = buildJobs.remove(container.getId());
+        if (job != null) {
+            job.cancel();
+        }
+        indexes.remove(container.getId());
+        loadedScopes.remove(container.getId());
+    }
+
+    /**
+     * Finds tables and views by name.
+     * @param scope container where objects are searched (including nested containers). If null then all data source objects are searched.
+     * @param name name or name prefix
+     * @param prefix if true then objects which names start with name are returned
+     * @param caseSensitive compare names case-sensitive
+     * @return references (empty list if nothing found in index or data source isn't indexed).
+     *      Result is complete only if {@link #isIndexed} returns true for the same scope.
+     */
+    @NotNull
+    public List<DBSObjectReference> findObjects(
+        @NotNull DBPDataSource dataSource,
+        @Nullable DBSObjectContainer scope,
+        @NotNull String name,
+        boolean prefix,
+        boolean caseSensitive,
+        int maxResults)
+    {
+        NameIndex nameIndex;
+        synchronized (this) {
+            nameIndex = indexes.get(dataSource.getContainer().getId());
+        }
+        if (nameIndex == null) {
+            return Collections.emptyList();
+        }
+        NameEntry[] index = nameIndex.entries;
+        String upperName = name.toUpperCase(Locale.ENGLISH);
+        List<DBSObjectReference> result = new ArrayList<>();
+        for (int i = findFirst(index, upperName); i < index.length && result.size() < maxResults; i++) {
+            NameEntry entry = index[i];
+            if (prefix ? !entry.upperName.startsWith(upperName) : !entry.upperName.equals(upperName)) {
+                break;
+            }
+            if (caseSensitive && (prefix ? !entry.name.startsWith(name) : !entry.name.equals(name))) {
+                continue;
+            }
+            if (scope != null && !isInScope(entry.container, scope)) {
+                continue;
+            }
+            result.add(new MetadataSnapshotStore.SnapshotObjectReference(entry.name, entry.container, entry.type));
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether all tables and views of the scope were read into index.
+     * If not then scope tables are loaded into navigator in background (once) and index is rebuilt
+     * if navigator was changed since the last build.
+     * @param scope container (including nested containers). If null or data source then entire data source is checked.
+     * @return true if {@link #findObjects} results for this scope are complete
+     */
+    public boolean isIndexed(@NotNull DBPDataSource dataSource, @Nullable DBSObjectContainer scope)
+    {
+        NameIndex nameIndex;
+        synchronized (this) {
+            nameIndex = indexes.get(dataSource.getContainer().getId());
+        }
+        if (nameIndex != null) {
+            if (scope == null || scope == dataSource) {
+                if (nameIndex.complete) {
+                    return true;
+                }
+            } else {
+                for (DBSObject object = scope; object != null; object = object.getParentObject()) {
+                    if (nameIndex.completeContainers.contains(object)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        DBPDataSourceContainer container = dataSource.getContainer();
+        boolean loadScope = false;
+        synchronized (this) {
+            if (!buildJobs.containsKey(container.getId())) {
+                // Not connected
+                return false;
+            }
+            if (scope != null && scope != dataSource) {
+                Set<DBSObject> scopes = loadedScopes.get(container.getId());
+                if (scopes == null) {
+                    scopes = Collections.newSetFromMap(new IdentityHashMap<DBSObject, Boolean>());
+                    loadedScopes.put(container.getId(), scopes);
+                }
+                loadScope = scopes.add(scope);
+            }
+        }
+        if (loadScope) {
+            new ScopeLoadJob(container, scope).schedule();
+        } else if (nameIndex == null || nameIndex.stamp != getChangeStamp()) {
+            scheduleBuild(container);
+        }
+        return false;
+    }
+
+    @Override
+    public void nodeChanged(DBNEvent event)
+    {
+        if (!(event.getNode() instanceof DBNDatabaseNode)) {
+            return;
+        }
+        DBSObject object = ((DBNDatabaseNode) event.getNode()).getObject();
+        if (object == null || object.getDataSource() == null) {
+            return;
+        }
+        if ((object instanceof DBSEntity && event.getAction() != DBNEvent.Action.UPDATE) ||
+            (object instanceof DBSObjectContainer && event.getNodeChange() == DBNEvent.NodeChange.REFRESH))
+        {
+            DBPDataSourceContainer container = object.getDataSource().getContainer();
+            synchronized (this) {
+                if (!buildJobs.containsKey(container.getId())) {
+                    // Not connected
+                    return;
+                }
+                if (event.getNodeChange() == DBNEvent.NodeChange.REFRESH) {
+                    // Refreshed nodes lose their children - allow to load them again
+                    loadedScopes.remove(container.getId());
+                }
+            }
+            changeCount.incrementAndGet();
+            scheduleBuild(container);
+        }
+    }
+
+    private static int findFirst(NameEntry[] index, String upperName)
+    {
+        int low = 0, high = index.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (index[mid].upperName.compareTo(upperName) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isInScope(DBSObject container, DBSObjectContainer scope)
+    {
+        for (DBSObject object = container; object != null; object = object.getParentObject()) {
+            if (object == scope) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects entities of already loaded nodes.
+     * @return true if node children were read completely (nothing is filtered or not loaded yet)
+     */
+    private boolean collectEntries(DBNDatabaseNode node, List<NameEntry> entries, Set<DBSObject> completeContainers, DBRProgressMonitor monitor)
+        throws DBException
+    {
+        if (monitor.isCanceled()) {
+            return false;
+        }
+        if (node.needsInitialization()) {
+            return !mayContainEntities(node);
+        }
+        List<DBNDatabaseNode> children = node.getChildren(VoidProgressMonitor.INSTANCE);
+        if (children == null) {
+            return !node.allowsChildren();
+        }
+        boolean complete = !node.isFiltered();
+        for (DBNDatabaseNode child : children) {
+            DBSObject object = child.getObject();
+            if (object instanceof DBSEntity) {
+                DBSObject parent = object.getParentObject();
+                if (parent instanceof DBSObjectContainer) {
+                    entries.add(new NameEntry(
+                        object.getName(),
+                        (DBSObjectContainer) parent,
+                        object instanceof DBSTable && ((DBSTable) object).isView() ? RelationalObjectType.TYPE_VIEW : RelationalObjectType.TYPE_TABLE));
+                }
+                // Entity children are attributes, keys, etc
+                continue;
+            }
+            if (child.allowsChildren() && !collectEntries(child, entries, completeContainers, monitor)) {
+                complete = false;
+            }
+        }
+        if (complete && node.getObject() instanceof DBSObjectContainer) {
+            completeContainers.add(node.getObject());
+        }
+        return complete;
+    }
+
+    private static boolean mayContainEntities(DBNDatabaseNode node)
+    {
+        if (node instanceof DBNDatabaseFolder) {
+            Class<? extends DBSObject> childrenClass = ((DBNDatabaseFolder) node).getChildrenClass();
+            return childrenClass == null ||
+                DBSEntity.class.isAssignableFrom(childrenClass) ||
+                DBSObjectContainer.class.isAssignableFrom(childrenClass);
+        }
+        return true;
+    }
+
+    /**
+     * Loads folders which may contain tables (including nested folders) of the specified node
+     */
+    private static void loadEntities(DBNDatabaseNode node, DBRProgressMonitor monitor) throws DBException
+    {
+        List<DBNDatabaseNode> children = node.getChildren(monitor);
+        if (children == null) {
+            return;
+        }
+        for (DBNDatabaseNode child : children) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            if (child instanceof DBNDatabaseFolder && mayContainEntities(child)) {
+                loadEntities(child, monitor);
+            }
+        }
+    }
+
+    private static class NameIndex {
+        final NameEntry[] entries;
+        // Containers whose entities (including nested containers) are all in index. Compared by identity.
+        final Set<DBSObject> completeContainers;
+        // All data source entities are in index
+        final boolean complete;
+        // Change stamp at build start
+        final long stamp;
+
+        NameIndex(NameEntry[] entries, Set<DBSObject> completeContainers, boolean complete, long stamp)
+        {
+            this.entries = entries;
+            this.completeContainers = completeContainers;
+            this.complete = complete;
+            this.stamp = stamp;
+        }
+    }
+
+    private static class NameEntry implements Comparable<NameEntry> {
+        final String name;
+        final String upperName;
+        final DBSObjectContainer container;
+        final DBSObjectType type;
+
+        NameEntry(String name, DBSObjectContainer container, DBSObjectType type)
+        {
+            this.name = name;
+            this.upperName = name.toUpperCase(Locale.ENGLISH);
+            this.container = container;
+            this.type = type;
+        }
+
+        @Override
+        public int compareTo(@NotNull NameEntry o)
+        {
+            return upperName.compareTo(o.upperName);
+        }
+    }
+
+    private class IndexBuildJob extends AbstractJob {
+        private final DBPDataSourceContainer container;
+
+        IndexBuildJob(DBPDataSourceContainer container)
+        {
+            super("Build completion index of " + container.getName());
+            this.container = container;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            if (!container.isConnected()) {
+                return Status.OK_STATUS;
+            }
+            DBNDatabaseNode dsNode = navigatorModel.getNodeByObject(container);
+            if (dsNode == null) {
+                return Status.OK_STATUS;
+            }
+            long stamp = getChangeStamp();
+            List<NameEntry> entries = new ArrayList<>();
+            Set<DBSObject> completeContainers = Collections.newSetFromMap(new IdentityHashMap<DBSObject, Boolean>());
+            boolean complete;
+            try {
+                complete = collectEntries(dsNode, entries, completeContainers, monitor);
+            } catch (Throwable e) {
+                // Navigator may change while we read it - next change will rebuild index
+                log.debug("Can't build completion index of '" + container.getName() + "'", e);
+                return Status.OK_STATUS;
+            }
+            if (monitor.isCanceled()) {
+                return Status.OK_STATUS;
+            }
+            NameEntry[] index = entries.toArray(new NameEntry[entries.size()]);
+            Arrays.sort(index);
+            synchronized (MetadataNameIndex.this) {
+                if (buildJobs.get(container.getId()) == this) {
+                    indexes.put(container.getId(), new NameIndex(index, completeContainers, complete, stamp));
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    /**
+     * Loads tables of completion scope into navigator (folder loads run through navigator preloader),
+     * then rebuilds index.
+     */
+    private class ScopeLoadJob extends AbstractJob {
+        private final DBPDataSourceContainer container;
+        private final DBSObject scope;
+
+        ScopeLoadJob(DBPDataSourceContainer container, DBSObject scope)
+        {
+            super("Load tables of " + scope.getName());
+            this.container = container;
+            this.scope = scope;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            if (!container.isConnected()) {
+                return Status.OK_STATUS;
+            }
+            try {
+                DBNDatabaseNode scopeNode = navigatorModel.getNodeByObject(monitor, scope, false);
+                if (scopeNode != null) {
+                    loadEntities(scopeNode, monitor);
+                }
+            } catch (Throwable e) {
+                // Tables will be read on demand
+                log.debug("Can't load tables of '" + scope.getName() + "'", e);
+            }
+            if (!monitor.isCanceled()) {
+                scheduleBuild(container);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -0,0 +1,490 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.runtime.meta;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.impl.struct.AbstractObjectReference;
+import org.jkiss.dbeaver.model.impl.struct.RelationalObjectType;
+import org.jkiss.dbeaver.model.navigator.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persistent metadata snapshots.
+ * Names of tables and views read during connection session are saved on disconnect (one file per data source).
+ * After next connect snapshot is revalidated in background with cheap structure version markers
+ * (see {@link DBSStructureVersionProvider}) and valid containers are served to SQL completion
+ * instead of reading their objects from server.
+ * Container is saved with version read at connect time, so any change made after that invalidates it next time.
+ */
+public class MetadataSnapshotStore implements INavigatorListener {
+
+    static final Log log = Log.getLog(MetadataSnapshotStore.class);
+
+    private static final int FILE_MAGIC = 0x44424D53;
+    private static final short FILE_VERSION = 1;
+    private static final String FILE_EXT = ".bin"; //$NON-NLS-1$
+
+    private static final byte KIND_TABLE = 0;
+    private static final byte KIND_VIEW = 1;
+
+    private final File folder;
+    private final Map<String, DataSourceSnapshot> snapshots = new HashMap<>();
+
+    public MetadataSnapshotStore(@NotNull File folder)
+    {
+        this.folder = folder;
+    }
+
+    public synchronized void dispose()
+    {
+        snapshots.clear();
+    }
+
+    public static boolean isEnabled(@NotNull DBPDataSourceContainer container)
+    {
+        return container.getPreferenceStore().getBoolean(ModelPreferences.META_DISK_CACHE);
+    }
+
+    /**
+     * Schedules revalidation of data source snapshot. Called after connect.
+     */
+    public void revalidate(@NotNull DBPDataSourceContainer container)
+    {
+        if (!isEnabled(container)) {
+            return;
+        }
+        DBPDataSource dataSource = container.getDataSource();
+        if (DBUtils.getAdapter(DBSStructureVersionProvider.class, dataSource) == null) {
+            // Snapshot can't be validated
+            return;
+        }
+        new RevalidateJob(container).schedule();
+    }
+
+    /**
+     * Saves metadata read in current session. Called before disconnect.
+     */
+    public void captureSnapshot(@NotNull DBPDataSourceContainer container, @NotNull DBNModel navigatorModel)
+    {
+        DataSourceSnapshot snapshot;
+        synchronized (this) {
+            snapshot = snapshots.get(container.getId());
+        }
+        if (snapshot == null) {
+            return;
+        }
+        synchronized (snapshot) {
+            if (snapshot.currentVersions == null) {
+                // Not revalidated in this session
+                return;
+            }
+            DBNDatabaseNode dsNode = navigatorModel.getNodeByObject(container);
+            if (dsNode != null) {
+                Set<DBSObjectContainer> loadedContainers = new LinkedHashSet<>();
+                try {
+                    collectLoadedContainers(dsNode, loadedContainers);
+                } catch (DBException e) {
+                    log.debug("Can't collect loaded metadata", e);
+                }
+                for (DBSObjectContainer objectContainer : loadedContainers) {
+                    String path = getContainerPath(objectContainer);
+                    String version = snapshot.currentVersions.get(path);
+                    if (version == null) {
+                        continue;
+                    }
+                    try {
+                        snapshot.containers.put(path, makeContainerSnapshot(path, version, objectContainer));
+                    } catch (DBException e) {
+                        log.debug("Can't read cached objects of '" + path + "'", e);
+                    }
+                }
+            }
+            snapshot.currentVersions = null;
+            for (ContainerSnapshot cs : snapshot.containers.values()) {
+                cs.valid = false;
+            }
+            try {
+                saveSnapshot(snapshot);
+            } catch (IOException e) {
+                log.warn("Can't save metadata snapshot of '" + container.getName() + "'", e);
+            }
+        }
+    }
+
+    /**
+     * Saves snapshots of all connected data sources. Called at shutdown before navigator model is disposed.
+     */
+    public void captureAll(@NotNull DBNModel navigatorModel)
+    {
+        List<DataSourceSnapshot> snapshotList;
+        synchronized (this) {
+            snapshotList = new ArrayList<>(snapshots.values());
+        }
+        for (DataSourceSnapshot snapshot : snapshotList) {
+            if (snapshot.container.isConnected()) {
+                captureSnapshot(snapshot.container, navigatorModel);
+            }
+        }
+    }
+
+    /**
+     * Finds tables and views of specified container which names start with specified prefix.
+     * @return references or null if container has no valid snapshot
+     */
+    @Nullable
+    public List<DBSObjectReference> findObjects(@NotNull DBSObjectContainer container, @Nullable String namePrefix)
+    {
+        DBPDataSource dataSource = container.getDataSource();
+        if (dataSource == null) {
+            return null;
+        }
+        DataSourceSnapshot snapshot;
+        synchronized (this) {
+            snapshot = snapshots.get(dataSource.getContainer().getId());
+        }
+        if (snapshot == null) {
+            return null;
+        }
+        ContainerSnapshot cs;
+        synchronized (snapshot) {
+            cs = snapshot.containers.get(getContainerPath(container));
+        }
+        if (cs == null || !cs.valid) {
+            return null;
+        }
+        List<DBSObjectReference> result = new ArrayList<>();
+        String prefix = namePrefix == null ? "" : namePrefix.toUpperCase(Locale.ENGLISH);
+        int pos = Arrays.binarySearch(cs.upperNames, prefix);
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+        for (int i = pos; i < cs.upperNames.length && cs.upperNames[i].startsWith(prefix); i++) {
+            result.add(new SnapshotObjectReference(
+                cs.names[i],
+                container,
+                cs.kinds[i] == KIND_VIEW ? RelationalObjectType.TYPE_VIEW : RelationalObjectType.TYPE_TABLE));
+        }
+        return result;
+    }
+
+    @Override
+    public void nodeChanged(DBNEvent event)
+    {
+        // Objects created, dropped or refreshed in this session - snapshot of their container is not valid anymore
+        if (!(event.getNode() instanceof DBNDatabaseNode)) {
+            return;
+        }
+        DBSObject object = ((DBNDatabaseNode) event.getNode()).getObject();
+        if (object == null || object.getDataSource() == null) {
+            return;
+        }
+        DBSObject container;
+        if (object instanceof DBSEntity && event.getAction() != DBNEvent.Action.UPDATE) {
+            container = object.getParentObject();
+        } else if (object instanceof DBSObjectContainer && event.getNodeChange() == DBNEvent.NodeChange.REFRESH) {
+            container = object;
+        } else {
+            return;
+        }
+        if (container == null) {
+            return;
+        }
+        DataSourceSnapshot snapshot;
+        synchronized (this) {
+            snapshot = snapshots.get(object.getDataSource().getContainer().getId());
+        }
+        if (snapshot != null) {
+            synchronized (snapshot) {
+                ContainerSnapshot cs = snapshot.containers.get(getContainerPath(container));
+                if (cs != null) {
+                    cs.valid = false;
+                }
+            }
+        }
+    }
+
+    private synchronized DataSourceSnapshot getSnapshot(DBPDataSourceContainer container)
+    {
+        DataSourceSnapshot snapshot = snapshots.get(container.getId());
+        if (snapshot == null) {
+            snapshot = new DataSourceSnapshot(container);
+            try {
+                loadSnapshot(snapshot);
+            } catch (IOException e) {
+                log.warn("Can't load metadata snapshot of '" + container.getName() + "'", e);
+                snapshot.containers.clear();
+            }
+            snapshots.put(container.getId(), snapshot);
+        }
+        return snapshot;
+    }
+
+    private void collectLoadedContainers(DBNDatabaseNode node, Set<DBSObjectContainer> containers)
+        throws DBException
+    {
+        if (node.needsInitialization()) {
+            return;
+        }
+        List<DBNDatabaseNode> children = node.getChildren(VoidProgressMonitor.INSTANCE);
+        if (children == null) {
+            return;
+        }
+        for (DBNDatabaseNode child : children) {
+            DBSObject object = child.getObject();
+            if (object instanceof DBSEntity) {
+                // Entities of loaded folder share the same parent
+                if (object.getParentObject() instanceof DBSObjectContainer) {
+                    containers.add((DBSObjectContainer) object.getParentObject());
+                }
+                break;
+            }
+            if (child.allowsChildren()) {
+                collectLoadedContainers(child, containers);
+            }
+        }
+    }
+
+    private static ContainerSnapshot makeContainerSnapshot(String path, String version, DBSObjectContainer container)
+        throws DBException
+    {
+        // Children cache is already loaded (entities folder was read) so this doesn't hit the server
+        Collection<? extends DBSObject> children = container.getChildren(VoidProgressMonitor.INSTANCE);
+        List<String> names = new ArrayList<>();
+        List<Byte> kinds = new ArrayList<>();
+        if (children != null) {
+            for (DBSObject child : children) {
+                if (child instanceof DBSEntity) {
+                    names.add(child.getName());
+                    kinds.add(child instanceof DBSTable && ((DBSTable) child).isView() ? KIND_VIEW : KIND_TABLE);
+                }
+            }
+        }
+        byte[] kindArray = new byte[kinds.size()];
+        for (int i = 0; i < kindArray.length; i++) {
+            kindArray[i] = kinds.get(i);
+        }
+        return new ContainerSnapshot(path, version, names.toArray(new String[names.size()]), kindArray);
+    }
+
+    /**
+     * Container path - names of parent containers from data source root separated by '/'
+     */
+    private static String getContainerPath(DBSObject container)
+    {
+        StringBuilder path = new StringBuilder();
+        for (DBSObject object = container; object != null && !(object instanceof DBPDataSource); object = object.getParentObject()) {
+            if (path.length() > 0) {
+                path.insert(0, '/');
+            }
+            path.insert(0, object.getName());
+        }
+        return path.toString();
+    }
+
+    private File getSnapshotFile(DBPDataSourceContainer container)
+    {
+        return new File(folder, container.getId().replaceAll("[^\\w\\-.]", "_") + FILE_EXT);
+    }
+
+    private void loadSnapshot(DataSourceSnapshot snapshot)
+        throws IOException
+    {
+        File file = getSnapshotFile(snapshot.container);
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != FILE_MAGIC || in.readShort() != FILE_VERSION) {
+                log.debug("Unsupported metadata snapshot format '" + file.getAbsolutePath() + "'");
+                return;
+            }
+            int containerCount = in.readInt();
+            for (int i = 0; i < containerCount; i++) {
+                String path = in.readUTF();
+                String version = in.readUTF();
+                int objectCount = in.readInt();
+                String[] names = new String[objectCount];
+                byte[] kinds = new byte[objectCount];
+                for (int k = 0; k < objectCount; k++) {
+                    names[k] = in.readUTF();
+                    kinds[k] = in.readByte();
+                }
+                snapshot.containers.put(path, new ContainerSnapshot(path, version, names, kinds));
+            }
+        }
+    }
+
+    private void saveSnapshot(DataSourceSnapshot snapshot)
+        throws IOException
+    {
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Can't create metadata snapshot folder '" + folder.getAbsolutePath() + "'");
+        }
+        File file = getSnapshotFile(snapshot.container);
+        File tmpFile = new File(folder, file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmpFile))))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeShort(FILE_VERSION);
+            out.writeInt(snapshot.containers.size());
+            for (ContainerSnapshot cs : snapshot.containers.values()) {
+                out.writeUTF(cs.path);
+                out.writeUTF(cs.version);
+                out.writeInt(cs.names.length);
+                for (int i = 0; i < cs.names.length; i++) {
+                    out.writeUTF(cs.names[i]);
+                    out.writeByte(cs.kinds[i]);
+                }
+            }
+        }
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Can't delete old metadata snapshot '" + file.getAbsolutePath() + "'");
+        }
+        if (!tmpFile.renameTo(file)) {
+            throw new IOException("Can't rename metadata snapshot '" + tmpFile.getAbsolutePath() + "'");
+        }
+    }
+
+    private static class DataSourceSnapshot {
+        final DBPDataSourceContainer container;
+        final Map<String, ContainerSnapshot> containers = new LinkedHashMap<>();
+        // Versions read at connect time. Null if not connected or not revalidated yet
+        Map<String, String> currentVersions;
+
+        DataSourceSnapshot(DBPDataSourceContainer container)
+        {
+            this.container = container;
+        }
+    }
+
+    private static class ContainerSnapshot {
+        final String path;
+        final String version;
+        // Sorted by upper case name
+        final String[] names;
+        final String[] upperNames;
+        final byte[] kinds;
+        volatile boolean valid;
+
+        ContainerSnapshot(String path, String version, String[] names, byte[] kinds)
+        {
+            this.path = path;
+            this.version = version;
+            Integer[] order = new Integer[names.length];
+            final String[] upper = new String[names.length];
+            for (int i = 0; i < names.length; i++) {
+                order[i] = i;
+                upper[i] = names[i].toUpperCase(Locale.ENGLISH);
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer o1, Integer o2)
+                {
+                    return upper[o1].compareTo(upper[o2]);
+                }
+            });
+            this.names = new String[names.length];
+            this.upperNames = new String[names.length];
+            this.kinds = new byte[names.length];
+            for (int i = 0; i < order.length; i++) {
+                this.names[i] = names[order[i]];
+                this.upperNames[i] = upper[order[i]];
+                this.kinds[i] = kinds[order[i]];
+            }
+        }
+    }
+
+    static class SnapshotObjectReference extends AbstractObjectReference {
+
+        SnapshotObjectReference(String name, DBSObjectContainer container, DBSObjectType type)
+        {
+            super(name, container, null, type);
+        }
+
+        @Override
+        public DBSObject resolveObject(DBRProgressMonitor monitor)
+            throws DBException
+        {
+            DBSObject object = ((DBSObjectContainer) getContainer()).getChild(monitor, getName());
+            if (object == null) {
+                throw new DBException("Object '" + getName() + "' not found in '" + getContainer().getName() + "'");
+            }
+            return object;
+        }
+    }
+
+    private class RevalidateJob extends AbstractJob {
+        private final DBPDataSourceContainer container;
+
+        RevalidateJob(DBPDataSourceContainer container)
+        {
+            super("Revalidate metadata snapshot of " + container.getName());
+            this.container = container;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            DBPDataSource dataSource = container.getDataSource();
+            DBSStructureVersionProvider versionProvider = DBUtils.getAdapter(DBSStructureVersionProvider.class, dataSource);
+            if (versionProvider == null) {
+                return Status.OK_STATUS;
+            }
+            DataSourceSnapshot snapshot = getSnapshot(container);
+            Map<String, String> versions;
+            try {
+                versions = versionProvider.readStructureVersions(monitor);
+            } catch (DBException e) {
+                log.debug("Can't read structure versions of '" + container.getName() + "'", e);
+                return Status.OK_STATUS;
+            }
+            synchronized (snapshot) {
+                snapshot.currentVersions = versions;
+                for (Iterator<ContainerSnapshot> iter = snapshot.containers.values().iterator(); iter.hasNext(); ) {
+                    ContainerSnapshot cs = iter.next();
+                    if (cs.version.equals(versions.get(cs.path))) {
+                        cs.valid = true;
+                    } else {
+                        // Changed or dropped
+                        iter.remove();
+                    }
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPTransactionIsolation;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.qm.QMExecutionHandler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Composite execution handler.
+ * Notifies all registered handlers. Handlers list is copy-on-write so notification doesn't take any locks.
+ */
+class QMCompositeHandler implements QMExecutionHandler {
+
+    static final Log log = Log.getLog(QMCompositeHandler.class);
+
+    private final List<QMExecutionHandler> handlers = new CopyOnWriteArrayList<>();
+
+    void addHandler(QMExecutionHandler handler)
+    {
+        handlers.add(handler);
+    }
+
+    boolean removeHandler(QMExecutionHandler handler)
+    {
+        return handlers.remove(handler);
+    }
+
+    List<QMExecutionHandler> getHandlers()
+    {
+        return handlers;
+    }
+
+    void clear()
+    {
+        handlers.clear();
+    }
+
+    private static void handleError(QMExecutionHandler handler, Throwable e)
+    {
+        log.debug("Error notifying QM handler '" + handler.getHandlerName() + "'", e);
+    }
+
+    @Override
+    public String getHandlerName()
+    {
+        return "Default";
+    }
+
+    @Override
+    public void handleContextOpen(DBCExecutionContext context, boolean transactional)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleContextOpen(context, transactional);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleContextClose(DBCExecutionContext context)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleContextClose(context);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleSessionOpen(DBCSession session)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleSessionOpen(session);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleSessionClose(DBCSession session)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleSessionClose(session);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleTransactionAutocommit(DBCExecutionContext context, boolean autoCommit)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleTransactionAutocommit(context, autoCommit);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleTransactionIsolation(DBCExecutionContext context, DBPTransactionIsolation level)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleTransactionIsolation(context, level);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleTransactionCommit(DBCExecutionContext context)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleTransactionCommit(context);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleTransactionSavepoint(DBCSavepoint savepoint)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleTransactionSavepoint(savepoint);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleTransactionRollback(DBCExecutionContext context, @Nullable DBCSavepoint savepoint)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleTransactionRollback(context, savepoint);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleStatementOpen(DBCStatement statement)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleStatementOpen(statement);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleStatementExecuteBegin(DBCStatement statement)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleStatementExecuteBegin(statement);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleStatementExecuteEnd(DBCStatement statement, long rows, Throwable error)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleStatementExecuteEnd(statement, rows, error);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleStatementBind(DBCStatement statement, Object column, @Nullable Object value)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleStatementBind(statement, column, value);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleStatementClose(DBCStatement statement, long rows)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleStatementClose(statement, rows);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleResultSetOpen(DBCResultSet resultSet)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleResultSetOpen(resultSet);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleResultSetClose(DBCResultSet resultSet, long rowCount)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleResultSetClose(resultSet, rowCount);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleScriptBegin(DBCSession session)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleScriptBegin(session);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+    @Override
+    public void handleScriptEnd(DBCSession session)
+    {
+        for (QMExecutionHandler handler : handlers) {
+            try {
+                handler.handleScriptEnd(session);
+            } catch (Throwable e) {
+                handleError(handler, e);
+            }
+        }
+    }
+
+}
@@ -24,11 +24,6 @@ import org.jkiss.dbeaver.model.qm.QMMetaEvent;
 import org.jkiss.dbeaver.model.qm.QMMetaListener;
 import org.jkiss.dbeaver.model.qm.QMMCollector;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -38,15 +33,11 @@ public class QMControllerImpl implements QMController {
 
     static final Log log = Log.getLog(QMControllerImpl.class);
 
-    private QMExecutionHandler defaultHandler;
+    private QMCompositeHandler defaultHandler;
     private QMMCollectorImpl metaHandler;
-    private List<QMExecutionHandler> handlers = new ArrayList<>();
 
     public QMControllerImpl() {
-        defaultHandler = (QMExecutionHandler) Proxy.newProxyInstance(
-            getClass().getClassLoader(),
-            new Class[]{ QMExecutionHandler.class },
-            new NotifyInvocationHandler());
+        defaultHandler = new QMCompositeHandler();
 
         metaHandler = new QMMCollectorImpl();
         registerHandler(metaHandler);
@@ -60,9 +51,9 @@ public class QMControllerImpl implements QMController {
             metaHandler = null;
         }
 
-        if (!handlers.isEmpty()) {
-            log.warn("Some QM handlers are still registered: " + handlers);
-            handlers.clear();
+        if (!defaultHandler.getHandlers().isEmpty()) {
+            log.warn("Some QM handlers are still registered: " + defaultHandler.getHandlers());
+            defaultHandler.clear();
         }
       	defaultHandler = null;
     }
@@ -79,13 +70,13 @@ public class QMControllerImpl implements QMController {
     }
 
     @Override
-    public synchronized void registerHandler(QMExecutionHandler handler) {
-        handlers.add(handler);
+    public void registerHandler(QMExecutionHandler handler) {
+        defaultHandler.addHandler(handler);
     }
 
     @Override
-    public synchronized void unregisterHandler(QMExecutionHandler handler) {
-        if (!handlers.remove(handler)) {
+    public void unregisterHandler(QMExecutionHandler handler) {
+        if (!defaultHandler.removeHandler(handler)) {
             log.warn("QM handler '" + handler + "' isn't registered within QM controller");
         }
     }
@@ -108,40 +99,4 @@ public class QMControllerImpl implements QMController {
         return metaHandler.getPastEvents();
     }
 
-    List<QMExecutionHandler> getHandlers()
-    {
-        return handlers;
-    }
-
-    private class NotifyInvocationHandler implements InvocationHandler {
-
-        @Override
-        public synchronized Object invoke(Object proxy, Method method, Object[] args)
-        {
-            if (method.getReturnType() == Void.TYPE && method.getName().startsWith("handle")) {
-                for (QMExecutionHandler handler : getHandlers()) {
-                    try {
-                        method.invoke(handler, args);
-                    } catch (InvocationTargetException e) {
-                        log.debug("Error notifying QM handler '" + handler.getHandlerName() + "'", e.getTargetException());
-                    } catch (Throwable e) {
-                        log.debug("Internal error while notifying QM handler '" + handler.getHandlerName() + "'", e);
-                    }
-                }
-                return null;
-            } else if (method.getName().equals("getHandlerName")) {
-                return "Default";
-            } else {
-                try {
-                    return method.invoke(this, args);
-                } catch (Throwable e) {
-                    // just ignore it
-                    log.debug("Error executing QM method " + method, e);
-                    return null;
-                }
-            }
-        }
-
-    }
-
 }
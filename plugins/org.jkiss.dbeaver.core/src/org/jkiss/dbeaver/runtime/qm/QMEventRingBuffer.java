@@ -0,0 +1,97 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.runtime.qm;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer single-consumer ring buffer.
+ * Producers claim sequence with atomic increment and never take locks. If buffer is full then producer spins
+ * until consumer frees a slot. Only single (consumer) thread may call {@link #poll()}.
+ */
+class QMEventRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    // Next sequence to claim by producers
+    private final AtomicLong tail = new AtomicLong();
+    // Next sequence to read by consumer. Written by consumer only.
+    private volatile long head;
+
+    /**
+     * @param capacity buffer capacity. Must be a power of two.
+     */
+    QMEventRingBuffer(int capacity)
+    {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Publishes element. Blocks (spins) while buffer is full.
+     * @return sequence of published element
+     */
+    long publish(E element)
+    {
+        long sequence = tail.getAndIncrement();
+        while (sequence - head >= capacity) {
+            // Buffer is full - wait for consumer
+            Thread.yield();
+        }
+        slots.lazySet((int) sequence & mask, element);
+        return sequence;
+    }
+
+    /**
+     * Reads next element. Called by consumer thread only.
+     * @return next element or null if there are no published elements
+     */
+    E poll()
+    {
+        long sequence = head;
+        int index = (int) sequence & mask;
+        E element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head = sequence + 1;
+        return element;
+    }
+
+    /**
+     * Number of sequences claimed by producers so far
+     */
+    long getPublishedCount()
+    {
+        return tail.get();
+    }
+
+    boolean isEmpty()
+    {
+        return head >= tail.get();
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * Query history record.
+ * Stored copy of statement execution or transaction end. Doesn't reference any live QM objects.
+ */
+public class QMHistoryRecord {
+
+    public enum Type {
+        EXECUTE,
+        COMMIT,
+        ROLLBACK
+    }
+
+    @NotNull
+    private final Type type;
+    private final long closeTime;
+    private final long duration;
+    private final long rowCount;
+    private final int errorCode;
+    @Nullable
+    private final String errorMessage;
+    @Nullable
+    private final String purpose;
+    @NotNull
+    private final String containerId;
+    @Nullable
+    private final String containerName;
+    @Nullable
+    private final String contextName;
+    @Nullable
+    private final String queryText;
+    // Record position in history store. Assigned on read.
+    long position = -1;
+
+    public QMHistoryRecord(
+        @NotNull Type type,
+        long closeTime,
+        long duration,
+        long rowCount,
+        int errorCode,
+        @Nullable String errorMessage,
+        @Nullable String purpose,
+        @NotNull String containerId,
+        @Nullable String containerName,
+        @Nullable String contextName,
+        @Nullable String queryText)
+    {
+        this.type = type;
+        this.closeTime = closeTime;
+        this.duration = duration;
+        this.rowCount = rowCount;
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        this.purpose = purpose;
+        this.containerId = containerId;
+        this.containerName = containerName;
+        this.contextName = contextName;
+        this.queryText = queryText;
+    }
+
+    @NotNull
+    public Type getType()
+    {
+        return type;
+    }
+
+    public long getOpenTime()
+    {
+        return closeTime - duration;
+    }
+
+    public long getCloseTime()
+    {
+        return closeTime;
+    }
+
+    public long getDuration()
+    {
+        return duration;
+    }
+
+    public long getRowCount()
+    {
+        return rowCount;
+    }
+
+    public boolean hasError()
+    {
+        return errorCode != 0 || errorMessage != null;
+    }
+
+    public int getErrorCode()
+    {
+        return errorCode;
+    }
+
+    @Nullable
+    public String getErrorMessage()
+    {
+        return errorMessage;
+    }
+
+    /**
+     * Execution purpose name (see {@link org.jkiss.dbeaver.model.exec.DBCExecutionPurpose})
+     */
+    @Nullable
+    public String getPurpose()
+    {
+        return purpose;
+    }
+
+    @NotNull
+    public String getContainerId()
+    {
+        return containerId;
+    }
+
+    @Nullable
+    public String getContainerName()
+    {
+        return containerName;
+    }
+
+    @Nullable
+    public String getContextName()
+    {
+        return contextName;
+    }
+
+    @Nullable
+    public String getQueryText()
+    {
+        return queryText;
+    }
+
+    /**
+     * Position of record in history store. May be used for paging (see {@link QMHistoryStore#findRecords}).
+     */
+    public long getPosition()
+    {
+        return position;
+    }
+
+    @Override
+    public String toString()
+    {
+        return type + " " + (queryText == null ? "" : queryText);
+    }
+
+}
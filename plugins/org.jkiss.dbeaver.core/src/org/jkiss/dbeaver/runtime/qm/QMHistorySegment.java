@@ -0,0 +1,510 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * History store segment.
+ * Segment is a single append-only file of length-prefixed records. Records are appended roughly in close time order
+ * (close times of nearby records may be unordered).
+ * Segment keeps in-memory indexes: time range, sparse time index (every {@link #INDEX_INTERVAL} records),
+ * set of data sources and bloom filter of query words.
+ * Indexes of sealed segments are saved in separate index file.
+ */
+class QMHistorySegment {
+
+    static final Log log = Log.getLog(QMHistorySegment.class);
+
+    static final String DATA_FILE_EXT = ".qmh"; //$NON-NLS-1$
+    static final String INDEX_FILE_EXT = ".qmi"; //$NON-NLS-1$
+
+    // Index format version. Version 2 keeps max close time of preceding records in time index
+    private static final int FORMAT_VERSION = 2;
+    private static final int INDEX_INTERVAL = 128;
+    private static final int BLOOM_FILTER_BITS = 1 << 17;
+    private static final int MIN_WORD_LENGTH = 2;
+    private static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+
+    interface RecordVisitor {
+        /**
+         * @return false to stop reading
+         */
+        boolean visitRecord(QMHistoryRecord record);
+    }
+
+    private final int number;
+    private final File dataFile;
+    private final File indexFile;
+
+    // Committed data length. Readers never read beyond it.
+    private volatile long length;
+    private int recordCount;
+    private long minTime = Long.MAX_VALUE;
+    private long maxTime = Long.MIN_VALUE;
+    // Max close time of records before indexed offset. Never decreases
+    private long[] indexTimes = new long[16];
+    private long[] indexOffsets = new long[16];
+    private int indexSize;
+    private final Set<String> containers = new HashSet<>();
+    private final BitSet wordFilter = new BitSet(BLOOM_FILTER_BITS);
+
+    QMHistorySegment(File folder, int number)
+    {
+        this.number = number;
+        String name = String.format("history-%06d", number); //$NON-NLS-1$
+        this.dataFile = new File(folder, name + DATA_FILE_EXT);
+        this.indexFile = new File(folder, name + INDEX_FILE_EXT);
+    }
+
+    int getNumber()
+    {
+        return number;
+    }
+
+    File getDataFile()
+    {
+        return dataFile;
+    }
+
+    long getLength()
+    {
+        return length;
+    }
+
+    synchronized long getMaxTime()
+    {
+        return maxTime;
+    }
+
+    synchronized int getRecordCount()
+    {
+        return recordCount;
+    }
+
+    /**
+     * Loads segment indexes. Uses index file if it is up to date, otherwise scans data file.
+     * Incomplete record at the end of data file (e.g. after crash) is truncated.
+     */
+    void load() throws IOException
+    {
+        long fileLength = dataFile.length();
+        if (indexFile.exists()) {
+            try {
+                if (loadIndex(fileLength)) {
+                    return;
+                }
+            } catch (IOException e) {
+                log.debug("Bad history index file '" + indexFile.getAbsolutePath() + "'. Rebuild index.", e);
+            }
+            resetIndex();
+        }
+        long validLength = scan(fileLength);
+        if (validLength < fileLength) {
+            log.debug("Truncate incomplete history segment '" + dataFile.getAbsolutePath() + "' from " + fileLength + " to " + validLength);
+            try (RandomAccessFile raf = new RandomAccessFile(dataFile, "rw")) { //$NON-NLS-1$
+                raf.setLength(validLength);
+            }
+        }
+        length = validLength;
+    }
+
+    private long scan(final long fileLength) throws IOException
+    {
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(dataFile), 64 * 1024))) {
+            while (offset < fileLength) {
+                if (fileLength - offset < 4) {
+                    break;
+                }
+                int recordLength = in.readInt();
+                if (recordLength <= 0 || recordLength > MAX_RECORD_LENGTH || offset + 4 + recordLength > fileLength) {
+                    break;
+                }
+                byte[] body = new byte[recordLength];
+                in.readFully(body);
+                QMHistoryRecord record;
+                try {
+                    record = decodeRecord(body);
+                } catch (IOException e) {
+                    log.debug("Corrupted history record at " + offset + " in '" + dataFile.getAbsolutePath() + "'", e);
+                    break;
+                }
+                addToIndex(record, offset);
+                offset += 4 + recordLength;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Appends encoded records. All records are written with single write call.
+     * @param data encoded records
+     * @param records records (in the same order)
+     * @param recordLengths lengths of encoded records (including length prefix)
+     */
+    void append(OutputStream out, byte[] data, int dataLength, List<QMHistoryRecord> records, List<Integer> recordLengths) throws IOException
+    {
+        out.write(data, 0, dataLength);
+        out.flush();
+        long offset = length;
+        synchronized (this) {
+            for (int i = 0; i < records.size(); i++) {
+                addToIndex(records.get(i), offset);
+                offset += recordLengths.get(i);
+            }
+        }
+        length = offset;
+    }
+
+    private synchronized void addToIndex(QMHistoryRecord record, long offset)
+    {
+        long time = record.getCloseTime();
+        if (recordCount % INDEX_INTERVAL == 0) {
+            if (indexSize == indexTimes.length) {
+                indexTimes = Arrays.copyOf(indexTimes, indexSize * 2);
+                indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+            }
+            indexTimes[indexSize] = maxTime;
+            indexOffsets[indexSize] = offset;
+            indexSize++;
+        }
+        recordCount++;
+        minTime = Math.min(minTime, time);
+        maxTime = Math.max(maxTime, time);
+        if (record.getContainerId() != null) {
+            containers.add(record.getContainerId());
+        }
+        String queryText = record.getQueryText();
+        if (queryText != null) {
+            for (String word : getWords(queryText)) {
+                addWord(word);
+            }
+        }
+    }
+
+    private void resetIndex()
+    {
+        recordCount = 0;
+        minTime = Long.MAX_VALUE;
+        maxTime = Long.MIN_VALUE;
+        indexSize = 0;
+        containers.clear();
+        wordFilter.clear();
+    }
+
+    /**
+     * Checks whether segment may contain records which match filter.
+     */
+    synchronized boolean mayContain(@Nullable String containerId, @Nullable Collection<String> words, long fromTime, long toTime)
+    {
+        if (recordCount == 0 || maxTime < fromTime || minTime > toTime) {
+            return false;
+        }
+        if (containerId != null && !containers.contains(containerId)) {
+            return false;
+        }
+        if (words != null) {
+            for (String word : words) {
+                if (!mayContainWord(word)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds offset from which records with close time >= time may start.
+     * All records before returned offset have close time less than specified time.
+     */
+    synchronized long findStartOffset(long time)
+    {
+        if (indexSize == 0 || time <= indexTimes[0]) {
+            return 0;
+        }
+        // Index times never decrease - use binary search of the last entry with smaller time
+        int low = 0, high = indexSize - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (indexTimes[mid] < time) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return indexOffsets[low];
+    }
+
+    /**
+     * Reads records from start offset to end offset
+     */
+    void readRecords(long startOffset, long endOffset, @NotNull RecordVisitor visitor) throws IOException
+    {
+        long offset = startOffset;
+        try (FileInputStream fis = new FileInputStream(dataFile)) {
+            if (offset > 0) {
+                fis.getChannel().position(offset);
+            }
+            DataInputStream in = new DataInputStream(new BufferedInputStream(fis, 64 * 1024));
+            while (offset < endOffset) {
+                int recordLength = in.readInt();
+                if (recordLength <= 0 || recordLength > MAX_RECORD_LENGTH) {
+                    throw new IOException("Bad history record length " + recordLength + " at " + offset);
+                }
+                byte[] body = new byte[recordLength];
+                in.readFully(body);
+                QMHistoryRecord record = decodeRecord(body);
+                record.position = makePosition(number, offset);
+                offset += 4 + recordLength;
+                if (!visitor.visitRecord(record)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////
+    // Index file
+
+    synchronized void saveIndex() throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(length);
+            out.writeInt(recordCount);
+            out.writeLong(minTime);
+            out.writeLong(maxTime);
+            out.writeInt(indexSize);
+            for (int i = 0; i < indexSize; i++) {
+                out.writeLong(indexTimes[i]);
+                out.writeLong(indexOffsets[i]);
+            }
+            out.writeInt(containers.size());
+            for (String container : containers) {
+                out.writeUTF(container);
+            }
+            long[] words = wordFilter.toLongArray();
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+    }
+
+    private synchronized boolean loadIndex(long fileLength) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return false;
+            }
+            long dataLength = in.readLong();
+            if (dataLength != fileLength) {
+                // Index is out of date
+                return false;
+            }
+            recordCount = in.readInt();
+            minTime = in.readLong();
+            maxTime = in.readLong();
+            indexSize = in.readInt();
+            indexTimes = new long[Math.max(16, indexSize)];
+            indexOffsets = new long[Math.max(16, indexSize)];
+            for (int i = 0; i < indexSize; i++) {
+                indexTimes[i] = in.readLong();
+                indexOffsets[i] = in.readLong();
+            }
+            int containerCount = in.readInt();
+            for (int i = 0; i < containerCount; i++) {
+                containers.add(in.readUTF());
+            }
+            long[] words = new long[in.readInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            wordFilter.or(BitSet.valueOf(words));
+            length = dataLength;
+            return true;
+        }
+    }
+
+    void delete()
+    {
+        if (!dataFile.delete()) {
+            log.debug("Can't delete history segment '" + dataFile.getAbsolutePath() + "'");
+        }
+        if (indexFile.exists() && !indexFile.delete()) {
+            log.debug("Can't delete history index '" + indexFile.getAbsolutePath() + "'");
+        }
+    }
+
+    ////////////////////////////////////////////////////////
+    // Words filter
+
+    private void addWord(String word)
+    {
+        int hash1 = word.hashCode();
+        int hash2 = (hash1 * 0x9E3779B9) ^ (hash1 >>> 16);
+        wordFilter.set(hash1 & (BLOOM_FILTER_BITS - 1));
+        wordFilter.set(hash2 & (BLOOM_FILTER_BITS - 1));
+    }
+
+    private boolean mayContainWord(String word)
+    {
+        int hash1 = word.hashCode();
+        int hash2 = (hash1 * 0x9E3779B9) ^ (hash1 >>> 16);
+        return wordFilter.get(hash1 & (BLOOM_FILTER_BITS - 1)) && wordFilter.get(hash2 & (BLOOM_FILTER_BITS - 1));
+    }
+
+    /**
+     * Splits text in lower-case words (letters, digits and underscores)
+     */
+    static Set<String> getWords(String text)
+    {
+        Set<String> words = new LinkedHashSet<>();
+        int length = text.length();
+        int wordStart = -1;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            boolean wordChar = Character.isLetterOrDigit(c) || c == '_';
+            if (wordChar) {
+                if (wordStart < 0) {
+                    wordStart = i;
+                }
+            } else if (wordStart >= 0) {
+                if (i - wordStart >= MIN_WORD_LENGTH) {
+                    words.add(text.substring(wordStart, i).toLowerCase(Locale.ENGLISH));
+                }
+                wordStart = -1;
+            }
+        }
+        return words;
+    }
+
+    ////////////////////////////////////////////////////////
+    // Record encoding
+
+    static long makePosition(int segmentNumber, long offset)
+    {
+        return ((long) segmentNumber << 32) | offset;
+    }
+
+    static int getPositionSegment(long position)
+    {
+        return (int) (position >>> 32);
+    }
+
+    static long getPositionOffset(long position)
+    {
+        return position & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Encodes record with length prefix
+     */
+    static void encodeRecord(@NotNull DataOutputStream out, @NotNull ByteArrayOutputStream bodyBuffer, @NotNull QMHistoryRecord record) throws IOException
+    {
+        bodyBuffer.reset();
+        DataOutputStream body = new DataOutputStream(bodyBuffer);
+        body.writeByte(record.getType().ordinal());
+        body.writeLong(record.getCloseTime());
+        body.writeLong(record.getDuration());
+        body.writeLong(record.getRowCount());
+        body.writeInt(record.getErrorCode());
+        writeString(body, record.getErrorMessage());
+        writeString(body, record.getPurpose());
+        writeString(body, record.getContainerId());
+        writeString(body, record.getContainerName());
+        writeString(body, record.getContextName());
+        writeString(body, record.getQueryText());
+        body.flush();
+        out.writeInt(bodyBuffer.size());
+        bodyBuffer.writeTo(out);
+    }
+
+    private static QMHistoryRecord decodeRecord(byte[] data) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        int typeIndex = in.readUnsignedByte();
+        QMHistoryRecord.Type[] types = QMHistoryRecord.Type.values();
+        if (typeIndex >= types.length) {
+            throw new IOException("Bad history record type: " + typeIndex);
+        }
+        long closeTime = in.readLong();
+        long duration = in.readLong();
+        long rowCount = in.readLong();
+        int errorCode = in.readInt();
+        String errorMessage = readString(in);
+        String purpose = readString(in);
+        String containerId = readString(in);
+        String containerName = readString(in);
+        String contextName = readString(in);
+        String queryText = readString(in);
+        return new QMHistoryRecord(
+            types[typeIndex],
+            closeTime,
+            duration,
+            rowCount,
+            errorCode,
+            errorMessage,
+            purpose,
+            containerId == null ? "" : containerId,
+            containerName,
+            contextName,
+            queryText);
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException
+    {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    @Nullable
+    private static String readString(DataInputStream in) throws IOException
+    {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > MAX_RECORD_LENGTH) {
+            throw new IOException("Bad string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString()
+    {
+        return dataFile.getName();
+    }
+
+}
@@ -0,0 +1,367 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverCore;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPPreferenceListener;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.qm.QMConstants;
+import org.jkiss.dbeaver.model.qm.QMEventFilter;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.QMMetaListener;
+import org.jkiss.dbeaver.model.qm.meta.*;
+import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Persistent query history.
+ * History is stored in append-only segment files. Each batch of QM events is written with single write
+ * (group commit). Old segments are deleted after configured number of days (see {@link QMConstants#PROP_HISTORY_DAYS}).
+ */
+public class QMHistoryStore implements QMMetaListener, DBPPreferenceListener {
+
+    static final Log log = Log.getLog(QMHistoryStore.class);
+
+    private static final long MAX_SEGMENT_LENGTH = 4 * 1024 * 1024;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private final File folder;
+    // Ordered by segment number (oldest first)
+    private final List<QMHistorySegment> segments = new ArrayList<>();
+    private QMHistorySegment activeSegment;
+    private OutputStream activeStream;
+    private QMEventFilter eventFilter;
+    private final ByteArrayOutputStream batchBuffer = new ByteArrayOutputStream(64 * 1024);
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(1024);
+
+    public QMHistoryStore(@NotNull File folder)
+    {
+        this.folder = folder;
+        this.eventFilter = new DefaultEventFilter();
+        DBeaverCore.getGlobalPreferenceStore().addPropertyChangeListener(this);
+        loadSegments();
+    }
+
+    public synchronized void dispose()
+    {
+        DBeaverCore.getGlobalPreferenceStore().removePropertyChangeListener(this);
+        closeActiveSegment();
+    }
+
+    private synchronized void loadSegments()
+    {
+        if (!folder.exists() && !folder.mkdirs()) {
+            log.error("Can't create query history folder '" + folder.getAbsolutePath() + "'");
+            return;
+        }
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String fileName = file.getName();
+                if (!fileName.startsWith("history-") || !fileName.endsWith(QMHistorySegment.DATA_FILE_EXT)) { //$NON-NLS-1$
+                    continue;
+                }
+                int number;
+                try {
+                    number = Integer.parseInt(fileName.substring(8, fileName.length() - QMHistorySegment.DATA_FILE_EXT.length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                QMHistorySegment segment = new QMHistorySegment(folder, number);
+                segments.add(segment);
+            }
+        }
+        Collections.sort(segments, new Comparator<QMHistorySegment>() {
+            @Override
+            public int compare(QMHistorySegment o1, QMHistorySegment o2)
+            {
+                return o1.getNumber() - o2.getNumber();
+            }
+        });
+        for (Iterator<QMHistorySegment> iter = segments.iterator(); iter.hasNext(); ) {
+            QMHistorySegment segment = iter.next();
+            try {
+                segment.load();
+            } catch (IOException e) {
+                log.warn("Can't load query history segment '" + segment + "'", e);
+                iter.remove();
+            }
+        }
+        deleteOldSegments();
+    }
+
+    private void deleteOldSegments()
+    {
+        int historyDays = DBeaverCore.getGlobalPreferenceStore().getInt(QMConstants.PROP_HISTORY_DAYS);
+        if (historyDays <= 0) {
+            return;
+        }
+        long minTime = System.currentTimeMillis() - historyDays * DAY_MILLIS;
+        for (Iterator<QMHistorySegment> iter = segments.iterator(); iter.hasNext(); ) {
+            QMHistorySegment segment = iter.next();
+            if (segment != activeSegment && segment.getRecordCount() > 0 && segment.getMaxTime() < minTime) {
+                segment.delete();
+                iter.remove();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void metaInfoChanged(@NotNull List<QMMetaEvent> events)
+    {
+        List<QMHistoryRecord> records = new ArrayList<>();
+        for (QMMetaEvent event : events) {
+            if (event.getAction() == QMMetaEvent.Action.END && eventFilter.accept(event)) {
+                QMHistoryRecord record = makeRecord(event.getObject());
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            batchBuffer.reset();
+            List<Integer> recordLengths = new ArrayList<>(records.size());
+            DataOutputStream out = new DataOutputStream(batchBuffer);
+            for (QMHistoryRecord record : records) {
+                int startSize = batchBuffer.size();
+                QMHistorySegment.encodeRecord(out, recordBuffer, record);
+                out.flush();
+                recordLengths.add(batchBuffer.size() - startSize);
+            }
+            QMHistorySegment segment = getActiveSegment(batchBuffer.size());
+            if (segment != null) {
+                segment.append(activeStream, batchBuffer.toByteArray(), batchBuffer.size(), records, recordLengths);
+            }
+        } catch (IOException e) {
+            log.warn("Error writing query history", e);
+            closeActiveSegment();
+        }
+    }
+
+    @Nullable
+    private static QMHistoryRecord makeRecord(QMMObject object)
+    {
+        if (object instanceof QMMStatementExecuteInfo) {
+            QMMStatementExecuteInfo exec = (QMMStatementExecuteInfo) object;
+            QMMStatementInfo statement = exec.getStatement();
+            QMMSessionInfo session = statement.getSession();
+            return new QMHistoryRecord(
+                QMHistoryRecord.Type.EXECUTE,
+                exec.getCloseTime(),
+                exec.getCloseTime() - exec.getOpenTime(),
+                exec.getRowCount(),
+                exec.getErrorCode(),
+                exec.getErrorMessage(),
+                statement.getPurpose().name(),
+                session.getContainerId(),
+                getContainerName(session),
+                getContextName(session),
+                exec.getQueryString());
+        } else if (object instanceof QMMTransactionInfo) {
+            QMMTransactionInfo txn = (QMMTransactionInfo) object;
+            QMMSessionInfo session = txn.getSession();
+            return new QMHistoryRecord(
+                txn.isCommited() ? QMHistoryRecord.Type.COMMIT : QMHistoryRecord.Type.ROLLBACK,
+                txn.getCloseTime(),
+                txn.getCloseTime() - txn.getOpenTime(),
+                -1,
+                0,
+                null,
+                null,
+                session.getContainerId(),
+                getContainerName(session),
+                getContextName(session),
+                null);
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String getContainerName(QMMSessionInfo session)
+    {
+        DBPDataSourceContainer container = session.getContainer();
+        return container == null ? null : container.getName();
+    }
+
+    @Nullable
+    private static String getContextName(QMMSessionInfo session)
+    {
+        DBCExecutionContext context = session.getReference();
+        return context == null ? null : context.getContextName();
+    }
+
+    /**
+     * Returns segment for new data. Starts new segment if current is full.
+     */
+    @Nullable
+    private QMHistorySegment getActiveSegment(long dataLength) throws IOException
+    {
+        if (activeSegment != null && activeSegment.getLength() > 0 && activeSegment.getLength() + dataLength > MAX_SEGMENT_LENGTH) {
+            // Seal current segment
+            closeActiveSegment();
+            activeSegment = null;
+            deleteOldSegments();
+        }
+        if (activeSegment == null) {
+            if (!folder.exists() && !folder.mkdirs()) {
+                return null;
+            }
+            // Continue last segment if it isn't full
+            QMHistorySegment lastSegment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (lastSegment != null && lastSegment.getLength() + dataLength <= MAX_SEGMENT_LENGTH) {
+                activeSegment = lastSegment;
+            } else {
+                activeSegment = new QMHistorySegment(folder, lastSegment == null ? 1 : lastSegment.getNumber() + 1);
+                segments.add(activeSegment);
+            }
+        }
+        if (activeStream == null) {
+            activeStream = new FileOutputStream(activeSegment.getDataFile(), true);
+        }
+        return activeSegment;
+    }
+
+    private void closeActiveSegment()
+    {
+        if (activeStream != null) {
+            try {
+                if (activeStream instanceof FileOutputStream) {
+                    ((FileOutputStream) activeStream).getFD().sync();
+                }
+            } catch (IOException e) {
+                log.debug("Can't sync query history file", e);
+            }
+            ContentUtils.close(activeStream);
+            activeStream = null;
+        }
+        if (activeSegment != null) {
+            try {
+                activeSegment.saveIndex();
+            } catch (IOException e) {
+                log.debug("Can't save query history index", e);
+            }
+        }
+    }
+
+    /**
+     * Finds history records. Records are returned in reverse order (newest first).
+     *
+     * @param containerId     data source container ID. If null then all data sources are searched.
+     * @param searchText      words which query text must contain. If null or empty then all records match.
+     * @param fromTime        minimal record time (inclusive)
+     * @param toTime          maximal record time (inclusive)
+     * @param beforePosition  return only records before this position (see {@link QMHistoryRecord#getPosition()}).
+     *                        Negative value means no limit. Used for paging.
+     * @param maxRecords      maximum number of records to return
+     */
+    @NotNull
+    public List<QMHistoryRecord> findRecords(
+        @Nullable final String containerId,
+        @Nullable String searchText,
+        final long fromTime,
+        final long toTime,
+        long beforePosition,
+        int maxRecords)
+        throws IOException
+    {
+        Set<String> searchWords = CommonUtils.isEmptyTrimmed(searchText) ? null : QMHistorySegment.getWords(searchText);
+        final Set<String> words = CommonUtils.isEmpty(searchWords) ? null : searchWords;
+        List<QMHistorySegment> segmentsCopy;
+        synchronized (this) {
+            segmentsCopy = new ArrayList<>(segments);
+        }
+        List<QMHistoryRecord> result = new ArrayList<>();
+        for (int i = segmentsCopy.size(); i > 0 && result.size() < maxRecords; i--) {
+            QMHistorySegment segment = segmentsCopy.get(i - 1);
+            long endOffset = segment.getLength();
+            if (beforePosition >= 0) {
+                int beforeSegment = QMHistorySegment.getPositionSegment(beforePosition);
+                if (segment.getNumber() > beforeSegment) {
+                    continue;
+                } else if (segment.getNumber() == beforeSegment) {
+                    endOffset = Math.min(endOffset, QMHistorySegment.getPositionOffset(beforePosition));
+                }
+            }
+            if (endOffset <= 0 || !segment.mayContain(containerId, words, fromTime, toTime)) {
+                continue;
+            }
+            // Read segment forward and keep last matching records
+            final int recordsToRead = maxRecords - result.size();
+            final LinkedList<QMHistoryRecord> segmentRecords = new LinkedList<>();
+            segment.readRecords(segment.findStartOffset(fromTime), endOffset, new QMHistorySegment.RecordVisitor() {
+                @Override
+                public boolean visitRecord(QMHistoryRecord record)
+                {
+                    // Records are written in batches so close times are not strictly ordered - check all of them
+                    if (record.getCloseTime() >= fromTime && record.getCloseTime() <= toTime && matches(record, containerId, words)) {
+                        segmentRecords.add(record);
+                        if (segmentRecords.size() > recordsToRead) {
+                            segmentRecords.removeFirst();
+                        }
+                    }
+                    return true;
+                }
+            });
+            for (Iterator<QMHistoryRecord> iter = segmentRecords.descendingIterator(); iter.hasNext(); ) {
+                result.add(iter.next());
+            }
+        }
+        return result;
+    }
+
+    private static boolean matches(QMHistoryRecord record, @Nullable String containerId, @Nullable Set<String> words)
+    {
+        if (containerId != null && !containerId.equals(record.getContainerId())) {
+            return false;
+        }
+        if (words != null) {
+            String queryText = record.getQueryText();
+            if (queryText == null) {
+                return false;
+            }
+            Set<String> queryWords = QMHistorySegment.getWords(queryText);
+            if (!queryWords.containsAll(words)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void preferenceChange(PreferenceChangeEvent event)
+    {
+        if (event.getProperty().startsWith(QMConstants.PROP_PREFIX)) {
+            synchronized (this) {
+                eventFilter = new DefaultEventFilter();
+                deleteOldSegments();
+            }
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSavepoint;
+import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBCStatement;
 import org.jkiss.dbeaver.model.qm.QMMCollector;
 import org.jkiss.dbeaver.model.qm.QMMetaEvent;
@@ -32,9 +33,14 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * Query manager execution handler implementation
+ * Query manager execution handler implementation.
+ * Handler methods only publish events into a ring buffer, they don't take any locks.
+ * Meta information is updated by the single collector thread.
  */
 public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMCollector {
 
@@ -42,21 +48,78 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
 
     private static final long EVENT_DISPATCH_PERIOD = 250;
     private static final int MAX_HISTORY_EVENTS = 1000;
+    private static final int EVENT_BUFFER_SIZE = 8192;
+    private static final long COLLECTOR_IDLE_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long COLLECTOR_SYNC_TIMEOUT = 1000;
+
+    private enum EventType {
+        CONTEXT_OPEN,
+        CONTEXT_CLOSE,
+        TRANSACTION_AUTOCOMMIT,
+        TRANSACTION_COMMIT,
+        TRANSACTION_ROLLBACK,
+        STATEMENT_OPEN,
+        STATEMENT_CLOSE,
+        STATEMENT_EXECUTE_BEGIN,
+        STATEMENT_EXECUTE_END,
+        RESULTSET_OPEN,
+        RESULTSET_CLOSE
+    }
+
+    /**
+     * Execution event. Holds all values which are needed to update meta information.
+     */
+    private static class ExecutionEvent {
+        final EventType type;
+        final Object object;
+        Object argument;
+        boolean flag;
+        long rows;
+        Throwable error;
+        String query;
+
+        ExecutionEvent(EventType type, Object object)
+        {
+            this.type = type;
+            this.object = object;
+        }
+    }
 
-    private Map<String, QMMSessionInfo> sessionMap = new HashMap<>();
+    private final QMEventRingBuffer<ExecutionEvent> eventBuffer = new QMEventRingBuffer<>(EVENT_BUFFER_SIZE);
+    private final EventCollector collector;
+    private volatile long processedCount;
+    // Sequence (exclusive) of the last event published for each context
+    private final Map<DBCExecutionContext, Long> contextSequences = new ConcurrentHashMap<>();
+    private final Object processSync = new Object();
+    private volatile int syncWaiters;
+
+    // Updated by collector thread only
+    private final Map<String, QMMSessionInfo> sessionMap = new ConcurrentHashMap<>();
+    // Open sessions by context. Context name may change (pooled contexts) while its events are queued
+    private final Map<DBCExecutionContext, QMMSessionInfo> contextSessions = new ConcurrentHashMap<>();
     private List<QMMetaListener> listeners = new ArrayList<>();
     private List<QMMetaEvent> eventPool = new ArrayList<>();
     private final Object historySync = new Object();
     private List<QMMetaEvent> pastEvents = new ArrayList<>();
-    private boolean running = true;
+    private volatile boolean running = true;
 
     public QMMCollectorImpl()
     {
+        collector = new EventCollector();
+        collector.start();
         new EventDispatcher().schedule(EVENT_DISPATCH_PERIOD);
     }
 
-    public synchronized void dispose()
+    public void dispose()
     {
+        // Stop collector. It processes all pending events before exit.
+        running = false;
+        LockSupport.unpark(collector);
+        try {
+            collector.join(COLLECTOR_SYNC_TIMEOUT);
+        } catch (InterruptedException e) {
+            // ignore
+        }
         if (!sessionMap.isEmpty()) {
             List<QMMSessionInfo> openSessions = new ArrayList<>();
             for (QMMSessionInfo session : sessionMap.values()) {
@@ -68,11 +131,12 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
                 log.warn("Some sessions are still open: " + openSessions);
             }
         }
-        if (!listeners.isEmpty()) {
-            log.warn("Some QM meta collector listeners are still open: " + listeners);
-            listeners.clear();
+        synchronized (this) {
+            if (!listeners.isEmpty()) {
+                log.warn("Some QM meta collector listeners are still open: " + listeners);
+                listeners.clear();
+            }
         }
-        running = false;
     }
 
     boolean isRunning()
@@ -124,16 +188,107 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         return events;
     }
 
+    /**
+     * Returns session meta information.
+     * Waits until all events published for this context before this call are processed by collector.
+     */
+    @Override
     public QMMSessionInfo getSessionInfo(DBCExecutionContext context)
     {
+        if (Thread.currentThread() != collector) {
+            Long sequence = contextSequences.get(context);
+            if (sequence != null) {
+                waitForEvents(sequence);
+            }
+        }
+        return findSessionInfo(context);
+    }
+
+    @Override
+    public QMMSessionInfo getSessionSnapshot(DBCExecutionContext context)
+    {
+        return findSessionInfo(context);
+    }
+
+    private QMMSessionInfo findSessionInfo(DBCExecutionContext context)
+    {
+        QMMSessionInfo sessionInfo = contextSessions.get(context);
+        if (sessionInfo != null) {
+            return sessionInfo;
+        }
         String contextId = context.getDataSource().getContainer().getId() + ":" + context.getContextName();
-        QMMSessionInfo sessionInfo = sessionMap.get(contextId);
+        sessionInfo = sessionMap.get(contextId);
         if (sessionInfo == null) {
             log.warn("Can't find sessionInfo meta information: " + contextId);
         }
         return sessionInfo;
     }
 
+    private void waitForEvents(long eventCount)
+    {
+        if (processedCount >= eventCount) {
+            return;
+        }
+        long timeout = System.currentTimeMillis() + COLLECTOR_SYNC_TIMEOUT;
+        synchronized (processSync) {
+            syncWaiters++;
+            try {
+                while (processedCount < eventCount && collector.isAlive()) {
+                    long waitTime = timeout - System.currentTimeMillis();
+                    if (waitTime <= 0) {
+                        log.debug("QM events collector is not responding");
+                        break;
+                    }
+                    LockSupport.unpark(collector);
+                    processSync.wait(waitTime);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                syncWaiters--;
+            }
+        }
+    }
+
+    private void notifyWaiters()
+    {
+        if (syncWaiters > 0) {
+            synchronized (processSync) {
+                processSync.notifyAll();
+            }
+        }
+    }
+
+    private void publishEvent(ExecutionEvent event)
+    {
+        if (!running) {
+            return;
+        }
+        long sequence = eventBuffer.publish(event);
+        DBCExecutionContext context = getEventContext(event);
+        if (context != null) {
+            contextSequences.put(context, sequence + 1);
+        }
+        if (collector.waiting) {
+            LockSupport.unpark(collector);
+        }
+    }
+
+    private static DBCExecutionContext getEventContext(ExecutionEvent event)
+    {
+        DBCSession session;
+        if (event.object instanceof DBCExecutionContext) {
+            return (DBCExecutionContext) event.object;
+        } else if (event.object instanceof DBCStatement) {
+            session = ((DBCStatement) event.object).getSession();
+        } else if (event.object instanceof DBCResultSet) {
+            session = ((DBCResultSet) event.object).getSession();
+        } else {
+            return null;
+        }
+        return session == null ? null : session.getExecutionContext();
+    }
+
     public List<QMMetaEvent> getPastEvents()
     {
         synchronized (historySync) {
@@ -142,7 +297,105 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
     }
 
     @Override
-    public synchronized void handleContextOpen(DBCExecutionContext context, boolean transactional)
+    public void handleContextOpen(DBCExecutionContext context, boolean transactional)
+    {
+        ExecutionEvent event = new ExecutionEvent(EventType.CONTEXT_OPEN, context);
+        event.flag = transactional;
+        publishEvent(event);
+    }
+
+    @Override
+    public void handleContextClose(DBCExecutionContext context)
+    {
+        publishEvent(new ExecutionEvent(EventType.CONTEXT_CLOSE, context));
+    }
+
+    @Override
+    public void handleTransactionAutocommit(DBCExecutionContext context, boolean autoCommit)
+    {
+        ExecutionEvent event = new ExecutionEvent(EventType.TRANSACTION_AUTOCOMMIT, context);
+        event.flag = autoCommit;
+        publishEvent(event);
+    }
+
+    @Override
+    public void handleTransactionCommit(DBCExecutionContext context)
+    {
+        publishEvent(new ExecutionEvent(EventType.TRANSACTION_COMMIT, context));
+    }
+
+    @Override
+    public void handleTransactionRollback(DBCExecutionContext context, DBCSavepoint savepoint)
+    {
+        ExecutionEvent event = new ExecutionEvent(EventType.TRANSACTION_ROLLBACK, context);
+        event.argument = savepoint;
+        publishEvent(event);
+    }
+
+    @Override
+    public void handleStatementOpen(DBCStatement statement)
+    {
+        publishEvent(new ExecutionEvent(EventType.STATEMENT_OPEN, statement));
+    }
+
+    @Override
+    public void handleStatementClose(DBCStatement statement, long rows)
+    {
+        ExecutionEvent event = new ExecutionEvent(EventType.STATEMENT_CLOSE, statement);
+        event.rows = rows;
+        publishEvent(event);
+    }
+
+    @Override
+    public void handleStatementExecuteBegin(DBCStatement statement)
+    {
+        ExecutionEvent event = new ExecutionEvent(EventType.STATEMENT_EXECUTE_BEGIN, statement);
+        // Statement parameters may be changed before collector processes the event
+        event.query = QMMSessionInfo.getExecutionQuery(statement);
+        publishEvent(event);
+    }
+
+    @Override
+    public void handleStatementExecuteEnd(DBCStatement statement, long rows, Throwable error)
+    {
+        ExecutionEvent event = new ExecutionEvent(EventType.STATEMENT_EXECUTE_END, statement);
+        event.rows = rows;
+        event.error = error;
+        publishEvent(event);
+    }
+
+    @Override
+    public void handleResultSetOpen(DBCResultSet resultSet)
+    {
+        publishEvent(new ExecutionEvent(EventType.RESULTSET_OPEN, resultSet));
+    }
+
+    @Override
+    public void handleResultSetClose(DBCResultSet resultSet, long rowCount)
+    {
+        ExecutionEvent event = new ExecutionEvent(EventType.RESULTSET_CLOSE, resultSet);
+        event.rows = rowCount;
+        publishEvent(event);
+    }
+
+    private void processEvent(ExecutionEvent event)
+    {
+        switch (event.type) {
+            case CONTEXT_OPEN: processContextOpen((DBCExecutionContext) event.object, event.flag); break;
+            case CONTEXT_CLOSE: processContextClose((DBCExecutionContext) event.object); break;
+            case TRANSACTION_AUTOCOMMIT: processTransactionAutocommit((DBCExecutionContext) event.object, event.flag); break;
+            case TRANSACTION_COMMIT: processTransactionCommit((DBCExecutionContext) event.object); break;
+            case TRANSACTION_ROLLBACK: processTransactionRollback((DBCExecutionContext) event.object, (DBCSavepoint) event.argument); break;
+            case STATEMENT_OPEN: processStatementOpen((DBCStatement) event.object); break;
+            case STATEMENT_CLOSE: processStatementClose((DBCStatement) event.object, event.rows); break;
+            case STATEMENT_EXECUTE_BEGIN: processStatementExecuteBegin((DBCStatement) event.object, event.query); break;
+            case STATEMENT_EXECUTE_END: processStatementExecuteEnd((DBCStatement) event.object, event.rows, event.error); break;
+            case RESULTSET_OPEN: processResultSetOpen((DBCResultSet) event.object); break;
+            case RESULTSET_CLOSE: processResultSetClose((DBCResultSet) event.object, event.rows); break;
+        }
+    }
+
+    private void processContextOpen(DBCExecutionContext context, boolean transactional)
     {
         String contextId = context.getDataSource().getContainer().getId() + ":" + context.getContextName();
         QMMSessionInfo session = new QMMSessionInfo(
@@ -150,6 +403,7 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
             transactional,
             sessionMap.get(contextId));
         sessionMap.put(contextId, session);
+        contextSessions.put(context, session);
 
         if (session.getPrevious() != null && !session.getPrevious().isClosed()) {
             // Is it really a problem? Maybe better to remove warning at all
@@ -159,20 +413,19 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         fireMetaEvent(session, QMMetaEvent.Action.BEGIN);
     }
 
-    @Override
-    public synchronized void handleContextClose(DBCExecutionContext context)
+    private void processContextClose(DBCExecutionContext context)
     {
-        QMMSessionInfo session = getSessionInfo(context);
+        QMMSessionInfo session = findSessionInfo(context);
+        contextSessions.remove(context);
         if (session != null) {
             session.close();
             fireMetaEvent(session, QMMetaEvent.Action.END);
         }
     }
 
-    @Override
-    public synchronized void handleTransactionAutocommit(DBCExecutionContext context, boolean autoCommit)
+    private void processTransactionAutocommit(DBCExecutionContext context, boolean autoCommit)
     {
-        QMMSessionInfo sessionInfo = getSessionInfo(context);
+        QMMSessionInfo sessionInfo = findSessionInfo(context);
         if (sessionInfo != null) {
             QMMTransactionInfo oldTxn = sessionInfo.changeTransactional(!autoCommit);
             if (oldTxn != null) {
@@ -182,10 +435,9 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         }
     }
 
-    @Override
-    public synchronized void handleTransactionCommit(DBCExecutionContext context)
+    private void processTransactionCommit(DBCExecutionContext context)
     {
-        QMMSessionInfo sessionInfo = getSessionInfo(context);
+        QMMSessionInfo sessionInfo = findSessionInfo(context);
         if (sessionInfo != null) {
             QMMTransactionInfo oldTxn = sessionInfo.commit();
             if (oldTxn != null) {
@@ -194,10 +446,9 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         }
     }
 
-    @Override
-    public synchronized void handleTransactionRollback(DBCExecutionContext context, DBCSavepoint savepoint)
+    private void processTransactionRollback(DBCExecutionContext context, DBCSavepoint savepoint)
     {
-        QMMSessionInfo sessionInfo = getSessionInfo(context);
+        QMMSessionInfo sessionInfo = findSessionInfo(context);
         if (sessionInfo != null) {
             QMMObject oldTxn = sessionInfo.rollback(savepoint);
             if (oldTxn != null) {
@@ -206,20 +457,18 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         }
     }
 
-    @Override
-    public synchronized void handleStatementOpen(DBCStatement statement)
+    private void processStatementOpen(DBCStatement statement)
     {
-        QMMSessionInfo session = getSessionInfo(statement.getSession().getExecutionContext());
+        QMMSessionInfo session = findSessionInfo(statement.getSession().getExecutionContext());
         if (session != null) {
             QMMStatementInfo stat = session.openStatement(statement);
             fireMetaEvent(stat, QMMetaEvent.Action.BEGIN);
         }
     }
 
-    @Override
-    public synchronized void handleStatementClose(DBCStatement statement, long rows)
+    private void processStatementClose(DBCStatement statement, long rows)
     {
-        QMMSessionInfo session = getSessionInfo(statement.getSession().getExecutionContext());
+        QMMSessionInfo session = findSessionInfo(statement.getSession().getExecutionContext());
         if (session != null) {
             QMMStatementInfo stat = session.closeStatement(statement, rows);
             if (stat == null) {
@@ -230,22 +479,20 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         }
     }
 
-    @Override
-    public synchronized void handleStatementExecuteBegin(DBCStatement statement)
+    private void processStatementExecuteBegin(DBCStatement statement, String query)
     {
-        QMMSessionInfo session = getSessionInfo(statement.getSession().getExecutionContext());
+        QMMSessionInfo session = findSessionInfo(statement.getSession().getExecutionContext());
         if (session != null) {
-            QMMStatementExecuteInfo exec = session.beginExecution(statement);
+            QMMStatementExecuteInfo exec = session.beginExecution(statement, query);
             if (exec != null) {
                 fireMetaEvent(exec, QMMetaEvent.Action.BEGIN);
             }
         }
     }
 
-    @Override
-    public synchronized void handleStatementExecuteEnd(DBCStatement statement, long rows, Throwable error)
+    private void processStatementExecuteEnd(DBCStatement statement, long rows, Throwable error)
     {
-        QMMSessionInfo session = getSessionInfo(statement.getSession().getExecutionContext());
+        QMMSessionInfo session = findSessionInfo(statement.getSession().getExecutionContext());
         if (session != null) {
             QMMStatementExecuteInfo exec = session.endExecution(statement, rows, error);
             if (exec != null) {
@@ -254,10 +501,9 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         }
     }
 
-    @Override
-    public synchronized void handleResultSetOpen(DBCResultSet resultSet)
+    private void processResultSetOpen(DBCResultSet resultSet)
     {
-        QMMSessionInfo session = getSessionInfo(resultSet.getSession().getExecutionContext());
+        QMMSessionInfo session = findSessionInfo(resultSet.getSession().getExecutionContext());
         if (session != null) {
             QMMStatementExecuteInfo exec = session.beginFetch(resultSet);
             if (exec != null) {
@@ -266,10 +512,9 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         }
     }
 
-    @Override
-    public synchronized void handleResultSetClose(DBCResultSet resultSet, long rowCount)
+    private void processResultSetClose(DBCResultSet resultSet, long rowCount)
     {
-        QMMSessionInfo session = getSessionInfo(resultSet.getSession().getExecutionContext());
+        QMMSessionInfo session = findSessionInfo(resultSet.getSession().getExecutionContext());
         if (session != null) {
             QMMStatementExecuteInfo exec = session.endFetch(resultSet, rowCount);
             if (exec != null) {
@@ -278,6 +523,52 @@ public class QMMCollectorImpl extends DefaultExecutionHandler implements QMMColl
         }
     }
 
+    /**
+     * Single consumer of execution events
+     */
+    private class EventCollector extends Thread {
+
+        private volatile boolean waiting;
+
+        EventCollector()
+        {
+            super("QM events collector");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run()
+        {
+            long count = 0;
+            for (;;) {
+                ExecutionEvent event = eventBuffer.poll();
+                if (event == null) {
+                    if (!running && eventBuffer.isEmpty()) {
+                        break;
+                    }
+                    waiting = true;
+                    if (eventBuffer.isEmpty()) {
+                        LockSupport.parkNanos(this, COLLECTOR_IDLE_TIMEOUT);
+                    }
+                    waiting = false;
+                    continue;
+                }
+                try {
+                    processEvent(event);
+                } catch (Throwable e) {
+                    log.debug("Error processing QM event " + event.type, e);
+                }
+                processedCount = ++count;
+                if (event.type == EventType.CONTEXT_CLOSE) {
+                    // Forget closed context unless it was reopened
+                    contextSequences.remove(event.object, count);
+                }
+                notifyWaiters();
+            }
+            notifyWaiters();
+        }
+    }
+
     private class EventDispatcher extends AbstractJob {
 
         protected EventDispatcher()
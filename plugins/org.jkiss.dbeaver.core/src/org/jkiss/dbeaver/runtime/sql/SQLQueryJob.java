@@ -43,6 +43,7 @@ import org.jkiss.dbeaver.model.sql.SQLDataSource;
 import org.jkiss.dbeaver.model.sql.SQLQuery;
 import org.jkiss.dbeaver.model.sql.SQLQueryParameter;
 import org.jkiss.dbeaver.model.sql.SQLQueryResult;
+import org.jkiss.dbeaver.model.sql.SQLQueryType;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.runtime.jobs.DataSourceJob;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -54,7 +55,9 @@ import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.io.Closeable;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -79,6 +82,8 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
 
     private SQLScriptCommitType commitType;
     private SQLScriptErrorHandling errorHandling;
+    private int batchSize;
+    private boolean batchEnabled;
     private boolean fetchResultSets;
     private long rsOffset;
     private long rsMaxRows;
@@ -91,6 +96,13 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
     private int fetchResultSetNumber;
     private int resultSetNumber;
     private SQLQuery lastGoodQuery;
+    // Queries before this index were sent in the last batch. Their results are already reported
+    private int batchEnd;
+    // Failed queries of the last batch
+    private final BitSet batchFailed = new BitSet();
+    private Throwable batchError;
+    // Failed queries of the last batch may be executed again
+    private boolean batchRetryable;
 
     public SQLQueryJob(
         @NotNull IWorkbenchPartSite partSite,
@@ -113,6 +125,7 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
             DBPPreferenceStore preferenceStore = getDataSourceContainer().getPreferenceStore();
             this.commitType = SQLScriptCommitType.valueOf(preferenceStore.getString(DBeaverPreferences.SCRIPT_COMMIT_TYPE));
             this.errorHandling = SQLScriptErrorHandling.valueOf(preferenceStore.getString(DBeaverPreferences.SCRIPT_ERROR_HANDLING));
+            this.batchSize = preferenceStore.getInt(DBeaverPreferences.SCRIPT_BATCH_SIZE);
             this.fetchResultSets = queries.size() == 1 || preferenceStore.getBoolean(DBeaverPreferences.SCRIPT_FETCH_RESULT_SETS);
             this.rsMaxRows = preferenceStore.getInt(DBeaverPreferences.RESULT_SET_MAX_ROWS);
         }
@@ -162,6 +175,10 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
                     txnManager.setAutoCommit(monitor, true);
                 }
 
+                batchEnabled = batchSize > 1 && queries.size() > 1 && SQLStatementBatch.isSupported(session);
+                batchEnd = 0;
+                boolean retryQuery = false;
+
                 monitor.beginTask(this.getName(), queries.size());
 
                 // Notify job start
@@ -179,7 +196,26 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
                     SQLQuery query = queries.get(queryNum);
 
                     fetchResultSetNumber = resultSetNumber;
-                    boolean runNext = executeSingleQuery(session, query, true);
+                    boolean runNext;
+                    boolean canRetry = true;
+                    if (queryNum < batchEnd && !retryQuery) {
+                        // Query was sent in batch. Check its result
+                        lastError = batchFailed.get(queryNum) ? batchError : null;
+                        runNext = lastError == null || errorHandling == SQLScriptErrorHandling.IGNORE;
+                        canRetry = batchRetryable;
+                    } else {
+                        int batchCount = retryQuery ? 0 : getBatchCount(queryNum);
+                        retryQuery = false;
+                        if (batchCount > 1) {
+                            // Send consecutive DML statements in one batch. Results are checked one by one then
+                            executeQueryBatch(session, queryNum, batchCount);
+                            if (monitor.isCanceled()) {
+                                break;
+                            }
+                            continue;
+                        }
+                        runNext = executeSingleQuery(session, query, true);
+                    }
                     if (!runNext) {
                         // Ask to continue
                         if (lastError != null) {
@@ -189,7 +225,8 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
                         ExecutionQueueErrorResponse response = ExecutionQueueErrorJob.showError(
                             isQueue ? "SQL script execution" : "SQL query execution",
                             lastError,
-                            isQueue);
+                            isQueue,
+                            canRetry);
 
                         boolean stopScript = false;
                         switch (response) {
@@ -199,6 +236,7 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
                                 break;
                             case RETRY:
                                 // just make it again
+                                retryQuery = true;
                                 continue;
                             case IGNORE:
                                 // Just do nothing
@@ -298,10 +336,7 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
 
             // Check and invalidate connection
             DBPDataSource dataSource = executionContext.getDataSource();
-            if (!connectionInvalidated && dataSource.getContainer().getPreferenceStore().getBoolean(DBeaverPreferences.STATEMENT_INVALIDATE_BEFORE_EXECUTE)) {
-                executionContext.invalidateContext(session.getProgressMonitor());
-                connectionInvalidated = true;
-            }
+            checkConnection(session);
 
             try {
                 // Modify query (filters + parameters)
@@ -429,6 +464,149 @@ public class SQLQueryJob extends DataSourceJob implements Closeable
         return true;
     }
 
+    private void checkConnection(@NotNull DBCSession session) throws DBCException
+    {
+        DBCExecutionContext executionContext = getExecutionContext();
+        if (!connectionInvalidated && executionContext.getDataSource().getContainer().getPreferenceStore().getBoolean(DBeaverPreferences.STATEMENT_INVALIDATE_BEFORE_EXECUTE)) {
+            executionContext.invalidateContext(session.getProgressMonitor());
+            connectionInvalidated = true;
+        }
+    }
+
+    /**
+     * Number of consecutive DML queries (starting from specified one) which may be executed in one batch
+     */
+    private int getBatchCount(int queryNum)
+    {
+        if (!batchEnabled || dataFilter != null) {
+            return 0;
+        }
+        int count = 0;
+        while (count < batchSize && queryNum + count < queries.size() && isBatchable(queries.get(queryNum + count))) {
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean isBatchable(@NotNull SQLQuery query)
+    {
+        SQLQueryType type = query.getType();
+        return (type == SQLQueryType.INSERT || type == SQLQueryType.UPDATE || type == SQLQueryType.DELETE) &&
+            CommonUtils.isEmpty(query.getParameters()) &&
+            SQLStatementBatch.isPlainDML(query.getQuery());
+    }
+
+    /**
+     * Executes queries in one batch. Each query gets its own result (update count or error).
+     * Sets batch end and failed queries. If failed query is unknown then error is reported for the whole batch
+     * and only the first query is marked as failed (no query of such batch may be executed again).
+     */
+    private void executeQueryBatch(@NotNull DBCSession session, int firstQuery, int queryCount)
+    {
+        List<SQLQuery> batchQueries = queries.subList(firstQuery, firstQuery + queryCount);
+        lastError = null;
+        batchFailed.clear();
+        batchError = null;
+        batchRetryable = true;
+        closeStatement();
+
+        SQLStatementBatch<SQLQuery> batch = new SQLStatementBatch<>(batchQueries.size());
+        for (SQLQuery query : batchQueries) {
+            batch.add(query.getQuery(), query);
+        }
+
+        long startTime = System.currentTimeMillis();
+        int[] updateCounts;
+        int failedIndex = -1;
+        boolean completed = true;
+        Throwable error = null;
+        try {
+            checkConnection(session);
+            updateCounts = batch.execute(
+                session,
+                new AbstractExecutionSource(dataContainer, getExecutionContext(), partSite.getPart()),
+                statistics);
+        } catch (SQLStatementBatch.BatchException e) {
+            if (!e.isPositionKnown()) {
+                // Some queries may be executed. Do not run any of them again
+                reportBatchError(batchQueries, e, System.currentTimeMillis() - startTime);
+                batchEnd = firstQuery + queryCount;
+                batchFailed.set(firstQuery);
+                batchError = e;
+                batchRetryable = false;
+                return;
+            }
+            updateCounts = e.getUpdateCounts();
+            failedIndex = e.getFailedIndex();
+            completed = e.isCompleted();
+            error = e;
+        } catch (DBCException e) {
+            // Nothing was executed
+            updateCounts = new int[0];
+            failedIndex = 0;
+            completed = false;
+            error = e;
+        }
+        long queryTime = (System.currentTimeMillis() - startTime) / batchQueries.size();
+
+        int processedCount = error == null || completed ? batchQueries.size() : failedIndex + 1;
+        batchEnd = firstQuery + processedCount;
+        batchError = error;
+        for (int i = 0; i < processedCount; i++) {
+            SQLQuery query = batchQueries.get(i);
+            SQLQueryResult result = new SQLQueryResult(query);
+            if (i == failedIndex || (i < updateCounts.length && updateCounts[i] == Statement.EXECUTE_FAILED)) {
+                result.setError(error);
+                batchFailed.set(firstQuery + i);
+            } else {
+                if (i < updateCounts.length && updateCounts[i] >= 0) {
+                    result.setUpdateCount((long) updateCounts[i]);
+                }
+                lastGoodQuery = query;
+            }
+            result.setQueryTime(queryTime);
+            if (listener != null) {
+                try {
+                    listener.onStartQuery(query);
+                    listener.onEndQuery(result);
+                } catch (Exception e) {
+                    log.error(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports error of batch with unknown failed query. Result refers to the text of all batch queries.
+     */
+    private void reportBatchError(@NotNull List<SQLQuery> batchQueries, @NotNull Throwable error, long queryTime)
+    {
+        SQLQuery firstQuery = batchQueries.get(0);
+        SQLQuery lastQuery = batchQueries.get(batchQueries.size() - 1);
+        StringBuilder text = new StringBuilder();
+        for (SQLQuery query : batchQueries) {
+            if (text.length() > 0) {
+                text.append(";\n");
+            }
+            text.append(query.getQuery());
+        }
+        SQLQuery batchQuery = new SQLQuery(
+            text.toString(),
+            firstQuery.getOffset(),
+            lastQuery.getOffset() + lastQuery.getLength() - firstQuery.getOffset());
+        SQLQueryResult result = new SQLQueryResult(batchQuery);
+        result.setError(error);
+        result.setQueryTime(queryTime);
+        if (listener != null) {
+            try {
+                listener.onStartQuery(batchQuery);
+                listener.onEndQuery(result);
+            } catch (Exception e) {
+                log.error(e);
+            }
+        }
+    }
+
     private void showExecutionResult(DBCSession session) throws DBCException {
         if (statistics.getStatementsCount() > 1 || resultSetNumber == 0) {
             SQLQuery query = new SQLQuery("", -1, -1);
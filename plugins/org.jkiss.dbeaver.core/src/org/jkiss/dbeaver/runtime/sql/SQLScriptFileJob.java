@@ -0,0 +1,401 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.runtime.sql;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBeaverPreferences;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverCore;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.qm.QMUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLDataSource;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLScriptReader;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.runtime.jobs.DataSourceJob;
+import org.jkiss.dbeaver.ui.DBeaverIcons;
+import org.jkiss.dbeaver.ui.UIIcon;
+import org.jkiss.dbeaver.utils.RuntimeUtils;
+
+import java.io.*;
+
+/**
+ * Executes SQL script file without loading it in SQL editor.
+ * Statements are read from the file one by one (see {@link SQLScriptReader}) and executed as soon as they are parsed,
+ * so memory usage doesn't depend on script size. Consecutive DML statements may be sent in JDBC batches.
+ * Commit mode and error handling are taken from script preferences, progress is reported by file position.
+ */
+public class SQLScriptFileJob extends DataSourceJob
+{
+    static final Log log = Log.getLog(SQLScriptFileJob.class);
+
+    private static final int PROGRESS_UNIT = 1024;
+
+    private final File scriptFile;
+    private final String charset;
+
+    private SQLScriptCommitType commitType;
+    private SQLScriptErrorHandling errorHandling;
+    private int commitLines;
+    private int batchSize;
+
+    private DBCExecutionSource executionSource;
+    private DBCStatistics statistics;
+    private Throwable lastError;
+    // Error which stopped script execution
+    private Throwable stopError;
+
+    public SQLScriptFileJob(
+        @NotNull File scriptFile,
+        @NotNull String charset,
+        @NotNull DBCExecutionContext executionContext)
+    {
+        super("Execute script " + scriptFile.getName(), DBeaverIcons.getImageDescriptor(UIIcon.SQL_SCRIPT_EXECUTE), executionContext);
+        this.scriptFile = scriptFile;
+        this.charset = charset;
+
+        DBPPreferenceStore preferenceStore = getDataSourceContainer().getPreferenceStore();
+        this.commitType = SQLScriptCommitType.valueOf(preferenceStore.getString(DBeaverPreferences.SCRIPT_COMMIT_TYPE));
+        this.errorHandling = SQLScriptErrorHandling.valueOf(preferenceStore.getString(DBeaverPreferences.SCRIPT_ERROR_HANDLING));
+        this.commitLines = preferenceStore.getInt(DBeaverPreferences.SCRIPT_COMMIT_LINES);
+        this.batchSize = preferenceStore.getInt(DBeaverPreferences.SCRIPT_BATCH_SIZE);
+    }
+
+    /**
+     * Sets max number of consecutive DML statements sent in one JDBC batch.
+     * Values less than 2 disable batching.
+     */
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+    @Nullable
+    public DBCStatistics getStatistics()
+    {
+        return statistics;
+    }
+
+    @Nullable
+    public Throwable getLastError()
+    {
+        return lastError;
+    }
+
+    @Override
+    protected IStatus run(DBRProgressMonitor monitor)
+    {
+        RuntimeUtils.setThreadName("SQL script file execution");
+        statistics = new DBCStatistics();
+        lastError = null;
+        stopError = null;
+        DBCExecutionContext context = getExecutionContext();
+        DBPDataSource dataSource = context.getDataSource();
+        executionSource = new AbstractExecutionSource(null, context, this);
+
+        SQLDialect dialect = dataSource instanceof SQLDataSource ? ((SQLDataSource) dataSource).getSQLDialect() : BasicSQLDialect.INSTANCE;
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(dialect, getDataSourceContainer().getPreferenceStore());
+
+        DBCTransactionManager txnManager = DBUtils.getTransactionManager(context);
+        try (CountingInputStream input = new CountingInputStream(new FileInputStream(scriptFile));
+             SQLScriptReader scriptReader = new SQLScriptReader(new InputStreamReader(input, charset), syntaxManager);
+             DBCSession session = context.openSession(monitor, DBCExecutionPurpose.USER_SCRIPT, "SQL Script"))
+        {
+            QMUtils.getDefaultHandler().handleScriptBegin(session);
+
+            boolean oldAutoCommit = txnManager == null || txnManager.isAutoCommit();
+            boolean newAutoCommit = (commitType == SQLScriptCommitType.AUTOCOMMIT);
+            if (txnManager != null && !oldAutoCommit && newAutoCommit) {
+                txnManager.setAutoCommit(monitor, true);
+            }
+            DBCTransactionManager commitManager =
+                txnManager != null && !oldAutoCommit && commitType == SQLScriptCommitType.NLINES && commitLines > 0 ? txnManager : null;
+
+            boolean completed = false;
+            try {
+                monitor.beginTask(this.getName(), (int) (scriptFile.length() / PROGRESS_UNIT) + 1);
+                executeScript(session, scriptReader, input, commitManager);
+                monitor.done();
+                completed = true;
+            } finally {
+                try {
+                    if (txnManager != null && !oldAutoCommit && commitType != SQLScriptCommitType.AUTOCOMMIT) {
+                        endTransaction(session, txnManager, completed);
+                    }
+                } finally {
+                    // Restore transactions settings
+                    if (txnManager != null && !oldAutoCommit && newAutoCommit) {
+                        restoreAutoCommit(monitor, txnManager, completed);
+                    }
+                }
+            }
+
+            QMUtils.getDefaultHandler().handleScriptEnd(session);
+
+            if (lastError != null) {
+                return new Status(
+                    Status.ERROR,
+                    DBeaverCore.getCorePluginID(),
+                    "Error during SQL script execution: " + lastError.getMessage());
+            }
+            return new Status(
+                Status.OK,
+                DBeaverCore.getCorePluginID(),
+                "SQL script completed");
+        }
+        catch (Throwable ex) {
+            return new Status(
+                Status.ERROR,
+                DBeaverCore.getCorePluginID(),
+                "Error during SQL script execution: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Commits script changes unless script was stopped by error with rollback error handling
+     * or failed unexpectedly. Errors ignored with {@link SQLScriptErrorHandling#IGNORE} don't prevent commit.
+     */
+    private void endTransaction(@NotNull DBCSession session, @NotNull DBCTransactionManager txnManager, boolean completed)
+        throws DBCException
+    {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        if (completed && (stopError == null || errorHandling == SQLScriptErrorHandling.STOP_COMMIT)) {
+            if (commitType != SQLScriptCommitType.NO_COMMIT) {
+                monitor.beginTask("Commit data", 1);
+                txnManager.commit(session);
+                monitor.done();
+            }
+            return;
+        }
+        monitor.beginTask("Rollback data", 1);
+        try {
+            txnManager.rollback(session, null);
+        } catch (DBCException e) {
+            if (completed) {
+                throw e;
+            }
+            // Do not hide original error
+            log.error("Error rolling back script transaction", e);
+        } finally {
+            monitor.done();
+        }
+    }
+
+    private void restoreAutoCommit(@NotNull DBRProgressMonitor monitor, @NotNull DBCTransactionManager txnManager, boolean completed)
+        throws DBCException
+    {
+        try {
+            txnManager.setAutoCommit(monitor, false);
+        } catch (DBCException e) {
+            if (completed) {
+                throw e;
+            }
+            log.error("Error restoring auto-commit mode", e);
+        }
+    }
+
+    private void executeScript(
+        @NotNull DBCSession session,
+        @NotNull SQLScriptReader scriptReader,
+        @NotNull CountingInputStream input,
+        @Nullable DBCTransactionManager commitManager)
+        throws IOException, DBCException
+    {
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        SQLStatementBatch<Integer> batch = new SQLStatementBatch<>(batchSize);
+        boolean useBatch = batchSize > 1 && SQLStatementBatch.isSupported(session);
+        int uncommittedCount = 0;
+        long reportedUnits = 0;
+
+        for (;;) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            String query = scriptReader.nextStatement();
+            if (query == null) {
+                break;
+            }
+            int line = scriptReader.getStatementLine();
+            if (useBatch && SQLStatementBatch.isBatchable(query)) {
+                batch.add(query, line);
+                if (batch.isFull() && !executeBatch(session, batch)) {
+                    return;
+                }
+            } else {
+                if (!executeBatch(session, batch) || !executeQuery(session, query, line)) {
+                    return;
+                }
+            }
+
+            if (commitManager != null && ++uncommittedCount >= commitLines) {
+                if (!executeBatch(session, batch)) {
+                    return;
+                }
+                commitManager.commit(session);
+                uncommittedCount = 0;
+            }
+
+            long units = input.getCount() / PROGRESS_UNIT;
+            if (units > reportedUnits) {
+                monitor.worked((int) (units - reportedUnits));
+                monitor.subTask("Executed " + statistics.getStatementsCount() + " statements (line " + line + ")");
+                reportedUnits = units;
+            }
+        }
+        executeBatch(session, batch);
+    }
+
+    /**
+     * Executes queued DML statements.
+     * @return false if script execution must be stopped
+     */
+    private boolean executeBatch(@NotNull DBCSession session, @NotNull SQLStatementBatch<Integer> batch)
+    {
+        while (!batch.isEmpty()) {
+            try {
+                batch.execute(session, executionSource, statistics);
+                batch.clear();
+            } catch (SQLStatementBatch.BatchException e) {
+                if (!e.isPositionKnown()) {
+                    // Any statement of the batch may be executed already - do not run them again
+                    String message = "Error executing statements at lines " +
+                        batch.getSource(0) + "-" + batch.getSource(batch.size() - 1) + " of " + scriptFile.getName();
+                    batch.clear();
+                    return handleError(e, message);
+                }
+                if (!handleError(e, batch.getSource(e.getFailedIndex()))) {
+                    batch.clear();
+                    return false;
+                }
+                if (e.isCompleted()) {
+                    batch.clear();
+                } else {
+                    // Execute statements after the failed one
+                    batch.removeFirst(e.getFailedIndex() + 1);
+                }
+            } catch (DBCException e) {
+                batch.clear();
+                return handleError(e, -1);
+            }
+        }
+        return true;
+    }
+
+    private boolean executeQuery(@NotNull DBCSession session, @NotNull String query, int line)
+    {
+        long startTime = System.currentTimeMillis();
+        try {
+            DBCStatement dbStat = DBUtils.createStatement(session, query, false);
+            try {
+                dbStat.setStatementSource(executionSource);
+                boolean hasResultSet = dbStat.executeStatement();
+                statistics.addStatementsCount();
+                if (!hasResultSet) {
+                    long updateCount = dbStat.getUpdateRowCount();
+                    if (updateCount > 0) {
+                        statistics.addRowsUpdated(updateCount);
+                    }
+                }
+            } finally {
+                dbStat.close();
+            }
+        } catch (DBCException e) {
+            return handleError(e, line);
+        } finally {
+            statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if script execution may be continued
+     */
+    private boolean handleError(@NotNull Throwable error, int line)
+    {
+        return handleError(error, line > 0 ?
+            "Error executing statement at line " + line + " of " + scriptFile.getName() :
+            "Error executing statements of " + scriptFile.getName());
+    }
+
+    private boolean handleError(@NotNull Throwable error, @NotNull String message)
+    {
+        lastError = error;
+        log.error(message, error);
+        if (errorHandling == SQLScriptErrorHandling.IGNORE) {
+            return true;
+        }
+        stopError = error;
+        return false;
+    }
+
+    /**
+     * Counts bytes read from the script file
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in)
+        {
+            super(in);
+        }
+
+        long getCount()
+        {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException
+        {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+}
@@ -0,0 +1,283 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.runtime.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.*;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Queue of DML statements which are sent to the database with a single JDBC batch.
+ * Each statement keeps its source object (query or script position) so errors can be mapped back.
+ */
+class SQLStatementBatch<SOURCE> {
+
+    private static final String[] BATCH_KEYWORDS = { "INSERT", "UPDATE", "DELETE", "MERGE" };
+    // DML clauses which make statement return result set
+    private static final Pattern RESULT_CLAUSE_PATTERN = Pattern.compile("\\b(RETURNING|OUTPUT)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final int batchSize;
+    private final List<String> queries = new ArrayList<>();
+    private final List<SOURCE> sources = new ArrayList<>();
+
+    SQLStatementBatch(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+    static boolean isSupported(@NotNull DBCSession session)
+    {
+        return session.getDataSource().getInfo().supportsBatchUpdates();
+    }
+
+    /**
+     * Checks whether statement is a plain DML statement (it can't return result sets).
+     */
+    static boolean isBatchable(@NotNull String query)
+    {
+        if (!isPlainDML(query)) {
+            return false;
+        }
+        int start = 0;
+        while (start < query.length() && Character.isWhitespace(query.charAt(start))) {
+            start++;
+        }
+        for (String keyword : BATCH_KEYWORDS) {
+            int end = start + keyword.length();
+            if (query.regionMatches(true, start, keyword, 0, keyword.length()) &&
+                (end == query.length() || !Character.isLetterOrDigit(query.charAt(end))))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks that DML statement has no RETURNING (or OUTPUT) clause.
+     * Such statements return result sets and can't be executed in batch.
+     */
+    static boolean isPlainDML(@NotNull String query)
+    {
+        return !RESULT_CLAUSE_PATTERN.matcher(query).find();
+    }
+
+    boolean isEmpty()
+    {
+        return queries.isEmpty();
+    }
+
+    boolean isFull()
+    {
+        return queries.size() >= batchSize;
+    }
+
+    int size()
+    {
+        return queries.size();
+    }
+
+    void add(@NotNull String query, SOURCE source)
+    {
+        queries.add(query);
+        sources.add(source);
+    }
+
+    SOURCE getSource(int index)
+    {
+        return sources.get(index);
+    }
+
+    void clear()
+    {
+        queries.clear();
+        sources.clear();
+    }
+
+    /**
+     * Removes first statements (e.g. executed ones after batch failure)
+     */
+    void removeFirst(int count)
+    {
+        queries.subList(0, count).clear();
+        sources.subList(0, count).clear();
+    }
+
+    /**
+     * Executes all queued statements. Queue isn't cleared.
+     * Update counts are added to statistics.
+     * @return update counts of statements
+     * @throws BatchException if some statement failed
+     */
+    int[] execute(@NotNull DBCSession session, @NotNull DBCExecutionSource source, @NotNull DBCStatistics statistics) throws DBCException
+    {
+        if (queries.isEmpty()) {
+            return new int[0];
+        }
+        DBPDataSource dataSource = session.getDataSource();
+        long startTime = System.currentTimeMillis();
+        DBCStatement dbStat = session.prepareStatement(DBCStatementType.SCRIPT, queries.get(0), false, false, false);
+        try {
+            dbStat.setStatementSource(source);
+            if (dbStat instanceof Statement) {
+                Statement jdbcStat = (Statement) dbStat;
+                int[] updateCounts;
+                try {
+                    for (String query : queries) {
+                        jdbcStat.addBatch(query);
+                    }
+                    updateCounts = jdbcStat.executeBatch();
+                } catch (BatchUpdateException e) {
+                    int[] executedCounts = e.getUpdateCounts();
+                    if (executedCounts == null) {
+                        throw new BatchException(e, dataSource);
+                    }
+                    addUpdateCounts(statistics, executedCounts);
+                    if (executedCounts.length < queries.size()) {
+                        // Driver stopped on the failed statement
+                        throw new BatchException(e, dataSource, executedCounts, executedCounts.length, false);
+                    }
+                    // Driver executed the rest of batch
+                    for (int i = 0; i < executedCounts.length; i++) {
+                        if (executedCounts[i] == Statement.EXECUTE_FAILED) {
+                            throw new BatchException(e, dataSource, executedCounts, i, true);
+                        }
+                    }
+                    throw new BatchException(e, dataSource);
+                } catch (SQLException e) {
+                    // Some statements may be executed already
+                    throw new BatchException(e, dataSource);
+                }
+                addUpdateCounts(statistics, updateCounts);
+                return updateCounts;
+            } else {
+                // Not a JDBC statement - execute statements one by one
+                int[] updateCounts = new int[queries.size()];
+                for (int i = 0; i < queries.size(); i++) {
+                    DBCStatement queryStat = i == 0 ? dbStat : session.prepareStatement(DBCStatementType.SCRIPT, queries.get(i), false, false, false);
+                    try {
+                        queryStat.setStatementSource(source);
+                        queryStat.executeStatement();
+                        statistics.addStatementsCount();
+                        long updateCount = queryStat.getUpdateRowCount();
+                        if (updateCount > 0) {
+                            statistics.addRowsUpdated(updateCount);
+                        }
+                        updateCounts[i] = (int) updateCount;
+                    } catch (DBCException e) {
+                        throw new BatchException(e, dataSource, Arrays.copyOf(updateCounts, i), i, false);
+                    } finally {
+                        if (queryStat != dbStat) {
+                            queryStat.close();
+                        }
+                    }
+                }
+                return updateCounts;
+            }
+        } finally {
+            dbStat.close();
+            statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private static void addUpdateCounts(DBCStatistics statistics, int[] updateCounts)
+    {
+        for (int updateCount : updateCounts) {
+            if (updateCount == Statement.EXECUTE_FAILED) {
+                continue;
+            }
+            statistics.addStatementsCount();
+            if (updateCount > 0) {
+                statistics.addRowsUpdated(updateCount);
+            }
+        }
+    }
+
+    /**
+     * Batch execution error
+     */
+    static class BatchException extends DBCException {
+        private final int[] updateCounts;
+        private final int failedIndex;
+        private final boolean completed;
+        private final boolean positionKnown;
+
+        BatchException(Throwable cause, DBPDataSource dataSource, int[] updateCounts, int failedIndex, boolean completed)
+        {
+            super(cause, dataSource);
+            this.updateCounts = updateCounts;
+            this.failedIndex = failedIndex;
+            this.completed = completed;
+            this.positionKnown = true;
+        }
+
+        /**
+         * Driver didn't report which statement failed and which were executed.
+         */
+        BatchException(Throwable cause, DBPDataSource dataSource)
+        {
+            super(cause, dataSource);
+            this.updateCounts = new int[0];
+            this.failedIndex = 0;
+            this.completed = false;
+            this.positionKnown = false;
+        }
+
+        /**
+         * Update counts of statements executed before failure (or of all statements if batch was completed)
+         */
+        int[] getUpdateCounts()
+        {
+            return updateCounts;
+        }
+
+        /**
+         * Index of the first failed statement
+         */
+        int getFailedIndex()
+        {
+            return failedIndex;
+        }
+
+        /**
+         * True if driver executed all statements after the failed one
+         */
+        boolean isCompleted()
+        {
+            return completed;
+        }
+
+        /**
+         * False if failed statement is unknown. Any statement of the batch may be executed then,
+         * so none of them may be executed again.
+         */
+        boolean isPositionKnown()
+        {
+            return positionKnown;
+        }
+    }
+
+}
@@ -27,12 +27,15 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Spinner;
 import org.jkiss.dbeaver.core.CoreMessages;
+import org.jkiss.dbeaver.tools.transfer.wizard.DataTransferSettings;
 import org.jkiss.dbeaver.tools.transfer.wizard.DataTransferWizard;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.dialogs.ActiveWizardPage;
 
 public class DatabaseConsumerPageLoadSettings extends ActiveWizardPage<DataTransferWizard> {
 
+    private Button newConnectionCheckbox;
+
     public DatabaseConsumerPageLoadSettings() {
         super("Data load");
         setTitle("Data load settings");
@@ -56,7 +59,7 @@ public class DatabaseConsumerPageLoadSettings extends ActiveWizardPage<DataTrans
         {
             Group performanceSettings = UIUtils.createControlGroup(composite, "Performance", 4, GridData.FILL_HORIZONTAL, 0);
 
-            final Button newConnectionCheckbox = UIUtils.createLabelCheckbox(
+            newConnectionCheckbox = UIUtils.createLabelCheckbox(
                 performanceSettings,
                 CoreMessages.data_transfer_wizard_output_checkbox_new_connection,
                 settings.isOpenNewConnections());
@@ -87,6 +90,61 @@ public class DatabaseConsumerPageLoadSettings extends ActiveWizardPage<DataTrans
                 }
             });
             commitAfterEdit.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Spinner batchSizeEdit = UIUtils.createLabelSpinner(performanceSettings, "Batch size", settings.getBatchSize(), 1, Integer.MAX_VALUE);
+            batchSizeEdit.setToolTipText("Number of rows sent to the target database at once");
+            batchSizeEdit.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setBatchSize(batchSizeEdit.getSelection());
+                }
+            });
+            batchSizeEdit.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Spinner rowsInStatementEdit = UIUtils.createLabelSpinner(performanceSettings, "Rows in statement", settings.getRowsInStatement(), 1, 10000);
+            rowsInStatementEdit.setToolTipText("Number of rows inserted by one INSERT statement with multiple VALUES lists (if target database supports it)");
+            rowsInStatementEdit.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setRowsInStatement(rowsInStatementEdit.getSelection());
+                }
+            });
+            rowsInStatementEdit.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Button asyncFlushCheck = UIUtils.createLabelCheckbox(performanceSettings, "Send batches in background", settings.isAsyncFlush());
+            asyncFlushCheck.setToolTipText("Collect next batch while the previous one is executed");
+            asyncFlushCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setAsyncFlush(asyncFlushCheck.getSelection());
+                }
+            });
+            asyncFlushCheck.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Button bulkLoadCheck = UIUtils.createLabelCheckbox(performanceSettings, "Use bulk load", settings.isUseBulkLoad());
+            bulkLoadCheck.setToolTipText("Use native bulk load protocol (e.g. COPY in PostgreSQL) if target database supports it");
+            bulkLoadCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setUseBulkLoad(bulkLoadCheck.getSelection());
+                }
+            });
+            bulkLoadCheck.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            final Button bindNullsCheck = UIUtils.createLabelCheckbox(performanceSettings, "Insert NULL values", settings.isBindNulls());
+            bindNullsCheck.setToolTipText("Insert NULL values explicitly. Allows to use the same statement for all rows but column default values are not used");
+            bindNullsCheck.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    settings.setBindNulls(bindNullsCheck.getSelection());
+                }
+            });
+            bindNullsCheck.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
         }
 
         {
@@ -109,6 +167,15 @@ public class DatabaseConsumerPageLoadSettings extends ActiveWizardPage<DataTrans
     {
         final DatabaseConsumerSettings settings = getWizard().getPageSettings(this, DatabaseConsumerSettings.class);
 
+        // Parallel jobs can't share the same connection
+        DataTransferSettings transferSettings = getWizard().getSettings();
+        boolean parallel = transferSettings.getMaxJobCount() > 1 && transferSettings.getDataPipes().size() > 1;
+        if (parallel) {
+            settings.setOpenNewConnections(true);
+        }
+        newConnectionCheckbox.setSelection(settings.isOpenNewConnections());
+        newConnectionCheckbox.setEnabled(!parallel);
+
         updatePageCompletion();
     }
 
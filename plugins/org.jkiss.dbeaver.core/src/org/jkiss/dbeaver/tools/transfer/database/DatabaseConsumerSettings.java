@@ -60,6 +60,11 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
     private boolean openNewConnections = true;
     private boolean useTransactions = true;
     private int commitAfterRows = 10000;
+    private int batchSize = 1000;
+    private int rowsInStatement = 1;
+    private boolean asyncFlush = false;
+    private boolean useBulkLoad = false;
+    private boolean bindNulls = false;
     private boolean openTableOnFinish = true;
 
     public DatabaseConsumerSettings()
@@ -152,6 +157,77 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         this.commitAfterRows = commitAfterRows;
     }
 
+    /**
+     * Number of rows sent to the target database in one batch. Doesn't affect commits.
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize)
+    {
+        if (batchSize > 0) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    /**
+     * Execute batch in background thread while the next batch is collected
+     */
+    public boolean isAsyncFlush()
+    {
+        return asyncFlush;
+    }
+
+    public void setAsyncFlush(boolean asyncFlush)
+    {
+        this.asyncFlush = asyncFlush;
+    }
+
+    /**
+     * Number of rows in one INSERT statement (multiple VALUES lists).
+     * 1 means that each row is inserted with a separate statement.
+     */
+    public int getRowsInStatement()
+    {
+        return rowsInStatement;
+    }
+
+    public void setRowsInStatement(int rowsInStatement)
+    {
+        if (rowsInStatement > 0) {
+            this.rowsInStatement = rowsInStatement;
+        }
+    }
+
+    /**
+     * Use native bulk load protocol if target supports it
+     */
+    public boolean isUseBulkLoad()
+    {
+        return useBulkLoad;
+    }
+
+    public void setUseBulkLoad(boolean useBulkLoad)
+    {
+        this.useBulkLoad = useBulkLoad;
+    }
+
+    /**
+     * Insert NULL values explicitly. Then the same insert statement is used for all rows.
+     * Otherwise NULL columns are omitted from insert and target column defaults are used.
+     */
+    public boolean isBindNulls()
+    {
+        return bindNulls;
+    }
+
+    public void setBindNulls(boolean bindNulls)
+    {
+        this.bindNulls = bindNulls;
+    }
+
     @Nullable
     DBPDataSource getTargetDataSource(DatabaseMappingObject attrMapping)
     {
@@ -178,6 +254,21 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         if (dialogSettings.get("commitAfterRows") != null) {
             commitAfterRows = dialogSettings.getInt("commitAfterRows");
         }
+        if (dialogSettings.get("batchSize") != null) {
+            setBatchSize(dialogSettings.getInt("batchSize"));
+        }
+        if (dialogSettings.get("rowsInStatement") != null) {
+            setRowsInStatement(dialogSettings.getInt("rowsInStatement"));
+        }
+        if (dialogSettings.get("asyncFlush") != null) {
+            asyncFlush = dialogSettings.getBoolean("asyncFlush");
+        }
+        if (dialogSettings.get("useBulkLoad") != null) {
+            useBulkLoad = dialogSettings.getBoolean("useBulkLoad");
+        }
+        if (dialogSettings.get("bindNulls") != null) {
+            bindNulls = dialogSettings.getBoolean("bindNulls");
+        }
         if (dialogSettings.get("openTableOnFinish") != null) {
             openTableOnFinish = dialogSettings.getBoolean("openTableOnFinish");
         }
@@ -206,6 +297,11 @@ public class DatabaseConsumerSettings implements IDataTransferSettings {
         dialogSettings.put("openNewConnections", openNewConnections);
         dialogSettings.put("useTransactions", useTransactions);
         dialogSettings.put("commitAfterRows", commitAfterRows);
+        dialogSettings.put("batchSize", batchSize);
+        dialogSettings.put("rowsInStatement", rowsInStatement);
+        dialogSettings.put("asyncFlush", asyncFlush);
+        dialogSettings.put("useBulkLoad", useBulkLoad);
+        dialogSettings.put("bindNulls", bindNulls);
         dialogSettings.put("openTableOnFinish", openTableOnFinish);
     }
 
@@ -41,6 +41,7 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
     private Text segmentSizeText;
     private Button newConnectionCheckbox;
     private Button rowCountCheckbox;
+    private Button pipelinedCheckbox;
 
     public DatabaseProducerPageExtractSettings() {
         super("Extraction settings");
@@ -74,6 +75,7 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
                 public void modifyText(ModifyEvent e) {
                     try {
                         getWizard().getSettings().setMaxJobCount(Integer.parseInt(threadsNumText.getText()));
+                        updateConnectionOptions(settings);
                     } catch (NumberFormatException e1) {
                         // do nothing
                     }
@@ -136,6 +138,16 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
                 }
             });
             rowCountCheckbox.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
+
+            pipelinedCheckbox = UIUtils.createLabelCheckbox(generalSettings, CoreMessages.data_transfer_wizard_output_checkbox_pipelined, false);
+            pipelinedCheckbox.setToolTipText(CoreMessages.data_transfer_wizard_output_checkbox_pipelined_tooltip);
+            pipelinedCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setPipelined(pipelinedCheckbox.getSelection());
+                }
+            });
+            pipelinedCheckbox.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING, GridData.VERTICAL_ALIGN_BEGINNING, false, false, 3, 1));
         }
 
         setControl(composite);
@@ -147,8 +159,10 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
     {
         final DatabaseProducerSettings settings = getWizard().getPageSettings(this, DatabaseProducerSettings.class);
 
+        threadsNumText.setSelection(getWizard().getSettings().getMaxJobCount());
         newConnectionCheckbox.setSelection(settings.isOpenNewConnections());
         rowCountCheckbox.setSelection(settings.isQueryRowCount());
+        pipelinedCheckbox.setSelection(settings.isPipelined());
 
         if (segmentSizeText != null) {
             segmentSizeText.setText(String.valueOf(settings.getSegmentSize()));
@@ -158,9 +172,24 @@ public class DatabaseProducerPageExtractSettings extends ActiveWizardPage<DataTr
             }
         }
 
+        updateConnectionOptions(settings);
         updatePageCompletion();
     }
 
+    private void updateConnectionOptions(DatabaseProducerSettings settings)
+    {
+        if (newConnectionCheckbox == null) {
+            return;
+        }
+        // Parallel jobs can't share the same connection
+        boolean parallel = threadsNumText.isEnabled() && getWizard().getSettings().getMaxJobCount() > 1;
+        if (parallel) {
+            settings.setOpenNewConnections(true);
+            newConnectionCheckbox.setSelection(true);
+        }
+        newConnectionCheckbox.setEnabled(!parallel);
+    }
+
     @Override
     protected boolean determinePageCompletion()
     {
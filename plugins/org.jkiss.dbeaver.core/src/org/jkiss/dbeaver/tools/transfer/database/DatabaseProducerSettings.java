@@ -34,8 +34,13 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
     }
 
     private static final int DEFAULT_SEGMENT_SIZE = 100000;
+    private static final int DEFAULT_PIPELINE_BATCH_SIZE = 1000;
+    private static final int DEFAULT_PIPELINE_BUFFER_SIZE = 10;
 
     private int segmentSize = DEFAULT_SEGMENT_SIZE;
+    private boolean pipelined = false;
+    private int pipelineBatchSize = DEFAULT_PIPELINE_BATCH_SIZE;
+    private int pipelineBufferSize = DEFAULT_PIPELINE_BUFFER_SIZE;
 
     private boolean openNewConnections = true;
     private boolean queryRowCount = true;
@@ -77,6 +82,46 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         this.openNewConnections = openNewConnections;
     }
 
+    /**
+     * Pipelined transfer reads source rows and writes them to the target in separate threads
+     */
+    public boolean isPipelined()
+    {
+        return pipelined;
+    }
+
+    public void setPipelined(boolean pipelined)
+    {
+        this.pipelined = pipelined;
+    }
+
+    public int getPipelineBatchSize()
+    {
+        return pipelineBatchSize;
+    }
+
+    public void setPipelineBatchSize(int pipelineBatchSize)
+    {
+        if (pipelineBatchSize > 0) {
+            this.pipelineBatchSize = pipelineBatchSize;
+        }
+    }
+
+    /**
+     * Maximum number of row batches read ahead by pipeline
+     */
+    public int getPipelineBufferSize()
+    {
+        return pipelineBufferSize;
+    }
+
+    public void setPipelineBufferSize(int pipelineBufferSize)
+    {
+        if (pipelineBufferSize > 0) {
+            this.pipelineBufferSize = pipelineBufferSize;
+        }
+    }
+
     public ExtractType getExtractType()
     {
         return extractType;
@@ -108,6 +153,23 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         if (!CommonUtils.isEmpty(dialogSettings.get("queryRowCount"))) {
             queryRowCount = dialogSettings.getBoolean("queryRowCount");
         }
+        if (!CommonUtils.isEmpty(dialogSettings.get("pipelined"))) {
+            pipelined = dialogSettings.getBoolean("pipelined");
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("pipelineBatchSize"))) {
+            try {
+                setPipelineBatchSize(dialogSettings.getInt("pipelineBatchSize"));
+            } catch (NumberFormatException e) {
+                pipelineBatchSize = DEFAULT_PIPELINE_BATCH_SIZE;
+            }
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("pipelineBufferSize"))) {
+            try {
+                setPipelineBufferSize(dialogSettings.getInt("pipelineBufferSize"));
+            } catch (NumberFormatException e) {
+                pipelineBufferSize = DEFAULT_PIPELINE_BUFFER_SIZE;
+            }
+        }
     }
 
     @Override
@@ -117,5 +179,8 @@ public class DatabaseProducerSettings implements IDataTransferSettings {
         dialogSettings.put("segmentSize", segmentSize);
         dialogSettings.put("openNewConnections", openNewConnections);
         dialogSettings.put("queryRowCount", queryRowCount);
+        dialogSettings.put("pipelined", pipelined);
+        dialogSettings.put("pipelineBatchSize", pipelineBatchSize);
+        dialogSettings.put("pipelineBufferSize", pipelineBufferSize);
     }
 }
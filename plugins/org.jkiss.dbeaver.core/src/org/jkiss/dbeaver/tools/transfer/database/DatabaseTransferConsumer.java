@@ -26,6 +26,7 @@ import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.impl.DBObjectNameCaseTransformer;
+import org.jkiss.dbeaver.model.impl.data.BulkLoadBatchImpl;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLDataSource;
 import org.jkiss.dbeaver.model.struct.*;
@@ -56,6 +57,7 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private DBCExecutionContext targetContext;
     private DBCSession targetSession;
     private DBSDataManipulator.ExecuteBatch executeBatch;
+    private AsyncFlush asyncFlush;
     private long rowsExported = 0;
     private boolean ignoreErrors = false;
     private List<DBSEntityAttribute> targetAttributes;
@@ -73,6 +75,31 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         }
     }
 
+    /**
+     * Executes insert batch in background while next batch is being collected
+     */
+    private class AsyncFlush extends Thread {
+        private final DBSDataManipulator.ExecuteBatch batch;
+        private volatile Throwable error;
+
+        private AsyncFlush(DBSDataManipulator.ExecuteBatch batch)
+        {
+            super("Data transfer batch flush");
+            this.batch = batch;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run()
+        {
+            try {
+                batch.execute(targetSession);
+            } catch (Throwable e) {
+                error = e;
+            }
+        }
+    }
+
     public DatabaseTransferConsumer()
     {
     }
@@ -108,11 +135,26 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
             columnMapping.targetIndex = targetAttributes.size();
             targetAttributes.add(columnMappings[i].targetAttr.getTarget());
         }
-        executeBatch = containerMapping.getTarget().insertData(
-            targetSession,
-            targetAttributes.toArray(new DBSAttributeBase[targetAttributes.size()]),
-            null,
-            new AbstractExecutionSource(sourceObject, targetContext, this));
+        executeBatch = createExecuteBatch();
+    }
+
+    private DBSDataManipulator.ExecuteBatch createExecuteBatch() throws DBCException
+    {
+        DBSDataManipulator target = containerMapping.getTarget();
+        DBSAttributeBase[] attributes = targetAttributes.toArray(new DBSAttributeBase[targetAttributes.size()]);
+        AbstractExecutionSource source = new AbstractExecutionSource(sourceObject, targetContext, this);
+        if (settings.isUseBulkLoad() && target instanceof DBSDataBulkLoader &&
+            ((DBSDataBulkLoader) target).isBulkLoadSupported(targetSession, attributes))
+        {
+            return ((DBSDataBulkLoader) target).bulkLoadData(targetSession, attributes, source);
+        }
+        if (settings.getRowsInStatement() > 1 && (target.getSupportedFeatures() & DBSDataManipulator.DATA_INSERT_MULTI_ROW) != 0) {
+            return target.insertMultiRowData(targetSession, attributes, source, settings.getRowsInStatement());
+        }
+        if (settings.isBindNulls() && (target.getSupportedFeatures() & DBSDataManipulator.DATA_INSERT_NULLS) != 0) {
+            return target.insertData(targetSession, attributes, null, source, true);
+        }
+        return target.insertData(targetSession, attributes, null, source);
     }
 
     @Override
@@ -140,39 +182,17 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     private void insertBatch(boolean force) throws DBCException
     {
         boolean needCommit = force || ((rowsExported % settings.getCommitAfterRows()) == 0);
-        if (needCommit && executeBatch != null) {
-            boolean retryInsert;
-            do {
-                retryInsert = false;
-                try {
-                    executeBatch.execute(targetSession);
-                } catch (Throwable e) {
-                    log.error("Error inserting row", e);
-                    if (!ignoreErrors) {
-                        ExecutionQueueErrorResponse response = ExecutionQueueErrorJob.showError(
-                            DBUtils.getObjectFullName(containerMapping.getTarget()) + " data load",
-                            e,
-                            true);
-                        switch (response) {
-                            case STOP:
-                                // just stop execution
-                                throw new DBCException("Can't insert row", e);
-                            case RETRY:
-                                // do it again
-                                retryInsert = true;
-                                break;
-                            case IGNORE:
-                                // Just do nothing and go to the next row
-                                retryInsert = false;
-                                break;
-                            case IGNORE_ALL:
-                                ignoreErrors = true;
-                                retryInsert = false;
-                                break;
-                        }
-                    }
-                }
-            } while (retryInsert);
+        boolean needFlush = needCommit || ((rowsExported % settings.getBatchSize()) == 0);
+        if (needFlush && executeBatch != null) {
+            // Only one batch may be executed at once
+            finishAsyncFlush();
+            if (settings.isAsyncFlush() && !needCommit) {
+                asyncFlush = new AsyncFlush(executeBatch);
+                executeBatch = createExecuteBatch();
+                asyncFlush.start();
+            } else {
+                executeInsertBatch(executeBatch, null);
+            }
         }
         if (settings.isUseTransactions() && needCommit) {
             DBCTransactionManager txnManager = DBUtils.getTransactionManager(targetSession.getExecutionContext());
@@ -182,6 +202,77 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
         }
     }
 
+    /**
+     * Executes batch. On error asks user what to do.
+     * @param batch batch
+     * @param error error of previous batch execution. If not null then batch won't be executed before user response.
+     */
+    private void executeInsertBatch(DBSDataManipulator.ExecuteBatch batch, Throwable error) throws DBCException
+    {
+        for (;;) {
+            if (error == null) {
+                try {
+                    batch.execute(targetSession);
+                    return;
+                } catch (Throwable e) {
+                    error = e;
+                }
+            }
+            log.error("Error inserting row", error);
+            if (ignoreErrors) {
+                return;
+            }
+            ExecutionQueueErrorResponse response = ExecutionQueueErrorJob.showError(
+                DBUtils.getObjectFullName(containerMapping.getTarget()) + " data load",
+                error,
+                true);
+            switch (response) {
+                case STOP:
+                    // just stop execution
+                    throw new DBCException("Can't insert row", error);
+                case RETRY:
+                    if (error instanceof BulkLoadBatchImpl.PartialLoadException) {
+                        // Rows were already stored - sending them again would duplicate them
+                        log.warn("Bulk load batch was partially loaded and can't be retried");
+                        return;
+                    }
+                    // do it again
+                    error = null;
+                    break;
+                case IGNORE:
+                    // Just do nothing and go to the next row
+                    return;
+                case IGNORE_ALL:
+                    ignoreErrors = true;
+                    return;
+            }
+        }
+    }
+
+    /**
+     * Waits for the background batch execution (if any) and handles its error
+     */
+    private void finishAsyncFlush() throws DBCException
+    {
+        if (asyncFlush == null) {
+            return;
+        }
+        AsyncFlush flush = asyncFlush;
+        asyncFlush = null;
+        try {
+            flush.join();
+        } catch (InterruptedException e) {
+            throw new DBCException("Batch flush interrupted", e);
+        }
+        try {
+            if (flush.error != null) {
+                executeInsertBatch(flush.batch, flush.error);
+            }
+        } finally {
+            flush.batch.close();
+        }
+    }
+
     @Override
     public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException
     {
@@ -199,6 +290,16 @@ public class DatabaseTransferConsumer implements IDataTransferConsumer<DatabaseC
     @Override
     public void close()
     {
+        if (asyncFlush != null) {
+            // Transfer was interrupted - don't leave batch running in background
+            try {
+                asyncFlush.join();
+            } catch (InterruptedException e) {
+                log.debug(e);
+            }
+            asyncFlush.batch.close();
+            asyncFlush = null;
+        }
     }
 
     private void initExporter(DBRProgressMonitor monitor) throws DBCException
@@ -0,0 +1,233 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDAttributeConstraint;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination for segmented extraction.
+ * Each segment continues from the last unique key value read by previous segment
+ * (WHERE key > last ORDER BY key) instead of skipping previously read rows with OFFSET.
+ */
+class DatabaseTransferKeyset {
+
+    static final Log log = Log.getLog(DatabaseTransferKeyset.class);
+
+    @NotNull
+    private final DBPDataSource dataSource;
+    @NotNull
+    private final List<DBSEntityAttribute> keyAttributes;
+    @Nullable
+    private final DBDDataFilter baseFilter;
+    @Nullable
+    private Object[] lastKey;
+
+    private DatabaseTransferKeyset(@NotNull DBPDataSource dataSource, @NotNull List<DBSEntityAttribute> keyAttributes, @Nullable DBDDataFilter baseFilter)
+    {
+        this.dataSource = dataSource;
+        this.keyAttributes = keyAttributes;
+        this.baseFilter = baseFilter;
+    }
+
+    /**
+     * Creates keyset for specified entity.
+     * Returns null if entity doesn't have suitable unique key or data filter can't be combined with key condition.
+     */
+    @Nullable
+    static DatabaseTransferKeyset create(@NotNull DBRProgressMonitor monitor, @NotNull DBSEntity entity, @Nullable DBDDataFilter dataFilter)
+    {
+        if (dataFilter != null) {
+            if (dataFilter.hasOrdering()) {
+                // Custom ordering - keyset can't be used
+                return null;
+            }
+            if (dataFilter.isAnyConstraint()) {
+                for (DBDAttributeConstraint constraint : dataFilter.getConstraints()) {
+                    if (constraint.hasCondition()) {
+                        // OR conditions can't be combined with key condition
+                        return null;
+                    }
+                }
+            }
+        }
+        Collection<? extends DBSEntityAttribute> identifier;
+        try {
+            identifier = DBUtils.getBestTableIdentifier(monitor, entity);
+        } catch (DBException e) {
+            log.debug("Can't read unique key of '" + entity.getName() + "'", e);
+            return null;
+        }
+        if (CommonUtils.isEmpty(identifier)) {
+            return null;
+        }
+        for (DBSEntityAttribute attr : identifier) {
+            // Values of key columns are inlined in query and compared with > so only
+            // mandatory numbers and strings are supported
+            DBPDataKind dataKind = attr.getDataKind();
+            if (!attr.isRequired() || (dataKind != DBPDataKind.NUMERIC && dataKind != DBPDataKind.STRING)) {
+                return null;
+            }
+        }
+        return new DatabaseTransferKeyset(entity.getDataSource(), new ArrayList<DBSEntityAttribute>(identifier), dataFilter);
+    }
+
+    /**
+     * Data filter for the next segment
+     */
+    @NotNull
+    DBDDataFilter getSegmentFilter()
+    {
+        DBDDataFilter filter = baseFilter == null ?
+            new DBDDataFilter(new ArrayList<DBDAttributeConstraint>()) : new DBDDataFilter(baseFilter);
+
+        StringBuilder order = new StringBuilder();
+        for (DBSEntityAttribute attr : keyAttributes) {
+            if (order.length() > 0) order.append(',');
+            order.append(DBUtils.getQuotedIdentifier(attr));
+        }
+        filter.setOrder(order.toString());
+
+        if (lastKey != null) {
+            String keyCondition = makeKeyCondition();
+            if (CommonUtils.isEmpty(filter.getWhere())) {
+                filter.setWhere(keyCondition);
+            } else {
+                filter.setWhere("(" + filter.getWhere() + ") AND " + keyCondition);
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Makes condition (k1 > v1 OR (k1 = v1 AND k2 > v2) OR ...) for composite key
+     */
+    private String makeKeyCondition()
+    {
+        StringBuilder condition = new StringBuilder("(");
+        for (int i = 0; i < keyAttributes.size(); i++) {
+            if (i > 0) condition.append(" OR ");
+            condition.append('(');
+            for (int k = 0; k < i; k++) {
+                appendKeyComparison(condition, k, "=");
+                condition.append(" AND ");
+            }
+            appendKeyComparison(condition, i, ">");
+            condition.append(')');
+        }
+        condition.append(')');
+        return condition.toString();
+    }
+
+    private void appendKeyComparison(StringBuilder condition, int index, String operator)
+    {
+        DBSEntityAttribute attr = keyAttributes.get(index);
+        condition.append(DBUtils.getQuotedIdentifier(attr)).append(' ').append(operator).append(' ')
+            .append(SQLUtils.convertValueToSQL(dataSource, attr, lastKey[index]));
+    }
+
+    /**
+     * Wraps data receiver. Wrapper remembers key values of each fetched row.
+     */
+    @NotNull
+    DBDDataReceiver wrapReceiver(@NotNull DBDDataReceiver receiver)
+    {
+        return new KeyTracker(receiver);
+    }
+
+    private class KeyTracker implements DBDDataReceiver {
+        private final DBDDataReceiver receiver;
+        private int[] keyIndexes;
+        private DBCAttributeMetaData[] keyMetaAttributes;
+        private DBDValueHandler[] keyValueHandlers;
+
+        KeyTracker(DBDDataReceiver receiver)
+        {
+            this.receiver = receiver;
+        }
+
+        @Override
+        public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException
+        {
+            List<DBCAttributeMetaData> rsAttributes = resultSet.getMeta().getAttributes();
+            keyIndexes = new int[keyAttributes.size()];
+            keyMetaAttributes = new DBCAttributeMetaData[keyIndexes.length];
+            keyValueHandlers = new DBDValueHandler[keyIndexes.length];
+            for (int i = 0; i < keyIndexes.length; i++) {
+                keyIndexes[i] = -1;
+                String keyName = keyAttributes.get(i).getName();
+                for (int k = 0; k < rsAttributes.size(); k++) {
+                    if (keyName.equalsIgnoreCase(rsAttributes.get(k).getName())) {
+                        keyIndexes[i] = k;
+                        keyMetaAttributes[i] = rsAttributes.get(k);
+                        keyValueHandlers[i] = DBUtils.findValueHandler(session, rsAttributes.get(k));
+                        break;
+                    }
+                }
+                if (keyIndexes[i] < 0) {
+                    throw new DBCException("Key column '" + keyName + "' not found in result set");
+                }
+            }
+            receiver.fetchStart(session, resultSet, offset, maxRows);
+        }
+
+        @Override
+        public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException
+        {
+            Object[] key = new Object[keyIndexes.length];
+            for (int i = 0; i < keyIndexes.length; i++) {
+                key[i] = keyValueHandlers[i].fetchValueObject(session, resultSet, keyMetaAttributes[i], keyIndexes[i]);
+            }
+            receiver.fetchRow(session, resultSet);
+            lastKey = key;
+        }
+
+        @Override
+        public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException
+        {
+            receiver.fetchEnd(session, resultSet);
+        }
+
+        @Override
+        public void close()
+        {
+            receiver.close();
+        }
+    }
+
+}
@@ -0,0 +1,338 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.database;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDValueHandler;
+import org.jkiss.dbeaver.model.data.DBDValueMeta;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipelined data receiver.
+ * Source rows are read on the producer thread and passed in batches through a bounded buffer
+ * to a writer thread which feeds them into the target receiver.
+ * So source fetch and target write round-trips overlap instead of adding up.
+ * Result sets with LOBs or complex values are passed through directly because their values
+ * may depend on the source cursor position.
+ */
+class DatabaseTransferPipeline implements DBDDataReceiver {
+
+    static final Log log = Log.getLog(DatabaseTransferPipeline.class);
+
+    private static final long POLL_TIMEOUT = 100;
+    private static final List<Object[]> END_OF_DATA = new ArrayList<>();
+
+    @NotNull
+    private final DBDDataReceiver consumer;
+    private final int batchSize;
+    private final int bufferSize;
+
+    private boolean passThrough;
+    private List<DBCAttributeMetaData> attributes;
+    private DBDValueHandler[] valueHandlers;
+    private BlockingQueue<List<Object[]>> buffer;
+    private List<Object[]> curBatch;
+    private WriterThread writer;
+
+    DatabaseTransferPipeline(@NotNull DBDDataReceiver consumer, int batchSize, int bufferSize)
+    {
+        this.consumer = consumer;
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void fetchStart(DBCSession session, DBCResultSet resultSet, long offset, long maxRows) throws DBCException
+    {
+        attributes = resultSet.getMeta().getAttributes();
+        passThrough = false;
+        for (DBCAttributeMetaData attr : attributes) {
+            DBPDataKind dataKind = attr.getDataKind();
+            if (dataKind == DBPDataKind.CONTENT || dataKind.isComplex()) {
+                passThrough = true;
+                break;
+            }
+        }
+        if (passThrough) {
+            log.debug("Result set contains LOB or complex values - pipelining disabled");
+            consumer.fetchStart(session, resultSet, offset, maxRows);
+            return;
+        }
+        valueHandlers = new DBDValueHandler[attributes.size()];
+        for (int i = 0; i < attributes.size(); i++) {
+            valueHandlers[i] = DBUtils.findValueHandler(session, attributes.get(i));
+        }
+
+        BufferedResultSet bufferedResultSet = new BufferedResultSet(session, resultSet);
+        consumer.fetchStart(session, bufferedResultSet, offset, maxRows);
+
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        curBatch = new ArrayList<>(batchSize);
+        writer = new WriterThread(session, bufferedResultSet);
+        writer.start();
+    }
+
+    @Override
+    public void fetchRow(DBCSession session, DBCResultSet resultSet) throws DBCException
+    {
+        if (passThrough) {
+            consumer.fetchRow(session, resultSet);
+            return;
+        }
+        Object[] row = new Object[valueHandlers.length];
+        for (int i = 0; i < valueHandlers.length; i++) {
+            row[i] = valueHandlers[i].fetchValueObject(session, resultSet, attributes.get(i), i);
+        }
+        curBatch.add(row);
+        if (curBatch.size() >= batchSize) {
+            putBatch(session.getProgressMonitor(), curBatch);
+            curBatch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @Override
+    public void fetchEnd(DBCSession session, DBCResultSet resultSet) throws DBCException
+    {
+        if (passThrough) {
+            consumer.fetchEnd(session, resultSet);
+            return;
+        }
+        if (!curBatch.isEmpty()) {
+            putBatch(session.getProgressMonitor(), curBatch);
+            curBatch = null;
+        }
+        putBatch(session.getProgressMonitor(), END_OF_DATA);
+        WriterThread finishedWriter = writer;
+        joinWriter();
+        if (finishedWriter.error != null) {
+            throw finishedWriter.error;
+        }
+        consumer.fetchEnd(session, finishedWriter.resultSet);
+    }
+
+    @Override
+    public void close()
+    {
+        if (writer != null) {
+            // Producer failed before end of data - stop the writer
+            writer.aborted = true;
+            joinWriter();
+        }
+        buffer = null;
+        curBatch = null;
+        consumer.close();
+    }
+
+    /**
+     * Puts batch in buffer. Blocks while buffer is full (backpressure).
+     * If writer has failed then its error is rethrown. If writer was stopped by cancel then batch is discarded.
+     */
+    private void putBatch(DBRProgressMonitor monitor, List<Object[]> batch) throws DBCException
+    {
+        try {
+            while (!buffer.offer(batch, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                if (writer.error != null) {
+                    throw writer.error;
+                }
+                if (!writer.isAlive() || monitor.isCanceled()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            writer.aborted = true;
+            throw new DBCException("Data transfer interrupted", e);
+        }
+        if (writer.error != null) {
+            throw writer.error;
+        }
+    }
+
+    private void joinWriter()
+    {
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            writer.aborted = true;
+            writer.interrupt();
+        }
+        writer = null;
+    }
+
+    private class WriterThread extends Thread {
+        private final DBCSession session;
+        private final BufferedResultSet resultSet;
+        private volatile boolean aborted;
+        private volatile DBCException error;
+
+        WriterThread(DBCSession session, BufferedResultSet resultSet)
+        {
+            super("Data transfer writer");
+            this.session = session;
+            this.resultSet = resultSet;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run()
+        {
+            // Buffer may be released by close() after we quit
+            BlockingQueue<List<Object[]>> buffer = DatabaseTransferPipeline.this.buffer;
+            DBRProgressMonitor monitor = session.getProgressMonitor();
+            try {
+                while (!aborted && !monitor.isCanceled()) {
+                    List<Object[]> batch = buffer.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                    if (batch == null) {
+                        continue;
+                    }
+                    if (batch == END_OF_DATA) {
+                        break;
+                    }
+                    for (Object[] row : batch) {
+                        if (aborted) {
+                            break;
+                        }
+                        resultSet.curRow = row;
+                        consumer.fetchRow(session, resultSet);
+                    }
+                }
+            } catch (DBCException e) {
+                error = e;
+            } catch (InterruptedException e) {
+                error = new DBCException("Data transfer writer interrupted", e);
+            } catch (Throwable e) {
+                error = new DBCException("Data transfer writer failed", e);
+            } finally {
+                resultSet.curRow = null;
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * Result set which holds values of current buffered row.
+     * Meta data is taken from the source result set.
+     */
+    private static class BufferedResultSet implements DBCResultSet {
+        private final DBCSession session;
+        private final DBCResultSet source;
+        private final DBCResultSetMetaData meta;
+        private Object[] curRow;
+
+        BufferedResultSet(DBCSession session, DBCResultSet source) throws DBCException
+        {
+            this.session = session;
+            this.source = source;
+            this.meta = source.getMeta();
+        }
+
+        @Override
+        public DBCSession getSession()
+        {
+            return session;
+        }
+
+        @Override
+        public DBCStatement getSourceStatement()
+        {
+            return source.getSourceStatement();
+        }
+
+        @Nullable
+        @Override
+        public Object getAttributeValue(int index) throws DBCException
+        {
+            if (curRow == null) {
+                throw new DBCException("No current row");
+            }
+            return curRow[index];
+        }
+
+        @Nullable
+        @Override
+        public Object getAttributeValue(String name) throws DBCException
+        {
+            List<DBCAttributeMetaData> attrs = meta.getAttributes();
+            for (int i = 0; i < attrs.size(); i++) {
+                if (attrs.get(i).getName().equals(name)) {
+                    return getAttributeValue(i);
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public DBDValueMeta getAttributeValueMeta(int index) throws DBCException
+        {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public DBDValueMeta getRowMeta() throws DBCException
+        {
+            return null;
+        }
+
+        @Override
+        public boolean nextRow() throws DBCException
+        {
+            throw new DBCException("Buffered result set can't be navigated");
+        }
+
+        @Override
+        public boolean moveTo(int position) throws DBCException
+        {
+            throw new DBCException("Buffered result set can't be navigated");
+        }
+
+        @NotNull
+        @Override
+        public DBCResultSetMetaData getMeta() throws DBCException
+        {
+            return meta;
+        }
+
+        @Nullable
+        @Override
+        public String getResultSetName() throws DBCException
+        {
+            return source.getResultSetName();
+        }
+
+        @Override
+        public void close()
+        {
+            curRow = null;
+        }
+    }
+
+}
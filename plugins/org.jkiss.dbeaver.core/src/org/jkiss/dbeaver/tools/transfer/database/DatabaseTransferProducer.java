@@ -26,10 +26,12 @@ import org.jkiss.dbeaver.core.CoreMessages;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
 
@@ -106,23 +108,46 @@ public class DatabaseTransferProducer implements IDataTransferProducer<DatabaseP
 
                 monitor.beginTask(CoreMessages.data_transfer_wizard_job_task_export_table_data, (int) totalRows);
 
+                DBDDataReceiver dataReceiver = consumer;
+                if (settings.isPipelined()) {
+                    dataReceiver = new DatabaseTransferPipeline(
+                        consumer, settings.getPipelineBatchSize(), settings.getPipelineBufferSize());
+                }
+
                 try {
                     // Perform export
                     if (settings.getExtractType() == DatabaseProducerSettings.ExtractType.SINGLE_QUERY) {
                         // Just do it in single query
-                        dataContainer.readData(transferSource, session, consumer, dataFilter, -1, -1, DBSDataContainer.FLAG_NONE);
+                        dataContainer.readData(transferSource, session, dataReceiver, dataFilter, -1, -1, DBSDataContainer.FLAG_NONE);
                     } else {
-                        // Read all data by segments
-                        long offset = 0;
                         int segmentSize = settings.getSegmentSize();
-                        for (; ; ) {
-                            DBCStatistics statistics = dataContainer.readData(
-                                transferSource, session, consumer, dataFilter, offset, segmentSize, DBSDataContainer.FLAG_NONE);
-                            if (statistics == null || statistics.getRowsFetched() < segmentSize) {
-                                // Done
-                                break;
+                        DatabaseTransferKeyset keyset = null;
+                        if (dataContainer instanceof DBSEntity) {
+                            keyset = DatabaseTransferKeyset.create(monitor, (DBSEntity) dataContainer, dataFilter);
+                        }
+                        if (keyset != null) {
+                            // Read segments by unique key ranges
+                            DBDDataReceiver keysetReceiver = keyset.wrapReceiver(dataReceiver);
+                            for (; ; ) {
+                                DBCStatistics statistics = dataContainer.readData(
+                                    transferSource, session, keysetReceiver, keyset.getSegmentFilter(), 0, segmentSize, DBSDataContainer.FLAG_NONE);
+                                if (monitor.isCanceled() || statistics == null || statistics.getRowsFetched() < segmentSize) {
+                                    // Done
+                                    break;
+                                }
+                            }
+                        } else {
+                            // Read all data by segments
+                            long offset = 0;
+                            for (; ; ) {
+                                DBCStatistics statistics = dataContainer.readData(
+                                    transferSource, session, dataReceiver, dataFilter, offset, segmentSize, DBSDataContainer.FLAG_NONE);
+                                if (statistics == null || statistics.getRowsFetched() < segmentSize) {
+                                    // Done
+                                    break;
+                                }
+                                offset += statistics.getRowsFetched();
                             }
-                            offset += statistics.getRowsFetched();
                         }
                     }
                 } finally {
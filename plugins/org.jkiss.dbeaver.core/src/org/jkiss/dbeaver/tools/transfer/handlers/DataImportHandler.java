@@ -19,6 +19,11 @@ package org.jkiss.dbeaver.tools.transfer.handlers;
 
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.handlers.HandlerUtil;
 import org.jkiss.dbeaver.core.DBeaverCore;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
@@ -35,10 +40,17 @@ import org.jkiss.dbeaver.tools.transfer.IDataTransferNode;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
 import org.jkiss.dbeaver.tools.transfer.database.DatabaseTransferConsumer;
 import org.jkiss.dbeaver.tools.transfer.database.DatabaseTransferProducer;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamDataContainer;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferProducer;
 import org.jkiss.dbeaver.ui.dialogs.BrowseObjectDialog;
 
+import java.io.File;
+
 public class DataImportHandler extends DataTransferHandler {
 
+    private static final int SOURCE_DATABASE = 0;
+    private static final int SOURCE_FILE = 1;
+
     @Override
     protected IDataTransferNode adaptTransferNode(Object object)
     {
@@ -53,12 +65,31 @@ public class DataImportHandler extends DataTransferHandler {
     @Override
     protected IDataTransferProducer chooseProducer(ExecutionEvent event, IDataTransferConsumer consumer)
     {
+        Shell shell = HandlerUtil.getActiveShell(event);
+        if (consumer instanceof DatabaseTransferConsumer) {
+            MessageDialog sourceDialog = new MessageDialog(
+                shell,
+                "Import source",
+                null,
+                "Select source of data for '" + consumer.getTargetName() + "'",
+                MessageDialog.QUESTION,
+                new String[] {"Database", "CSV file", IDialogConstants.CANCEL_LABEL},
+                SOURCE_DATABASE);
+            switch (sourceDialog.open()) {
+                case SOURCE_DATABASE:
+                    break;
+                case SOURCE_FILE:
+                    return chooseFileProducer(shell, (DatabaseTransferConsumer) consumer);
+                default:
+                    return null;
+            }
+        }
         IProject activeProject = DBeaverCore.getInstance().getProjectRegistry().getActiveProject();
         if (activeProject != null) {
             final DBNModel navigatorModel = DBeaverCore.getInstance().getNavigatorModel();
             final DBNProject rootNode = navigatorModel.getRoot().getProject(activeProject);
             DBNNode node = BrowseObjectDialog.selectObject(
-                HandlerUtil.getActiveShell(event),
+                shell,
                 "Select source container for '" + consumer.getTargetName() + "'",
                 rootNode.getDatabases(),
                 null,
@@ -73,4 +104,18 @@ public class DataImportHandler extends DataTransferHandler {
         }
         return null;
     }
+
+    private IDataTransferProducer chooseFileProducer(Shell shell, DatabaseTransferConsumer consumer)
+    {
+        FileDialog fileDialog = new FileDialog(shell, SWT.OPEN);
+        fileDialog.setText("Select source file for '" + consumer.getTargetName() + "'");
+        fileDialog.setFilterExtensions(new String[] {"*.csv;*.txt;*.tsv", "*.*"});
+        fileDialog.setFilterNames(new String[] {"CSV files", "All files"});
+        String fileName = fileDialog.open();
+        if (fileName == null) {
+            return null;
+        }
+        return new StreamTransferProducer(
+            new StreamDataContainer(new File(fileName), consumer.getTargetObject().getDataSource()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming CSV reader.
+ * File is mapped into memory by chunks and decoded into a small char buffer, so the whole file is never loaded.
+ * Supports quoted values (with doubled quotes and line breaks inside) and any single-char delimiter.
+ */
+class StreamCSVReader implements Closeable {
+
+    private static final int MAP_CHUNK_SIZE = 32 * 1024 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_CHUNK_REMAINING = 16;
+    private static final char BOM_CHAR = '\uFEFF';
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final CharsetDecoder decoder;
+    private final char delimiter;
+    private final char quoteChar;
+
+    private final CharBuffer charBuffer = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final StringBuilder value = new StringBuilder();
+    private final List<String> rowValues = new ArrayList<>();
+    private MappedByteBuffer mappedChunk;
+    private long chunkPosition;
+    private boolean endOfInput;
+    private long lineNumber;
+
+    StreamCSVReader(File inputFile, Charset charset, char delimiter, char quoteChar) throws IOException
+    {
+        this.file = new RandomAccessFile(inputFile, "r");
+        this.channel = file.getChannel();
+        this.fileSize = channel.size();
+        this.decoder = charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.delimiter = delimiter;
+        this.quoteChar = quoteChar;
+        this.charBuffer.flip();
+
+        // Skip BOM
+        if (fillBuffer() && charBuffer.get(charBuffer.position()) == BOM_CHAR) {
+            charBuffer.get();
+        }
+    }
+
+    /**
+     * Number of file bytes decoded so far
+     */
+    long getBytePosition()
+    {
+        return mappedChunk == null ? 0 : chunkPosition + mappedChunk.position();
+    }
+
+    /**
+     * Number of the last read line (1-based)
+     */
+    long getLineNumber()
+    {
+        return lineNumber;
+    }
+
+    /**
+     * Reads next row.
+     * Empty unquoted values are returned as nulls.
+     * @return row values or null on end of file
+     */
+    String[] readRow() throws IOException
+    {
+        if (!fillBuffer()) {
+            return null;
+        }
+        rowValues.clear();
+        value.setLength(0);
+        boolean quoted = false, inQuotes = false;
+        lineNumber++;
+        for (;;) {
+            if (!charBuffer.hasRemaining() && !fillBuffer()) {
+                // End of file
+                break;
+            }
+            char c = charBuffer.get();
+            if (inQuotes) {
+                if (c == quoteChar) {
+                    if (peekChar() == quoteChar) {
+                        // Escaped quote
+                        charBuffer.get();
+                        value.append(c);
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    value.append(c);
+                }
+            } else if (c == quoteChar && value.length() == 0 && !quoted) {
+                quoted = inQuotes = true;
+            } else if (c == delimiter) {
+                addValue(quoted);
+                quoted = false;
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                if (peekChar() == '\n') {
+                    charBuffer.get();
+                }
+                break;
+            } else {
+                value.append(c);
+            }
+        }
+        addValue(quoted);
+        return rowValues.toArray(new String[rowValues.size()]);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        mappedChunk = null;
+        file.close();
+    }
+
+    private void addValue(boolean quoted)
+    {
+        rowValues.add(value.length() == 0 && !quoted ? null : value.toString());
+        value.setLength(0);
+    }
+
+    private int peekChar() throws IOException
+    {
+        if (!charBuffer.hasRemaining() && !fillBuffer()) {
+            return -1;
+        }
+        return charBuffer.get(charBuffer.position());
+    }
+
+    /**
+     * Decodes next portion of characters if buffer is empty.
+     * @return false on end of file
+     */
+    private boolean fillBuffer() throws IOException
+    {
+        while (!charBuffer.hasRemaining()) {
+            if (endOfInput) {
+                return false;
+            }
+            if (mappedChunk == null ||
+                (mappedChunk.remaining() < MIN_CHUNK_REMAINING && chunkPosition + mappedChunk.limit() < fileSize))
+            {
+                // Map next chunk. It starts from the first not decoded byte (it may be a part of multi-byte char)
+                long position = mappedChunk == null ? 0 : chunkPosition + mappedChunk.position();
+                chunkPosition = position;
+                mappedChunk = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_CHUNK_SIZE, fileSize - position));
+            }
+            boolean lastChunk = chunkPosition + mappedChunk.limit() >= fileSize;
+            charBuffer.clear();
+            CoderResult result = decoder.decode(mappedChunk, charBuffer, lastChunk);
+            if (lastChunk && !mappedChunk.hasRemaining() && result.isUnderflow()) {
+                decoder.flush(charBuffer);
+                endOfInput = true;
+            }
+            charBuffer.flip();
+        }
+        return true;
+    }
+
+}
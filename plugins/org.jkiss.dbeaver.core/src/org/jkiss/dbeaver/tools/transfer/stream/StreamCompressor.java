@@ -0,0 +1,157 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.dbeaver.Log;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Channel which compresses data in a separate thread.
+ * Written chunks are passed through a bounded queue to the compressor thread which writes them into a zip entry.
+ * So data formatting and compression run in parallel.
+ */
+class StreamCompressor implements WritableByteChannel {
+
+    static final Log log = Log.getLog(StreamCompressor.class);
+
+    private static final long POLL_TIMEOUT = 100;
+    private static final byte[] END_OF_DATA = new byte[0];
+
+    private final ZipOutputStream zipStream;
+    private final BlockingQueue<byte[]> queue;
+    private final Thread compressorThread;
+    private volatile IOException error;
+    private boolean closed;
+
+    StreamCompressor(OutputStream outputStream, String entryName, int queueSize) throws IOException
+    {
+        this.zipStream = new ZipOutputStream(outputStream);
+        this.zipStream.putNextEntry(new ZipEntry(entryName));
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.compressorThread = new Thread("Data export compressor") {
+            @Override
+            public void run()
+            {
+                compress();
+            }
+        };
+        this.compressorThread.setDaemon(true);
+        this.compressorThread.start();
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException
+    {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+        checkError();
+        int count = src.remaining();
+        if (count > 0) {
+            byte[] chunk = new byte[count];
+            src.get(chunk);
+            putChunk(chunk);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+        return !closed;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            putChunk(END_OF_DATA);
+            try {
+                compressorThread.join();
+            } catch (InterruptedException e) {
+                compressorThread.interrupt();
+                throw new InterruptedIOException("Compression interrupted");
+            }
+            checkError();
+            zipStream.closeEntry();
+            zipStream.finish();
+        } finally {
+            zipStream.close();
+        }
+    }
+
+    private void putChunk(byte[] chunk) throws IOException
+    {
+        try {
+            while (!queue.offer(chunk, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                checkError();
+                if (!compressorThread.isAlive()) {
+                    throw new IOException("Compressor thread terminated");
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException("Compression interrupted");
+        }
+    }
+
+    private void checkError() throws IOException
+    {
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void compress()
+    {
+        try {
+            for (;;) {
+                byte[] chunk = queue.take();
+                if (chunk == END_OF_DATA) {
+                    break;
+                }
+                zipStream.write(chunk);
+            }
+        } catch (IOException e) {
+            error = e;
+        } catch (InterruptedException e) {
+            error = new InterruptedIOException("Compression interrupted");
+        } catch (Throwable e) {
+            log.error("Compressor failed", e);
+            error = new IOException(e);
+        } finally {
+            queue.clear();
+        }
+    }
+
+}
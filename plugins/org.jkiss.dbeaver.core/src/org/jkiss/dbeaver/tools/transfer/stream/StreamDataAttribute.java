@@ -0,0 +1,164 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.data.DBDPseudoAttribute;
+import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
+import org.jkiss.dbeaver.model.exec.DBCEntityMetaData;
+import org.jkiss.dbeaver.model.impl.struct.AbstractAttribute;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * Column of a stream data source (e.g. CSV file).
+ * Type is detected from sample values.
+ */
+class StreamDataAttribute extends AbstractAttribute implements DBCAttributeMetaData {
+
+    enum ValueType {
+        BOOLEAN("BOOLEAN", Types.BOOLEAN, DBPDataKind.BOOLEAN),
+        INTEGER("BIGINT", Types.BIGINT, DBPDataKind.NUMERIC),
+        DECIMAL("NUMERIC", Types.NUMERIC, DBPDataKind.NUMERIC),
+        DATE("DATE", Types.DATE, DBPDataKind.DATETIME),
+        TIMESTAMP("TIMESTAMP", Types.TIMESTAMP, DBPDataKind.DATETIME),
+        STRING("VARCHAR", Types.VARCHAR, DBPDataKind.STRING);
+
+        private final String typeName;
+        private final int typeID;
+        private final DBPDataKind dataKind;
+
+        ValueType(String typeName, int typeID, DBPDataKind dataKind)
+        {
+            this.typeName = typeName;
+            this.typeID = typeID;
+            this.dataKind = dataKind;
+        }
+    }
+
+    private final StreamDataContainer container;
+    private final ValueType valueType;
+
+    StreamDataAttribute(StreamDataContainer container, String name, int ordinalPosition, ValueType valueType, long maxLength, int precision, int scale)
+    {
+        super(name, valueType.typeName, valueType.typeID, ordinalPosition, maxLength, scale, precision, false, false);
+        this.container = container;
+        this.valueType = valueType;
+    }
+
+    ValueType getValueType()
+    {
+        return valueType;
+    }
+
+    @NotNull
+    @Override
+    public DBPDataKind getDataKind()
+    {
+        return valueType.dataKind;
+    }
+
+    @Nullable
+    @Override
+    public Object getSource()
+    {
+        return container;
+    }
+
+    @NotNull
+    @Override
+    public String getLabel()
+    {
+        return getName();
+    }
+
+    @Nullable
+    @Override
+    public String getEntityName()
+    {
+        return container.getName();
+    }
+
+    @Override
+    public boolean isReadOnly()
+    {
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public DBDPseudoAttribute getPseudoAttribute()
+    {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public DBCEntityMetaData getEntityMetaData()
+    {
+        return null;
+    }
+
+    /**
+     * Converts text value to the attribute type.
+     * Values which can't be converted (type was detected from a sample) are returned as is.
+     */
+    @Nullable
+    Object convertValue(@Nullable String text)
+    {
+        if (text == null) {
+            return null;
+        }
+        try {
+            switch (valueType) {
+                case BOOLEAN:
+                    return Boolean.valueOf(text.trim());
+                case INTEGER:
+                    return Long.valueOf(text.trim());
+                case DECIMAL:
+                    return new BigDecimal(text.trim());
+                case DATE:
+                    return Date.valueOf(text.trim());
+                case TIMESTAMP:
+                    return Timestamp.valueOf(normalizeTimestamp(text.trim()));
+                default:
+                    return text;
+            }
+        } catch (IllegalArgumentException e) {
+            return text;
+        }
+    }
+
+    /**
+     * Replaces ISO 8601 'T' separator with space
+     */
+    static String normalizeTimestamp(String text)
+    {
+        if (text.length() > 10 && text.charAt(10) == 'T') {
+            return text.substring(0, 10) + ' ' + text.substring(11);
+        }
+        return text;
+    }
+
+}
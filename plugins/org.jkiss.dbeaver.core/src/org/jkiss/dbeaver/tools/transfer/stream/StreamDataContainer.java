@@ -0,0 +1,486 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.data.DBDDataFilter;
+import org.jkiss.dbeaver.model.data.DBDDataReceiver;
+import org.jkiss.dbeaver.model.data.DBDValueMeta;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Data container which reads rows from CSV (delimited) file.
+ * Column types are detected from the first rows of the file. Data is read in streaming mode.
+ * Data source is the data source of import target - it is used only to open sessions
+ * and to resolve value handlers.
+ */
+public class StreamDataContainer implements DBSDataContainer {
+
+    static final Log log = Log.getLog(StreamDataContainer.class);
+
+    // Read progress is reported in kilobytes of input file
+    static final int PROGRESS_UNIT = 1024;
+
+    private static final int MIN_STRING_LENGTH = 255;
+    private static final int MAX_DECIMAL_PRECISION = 38;
+    private static final int DECIMAL_PRECISION_RESERVE = 10;
+    private static final int MAX_INTEGER_DIGITS = 18;
+
+    @NotNull
+    private final File inputFile;
+    @NotNull
+    private final DBPDataSource dataSource;
+    @NotNull
+    private StreamProducerSettings settings = new StreamProducerSettings();
+
+    private List<StreamDataAttribute> attributes;
+    private String attributesSettings;
+
+    public StreamDataContainer(@NotNull File inputFile, @NotNull DBPDataSource dataSource)
+    {
+        this.inputFile = inputFile;
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    public File getInputFile()
+    {
+        return inputFile;
+    }
+
+    void setSettings(@NotNull StreamProducerSettings settings)
+    {
+        this.settings = settings;
+    }
+
+    @NotNull
+    @Override
+    public String getName()
+    {
+        String name = inputFile.getName();
+        int divPos = name.lastIndexOf('.');
+        return divPos > 0 ? name.substring(0, divPos) : name;
+    }
+
+    @Nullable
+    @Override
+    public String getDescription()
+    {
+        return inputFile.getAbsolutePath();
+    }
+
+    @Nullable
+    @Override
+    public DBSObject getParentObject()
+    {
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public DBPDataSource getDataSource()
+    {
+        return dataSource;
+    }
+
+    @Override
+    public boolean isPersisted()
+    {
+        return true;
+    }
+
+    @Override
+    public int getSupportedFeatures()
+    {
+        return DATA_SELECT;
+    }
+
+    @NotNull
+    @Override
+    public DBCStatistics readData(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @NotNull DBDDataReceiver dataReceiver, @Nullable DBDDataFilter dataFilter, long firstRow, long maxRows, long flags)
+        throws DBCException
+    {
+        DBCStatistics statistics = new DBCStatistics();
+        DBRProgressMonitor monitor = session.getProgressMonitor();
+        try {
+            List<StreamDataAttribute> columns = getAttributes(monitor);
+            monitor.subTask("Read " + inputFile.getName());
+
+            long startTime = System.currentTimeMillis();
+            try (StreamCSVReader reader = openReader()) {
+                if (settings.isHeader()) {
+                    reader.readRow();
+                }
+                StreamResultSet resultSet = new StreamResultSet(session, columns);
+                dataReceiver.fetchStart(session, resultSet, firstRow, maxRows);
+                long rowCount = 0;
+                long reportedUnits = 0;
+                try {
+                    long rowNumber = 0;
+                    for (;;) {
+                        if (monitor.isCanceled() || (maxRows > 0 && rowCount >= maxRows)) {
+                            break;
+                        }
+                        String[] row = reader.readRow();
+                        if (row == null) {
+                            break;
+                        }
+                        if (isEmptyRow(row) || rowNumber++ < firstRow) {
+                            continue;
+                        }
+                        resultSet.setRow(convertRow(columns, row));
+                        dataReceiver.fetchRow(session, resultSet);
+                        rowCount++;
+                        if (rowCount % 1000 == 0) {
+                            monitor.subTask(rowCount + " rows read");
+                            long units = reader.getBytePosition() / PROGRESS_UNIT;
+                            if (units > reportedUnits) {
+                                monitor.worked((int) (units - reportedUnits));
+                                reportedUnits = units;
+                            }
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new DBCException("Error reading line " + reader.getLineNumber() + " of " + inputFile.getAbsolutePath(), e);
+                } finally {
+                    statistics.setFetchTime(System.currentTimeMillis() - startTime);
+                    statistics.setRowsFetched(rowCount);
+                    resultSet.close();
+                    try {
+                        dataReceiver.fetchEnd(session, resultSet);
+                    } catch (Throwable e) {
+                        log.error("Error while finishing result set fetch", e); //$NON-NLS-1$
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new DBCException("Error reading " + inputFile.getAbsolutePath(), e);
+        } finally {
+            dataReceiver.close();
+        }
+        return statistics;
+    }
+
+    @Override
+    public long countData(@NotNull DBCExecutionSource source, @NotNull DBCSession session, @Nullable DBDDataFilter dataFilter)
+        throws DBCException
+    {
+        return -1;
+    }
+
+    private StreamCSVReader openReader() throws IOException
+    {
+        Charset charset;
+        try {
+            charset = Charset.forName(settings.getInputEncoding());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unsupported encoding: " + settings.getInputEncoding(), e);
+        }
+        return new StreamCSVReader(inputFile, charset, settings.getDelimiterChar(), settings.getQuoteCharValue());
+    }
+
+    /**
+     * Reads column names and detects column types.
+     * Only first rows (see {@link StreamProducerSettings#getSampleRows()}) are read.
+     * Result is cached until parse settings change.
+     */
+    private synchronized List<StreamDataAttribute> getAttributes(DBRProgressMonitor monitor) throws IOException
+    {
+        String curSettings = settings.getInputEncoding() + "|" + settings.getDelimiter() + "|" + settings.getQuoteChar() + "|" +
+            settings.isHeader() + "|" + settings.getSampleRows();
+        if (attributes != null && curSettings.equals(attributesSettings)) {
+            return attributes;
+        }
+        monitor.subTask("Detect columns of " + inputFile.getName());
+        List<ColumnInfo> columns = new ArrayList<>();
+        try (StreamCSVReader reader = openReader()) {
+            String[] header = settings.isHeader() ? reader.readRow() : null;
+            if (header != null) {
+                for (String name : header) {
+                    ensureColumns(columns, columns.size() + 1).name = name;
+                }
+            }
+            for (int sampleCount = 0; sampleCount < settings.getSampleRows() && !monitor.isCanceled(); ) {
+                String[] row = reader.readRow();
+                if (row == null) {
+                    break;
+                }
+                if (isEmptyRow(row)) {
+                    continue;
+                }
+                ensureColumns(columns, row.length);
+                for (int i = 0; i < row.length; i++) {
+                    columns.get(i).addValue(row[i]);
+                }
+                sampleCount++;
+            }
+        }
+
+        List<StreamDataAttribute> result = new ArrayList<>(columns.size());
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < columns.size(); i++) {
+            String name = columns.get(i).name;
+            if (CommonUtils.isEmptyTrimmed(name)) {
+                name = "column" + (i + 1);
+            }
+            name = name.trim();
+            if (!names.add(name.toLowerCase(Locale.ENGLISH))) {
+                name = name + "_" + (i + 1);
+                names.add(name.toLowerCase(Locale.ENGLISH));
+            }
+            result.add(columns.get(i).makeAttribute(this, name, i));
+        }
+        attributes = result;
+        attributesSettings = curSettings;
+        return attributes;
+    }
+
+    private static ColumnInfo ensureColumns(List<ColumnInfo> columns, int count)
+    {
+        while (columns.size() < count) {
+            columns.add(new ColumnInfo());
+        }
+        return columns.get(count - 1);
+    }
+
+    private static boolean isEmptyRow(String[] row)
+    {
+        return row.length == 1 && row[0] == null;
+    }
+
+    private static Object[] convertRow(List<StreamDataAttribute> columns, String[] row)
+    {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length && i < row.length; i++) {
+            values[i] = columns.get(i).convertValue(row[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Collects sample values statistics of a single column
+     */
+    private static class ColumnInfo {
+        String name;
+        boolean hasValues;
+        boolean isBoolean = true, isInteger = true, isDecimal = true, isDate = true, isTimestamp = true;
+        int maxLength;
+        int maxIntegerDigits;
+        int maxScale;
+
+        void addValue(String value)
+        {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            hasValues = true;
+            maxLength = Math.max(maxLength, value.length());
+            String text = value.trim();
+            if (isBoolean) {
+                isBoolean = text.equalsIgnoreCase("true") || text.equalsIgnoreCase("false");
+            }
+            if (isInteger) {
+                isInteger = isIntegerValue(text);
+            }
+            if (isDecimal) {
+                try {
+                    BigDecimal number = new BigDecimal(text);
+                    int scale = Math.max(0, number.scale());
+                    maxScale = Math.max(maxScale, scale);
+                    maxIntegerDigits = Math.max(maxIntegerDigits, number.precision() - number.scale());
+                } catch (NumberFormatException e) {
+                    isDecimal = false;
+                }
+            }
+            if (isDate) {
+                try {
+                    isDate = text.length() == 10 && Date.valueOf(text) != null;
+                } catch (IllegalArgumentException e) {
+                    isDate = false;
+                }
+            }
+            if (isTimestamp) {
+                try {
+                    isTimestamp = text.length() >= 19 && Timestamp.valueOf(StreamDataAttribute.normalizeTimestamp(text)) != null;
+                } catch (IllegalArgumentException e) {
+                    isTimestamp = false;
+                }
+            }
+        }
+
+        StreamDataAttribute makeAttribute(StreamDataContainer container, String name, int index)
+        {
+            if (hasValues) {
+                if (isBoolean) {
+                    return new StreamDataAttribute(container, name, index, StreamDataAttribute.ValueType.BOOLEAN, 0, 0, 0);
+                } else if (isInteger) {
+                    return new StreamDataAttribute(container, name, index, StreamDataAttribute.ValueType.INTEGER, 0, 0, 0);
+                } else if (isDecimal) {
+                    // Reserve some digits for values which were not in the sample
+                    int precision = Math.min(MAX_DECIMAL_PRECISION, maxIntegerDigits + maxScale + DECIMAL_PRECISION_RESERVE);
+                    return new StreamDataAttribute(container, name, index, StreamDataAttribute.ValueType.DECIMAL, 0, precision, maxScale);
+                } else if (isDate) {
+                    return new StreamDataAttribute(container, name, index, StreamDataAttribute.ValueType.DATE, 0, 0, 0);
+                } else if (isTimestamp) {
+                    return new StreamDataAttribute(container, name, index, StreamDataAttribute.ValueType.TIMESTAMP, 0, 0, 0);
+                }
+            }
+            // Reserve some length for values which were not in the sample
+            long maxStringLength = Math.max(MIN_STRING_LENGTH, (long) maxLength * 2);
+            return new StreamDataAttribute(container, name, index, StreamDataAttribute.ValueType.STRING, maxStringLength, 0, 0);
+        }
+
+        private static boolean isIntegerValue(String text)
+        {
+            int length = text.length();
+            int start = length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+') ? 1 : 0;
+            if (length == start || length - start > MAX_INTEGER_DIGITS) {
+                return false;
+            }
+            for (int i = start; i < length; i++) {
+                if (!Character.isDigit(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Result set over the current parsed row
+     */
+    private static class StreamResultSet implements DBCResultSet, DBCResultSetMetaData {
+        private final DBCSession session;
+        private final List<DBCAttributeMetaData> attributes;
+        private Object[] curRow;
+
+        StreamResultSet(DBCSession session, List<StreamDataAttribute> attributes)
+        {
+            this.session = session;
+            this.attributes = new ArrayList<DBCAttributeMetaData>(attributes);
+        }
+
+        void setRow(Object[] row)
+        {
+            this.curRow = row;
+        }
+
+        @Override
+        public DBCSession getSession()
+        {
+            return session;
+        }
+
+        @Override
+        public DBCStatement getSourceStatement()
+        {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public Object getAttributeValue(int index) throws DBCException
+        {
+            if (curRow == null) {
+                throw new DBCException("No current row");
+            }
+            return curRow[index];
+        }
+
+        @Nullable
+        @Override
+        public Object getAttributeValue(String name) throws DBCException
+        {
+            for (int i = 0; i < attributes.size(); i++) {
+                if (attributes.get(i).getName().equals(name)) {
+                    return getAttributeValue(i);
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public DBDValueMeta getAttributeValueMeta(int index) throws DBCException
+        {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public DBDValueMeta getRowMeta() throws DBCException
+        {
+            return null;
+        }
+
+        @Override
+        public boolean nextRow() throws DBCException
+        {
+            throw new DBCException("Stream result set can't be navigated");
+        }
+
+        @Override
+        public boolean moveTo(int position) throws DBCException
+        {
+            throw new DBCException("Stream result set can't be navigated");
+        }
+
+        @NotNull
+        @Override
+        public DBCResultSetMetaData getMeta() throws DBCException
+        {
+            return this;
+        }
+
+        @Override
+        public List<DBCAttributeMetaData> getAttributes()
+        {
+            return attributes;
+        }
+
+        @Nullable
+        @Override
+        public String getResultSetName() throws DBCException
+        {
+            return null;
+        }
+
+        @Override
+        public void close()
+        {
+            curRow = null;
+        }
+    }
+
+}
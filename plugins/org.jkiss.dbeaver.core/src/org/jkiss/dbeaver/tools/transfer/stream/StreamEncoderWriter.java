@@ -0,0 +1,157 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Buffered writer which encodes characters in big chunks directly into a byte channel.
+ * Flushes only when buffer is full or on explicit flush.
+ * Not thread-safe (callers like PrintWriter synchronize themselves).
+ */
+class StreamEncoderWriter extends Writer {
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final CharBuffer charBuffer;
+    private final ByteBuffer byteBuffer;
+    private boolean closed;
+
+    StreamEncoderWriter(WritableByteChannel channel, Charset charset, int bufferSize)
+    {
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.charBuffer = CharBuffer.allocate(bufferSize);
+        this.byteBuffer = ByteBuffer.allocateDirect((int) Math.ceil(bufferSize * encoder.maxBytesPerChar()));
+    }
+
+    @Override
+    public void write(int c) throws IOException
+    {
+        ensureOpen();
+        if (!charBuffer.hasRemaining()) {
+            encodeBuffer(false);
+        }
+        charBuffer.put((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException
+    {
+        ensureOpen();
+        while (len > 0) {
+            if (!charBuffer.hasRemaining()) {
+                encodeBuffer(false);
+            }
+            int count = Math.min(len, charBuffer.remaining());
+            charBuffer.put(cbuf, off, count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException
+    {
+        ensureOpen();
+        while (len > 0) {
+            if (!charBuffer.hasRemaining()) {
+                encodeBuffer(false);
+            }
+            int count = Math.min(len, charBuffer.remaining());
+            charBuffer.put(str, off, off + count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        ensureOpen();
+        encodeBuffer(false);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (closed) {
+            return;
+        }
+        try {
+            encodeBuffer(true);
+            while (encoder.flush(byteBuffer).isOverflow()) {
+                writeBytes();
+            }
+            writeBytes();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException
+    {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+    }
+
+    /**
+     * Encodes buffered characters and writes them to the channel.
+     * Incomplete surrogate pair at the end of buffer is kept for the next call.
+     */
+    private void encodeBuffer(boolean endOfInput) throws IOException
+    {
+        charBuffer.flip();
+        for (;;) {
+            CoderResult result = encoder.encode(charBuffer, byteBuffer, endOfInput);
+            if (result.isOverflow()) {
+                writeBytes();
+            } else {
+                if (result.isError()) {
+                    result.throwException();
+                }
+                break;
+            }
+        }
+        writeBytes();
+        charBuffer.compact();
+    }
+
+    private void writeBytes() throws IOException
+    {
+        byteBuffer.flip();
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+
+}
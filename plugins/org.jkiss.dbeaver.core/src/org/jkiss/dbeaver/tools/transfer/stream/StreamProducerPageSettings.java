@@ -0,0 +1,139 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.ModifyEvent;
+import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.*;
+import org.jkiss.dbeaver.tools.transfer.wizard.DataTransferWizard;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.dialogs.ActiveWizardPage;
+import org.jkiss.utils.CommonUtils;
+
+public class StreamProducerPageSettings extends ActiveWizardPage<DataTransferWizard> {
+
+    private Combo encodingCombo;
+    private Text delimiterText;
+    private Text quoteCharText;
+    private Button headerCheckbox;
+    private Spinner sampleRowsSpinner;
+
+    public StreamProducerPageSettings() {
+        super("Input settings");
+        setTitle("Input settings");
+        setDescription("CSV file format settings");
+        setPageComplete(false);
+    }
+
+    @Override
+    public void createControl(Composite parent) {
+        initializeDialogUnits(parent);
+
+        Composite composite = new Composite(parent, SWT.NULL);
+        GridLayout gl = new GridLayout();
+        gl.marginHeight = 0;
+        gl.marginWidth = 0;
+        composite.setLayout(gl);
+        composite.setLayoutData(new GridData(GridData.FILL_BOTH));
+
+        final StreamProducerSettings settings = getWizard().getPageSettings(this, StreamProducerSettings.class);
+
+        {
+            Group generalSettings = UIUtils.createControlGroup(composite, "Format", 2, GridData.FILL_HORIZONTAL, 0);
+
+            UIUtils.createControlLabel(generalSettings, "Encoding");
+            encodingCombo = UIUtils.createEncodingCombo(generalSettings, settings.getInputEncoding());
+            encodingCombo.addModifyListener(new ModifyListener() {
+                @Override
+                public void modifyText(ModifyEvent e) {
+                    int index = encodingCombo.getSelectionIndex();
+                    if (index >= 0) {
+                        settings.setInputEncoding(encodingCombo.getItem(index));
+                    }
+                    updatePageCompletion();
+                }
+            });
+
+            delimiterText = UIUtils.createLabelText(generalSettings, "Column delimiter", settings.getDelimiter());
+            delimiterText.setToolTipText("Column delimiter character. Use \\t for tab");
+            delimiterText.addModifyListener(new ModifyListener() {
+                @Override
+                public void modifyText(ModifyEvent e) {
+                    settings.setDelimiter(delimiterText.getText());
+                    updatePageCompletion();
+                }
+            });
+
+            quoteCharText = UIUtils.createLabelText(generalSettings, "Quote character", settings.getQuoteChar());
+            quoteCharText.setTextLimit(1);
+            quoteCharText.addModifyListener(new ModifyListener() {
+                @Override
+                public void modifyText(ModifyEvent e) {
+                    settings.setQuoteChar(quoteCharText.getText());
+                    updatePageCompletion();
+                }
+            });
+
+            headerCheckbox = UIUtils.createLabelCheckbox(generalSettings, "Header row", settings.isHeader());
+            headerCheckbox.setToolTipText("First row contains column names");
+            headerCheckbox.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e) {
+                    settings.setHeader(headerCheckbox.getSelection());
+                }
+            });
+
+            sampleRowsSpinner = UIUtils.createLabelSpinner(generalSettings, "Sample rows", settings.getSampleRows(), 1, Integer.MAX_VALUE);
+            sampleRowsSpinner.setToolTipText("Number of rows used to detect column types");
+            sampleRowsSpinner.addModifyListener(new ModifyListener() {
+                @Override
+                public void modifyText(ModifyEvent e) {
+                    settings.setSampleRows(sampleRowsSpinner.getSelection());
+                }
+            });
+        }
+
+        setControl(composite);
+    }
+
+    @Override
+    public void activatePage()
+    {
+        final StreamProducerSettings settings = getWizard().getPageSettings(this, StreamProducerSettings.class);
+
+        delimiterText.setText(CommonUtils.notEmpty(settings.getDelimiter()));
+        quoteCharText.setText(CommonUtils.notEmpty(settings.getQuoteChar()));
+        headerCheckbox.setSelection(settings.isHeader());
+        sampleRowsSpinner.setSelection(settings.getSampleRows());
+
+        updatePageCompletion();
+    }
+
+    @Override
+    protected boolean determinePageCompletion()
+    {
+        return encodingCombo.getSelectionIndex() >= 0 && !CommonUtils.isEmpty(delimiterText.getText());
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.jface.operation.IRunnableContext;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferSettings;
+import org.jkiss.dbeaver.tools.transfer.wizard.DataTransferPipe;
+import org.jkiss.dbeaver.tools.transfer.wizard.DataTransferSettings;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
+
+/**
+ * Stream (CSV file) producer settings
+ */
+public class StreamProducerSettings implements IDataTransferSettings {
+
+    private static final int DEFAULT_SAMPLE_ROWS = 1000;
+
+    private String inputEncoding = GeneralUtils.getDefaultFileEncoding();
+    private String delimiter = ",";
+    private String quoteChar = "\"";
+    private boolean header = true;
+    private int sampleRows = DEFAULT_SAMPLE_ROWS;
+
+    public String getInputEncoding()
+    {
+        return inputEncoding;
+    }
+
+    public void setInputEncoding(String inputEncoding)
+    {
+        this.inputEncoding = inputEncoding;
+    }
+
+    /**
+     * Column delimiter. \t means tab.
+     */
+    public String getDelimiter()
+    {
+        return delimiter;
+    }
+
+    public void setDelimiter(String delimiter)
+    {
+        this.delimiter = delimiter;
+    }
+
+    char getDelimiterChar()
+    {
+        if (CommonUtils.isEmpty(delimiter)) {
+            return ',';
+        }
+        if (delimiter.length() > 1 && delimiter.charAt(0) == '\\') {
+            switch (delimiter.charAt(1)) {
+                case 't': return '\t';
+                case 'n': return '\n';
+                case 'r': return '\r';
+            }
+        }
+        return delimiter.charAt(0);
+    }
+
+    public String getQuoteChar()
+    {
+        return quoteChar;
+    }
+
+    public void setQuoteChar(String quoteChar)
+    {
+        this.quoteChar = quoteChar;
+    }
+
+    char getQuoteCharValue()
+    {
+        return CommonUtils.isEmpty(quoteChar) ? '"' : quoteChar.charAt(0);
+    }
+
+    /**
+     * First row contains column names
+     */
+    public boolean isHeader()
+    {
+        return header;
+    }
+
+    public void setHeader(boolean header)
+    {
+        this.header = header;
+    }
+
+    /**
+     * Number of rows used to detect column types
+     */
+    public int getSampleRows()
+    {
+        return sampleRows;
+    }
+
+    public void setSampleRows(int sampleRows)
+    {
+        if (sampleRows > 0) {
+            this.sampleRows = sampleRows;
+        }
+    }
+
+    @Override
+    public void loadSettings(IRunnableContext runnableContext, DataTransferSettings dataTransferSettings, IDialogSettings dialogSettings)
+    {
+        if (!CommonUtils.isEmpty(dialogSettings.get("inputEncoding"))) {
+            inputEncoding = dialogSettings.get("inputEncoding");
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("delimiter"))) {
+            delimiter = dialogSettings.get("delimiter");
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("quoteChar"))) {
+            quoteChar = dialogSettings.get("quoteChar");
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("header"))) {
+            header = dialogSettings.getBoolean("header");
+        }
+        if (!CommonUtils.isEmpty(dialogSettings.get("sampleRows"))) {
+            try {
+                setSampleRows(dialogSettings.getInt("sampleRows"));
+            } catch (NumberFormatException e) {
+                sampleRows = DEFAULT_SAMPLE_ROWS;
+            }
+        }
+
+        // Source files are parsed with these settings
+        for (DataTransferPipe pipe : dataTransferSettings.getDataPipes()) {
+            IDataTransferProducer producer = pipe.getProducer();
+            if (producer instanceof StreamTransferProducer) {
+                ((StreamTransferProducer) producer).getSourceObject().setSettings(this);
+            }
+        }
+    }
+
+    @Override
+    public void saveSettings(IDialogSettings dialogSettings)
+    {
+        dialogSettings.put("inputEncoding", inputEncoding);
+        dialogSettings.put("delimiter", delimiter);
+        dialogSettings.put("quoteChar", quoteChar);
+        dialogSettings.put("header", header);
+        dialogSettings.put("sampleRows", sampleRows);
+    }
+
+}
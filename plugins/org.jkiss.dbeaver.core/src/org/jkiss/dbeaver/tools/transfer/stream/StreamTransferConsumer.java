@@ -44,10 +44,11 @@ import org.jkiss.utils.Base64;
 import org.jkiss.utils.IOUtils;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 /**
 * Stream transfer consumer
@@ -57,12 +58,14 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
     static final Log log = Log.getLog(StreamTransferConsumer.class);
 
     private static final String LOB_DIRECTORY_NAME = "files"; //$NON-NLS-1$
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int COMPRESS_QUEUE_SIZE = 16;
 
     private IStreamDataExporter processor;
     private StreamConsumerSettings settings;
     private DBSObject sourceObject;
+    private WritableByteChannel outputChannel;
     private OutputStream outputStream;
-    private ZipOutputStream zipStream;
     private PrintWriter writer;
     private List<DBDAttributeBinding> metaColumns;
     private Object[] row;
@@ -196,26 +199,41 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         try {
             if (outputClipboard) {
                 this.outputBuffer = new StringWriter(2048);
-                this.writer = new PrintWriter(this.outputBuffer, true);
+                this.writer = new PrintWriter(this.outputBuffer);
             } else {
-                this.outputStream = new BufferedOutputStream(
-                    new FileOutputStream(outputFile),
-                    10000);
-                if (settings.isCompressResults()) {
-                    zipStream = new ZipOutputStream(this.outputStream);
-                    zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
-                    StreamTransferConsumer.this.outputStream = zipStream;
+                Charset charset;
+                try {
+                    charset = Charset.forName(settings.getOutputEncoding());
+                } catch (IllegalArgumentException e) {
+                    throw new UnsupportedEncodingException(settings.getOutputEncoding());
                 }
-                this.writer = new PrintWriter(new OutputStreamWriter(this.outputStream, settings.getOutputEncoding()), true);
-            }
+                FileOutputStream fileStream = new FileOutputStream(outputFile);
+                try {
+                    if (settings.isCompressResults()) {
+                        // Compress in a separate thread
+                        this.outputChannel = new StreamCompressor(
+                            new BufferedOutputStream(fileStream, OUTPUT_BUFFER_SIZE),
+                            getOutputFileName(),
+                            COMPRESS_QUEUE_SIZE);
+                    } else {
+                        this.outputChannel = fileStream.getChannel();
+                    }
+                } catch (IOException e) {
+                    ContentUtils.close(fileStream);
+                    throw e;
+                }
+                this.outputStream = Channels.newOutputStream(this.outputChannel);
 
-            // Check for BOM
-            if (!outputClipboard && settings.isOutputEncodingBOM()) {
-                byte[] bom = GeneralUtils.getCharsetBOM(settings.getOutputEncoding());
-                if (bom != null) {
-                    outputStream.write(bom);
-                    outputStream.flush();
+                // Check for BOM
+                if (settings.isOutputEncodingBOM()) {
+                    byte[] bom = GeneralUtils.getCharsetBOM(settings.getOutputEncoding());
+                    if (bom != null) {
+                        outputStream.write(bom);
+                    }
                 }
+
+                // No autoflush - output is flushed when buffer is full
+                this.writer = new PrintWriter(new StreamEncoderWriter(this.outputChannel, charset, OUTPUT_BUFFER_SIZE));
             }
         } catch (IOException e) {
             closeExporter();
@@ -246,21 +264,12 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             processor = null;
         }
 
-        // Finish zip stream
-        if (zipStream != null) {
-            try {
-                zipStream.closeEntry();
-            } catch (IOException e) {
-                log.debug(e);
-            }
-            try {
-                zipStream.finish();
-            } catch (IOException e) {
-                log.debug(e);
-            }
-        }
+        // Closes output channel (and finishes compression)
         if (this.writer != null) {
             ContentUtils.close(this.writer);
+            if (this.writer.checkError()) {
+                log.warn("Error writing output file " + outputFile);
+            }
             this.writer = null;
         }
 
@@ -268,6 +277,10 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             ContentUtils.close(outputStream);
             outputStream = null;
         }
+        if (outputChannel != null) {
+            ContentUtils.close(outputChannel);
+            outputChannel = null;
+        }
     }
 
     @Override
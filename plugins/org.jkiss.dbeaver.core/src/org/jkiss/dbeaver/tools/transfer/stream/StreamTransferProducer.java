@@ -0,0 +1,72 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.tools.transfer.stream;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferConsumer;
+import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
+
+/**
+ * Stream (CSV file) transfer producer
+ */
+public class StreamTransferProducer implements IDataTransferProducer<StreamProducerSettings> {
+
+    @NotNull
+    private final StreamDataContainer dataContainer;
+
+    public StreamTransferProducer(@NotNull StreamDataContainer dataContainer)
+    {
+        this.dataContainer = dataContainer;
+    }
+
+    @Override
+    public StreamDataContainer getSourceObject()
+    {
+        return dataContainer;
+    }
+
+    @Override
+    public void transferData(
+        DBRProgressMonitor monitor,
+        IDataTransferConsumer consumer,
+        StreamProducerSettings settings)
+        throws DBException
+    {
+        dataContainer.setSettings(settings);
+        try (DBCSession session = DBUtils.openUtilSession(monitor, dataContainer.getDataSource(), "Import data from " + dataContainer.getInputFile().getName())) {
+            AbstractExecutionSource transferSource = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), consumer);
+            // Progress is reported in file position units (see StreamDataContainer.readData)
+            monitor.beginTask(
+                "Import data from " + dataContainer.getInputFile().getName(),
+                (int) (dataContainer.getInputFile().length() / StreamDataContainer.PROGRESS_UNIT) + 1);
+            try {
+                dataContainer.readData(transferSource, session, consumer, null, -1, -1, DBSDataContainer.FLAG_NONE);
+            } finally {
+                monitor.done();
+            }
+        }
+    }
+
+}
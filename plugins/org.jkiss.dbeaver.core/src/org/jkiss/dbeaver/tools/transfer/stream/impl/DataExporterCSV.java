@@ -58,8 +58,6 @@ public class DataExporterCSV extends StreamExporterAbstract {
     private PrintWriter out;
     private List<DBDAttributeBinding> columns;
 
-    private final StringBuilder buffer = new StringBuilder();
-
     @Override
     public void init(IStreamDataExporterSite site) throws DBException
     {
@@ -177,27 +175,47 @@ public class DataExporterCSV extends StreamExporterAbstract {
     private void writeCellValue(String value, boolean quote)
     {
         // check for needed quote
-        final boolean hasQuotes = value.indexOf(quoteChar) != -1;
+        boolean hasQuotes = false, hasDelimiter = false;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c == quoteChar) {
+                hasQuotes = true;
+                break;
+            } else if (c == delimiter) {
+                hasDelimiter = true;
+            }
+        }
         if (!quote && !value.isEmpty()) {
-            if (hasQuotes || value.indexOf(delimiter) != -1 || value.contains(rowDelimiter)) {
+            if (hasQuotes || hasDelimiter || value.contains(rowDelimiter)) {
                 quote = true;
             }
         }
+        if (quote) out.write(quoteChar);
         if (quote && hasQuotes) {
             // escape quotes with double quotes
-            buffer.setLength(0);
-            for (int i = 0; i < value.length(); i++) {
-                char c = value.charAt(i);
-                if (c == quoteChar) {
-                    buffer.append(quoteChar);
-                }
-                buffer.append(c);
-            }
-            value = buffer.toString();
+            writeEscapedQuotes(value);
+        } else {
+            out.write(value);
         }
         if (quote) out.write(quoteChar);
-        out.write(value);
-        if (quote) out.write(quoteChar);
+    }
+
+    /**
+     * Writes text doubling quote characters. Text between quotes is written in one piece.
+     */
+    private void writeEscapedQuotes(String value)
+    {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == quoteChar) {
+                out.write(value, start, i + 1 - start);
+                out.write(quoteChar);
+                start = i + 1;
+            }
+        }
+        if (start < value.length()) {
+            out.write(value, start, value.length() - start);
+        }
     }
 
     private void writeCellValue(Reader reader) throws IOException
@@ -211,11 +229,16 @@ public class DataExporterCSV extends StreamExporterAbstract {
                 if (count <= 0) {
                     break;
                 }
+                int start = 0;
                 for (int i = 0; i < count; i++) {
                     if (buffer[i] == quoteChar) {
+                        out.write(buffer, start, i + 1 - start);
                         out.write(quoteChar);
+                        start = i + 1;
                     }
-                    out.write(buffer[i]);
+                }
+                if (start < count) {
+                    out.write(buffer, start, count - start);
                 }
             }
             out.write(quoteChar);
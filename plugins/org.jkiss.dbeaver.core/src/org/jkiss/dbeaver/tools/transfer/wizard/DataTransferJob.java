@@ -22,6 +22,8 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Shell;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.core.CoreMessages;
 import org.jkiss.dbeaver.core.DBeaverUI;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -32,11 +34,15 @@ import org.jkiss.dbeaver.tools.transfer.IDataTransferProducer;
 import org.jkiss.dbeaver.tools.transfer.IDataTransferSettings;
 import org.jkiss.dbeaver.ui.UIUtils;
 
+import java.util.Map;
+
 /**
  * Data transfer job
  */
 public class DataTransferJob extends AbstractJob {
 
+    static final Log log = Log.getLog(DataTransferJob.class);
+
     private DataTransferSettings settings;
 
     public DataTransferJob(DataTransferSettings settings)
@@ -56,38 +62,63 @@ public class DataTransferJob extends AbstractJob {
     @Override
     protected IStatus run(DBRProgressMonitor monitor)
     {
-        boolean hasErrors = false;
-        long startTime = System.currentTimeMillis();
-        for (; ;) {
-            DataTransferPipe transferPipe = settings.acquireDataPipe(monitor);
-            if (transferPipe == null) {
-                break;
+        try {
+            for (; ;) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                DataTransferPipe transferPipe = settings.acquireDataPipe(monitor);
+                if (transferPipe == null) {
+                    break;
+                }
+                transferData(monitor, transferPipe);
             }
-            if (!transferData(monitor, transferPipe)) {
-                hasErrors = true;
+        } finally {
+            // The last finished job shows summary of all parallel jobs
+            if (settings.finishJob(monitor)) {
+                showResult(settings.getTransferTime(), settings.getTransferErrors());
             }
         }
-        showResult(System.currentTimeMillis() - startTime, hasErrors);
         return Status.OK_STATUS;
     }
 
-    private void showResult(final long time, final boolean hasErrors)
+    private void showResult(final long time, final Map<DataTransferPipe, Throwable> errors)
     {
+        final int totalPipes = settings.getDataPipes().size();
         final Shell shell = DBeaverUI.getActiveWorkbenchShell();
         shell.getDisplay().asyncExec(new Runnable() {
             @Override
             public void run()
             {
+                boolean hasErrors = !errors.isEmpty();
                 UIUtils.showMessageBox(
                     shell,
                     "Data transfer",
-                    "Data transfer completed " +  (hasErrors ? "with errors " : "") + "(" + RuntimeUtils.formatExecutionTime(time) + ")",
+                    "Data transfer completed " +
+                        (hasErrors ? "with errors (" + errors.size() + " of " + totalPipes + " failed) " : "") +
+                        "(" + RuntimeUtils.formatExecutionTime(time) + ")",
                     hasErrors ? SWT.ICON_ERROR : SWT.ICON_INFORMATION);
             }
         });
+        if (!errors.isEmpty()) {
+            new DataTransferErrorJob(makeSummaryError(errors)).schedule();
+        }
+    }
+
+    private static Throwable makeSummaryError(Map<DataTransferPipe, Throwable> errors)
+    {
+        if (errors.size() == 1) {
+            return errors.values().iterator().next();
+        }
+        StringBuilder message = new StringBuilder("Data transfer failed for ").append(errors.size()).append(" objects:");
+        for (Map.Entry<DataTransferPipe, Throwable> entry : errors.entrySet()) {
+            message.append("\n").append(entry.getKey().getProducer().getSourceObject().getName())
+                .append(": ").append(entry.getValue().getMessage());
+        }
+        return new DBException(message.toString(), errors.values().iterator().next());
     }
 
-    private boolean transferData(DBRProgressMonitor monitor, DataTransferPipe transferPipe)
+    private void transferData(DBRProgressMonitor monitor, DataTransferPipe transferPipe)
     {
         IDataTransferProducer producer = transferPipe.getProducer();
         IDataTransferConsumer consumer = transferPipe.getConsumer();
@@ -106,10 +137,9 @@ public class DataTransferJob extends AbstractJob {
                 consumer,
                 nodeSettings);
             consumer.finishTransfer(monitor, false);
-            return true;
         } catch (Exception e) {
-            new DataTransferErrorJob(e).schedule();
-            return false;
+            log.debug("Data transfer of '" + producer.getSourceObject().getName() + "' failed", e);
+            settings.addTransferError(transferPipe, e);
         }
 
     }
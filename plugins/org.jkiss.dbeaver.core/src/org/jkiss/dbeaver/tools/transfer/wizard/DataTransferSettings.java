@@ -75,6 +75,9 @@ public class DataTransferSettings {
     private int maxJobCount = DEFAULT_THREADS_NUM;
 
     private transient int curPipeNum = 0;
+    private transient int activeJobs = 0;
+    private transient long transferStartTime;
+    private transient final Map<DataTransferPipe, Throwable> transferErrors = new LinkedHashMap<>();
 
     public DataTransferSettings(@Nullable IDataTransferProducer[] producers, @Nullable IDataTransferConsumer[] consumers)
     {
@@ -246,14 +249,22 @@ public class DataTransferSettings {
         return dataPipes;
     }
 
+    /**
+     * Prepares settings for new transfer which will be run by specified number of parallel jobs
+     */
+    synchronized void startTransfer(int jobCount)
+    {
+        curPipeNum = 0;
+        activeJobs = jobCount;
+        transferStartTime = System.currentTimeMillis();
+        transferErrors.clear();
+    }
+
+    @Nullable
     public synchronized DataTransferPipe acquireDataPipe(DBRProgressMonitor monitor)
     {
         if (curPipeNum >= dataPipes.size()) {
             // End of transfer
-            // Signal last pipe about it
-            if (!dataPipes.isEmpty()) {
-                dataPipes.get(dataPipes.size() - 1).getConsumer().finishTransfer(monitor, true);
-            }
             return null;
         }
 
@@ -263,6 +274,39 @@ public class DataTransferSettings {
         return result;
     }
 
+    synchronized void addTransferError(DataTransferPipe pipe, Throwable error)
+    {
+        transferErrors.put(pipe, error);
+    }
+
+    /**
+     * Called by transfer job when it has no more pipes to process.
+     * Last finished job signals last pipe about end of transfer.
+     * @return true if all jobs are finished
+     */
+    synchronized boolean finishJob(DBRProgressMonitor monitor)
+    {
+        activeJobs--;
+        if (activeJobs > 0) {
+            return false;
+        }
+        // Signal last pipe about it
+        if (!dataPipes.isEmpty()) {
+            dataPipes.get(dataPipes.size() - 1).getConsumer().finishTransfer(monitor, true);
+        }
+        return true;
+    }
+
+    synchronized long getTransferTime()
+    {
+        return System.currentTimeMillis() - transferStartTime;
+    }
+
+    synchronized Map<DataTransferPipe, Throwable> getTransferErrors()
+    {
+        return new LinkedHashMap<>(transferErrors);
+    }
+
     public DataTransferNodeDescriptor getProducer()
     {
         return producer;
@@ -187,6 +187,7 @@ public class DataTransferWizard extends Wizard implements IExportWizard {
         if (totalJobs > settings.getMaxJobCount()) {
             totalJobs = settings.getMaxJobCount();
         }
+        settings.startTransfer(totalJobs);
         for (int i = 0; i < totalJobs; i++) {
             new DataTransferJob(settings).schedule();
         }
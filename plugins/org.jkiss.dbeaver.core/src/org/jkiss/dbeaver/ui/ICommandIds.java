@@ -51,6 +51,7 @@ public interface ICommandIds
     String CMD_CONNECT = "org.jkiss.dbeaver.core.connect";
     String CMD_DISCONNECT = "org.jkiss.dbeaver.core.disconnect";
     String CMD_INVALIDATE = "org.jkiss.dbeaver.core.invalidate";
+    String CMD_EXECUTE_SCRIPT_FILE = "org.jkiss.dbeaver.core.script.file.execute";
     String CMD_COMMIT = "org.jkiss.dbeaver.core.commit";
     String CMD_ROLLBACK = "org.jkiss.dbeaver.core.rollback";
 
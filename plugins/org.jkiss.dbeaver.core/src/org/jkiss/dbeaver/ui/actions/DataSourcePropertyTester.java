@@ -77,8 +77,8 @@ public class DataSourcePropertyTester extends PropertyTester
                 }
             case PROP_TRANSACTION_ACTIVE:
                 if (context != null && context.isConnected()) {
-                    QMMSessionInfo session = DBeaverCore.getInstance().getQueryManager().getMetaCollector().getSessionInfo(context);
-                    QMMTransactionInfo transaction = session.getTransaction();
+                    QMMSessionInfo session = DBeaverCore.getInstance().getQueryManager().getMetaCollector().getSessionSnapshot(context);
+                    QMMTransactionInfo transaction = session == null ? null : session.getTransaction();
                     if (transaction != null) {
                         QMMTransactionSavepointInfo savepoint = transaction.getCurrentSavepoint();
                         if (savepoint != null) {
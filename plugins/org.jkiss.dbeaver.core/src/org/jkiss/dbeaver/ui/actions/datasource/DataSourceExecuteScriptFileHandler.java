@@ -0,0 +1,101 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.actions.datasource;
+
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.handlers.HandlerUtil;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.sql.SQLScriptFileJob;
+import org.jkiss.dbeaver.ui.UIUtils;
+import org.jkiss.dbeaver.ui.actions.AbstractDataSourceHandler;
+import org.jkiss.dbeaver.ui.dialogs.DialogUtils;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+
+import java.io.File;
+
+/**
+ * Executes SQL script file in selected connection without opening it in SQL editor.
+ * Script runs in its own isolated context which is closed when script job finishes.
+ */
+public class DataSourceExecuteScriptFileHandler extends AbstractDataSourceHandler
+{
+    @Override
+    public Object execute(ExecutionEvent event) throws ExecutionException
+    {
+        Shell shell = HandlerUtil.getActiveShell(event);
+        DBCExecutionContext context = getExecutionContext(event, false);
+        if (context == null || !context.isConnected()) {
+            UIUtils.showErrorDialog(shell, "Execute script file", "Select connected data source");
+            return null;
+        }
+        File scriptFile = DialogUtils.openFile(shell, new String[] {"*.sql", "*.txt", "*"});
+        if (scriptFile != null) {
+            new OpenScriptContextJob(context.getDataSource(), scriptFile).schedule();
+        }
+        return null;
+    }
+
+    /**
+     * Opens isolated context and starts script job in it
+     */
+    private static class OpenScriptContextJob extends AbstractJob {
+        private final DBPDataSource dataSource;
+        private final File scriptFile;
+
+        OpenScriptContextJob(DBPDataSource dataSource, File scriptFile)
+        {
+            super("Open connection to " + dataSource.getContainer().getName());
+            this.dataSource = dataSource;
+            this.scriptFile = scriptFile;
+            setUser(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            final DBCExecutionContext scriptContext;
+            try {
+                // Script may change session state, so its context is not reused
+                scriptContext = dataSource.openIsolatedContext(monitor, "Script " + scriptFile.getName(), false);
+            } catch (DBException e) {
+                return GeneralUtils.makeExceptionStatus(e);
+            }
+            SQLScriptFileJob scriptJob = new SQLScriptFileJob(scriptFile, GeneralUtils.DEFAULT_FILE_CHARSET_NAME, scriptContext);
+            scriptJob.addJobChangeListener(new JobChangeAdapter() {
+                @Override
+                public void done(IJobChangeEvent event)
+                {
+                    scriptContext.close();
+                }
+            });
+            scriptJob.schedule();
+            return Status.OK_STATUS;
+        }
+    }
+
+}
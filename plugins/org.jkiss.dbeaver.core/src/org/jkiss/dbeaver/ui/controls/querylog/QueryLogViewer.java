@@ -50,16 +50,22 @@ import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.DBPPreferenceListener;
 import org.jkiss.dbeaver.model.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.qm.*;
 import org.jkiss.dbeaver.model.qm.meta.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.runtime.qm.DefaultEventFilter;
+import org.jkiss.dbeaver.runtime.qm.QMHistoryRecord;
+import org.jkiss.dbeaver.runtime.qm.QMHistoryStore;
 import org.jkiss.dbeaver.ui.*;
+import org.jkiss.dbeaver.ui.dialogs.EnterNameDialog;
 import org.jkiss.dbeaver.ui.dialogs.sql.BaseSQLDialog;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.LongKeyMap;
 
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -91,6 +97,7 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             this.widthHint = widthHint;
         }
         abstract String getText(QMMetaEvent event);
+        abstract String getText(QMHistoryRecord record);
     }
 
     private static class ColumnDescriptor {
@@ -111,6 +118,11 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
         {
             return timeFormat.format(new Date(event.getObject().getOpenTime()));
         }
+        @Override
+        String getText(QMHistoryRecord record)
+        {
+            return timeFormat.format(new Date(record.getOpenTime()));
+        }
     };
     private static LogColumn COLUMN_TYPE = new LogColumn("type", CoreMessages.controls_querylog_column_type_name, CoreMessages.controls_querylog_column_type_tooltip, 100) {
         @Override
@@ -118,6 +130,14 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
         {
             return getObjectType(event.getObject());
         }
+        @Override
+        String getText(QMHistoryRecord record)
+        {
+            if (record.getType() == QMHistoryRecord.Type.EXECUTE) {
+                return "SQL" + (record.getPurpose() == null ? "" : " / " + record.getPurpose()); //$NON-NLS-1$
+            }
+            return CoreMessages.controls_querylog_transaction;
+        }
     };
     private static LogColumn COLUMN_TEXT = new LogColumn("text", CoreMessages.controls_querylog_column_text_name, CoreMessages.controls_querylog_column_text_tooltip, 400) {
         @Override
@@ -150,6 +170,15 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             }
             return ""; //$NON-NLS-1$
         }
+        @Override
+        String getText(QMHistoryRecord record)
+        {
+            switch (record.getType()) {
+                case COMMIT: return CoreMessages.controls_querylog_commit;
+                case ROLLBACK: return CoreMessages.controls_querylog_rollback;
+                default: return CommonUtils.notEmpty(record.getQueryText());
+            }
+        }
     };
     private static LogColumn COLUMN_DURATION = new LogColumn("duration", CoreMessages.controls_querylog_column_duration_name, CoreMessages.controls_querylog_column_duration_tooltip, 100) {
         @Override
@@ -189,6 +218,15 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             }
             return ""; //$NON-NLS-1$
         }
+        @Override
+        String getText(QMHistoryRecord record)
+        {
+            if (record.getType() == QMHistoryRecord.Type.EXECUTE) {
+                return String.valueOf(record.getDuration()) + CoreMessages.controls_querylog__ms;
+            } else {
+                return formatMinutes(record.getDuration());
+            }
+        }
     };
     private static LogColumn COLUMN_ROWS = new LogColumn("rows", CoreMessages.controls_querylog_column_rows_name, CoreMessages.controls_querylog_column_rows_tooltip, 120) {
         @Override
@@ -208,6 +246,14 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             }
             return ""; //$NON-NLS-1$
         }
+        @Override
+        String getText(QMHistoryRecord record)
+        {
+            if (record.getType() == QMHistoryRecord.Type.EXECUTE && record.getRowCount() >= 0) {
+                return String.valueOf(record.getRowCount());
+            }
+            return ""; //$NON-NLS-1$
+        }
     };
     private static LogColumn COLUMN_RESULT = new LogColumn("result", CoreMessages.controls_querylog_column_result_name, CoreMessages.controls_querylog_column_result_tooltip, 120) {
         @Override
@@ -216,21 +262,19 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             if (event.getObject() instanceof QMMStatementExecuteInfo) {
                 QMMStatementExecuteInfo exec = (QMMStatementExecuteInfo) event.getObject();
                 if (exec.isClosed()) {
-                    if (exec.hasError()) {
-                        if (exec.getErrorCode() == 0) {
-                            return exec.getErrorMessage();
-                        } else if (exec.getErrorMessage() == null) {
-                            return CoreMessages.controls_querylog_error + exec.getErrorCode() + "]";
-                        } else {
-                            return "[" + exec.getErrorCode() + "] " + exec.getErrorMessage();
-                        }
-                    } else {
-                        return CoreMessages.controls_querylog_success;
-                    }
+                    return formatResult(exec.hasError(), exec.getErrorCode(), exec.getErrorMessage());
                 }
             }
             return ""; //$NON-NLS-1$
         }
+        @Override
+        String getText(QMHistoryRecord record)
+        {
+            if (record.getType() == QMHistoryRecord.Type.EXECUTE) {
+                return formatResult(record.hasError(), record.getErrorCode(), record.getErrorMessage());
+            }
+            return ""; //$NON-NLS-1$
+        }
     };
     private static LogColumn COLUMN_DATA_SOURCE = new LogColumn("datasource", CoreMessages.controls_querylog_column_connection_name, CoreMessages.controls_querylog_column_connection_tooltip, 150) {
         @Override
@@ -251,6 +295,11 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             }
             return container == null ? "?" : container.getName();
         }
+        @Override
+        String getText(QMHistoryRecord record)
+        {
+            return record.getContainerName() == null ? "?" : record.getContainerName();
+        }
     };
     private static LogColumn COLUMN_CONTEXT = new LogColumn("context", CoreMessages.controls_querylog_column_context_name, CoreMessages.controls_querylog_column_context_tooltip, 150) {
         @Override
@@ -273,6 +322,11 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             }
             return context.getContextName();
         }
+        @Override
+        String getText(QMHistoryRecord record)
+        {
+            return record.getContextName() == null ? "?" : record.getContextName();
+        }
     };
     private static LogColumn[] ALL_COLUMNS = new LogColumn[] {
         COLUMN_TIME,
@@ -301,6 +355,13 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
     private QMEventFilter defaultFilter;
 
     private int entriesPerPage = MIN_ENTRIES_PER_PAGE;
+    // True when table shows records loaded from persistent history. Live events are not shown in this mode.
+    private boolean historyMode;
+    private String historySearchText;
+    // Incremented on each log clear. Used to discard history pages loaded for previous table content
+    private int historyGeneration;
+    // Generation of history page which is being loaded now (or -1)
+    private int loadingGeneration = -1;
 
     public QueryLogViewer(Composite parent, IWorkbenchPartSite site, QMEventFilter filter, boolean showConnection)
     {
@@ -353,7 +414,9 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
             public void widgetDefaultSelected(SelectionEvent e)
             {
                 //TableItem item = (TableItem)e.item;
-                showEventDetails((QMMetaEvent) e.item.getData());
+                if (e.item.getData() instanceof QMMetaEvent) {
+                    showEventDetails((QMMetaEvent) e.item.getData());
+                }
             }
         });
 
@@ -466,9 +529,9 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
     public IStructuredSelection getSelection()
     {
         TableItem[] items = logTable.getSelection();
-        QMMetaEvent[] data = new QMMetaEvent[items.length];
+        Object[] data = new Object[items.length];
         for (int i = 0, itemsLength = items.length; i < itemsLength; i++) {
-            data[i] = (QMMetaEvent)items[i].getData();
+            data[i] = items[i].getData();
         }
         return new StructuredSelection(data);
     }
@@ -559,6 +622,8 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
         this.entriesPerPage = Math.max(MIN_ENTRIES_PER_PAGE, store.getInt(QMConstants.PROP_ENTRIES_PER_PAGE));
 
         clearLog();
+        historyMode = false;
+        historySearchText = null;
         updateMetaInfo(QMUtils.getPastMetaEvents());
     }
 
@@ -575,7 +640,7 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
 
     private synchronized void updateMetaInfo(final java.util.List<QMMetaEvent> events)
     {
-        if (logTable.isDisposed()) {
+        if (logTable.isDisposed() || historyMode) {
             return;
         }
         logTable.setRedraw(false);
@@ -671,6 +736,123 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
         item.setBackground(getObjectBackground(event));
     }
 
+    /**
+     * Loads next page of records from persistent history.
+     * Page starts after the last history record in table or (in live mode) before the oldest event in table.
+     * History files are read in background job, records are added to the table in UI thread.
+     */
+    private void loadHistoryPage()
+    {
+        final QMHistoryStore historyStore = DBeaverCore.getInstance().getQueryHistory();
+        if (historyStore == null || loadingGeneration == historyGeneration) {
+            return;
+        }
+        long toTime = Long.MAX_VALUE;
+        long beforePosition = -1;
+        int itemCount = logTable.getItemCount();
+        if (itemCount > 0) {
+            Object lastData = logTable.getItem(itemCount - 1).getData();
+            if (lastData instanceof QMHistoryRecord) {
+                beforePosition = ((QMHistoryRecord) lastData).getPosition();
+            } else if (lastData instanceof QMMetaEvent) {
+                toTime = ((QMMetaEvent) lastData).getObject().getOpenTime() - 1;
+            }
+        }
+        final long fromPosition = beforePosition;
+        final long fromTime = toTime;
+        final String searchText = historySearchText;
+        final int maxRecords = entriesPerPage;
+        final int generation = historyGeneration;
+        final Shell shell = logTable.getShell();
+        loadingGeneration = generation;
+        new AbstractJob("Load query history") {
+            @Override
+            protected IStatus run(DBRProgressMonitor monitor)
+            {
+                try {
+                    final java.util.List<QMHistoryRecord> records =
+                        historyStore.findRecords(null, searchText, 0, fromTime, fromPosition, maxRecords);
+                    UIUtils.runInDetachedUI(shell, new Runnable() {
+                        @Override
+                        public void run()
+                        {
+                            if (loadingGeneration == generation) {
+                                loadingGeneration = -1;
+                            }
+                            if (!logTable.isDisposed() && generation == historyGeneration) {
+                                showHistoryRecords(records);
+                            }
+                        }
+                    });
+                } catch (final IOException e) {
+                    UIUtils.runInDetachedUI(shell, new Runnable() {
+                        @Override
+                        public void run()
+                        {
+                            if (loadingGeneration == generation) {
+                                loadingGeneration = -1;
+                            }
+                            UIUtils.showErrorDialog(shell, CoreMessages.controls_querylog_action_show_older, "Error reading query history", e);
+                        }
+                    });
+                }
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
+    private void showHistoryRecords(java.util.List<QMHistoryRecord> records)
+    {
+        historyMode = true;
+        logTable.setRedraw(false);
+        try {
+            for (QMHistoryRecord record : records) {
+                TableItem item = new TableItem(logTable, SWT.NONE);
+                updateItem(record, item);
+            }
+        } finally {
+            logTable.setRedraw(true);
+        }
+    }
+
+    private void searchHistory()
+    {
+        String searchText = EnterNameDialog.chooseName(logTable.getShell(), CoreMessages.controls_querylog_search_history_text, historySearchText);
+        if (CommonUtils.isEmptyTrimmed(searchText)) {
+            return;
+        }
+        clearLog();
+        historySearchText = searchText;
+        loadHistoryPage();
+    }
+
+    private void updateItem(QMHistoryRecord record, TableItem item)
+    {
+        item.setData(record);
+        for (int i = 0, columnsSize = columns.size(); i < columnsSize; i++) {
+            ColumnDescriptor cd = columns.get(i);
+            item.setText(i, TextUtils.getSingleLineString(cd.logColumn.getText(record)));
+        }
+        if (record.getType() == QMHistoryRecord.Type.EXECUTE) {
+            item.setForeground(isUserPurpose(record.getPurpose()) ? null : colorGray);
+            item.setBackground(record.hasError() ? colorLightRed : colorLightGreen);
+        } else {
+            item.setBackground(colorLightYellow);
+        }
+    }
+
+    private static boolean isUserPurpose(String purpose)
+    {
+        if (purpose == null) {
+            return true;
+        }
+        try {
+            return DBCExecutionPurpose.valueOf(purpose).isUser();
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
     private void createContextMenu()
     {
         MenuManager menuMgr = new MenuManager();
@@ -720,6 +902,33 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
                 manager.add(copyAllAction);
                 manager.add(selectAllAction);
                 manager.add(clearLogAction);
+                if (filter == null && DBeaverCore.getInstance().getQueryHistory() != null) {
+                    // History isn't filtered by editor context so it is available in global log only
+                    manager.add(new Separator());
+                    manager.add(new Action(CoreMessages.controls_querylog_action_show_older) {
+                        @Override
+                        public void run()
+                        {
+                            loadHistoryPage();
+                        }
+                    });
+                    manager.add(new Action(CoreMessages.controls_querylog_action_search_history) {
+                        @Override
+                        public void run()
+                        {
+                            searchHistory();
+                        }
+                    });
+                    if (historyMode) {
+                        manager.add(new Action(CoreMessages.controls_querylog_action_show_current) {
+                            @Override
+                            public void run()
+                            {
+                                reloadEvents();
+                            }
+                        });
+                    }
+                }
                 //manager.add(new GroupMarker(IWorkbenchActionConstants.MB_ADDITIONS));
             }
         });
@@ -757,6 +966,7 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
 
     public synchronized void clearLog()
     {
+        historyGeneration++;
         logTable.removeAll();
         objectToItemMap.clear();
     }
@@ -788,27 +998,51 @@ public class QueryLogViewer extends Viewer implements QMMetaListener, DBPPrefere
         }
         StringBuilder tdt = new StringBuilder();
         for (Iterator<?> i = selection.iterator(); i.hasNext(); ) {
-            QMMetaEvent item = (QMMetaEvent)i.next();
+            Object item = i.next();
             if (tdt.length() > 0) {
                 tdt.append(GeneralUtils.getDefaultLineSeparator());
             }
             if (extraInfo) {
                 for (int i1 = 0, columnsSize = columns.size(); i1 < columnsSize; i1++) {
                     ColumnDescriptor cd = columns.get(i1);
-                    String text = cd.logColumn.getText(item);
+                    String text = getColumnText(cd.logColumn, item);
                     if (i1 > 0) {
                         tdt.append('\t');
                     }
                     tdt.append(text);
                 }
             } else {
-                String text = COLUMN_TEXT.getText(item);
+                String text = getColumnText(COLUMN_TEXT, item);
                 tdt.append(text);
             }
         }
         return tdt.toString();
     }
 
+    private static String getColumnText(LogColumn column, Object item)
+    {
+        if (item instanceof QMHistoryRecord) {
+            return column.getText((QMHistoryRecord) item);
+        } else {
+            return column.getText((QMMetaEvent) item);
+        }
+    }
+
+    private static String formatResult(boolean hasError, int errorCode, String errorMessage)
+    {
+        if (hasError) {
+            if (errorCode == 0) {
+                return errorMessage;
+            } else if (errorMessage == null) {
+                return CoreMessages.controls_querylog_error + errorCode + "]";
+            } else {
+                return "[" + errorCode + "] " + errorMessage;
+            }
+        } else {
+            return CoreMessages.controls_querylog_success;
+        }
+    }
+
     private static String formatMinutes(long ms)
     {
         long min = ms / 1000 / 60;
@@ -0,0 +1,684 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar storage of fetched rows.
+ * Integer, long and double columns are kept in primitive arrays with null bitmaps,
+ * string columns with many repeated values are dictionary-encoded.
+ * Other values are kept as is. Boxed values are created on access.
+ * Pages which contain only simple values may be spilled to disk by {@link ResultSetSpillBuffer}.
+ */
+final class ResultSetColumnStore {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final byte COLUMN_OBJECT = 0;
+    private static final byte COLUMN_INT = 1;
+    private static final byte COLUMN_LONG = 2;
+    private static final byte COLUMN_DOUBLE = 3;
+    private static final byte COLUMN_STRING = 4;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_BOOLEAN = 2;
+    private static final byte VALUE_BYTE = 3;
+    private static final byte VALUE_SHORT = 4;
+    private static final byte VALUE_INT = 5;
+    private static final byte VALUE_LONG = 6;
+    private static final byte VALUE_FLOAT = 7;
+    private static final byte VALUE_DOUBLE = 8;
+    private static final byte VALUE_BIG_INTEGER = 9;
+    private static final byte VALUE_BIG_DECIMAL = 10;
+    private static final byte VALUE_DATE = 11;
+    private static final byte VALUE_SQL_DATE = 12;
+    private static final byte VALUE_SQL_TIME = 13;
+    private static final byte VALUE_SQL_TIMESTAMP = 14;
+
+    private final int rowCount;
+    private final int columnCount;
+    private final boolean spillable;
+    // Null if page was spilled to disk
+    private volatile Column[] columns;
+    @Nullable
+    private ResultSetSpillBuffer spillBuffer;
+    // Position of page in spill file (-1 if page wasn't written yet)
+    long spillOffset = -1;
+    int spillLength;
+
+    private ResultSetColumnStore(int rowCount, Column[] columns)
+    {
+        this.rowCount = rowCount;
+        this.columnCount = columns.length;
+        this.columns = columns;
+        boolean spillable = true;
+        for (Column column : columns) {
+            if (!column.isSimple()) {
+                spillable = false;
+                break;
+            }
+        }
+        this.spillable = spillable;
+    }
+
+    /**
+     * Packs rows in columns.
+     * Returns null if rows have different number of values.
+     */
+    @Nullable
+    static ResultSetColumnStore create(@NotNull List<Object[]> rows)
+    {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        int columnCount = rows.get(0).length;
+        for (Object[] row : rows) {
+            if (row.length != columnCount) {
+                return null;
+            }
+        }
+        Column[] columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = createColumn(rows, i);
+        }
+        return new ResultSetColumnStore(rows.size(), columns);
+    }
+
+    int getRowCount()
+    {
+        return rowCount;
+    }
+
+    int getColumnCount()
+    {
+        return columnCount;
+    }
+
+    /**
+     * Page contains only immutable values of known types (no LOBs or complex values).
+     * Such values do not need to be released and may be written to disk.
+     */
+    boolean isSpillable()
+    {
+        return spillable;
+    }
+
+    @Nullable
+    Object getValue(int row, int column)
+    {
+        return getColumns()[column].getValue(row);
+    }
+
+    @NotNull
+    Object[] getValues(int row)
+    {
+        Column[] columns = getColumns();
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = columns[i].getValue(row);
+        }
+        return values;
+    }
+
+    @NotNull
+    private Column[] getColumns()
+    {
+        Column[] columns = this.columns;
+        if (columns == null) {
+            assert spillBuffer != null;
+            columns = spillBuffer.pageIn(this);
+        }
+        return columns;
+    }
+
+    ////////////////////////////////////////////////////////////
+    // Spill support (called by spill buffer under its lock)
+
+    void setSpillBuffer(@NotNull ResultSetSpillBuffer spillBuffer)
+    {
+        this.spillBuffer = spillBuffer;
+    }
+
+    @Nullable
+    Column[] getLoadedColumns()
+    {
+        return columns;
+    }
+
+    void unload()
+    {
+        columns = null;
+    }
+
+    void writeColumns(@NotNull DataOutputStream out) throws IOException
+    {
+        Column[] columns = this.columns;
+        assert columns != null;
+        for (Column column : columns) {
+            column.write(out);
+        }
+    }
+
+    @NotNull
+    Column[] readColumns(@NotNull ByteBuffer buffer)
+    {
+        Column[] columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = readColumn(buffer, rowCount);
+        }
+        this.columns = columns;
+        return columns;
+    }
+
+    /**
+     * Replaces page data with nulls. Used if page can't be read from disk.
+     */
+    @NotNull
+    Column[] resetColumns()
+    {
+        Column[] columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = new ObjectColumn(new Object[rowCount]);
+        }
+        this.columns = columns;
+        return columns;
+    }
+
+    ////////////////////////////////////////////////////////////
+    // Columns
+
+    @NotNull
+    private static Column createColumn(List<Object[]> rows, int index)
+    {
+        Class<?> valueClass = null;
+        for (Object[] row : rows) {
+            Object value = row[index];
+            if (value == null) {
+                continue;
+            }
+            if (valueClass == null) {
+                valueClass = value.getClass();
+            } else if (valueClass != value.getClass()) {
+                // Mixed values
+                return new ObjectColumn(rows, index);
+            }
+        }
+        if (valueClass == Integer.class) {
+            return new IntColumn(rows, index);
+        } else if (valueClass == Long.class) {
+            return new LongColumn(rows, index);
+        } else if (valueClass == Double.class) {
+            return new DoubleColumn(rows, index);
+        } else if (valueClass == String.class) {
+            Column column = StringColumn.create(rows, index);
+            if (column != null) {
+                return column;
+            }
+        }
+        return new ObjectColumn(rows, index);
+    }
+
+    @NotNull
+    private static Column readColumn(ByteBuffer buffer, int rowCount)
+    {
+        byte type = buffer.get();
+        switch (type) {
+            case COLUMN_INT: {
+                BitSet nulls = readBitSet(buffer);
+                int[] values = new int[rowCount];
+                for (int i = 0; i < rowCount; i++) {
+                    values[i] = buffer.getInt();
+                }
+                return new IntColumn(values, nulls);
+            }
+            case COLUMN_LONG: {
+                BitSet nulls = readBitSet(buffer);
+                long[] values = new long[rowCount];
+                for (int i = 0; i < rowCount; i++) {
+                    values[i] = buffer.getLong();
+                }
+                return new LongColumn(values, nulls);
+            }
+            case COLUMN_DOUBLE: {
+                BitSet nulls = readBitSet(buffer);
+                double[] values = new double[rowCount];
+                for (int i = 0; i < rowCount; i++) {
+                    values[i] = buffer.getDouble();
+                }
+                return new DoubleColumn(values, nulls);
+            }
+            case COLUMN_STRING: {
+                String[] dictionary = new String[buffer.getInt()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = readString(buffer);
+                }
+                int[] codes = new int[rowCount];
+                for (int i = 0; i < rowCount; i++) {
+                    codes[i] = buffer.getInt();
+                }
+                return new StringColumn(codes, dictionary);
+            }
+            default: {
+                Object[] values = new Object[rowCount];
+                for (int i = 0; i < rowCount; i++) {
+                    values[i] = readSimpleValue(buffer);
+                }
+                return new ObjectColumn(values);
+            }
+        }
+    }
+
+    static abstract class Column {
+        @Nullable
+        abstract Object getValue(int row);
+
+        boolean isSimple()
+        {
+            return true;
+        }
+
+        abstract void write(DataOutputStream out) throws IOException;
+    }
+
+    private static class ObjectColumn extends Column {
+        private final Object[] values;
+
+        ObjectColumn(List<Object[]> rows, int index)
+        {
+            values = new Object[rows.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rows.get(i)[index];
+            }
+        }
+
+        ObjectColumn(Object[] values)
+        {
+            this.values = values;
+        }
+
+        @Override
+        Object getValue(int row)
+        {
+            return values[row];
+        }
+
+        @Override
+        boolean isSimple()
+        {
+            for (Object value : values) {
+                if (!isSimpleValue(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void write(DataOutputStream out) throws IOException
+        {
+            out.writeByte(COLUMN_OBJECT);
+            for (Object value : values) {
+                writeSimpleValue(out, value);
+            }
+        }
+    }
+
+    private static class IntColumn extends Column {
+        private final int[] values;
+        private final BitSet nulls;
+
+        IntColumn(List<Object[]> rows, int index)
+        {
+            values = new int[rows.size()];
+            nulls = new BitSet();
+            for (int i = 0; i < values.length; i++) {
+                Object value = rows.get(i)[index];
+                if (value == null) {
+                    nulls.set(i);
+                } else {
+                    values[i] = (Integer) value;
+                }
+            }
+        }
+
+        IntColumn(int[] values, BitSet nulls)
+        {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        Object getValue(int row)
+        {
+            return nulls.get(row) ? null : Integer.valueOf(values[row]);
+        }
+
+        @Override
+        void write(DataOutputStream out) throws IOException
+        {
+            out.writeByte(COLUMN_INT);
+            writeBitSet(out, nulls);
+            for (int value : values) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    private static class LongColumn extends Column {
+        private final long[] values;
+        private final BitSet nulls;
+
+        LongColumn(List<Object[]> rows, int index)
+        {
+            values = new long[rows.size()];
+            nulls = new BitSet();
+            for (int i = 0; i < values.length; i++) {
+                Object value = rows.get(i)[index];
+                if (value == null) {
+                    nulls.set(i);
+                } else {
+                    values[i] = (Long) value;
+                }
+            }
+        }
+
+        LongColumn(long[] values, BitSet nulls)
+        {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        Object getValue(int row)
+        {
+            return nulls.get(row) ? null : Long.valueOf(values[row]);
+        }
+
+        @Override
+        void write(DataOutputStream out) throws IOException
+        {
+            out.writeByte(COLUMN_LONG);
+            writeBitSet(out, nulls);
+            for (long value : values) {
+                out.writeLong(value);
+            }
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+        private final double[] values;
+        private final BitSet nulls;
+
+        DoubleColumn(List<Object[]> rows, int index)
+        {
+            values = new double[rows.size()];
+            nulls = new BitSet();
+            for (int i = 0; i < values.length; i++) {
+                Object value = rows.get(i)[index];
+                if (value == null) {
+                    nulls.set(i);
+                } else {
+                    values[i] = (Double) value;
+                }
+            }
+        }
+
+        DoubleColumn(double[] values, BitSet nulls)
+        {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        @Override
+        Object getValue(int row)
+        {
+            return nulls.get(row) ? null : Double.valueOf(values[row]);
+        }
+
+        @Override
+        void write(DataOutputStream out) throws IOException
+        {
+            out.writeByte(COLUMN_DOUBLE);
+            writeBitSet(out, nulls);
+            for (double value : values) {
+                out.writeDouble(value);
+            }
+        }
+    }
+
+    /**
+     * Dictionary-encoded strings. Null is encoded as -1.
+     */
+    private static class StringColumn extends Column {
+        private final int[] codes;
+        private final String[] dictionary;
+
+        StringColumn(int[] codes, String[] dictionary)
+        {
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+
+        /**
+         * Returns null if column has too many distinct values - dictionary won't save anything then
+         */
+        @Nullable
+        static StringColumn create(List<Object[]> rows, int index)
+        {
+            int rowCount = rows.size();
+            int maxDictionarySize = rowCount / 2;
+            int[] codes = new int[rowCount];
+            Map<String, Integer> codeMap = new HashMap<>();
+            for (int i = 0; i < rowCount; i++) {
+                String value = (String) rows.get(i)[index];
+                if (value == null) {
+                    codes[i] = -1;
+                    continue;
+                }
+                Integer code = codeMap.get(value);
+                if (code == null) {
+                    if (codeMap.size() >= maxDictionarySize) {
+                        return null;
+                    }
+                    code = codeMap.size();
+                    codeMap.put(value, code);
+                }
+                codes[i] = code;
+            }
+            String[] dictionary = new String[codeMap.size()];
+            for (Map.Entry<String, Integer> entry : codeMap.entrySet()) {
+                dictionary[entry.getValue()] = entry.getKey();
+            }
+            return new StringColumn(codes, dictionary);
+        }
+
+        @Override
+        Object getValue(int row)
+        {
+            int code = codes[row];
+            return code < 0 ? null : dictionary[code];
+        }
+
+        @Override
+        void write(DataOutputStream out) throws IOException
+        {
+            out.writeByte(COLUMN_STRING);
+            out.writeInt(dictionary.length);
+            for (String value : dictionary) {
+                writeString(out, value);
+            }
+            for (int code : codes) {
+                out.writeInt(code);
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////////
+    // Serialization
+
+    private static boolean isSimpleValue(@Nullable Object value)
+    {
+        if (value == null) {
+            return true;
+        }
+        Class<?> valueClass = value.getClass();
+        return
+            valueClass == String.class ||
+            valueClass == Boolean.class ||
+            valueClass == Byte.class ||
+            valueClass == Short.class ||
+            valueClass == Integer.class ||
+            valueClass == Long.class ||
+            valueClass == Float.class ||
+            valueClass == Double.class ||
+            valueClass == BigInteger.class ||
+            valueClass == BigDecimal.class ||
+            valueClass == java.util.Date.class ||
+            valueClass == java.sql.Date.class ||
+            valueClass == java.sql.Time.class ||
+            valueClass == java.sql.Timestamp.class;
+    }
+
+    private static void writeSimpleValue(DataOutputStream out, @Nullable Object value) throws IOException
+    {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(VALUE_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(VALUE_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            out.writeByte(VALUE_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(VALUE_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(VALUE_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof BigInteger) {
+            out.writeByte(VALUE_BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(VALUE_BIG_DECIMAL);
+            writeString(out, value.toString());
+        } else if (value instanceof java.sql.Timestamp) {
+            out.writeByte(VALUE_SQL_TIMESTAMP);
+            out.writeLong(((java.sql.Timestamp) value).getTime());
+            out.writeInt(((java.sql.Timestamp) value).getNanos());
+        } else if (value instanceof java.sql.Date) {
+            out.writeByte(VALUE_SQL_DATE);
+            out.writeLong(((java.sql.Date) value).getTime());
+        } else if (value instanceof java.sql.Time) {
+            out.writeByte(VALUE_SQL_TIME);
+            out.writeLong(((java.sql.Time) value).getTime());
+        } else if (value instanceof java.util.Date) {
+            out.writeByte(VALUE_DATE);
+            out.writeLong(((java.util.Date) value).getTime());
+        } else {
+            throw new IOException("Value of type " + value.getClass().getName() + " can't be written");
+        }
+    }
+
+    @Nullable
+    private static Object readSimpleValue(ByteBuffer buffer)
+    {
+        byte type = buffer.get();
+        switch (type) {
+            case VALUE_NULL: return null;
+            case VALUE_STRING: return readString(buffer);
+            case VALUE_BOOLEAN: return buffer.get() != 0;
+            case VALUE_BYTE: return buffer.get();
+            case VALUE_SHORT: return buffer.getShort();
+            case VALUE_INT: return buffer.getInt();
+            case VALUE_LONG: return buffer.getLong();
+            case VALUE_FLOAT: return buffer.getFloat();
+            case VALUE_DOUBLE: return buffer.getDouble();
+            case VALUE_BIG_INTEGER: return new BigInteger(readString(buffer));
+            case VALUE_BIG_DECIMAL: return new BigDecimal(readString(buffer));
+            case VALUE_SQL_TIMESTAMP: {
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(buffer.getLong());
+                timestamp.setNanos(buffer.getInt());
+                return timestamp;
+            }
+            case VALUE_SQL_DATE: return new java.sql.Date(buffer.getLong());
+            case VALUE_SQL_TIME: return new java.sql.Time(buffer.getLong());
+            case VALUE_DATE: return new java.util.Date(buffer.getLong());
+            default:
+                throw new IllegalStateException("Bad value type: " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        byte[] bytes = value.getBytes(UTF8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer)
+    {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, UTF8);
+    }
+
+    private static void writeBitSet(DataOutputStream out, BitSet bitSet) throws IOException
+    {
+        long[] words = bitSet.toLongArray();
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    private static BitSet readBitSet(ByteBuffer buffer)
+    {
+        long[] words = new long[buffer.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        return BitSet.valueOf(words);
+    }
+
+}
@@ -40,6 +40,10 @@ class ResultSetDataReceiver implements DBDDataReceiver {
     private int columnsCount;
     private DBDAttributeBindingMeta[] metaColumns;
     private List<Object[]> rows = new ArrayList<>();
+    // Column store pages of long fetch (only if spill buffer is enabled)
+    private List<ResultSetColumnStore> pages = new ArrayList<>();
+    private ResultSetSpillBuffer spillBuffer;
+    private int rowCount;
     private boolean hasMoreData;
     private boolean nextSegmentRead;
     private long offset;
@@ -69,9 +73,21 @@ class ResultSetDataReceiver implements DBDDataReceiver {
         throws DBCException
     {
         this.rows.clear();
+        this.pages.clear();
+        this.rowCount = 0;
         this.offset = offset;
         this.maxRows = maxRows;
 
+        // Next segments (and "fetch all") are packed in pages during fetch so they can be spilled on disk.
+        // First segment is kept as is because locators metadata is read from it in fetchEnd.
+        this.spillBuffer = null;
+        if (nextSegmentRead) {
+            ResultSetSpillBuffer modelBuffer = resultSetViewer.getModel().getSpillBuffer();
+            if (modelBuffer.isEnabled()) {
+                this.spillBuffer = modelBuffer;
+            }
+        }
+
         if (!nextSegmentRead) {
             // Get columns metadata
             DBCResultSetMetaData metaData = resultSet.getMeta();
@@ -118,6 +134,20 @@ class ResultSetDataReceiver implements DBDDataReceiver {
             }
         }
         rows.add(row);
+        rowCount++;
+        if (spillBuffer != null && rows.size() >= ResultSetSpillBuffer.PAGE_ROWS) {
+            flushPage();
+        }
+    }
+
+    private void flushPage()
+    {
+        ResultSetColumnStore page = ResultSetColumnStore.create(rows);
+        if (page != null) {
+            spillBuffer.addPage(page);
+            pages.add(page);
+            rows = new ArrayList<>();
+        }
     }
 
     @Override
@@ -129,6 +159,23 @@ class ResultSetDataReceiver implements DBDDataReceiver {
             ResultSetUtils.bindAttributes(session, resultSet, metaColumns, rows);
         }
 
+        if (!pages.isEmpty()) {
+            if (!rows.isEmpty()) {
+                flushPage();
+            }
+            final List<ResultSetColumnStore> tmpPages = pages;
+            final int tmpRowCount = rowCount;
+            pages = new ArrayList<>();
+            runInUI(new Runnable() {
+                @Override
+                public void run() {
+                    resultSetViewer.appendPages(tmpPages, tmpRowCount);
+                    hasMoreData = maxRows > 0 && tmpRowCount >= maxRows;
+                }
+            });
+            return;
+        }
+
         final List<Object[]> tmpRows = rows;
 
         final boolean nextSegmentRead = this.nextSegmentRead;
@@ -155,6 +202,8 @@ class ResultSetDataReceiver implements DBDDataReceiver {
 
         errors.clear();
         rows = new ArrayList<>();
+        pages = new ArrayList<>();
+        spillBuffer = null;
     }
 
     private void runInUI(Runnable runnable) {
@@ -55,6 +55,9 @@ public class ResultSetModel {
 
     // Data
     private List<ResultSetRow> curRows = new ArrayList<>();
+    // Number of rows kept in memory. Other rows are spilled on disk
+    private int spillRows;
+    private volatile ResultSetSpillBuffer spillBuffer = new ResultSetSpillBuffer(0);
     private int changesCount = 0;
     private volatile boolean hasData = false;
     // Flag saying that edited values update is in progress
@@ -308,7 +311,7 @@ public class ResultSetModel {
     @NotNull
     public Object[] getRowData(int index)
     {
-        return curRows.get(index).values;
+        return curRows.get(index).getValues();
     }
 
     @NotNull
@@ -321,9 +324,9 @@ public class ResultSetModel {
     public Object getCellValue(@NotNull DBDAttributeBinding attribute, @NotNull ResultSetRow row) {
         int depth = attribute.getLevel();
         if (depth == 0) {
-            return row.values[attribute.getOrdinalPosition()];
+            return row.getValue(attribute.getOrdinalPosition());
         }
-        Object curValue = row.values[attribute.getTopParent().getOrdinalPosition()];
+        Object curValue = row.getValue(attribute.getTopParent().getOrdinalPosition());
 
         for (int i = 0; i < depth; i++) {
             if (curValue == null) {
@@ -365,7 +368,7 @@ public class ResultSetModel {
         } else {
             rootIndex = attr.getTopParent().getOrdinalPosition();
         }
-        Object rootValue = row.values[rootIndex];
+        Object rootValue = row.getValue(rootIndex);
         Object ownerValue = depth > 0 ? rootValue : null;
         {
             // Obtain owner value and create all intermediate values
@@ -433,7 +436,7 @@ public class ResultSetModel {
                     log.warn("Value [" + ownerValue + "] edit is not supported");
                 }
             } else {
-                row.values[rootIndex] = value;
+                row.setValue(rootIndex, value);
             }
             return true;
         }
@@ -614,8 +617,9 @@ public class ResultSetModel {
                 row.background = null;
             }
         } else {
-            for (Map.Entry<DBDAttributeBinding, AttributeColorSettings> entry : colorMapping.entrySet()) {
-                for (ResultSetRow row : rows) {
+            // Read rows once, in page order (rows may refer to spilled pages)
+            for (ResultSetRow row : getRowsInPageOrder(rows)) {
+                for (Map.Entry<DBDAttributeBinding, AttributeColorSettings> entry : colorMapping.entrySet()) {
                     final DBDAttributeBinding binding = entry.getKey();
                     final Object cellValue = getCellValue(binding, row);
                     //final String cellStringValue = binding.getValueHandler().getValueDisplayString(binding, cellValue, DBDDisplayFormat.NATIVE);
@@ -630,6 +634,13 @@ public class ResultSetModel {
 
     public void appendData(@NotNull List<Object[]> rows)
     {
+        // Keep fetched values in columns. Rows refer to the store instead of holding boxed values
+        ResultSetColumnStore store = ResultSetColumnStore.create(rows);
+        if (store != null) {
+            spillBuffer.addPage(store);
+            appendPages(Collections.singletonList(store));
+            return;
+        }
         int rowCount = rows.size();
         int firstRowNum = curRows.size();
         List<ResultSetRow> newRows = new ArrayList<>(rowCount);
@@ -641,11 +652,64 @@ public class ResultSetModel {
         updateRowColors(newRows);
     }
 
+    /**
+     * Appends rows from column store pages. Pages must be already registered in spill buffer.
+     */
+    void appendPages(@NotNull List<ResultSetColumnStore> pages)
+    {
+        int rowNum = curRows.size();
+        List<ResultSetRow> newRows = new ArrayList<>();
+        for (ResultSetColumnStore page : pages) {
+            for (int i = 0; i < page.getRowCount(); i++) {
+                newRows.add(new ResultSetRow(rowNum++, page, i));
+            }
+        }
+        curRows.addAll(newRows);
+        updateRowColors(newRows);
+    }
+
+    /**
+     * Returns rows ordered by row number if some pages are spilled on disk.
+     * Pages are read sequentially then, instead of reading a page per row.
+     */
+    @NotNull
+    private List<ResultSetRow> getRowsInPageOrder(@NotNull List<ResultSetRow> rows)
+    {
+        if (!spillBuffer.hasSpilledPages()) {
+            return rows;
+        }
+        List<ResultSetRow> pageRows = new ArrayList<>(rows);
+        Collections.sort(pageRows, new Comparator<ResultSetRow>() {
+            @Override
+            public int compare(ResultSetRow row1, ResultSetRow row2)
+            {
+                return row1.getRowNumber() - row2.getRowNumber();
+            }
+        });
+        return pageRows;
+    }
+
+    /**
+     * Spill buffer for pages of current data. May be accessed from fetch thread.
+     */
+    @NotNull
+    ResultSetSpillBuffer getSpillBuffer()
+    {
+        return spillBuffer;
+    }
+
+    void setSpillRows(int spillRows)
+    {
+        this.spillRows = spillRows;
+    }
+
     void clearData()
     {
         // Refresh all rows
         this.releaseAll();
         this.curRows = new ArrayList<>();
+        this.spillBuffer.close();
+        this.spillBuffer = new ResultSetSpillBuffer(spillRows);
 
         hasData = false;
     }
@@ -685,13 +749,28 @@ public class ResultSetModel {
 
     ResultSetRow addNewRow(int rowNum, @NotNull Object[] data)
     {
-        ResultSetRow newRow = new ResultSetRow(curRows.size(), data);
-        newRow.setVisualNumber(rowNum);
-        newRow.setState(ResultSetRow.STATE_ADDED);
-        shiftRows(newRow, 1);
-        curRows.add(rowNum, newRow);
-        changesCount++;
-        return newRow;
+        return addNewRows(rowNum, Collections.singletonList(data)).get(0);
+    }
+
+    /**
+     * Inserts new rows at specified visual position.
+     * New rows are physically placed after all existing rows so only visual numbers of following rows are shifted.
+     */
+    List<ResultSetRow> addNewRows(int rowNum, @NotNull List<Object[]> data)
+    {
+        int physicalNum = curRows.size();
+        List<ResultSetRow> newRows = new ArrayList<>(data.size());
+        for (Object[] rowData : data) {
+            ResultSetRow newRow = new ResultSetRow(physicalNum++, rowData);
+            newRow.setState(ResultSetRow.STATE_ADDED);
+            newRows.add(newRow);
+        }
+        curRows.addAll(rowNum, newRows);
+        for (int i = rowNum; i < curRows.size(); i++) {
+            curRows.get(i).setVisualNumber(i);
+        }
+        changesCount += newRows.size();
+        return newRows;
     }
 
     /**
@@ -702,54 +781,77 @@ public class ResultSetModel {
      */
     boolean deleteRow(@NotNull ResultSetRow row)
     {
-        if (row.getState() == ResultSetRow.STATE_ADDED) {
-            cleanupRow(row);
-            return true;
-        } else {
-            // Mark row as deleted
-            row.setState(ResultSetRow.STATE_REMOVED);
-            changesCount++;
-            return false;
+        return deleteRows(Collections.singletonList(row)) > 0;
+    }
+
+    /**
+     * Removes rows from data. Added rows are removed physically, other rows are marked as deleted.
+     * @return number of physically removed rows
+     */
+    int deleteRows(@NotNull Collection<ResultSetRow> rows)
+    {
+        List<ResultSetRow> addedRows = new ArrayList<>();
+        for (ResultSetRow row : rows) {
+            if (row.getState() == ResultSetRow.STATE_ADDED) {
+                addedRows.add(row);
+            } else if (row.getState() != ResultSetRow.STATE_REMOVED) {
+                // Mark row as deleted
+                row.setState(ResultSetRow.STATE_REMOVED);
+                changesCount++;
+            }
         }
+        cleanupRows(addedRows);
+        return addedRows.size();
     }
 
     void cleanupRow(@NotNull ResultSetRow row)
     {
-        row.release();
-        this.curRows.remove(row.getVisualNumber());
-        this.shiftRows(row, -1);
+        cleanupRows(Collections.singletonList(row));
     }
 
+    /**
+     * Removes rows physically.
+     * All rows are renumbered in a single pass: visual number is the new position in list,
+     * row number is decreased by count of removed rows with lesser row number.
+     */
     boolean cleanupRows(Collection<ResultSetRow> rows)
     {
-        if (rows != null && !rows.isEmpty()) {
-            // Remove rows (in descending order to prevent concurrent modification errors)
-            List<ResultSetRow> rowsToRemove = new ArrayList<>(rows);
-            Collections.sort(rowsToRemove, new Comparator<ResultSetRow>() {
-                @Override
-                public int compare(ResultSetRow o1, ResultSetRow o2) {
-                    return o1.getVisualNumber() - o2.getVisualNumber();
-                }
-            });
-            for (ResultSetRow row : rowsToRemove) {
-                cleanupRow(row);
+        if (rows == null || rows.isEmpty()) {
+            return false;
+        }
+        Set<ResultSetRow> rowsToRemove = Collections.newSetFromMap(new IdentityHashMap<ResultSetRow, Boolean>());
+        for (ResultSetRow row : rows) {
+            int visualNumber = row.getVisualNumber();
+            if (visualNumber < curRows.size() && curRows.get(visualNumber) == row && rowsToRemove.add(row)) {
+                row.release();
             }
-            return true;
-        } else {
+        }
+        if (rowsToRemove.isEmpty()) {
             return false;
         }
-    }
+        int[] removedNumbers = new int[rowsToRemove.size()];
+        int index = 0;
+        for (ResultSetRow row : rowsToRemove) {
+            removedNumbers[index++] = row.getRowNumber();
+        }
+        Arrays.sort(removedNumbers);
 
-    private void shiftRows(@NotNull ResultSetRow relative, int delta)
-    {
-        for (ResultSetRow row : curRows) {
-            if (row.getVisualNumber() >= relative.getVisualNumber()) {
-                row.setVisualNumber(row.getVisualNumber() + delta);
-            }
-            if (row.getRowNumber() >= relative.getRowNumber()) {
-                row.setRowNumber(row.getRowNumber() + delta);
+        // Compact list in place
+        int newSize = 0;
+        for (int i = 0; i < curRows.size(); i++) {
+            ResultSetRow row = curRows.get(i);
+            if (rowsToRemove.contains(row)) {
+                continue;
             }
+            int rowNumber = row.getRowNumber();
+            // Insertion point = number of removed rows before this one
+            int shift = -Arrays.binarySearch(removedNumbers, rowNumber) - 1;
+            row.setRowNumber(rowNumber - shift);
+            row.setVisualNumber(newSize);
+            curRows.set(newSize++, row);
         }
+        curRows.subList(newSize, curRows.size()).clear();
+        return true;
     }
 
     private void releaseAll()
@@ -835,6 +937,23 @@ public class ResultSetModel {
         final boolean hasOrdering = dataFilter.hasOrdering();
         // Sort locally
         final List<DBDAttributeConstraint> orderConstraints = dataFilter.getOrderConstraints();
+        final Map<ResultSetRow, Object[]> sortValues;
+        if (hasOrdering && spillBuffer.hasSpilledPages()) {
+            // Read sort values before sorting. Otherwise each comparison may read a spilled page from disk
+            sortValues = new IdentityHashMap<>(curRows.size());
+            for (ResultSetRow row : getRowsInPageOrder(curRows)) {
+                Object[] values = new Object[orderConstraints.size()];
+                for (int i = 0; i < values.length; i++) {
+                    final DBDAttributeBinding binding = getAttributeBinding(orderConstraints.get(i).getAttribute());
+                    if (binding != null) {
+                        values[i] = getCellValue(binding, row);
+                    }
+                }
+                sortValues.put(row, values);
+            }
+        } else {
+            sortValues = null;
+        }
         Collections.sort(curRows, new Comparator<ResultSetRow>() {
             @Override
             public int compare(ResultSetRow row1, ResultSetRow row2)
@@ -843,13 +962,20 @@ public class ResultSetModel {
                     return row1.getRowNumber() - row2.getRowNumber();
                 }
                 int result = 0;
-                for (DBDAttributeConstraint co : orderConstraints) {
+                for (int i = 0; i < orderConstraints.size(); i++) {
+                    final DBDAttributeConstraint co = orderConstraints.get(i);
                     final DBDAttributeBinding binding = getAttributeBinding(co.getAttribute());
                     if (binding == null) {
                         continue;
                     }
-                    Object cell1 = getCellValue(binding, row1);
-                    Object cell2 = getCellValue(binding, row2);
+                    Object cell1, cell2;
+                    if (sortValues != null) {
+                        cell1 = sortValues.get(row1)[i];
+                        cell2 = sortValues.get(row2)[i];
+                    } else {
+                        cell1 = getCellValue(binding, row1);
+                        cell2 = getCellValue(binding, row2);
+                    }
                     if (cell1 == cell2) {
                         result = 0;
                     } else if (DBUtils.isNullValue(cell1)) {
@@ -277,6 +277,7 @@ class ResultSetPersister {
     private boolean reflectChanges()
     {
         boolean rowsChanged = false;
+        List<ResultSetRow> removedRows = new ArrayList<>();
         for (ResultSetRow row : changedRows) {
             for (DataStatementInfo stat : updateStatements) {
                 if (stat.executed && stat.row == row) {
@@ -298,12 +299,13 @@ class ResultSetPersister {
         for (ResultSetRow row : deletedRows) {
             for (DataStatementInfo stat : deleteStatements) {
                 if (stat.executed && stat.row == row) {
-                    model.cleanupRow(row);
+                    removedRows.add(row);
                     rowsChanged = true;
                     break;
                 }
             }
         }
+        model.cleanupRows(removedRows);
         model.refreshChangeCount();
         return rowsChanged;
     }
@@ -314,8 +316,8 @@ class ResultSetPersister {
         if (!stat.updatedCells.isEmpty()) {
             for (Map.Entry<Integer, Object> entry : stat.updatedCells.entrySet()) {
                 ResultSetRow row = stat.row;
-                DBUtils.releaseValue(row.values[entry.getKey()]);
-                row.values[entry.getKey()] = entry.getValue();
+                DBUtils.releaseValue(row.getValue(entry.getKey()));
+                row.setValue(entry.getKey(), entry.getValue());
             }
         }
     }
@@ -42,9 +42,12 @@ public class ResultSetRow {
     private int rowNumber;
     // Row number in grid
     private int visualNumber;
-    // Column values
-    @NotNull
-    public Object[] values;
+    // Column values. Null if values are kept in column store
+    @Nullable
+    private Object[] values;
+    @Nullable
+    private ResultSetColumnStore store;
+    private int storeRow;
     @Nullable
     public Map<DBDAttributeBinding, Object> changes;
     // Row state
@@ -60,8 +63,51 @@ public class ResultSetRow {
         this.state = STATE_NORMAL;
     }
 
+    ResultSetRow(int rowNumber, @NotNull ResultSetColumnStore store, int storeRow) {
+        this.rowNumber = rowNumber;
+        this.visualNumber = rowNumber;
+        this.store = store;
+        this.storeRow = storeRow;
+        this.state = STATE_NORMAL;
+    }
+
+    /**
+     * Returns all row values. Values kept in column store are materialized in row,
+     * so use {@link #getValue(int)} for read-only access.
+     */
     @NotNull
     public Object[] getValues() {
+        return materializeValues();
+    }
+
+    @Nullable
+    public Object getValue(int index) {
+        if (values != null) {
+            return values[index];
+        }
+        assert store != null;
+        return store.getValue(storeRow, index);
+    }
+
+    public void setValue(int index, @Nullable Object value) {
+        materializeValues()[index] = value;
+    }
+
+    public int getValueCount() {
+        if (values != null) {
+            return values.length;
+        }
+        assert store != null;
+        return store.getColumnCount();
+    }
+
+    @NotNull
+    private Object[] materializeValues() {
+        if (values == null) {
+            assert store != null;
+            values = store.getValues(storeRow);
+            store = null;
+        }
         return values;
     }
 
@@ -113,8 +159,11 @@ public class ResultSetRow {
     }
 
     void release() {
-        for (Object value : values) {
-            DBUtils.releaseValue(value);
+        if (values != null || (store != null && !store.isSpillable())) {
+            // Simple values from column store do not need to be released
+            for (int i = 0, count = getValueCount(); i < count; i++) {
+                DBUtils.releaseValue(getValue(i));
+            }
         }
         if (changes != null) {
             for (Object oldValue : changes.values()) {
@@ -0,0 +1,221 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.core.DBeaverCore;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.utils.ContentUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedList;
+
+/**
+ * Spill buffer for result set pages.
+ * Keeps a window of recently used pages in memory. Older pages are written in temp file
+ * (in LOB folder) and dropped from heap. Spilled pages are read back in reusable heap buffer
+ * when some of their rows are accessed.
+ * Pages are immutable so each page is written only once.
+ */
+class ResultSetSpillBuffer {
+
+    static final Log log = Log.getLog(ResultSetSpillBuffer.class);
+
+    // Number of rows in page built during fetch
+    static final int PAGE_ROWS = 10000;
+
+    private final int maxHotRows;
+    // Pages kept in memory, in load order
+    private final LinkedList<ResultSetColumnStore> hotPages = new LinkedList<>();
+    private int hotRows;
+
+    private File spillFile;
+    private RandomAccessFile spillRAF;
+    private FileChannel spillChannel;
+    private long spillLength;
+    // Page read buffer. Reused for all page-ins
+    private ByteBuffer readBuffer;
+    private boolean disabled;
+
+    /**
+     * @param maxHotRows maximum number of rows kept in memory. Zero disables spilling.
+     */
+    ResultSetSpillBuffer(int maxHotRows)
+    {
+        this.maxHotRows = maxHotRows;
+        this.disabled = maxHotRows <= 0;
+    }
+
+    boolean isEnabled()
+    {
+        return !disabled;
+    }
+
+    /**
+     * Some pages were written on disk. Access to rows in random order may be slow then.
+     */
+    synchronized boolean hasSpilledPages()
+    {
+        return spillChannel != null;
+    }
+
+    /**
+     * Registers new page. May spill older pages on disk.
+     */
+    synchronized void addPage(@NotNull ResultSetColumnStore page)
+    {
+        if (disabled || !page.isSpillable()) {
+            return;
+        }
+        page.setSpillBuffer(this);
+        hotPages.add(page);
+        hotRows += page.getRowCount();
+        evictPages(page);
+    }
+
+    /**
+     * Reads spilled page from disk.
+     */
+    @NotNull
+    synchronized ResultSetColumnStore.Column[] pageIn(@NotNull ResultSetColumnStore page)
+    {
+        ResultSetColumnStore.Column[] columns = page.getLoadedColumns();
+        if (columns != null) {
+            // Loaded by another thread
+            return columns;
+        }
+        if (spillChannel == null) {
+            // Buffer was closed
+            return page.resetColumns();
+        }
+        try {
+            ByteBuffer buffer = readPage(page);
+            columns = page.readColumns(buffer);
+        } catch (Exception e) {
+            log.error("Error reading result set page from '" + spillFile.getAbsolutePath() + "'", e);
+            return page.resetColumns();
+        }
+        hotPages.add(page);
+        hotRows += page.getRowCount();
+        evictPages(page);
+        return columns;
+    }
+
+    /**
+     * Deletes spill file
+     */
+    synchronized void close()
+    {
+        disabled = true;
+        hotPages.clear();
+        hotRows = 0;
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();
+                spillRAF.close();
+            } catch (IOException e) {
+                log.debug(e);
+            }
+            spillChannel = null;
+            spillRAF = null;
+        }
+        readBuffer = null;
+        if (spillFile != null) {
+            if (!spillFile.delete()) {
+                log.debug("Can't delete result set spill file '" + spillFile.getAbsolutePath() + "'");
+            }
+            spillFile = null;
+        }
+    }
+
+    private void evictPages(ResultSetColumnStore currentPage)
+    {
+        while (hotRows > maxHotRows && !disabled) {
+            ResultSetColumnStore page = hotPages.getFirst();
+            if (page == currentPage) {
+                break;
+            }
+            if (page.spillOffset < 0) {
+                try {
+                    writePage(page);
+                } catch (IOException e) {
+                    // Keep everything in memory then
+                    log.warn("Error writing result set page in spill file. Spilling disabled.", e);
+                    disabled = true;
+                    break;
+                }
+            }
+            hotPages.removeFirst();
+            hotRows -= page.getRowCount();
+            page.unload();
+        }
+    }
+
+    private ByteBuffer readPage(ResultSetColumnStore page) throws IOException
+    {
+        if (readBuffer == null || readBuffer.capacity() < page.spillLength) {
+            readBuffer = ByteBuffer.allocate(page.spillLength);
+        }
+        ByteBuffer buffer = readBuffer;
+        buffer.clear();
+        buffer.limit(page.spillLength);
+        long offset = page.spillOffset;
+        while (buffer.hasRemaining()) {
+            int count = spillChannel.read(buffer, offset);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of spill file");
+            }
+            offset += count;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void writePage(ResultSetColumnStore page) throws IOException
+    {
+        if (spillChannel == null) {
+            File folder = ContentUtils.getLobFolder(VoidProgressMonitor.INSTANCE, DBeaverCore.getInstance());
+            spillFile = File.createTempFile("resultset", ".data", folder);
+            spillFile.deleteOnExit();
+            spillRAF = new RandomAccessFile(spillFile, "rw");
+            spillChannel = spillRAF.getChannel();
+            spillLength = 0;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            page.writeColumns(out);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        long offset = spillLength;
+        while (buffer.hasRemaining()) {
+            offset += spillChannel.write(buffer, offset);
+        }
+        page.spillOffset = spillLength;
+        page.spillLength = bytes.size();
+        spillLength = offset;
+    }
+
+}
@@ -909,6 +909,16 @@ public class ResultSetViewer extends Viewer
         updateEditControls();
     }
 
+    void appendPages(List<ResultSetColumnStore> pages, int rowCount)
+    {
+        model.appendPages(pages);
+        activePresentation.refreshData(false, true);
+
+        setStatus(NLS.bind(CoreMessages.controls_resultset_viewer_status_rows_size, model.getRowCount(), rowCount) + getExecutionTimeMessage());
+
+        updateEditControls();
+    }
+
     @Override
     public int promptToSaveOnClose()
     {
@@ -1596,6 +1606,7 @@ public class ResultSetViewer extends Viewer
             progressControl = (Composite) activePresentation.getControl();
         }
         final Object presentationState = savePresentationState();
+        model.setSpillRows(getPreferenceStore().getInt(DBeaverPreferences.RESULT_SET_SPILL_ROWS));
         dataPumpJob = new ResultSetDataPumpJob(
             dataContainer,
             useDataFilter,
@@ -1833,14 +1844,11 @@ public class ResultSetViewer extends Viewer
             return;
         }
 
-        int rowsRemoved = 0;
         int lastRowNum = -1;
         for (ResultSetRow row : rowsToDelete) {
-            if (model.deleteRow(row)) {
-                rowsRemoved++;
-            }
             lastRowNum = row.getVisualNumber();
         }
+        int rowsRemoved = model.deleteRows(rowsToDelete);
         redrawData(rowsRemoved > 0);
         // Move one row down (if we are in grid mode)
         if (!recordMode && lastRowNum < model.getRowCount() - 1) {
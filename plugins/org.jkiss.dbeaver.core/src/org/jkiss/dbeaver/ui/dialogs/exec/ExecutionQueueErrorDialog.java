@@ -29,6 +29,7 @@ import org.eclipse.swt.widgets.Shell;
 class ExecutionQueueErrorDialog extends ErrorDialog {
 
     private boolean script;
+    private boolean retry;
 
     public ExecutionQueueErrorDialog(
         Shell parentShell,
@@ -36,10 +37,12 @@ class ExecutionQueueErrorDialog extends ErrorDialog {
         String message,
         IStatus status,
         int displayMask,
-        boolean script)
+        boolean script,
+        boolean retry)
     {
         super(parentShell, dialogTitle, message, status, displayMask);
         this.script = script;
+        this.retry = retry;
     }
 
     @Override
@@ -50,11 +53,13 @@ class ExecutionQueueErrorDialog extends ErrorDialog {
             IDialogConstants.STOP_ID,
             IDialogConstants.STOP_LABEL,
             true);
-        createButton(
-            parent,
-            IDialogConstants.RETRY_ID,
-            IDialogConstants.RETRY_LABEL,
-            false);
+        if (retry) {
+            createButton(
+                parent,
+                IDialogConstants.RETRY_ID,
+                IDialogConstants.RETRY_LABEL,
+                false);
+        }
         if (script) {
             createButton(
                 parent,
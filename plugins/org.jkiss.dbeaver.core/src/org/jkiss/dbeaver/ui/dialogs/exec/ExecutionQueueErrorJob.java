@@ -33,14 +33,21 @@ public class ExecutionQueueErrorJob extends AbstractUIJob {
     private String errorName;
     private Throwable error;
     private boolean queue;
+    private boolean retry;
     private ExecutionQueueErrorResponse response = ExecutionQueueErrorResponse.STOP;
 
     public ExecutionQueueErrorJob(String errorName, Throwable error, boolean queue)
+    {
+        this(errorName, error, queue, true);
+    }
+
+    public ExecutionQueueErrorJob(String errorName, Throwable error, boolean queue, boolean retry)
     {
         super("Execution Error Job");
         this.errorName = errorName;
         this.error = error;
         this.queue = queue;
+        this.retry = retry;
     }
 
     @Override
@@ -52,7 +59,8 @@ public class ExecutionQueueErrorJob extends AbstractUIJob {
             "Error occurred during " + errorName,
             GeneralUtils.makeExceptionStatus(error),
             IStatus.INFO | IStatus.WARNING | IStatus.ERROR,
-            queue);
+            queue,
+            retry);
         int result = dialog.open();
         switch (result) {
             case IDialogConstants.STOP_ID: response = ExecutionQueueErrorResponse.STOP; break;
@@ -70,7 +78,14 @@ public class ExecutionQueueErrorJob extends AbstractUIJob {
     }
 
     public static ExecutionQueueErrorResponse showError(String task, Throwable error, boolean queue) {
-        ExecutionQueueErrorJob errorJob = new ExecutionQueueErrorJob(task, error, queue);
+        return showError(task, error, queue, true);
+    }
+
+    /**
+     * @param retry show retry option. Disabled if failed operation can't be repeated safely.
+     */
+    public static ExecutionQueueErrorResponse showError(String task, Throwable error, boolean queue, boolean retry) {
+        ExecutionQueueErrorJob errorJob = new ExecutionQueueErrorJob(task, error, queue, retry);
         errorJob.schedule();
         try {
             errorJob.join();
@@ -324,7 +324,8 @@ public class SQLEditor extends SQLEditorBase implements
             try {
                 String title = "SQLEditor <" + getEditorInput().getPath().removeFileExtension().lastSegment() + ">";
                 monitor.subTask("Open context " + title);
-                executionContext = dataSource.openIsolatedContext(monitor, title);
+                // Editor session keeps variables, temp tables and transactions - do not reuse pooled connections
+                executionContext = dataSource.openIsolatedContext(monitor, title, false);
             } catch (DBException e) {
                 error = e;
                 return Status.OK_STATUS;
@@ -756,13 +757,20 @@ public class SQLEditor extends SQLEditorBase implements
             return queryList;
         }
 
-        for (int queryOffset = startOffset;;) {
-            SQLQuery query = parseQuery(document, queryOffset, startOffset + length, queryOffset);
-            if (query == null) {
-                break;
+        if (startOffset == 0 && length == document.getLength() && SQLScriptIndex.isAccessible()) {
+            // Whole script - statements bounds are already known
+            for (SQLScriptIndex.Element element : getScriptIndex().getElements()) {
+                queryList.add(new SQLQuery(element.text, element.offset, element.length));
+            }
+        } else {
+            for (int queryOffset = startOffset;;) {
+                SQLQuery query = parseQuery(document, queryOffset, startOffset + length, queryOffset);
+                if (query == null) {
+                    break;
+                }
+                queryList.add(query);
+                queryOffset = query.getOffset() + query.getLength() + 1;
             }
-            queryList.add(query);
-            queryOffset = query.getOffset() + query.getLength() + 1;
         }
 
         if (getActivePreferenceStore().getBoolean(ModelPreferences.SQL_PARAMETERS_ENABLED)) {
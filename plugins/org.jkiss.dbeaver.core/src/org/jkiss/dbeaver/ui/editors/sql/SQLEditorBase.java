@@ -77,6 +77,8 @@ public abstract class SQLEditorBase extends BaseTextEditor {
     private final SQLSyntaxManager syntaxManager;
     @NotNull
     private final SQLRuleManager ruleManager;
+    @NotNull
+    private final SQLScriptIndex scriptIndex;
     private ProjectionSupport projectionSupport;
 
     private ProjectionAnnotationModel annotationModel;
@@ -92,6 +94,7 @@ public abstract class SQLEditorBase extends BaseTextEditor {
         super();
         syntaxManager = new SQLSyntaxManager();
         ruleManager = new SQLRuleManager(syntaxManager);
+        scriptIndex = new SQLScriptIndex(this);
         themeListener = new IPropertyChangeListener() {
             @Override
             public void propertyChange(PropertyChangeEvent event)
@@ -311,6 +314,7 @@ public abstract class SQLEditorBase extends BaseTextEditor {
             PlatformUI.getWorkbench().getThemeManager().removePropertyChangeListener(themeListener);
             themeListener = null;
         }
+        scriptIndex.dispose();
 
         super.dispose();
     }
@@ -375,6 +379,7 @@ public abstract class SQLEditorBase extends BaseTextEditor {
 
         syntaxManager.init(dialect, getActivePreferenceStore());
         ruleManager.refreshRules();
+        scriptIndex.invalidate();
 
         Document document = getDocument();
         if (document != null) {
@@ -480,11 +485,24 @@ public abstract class SQLEditorBase extends BaseTextEditor {
                 currentPos++;
             }
         }
+        boolean useBlankLines = syntaxManager.isBlankLineDelimiter();
+        if (!useBlankLines && SQLScriptIndex.isAccessible()) {
+            // Statements are separated by delimiters only - take statement from script index.
+            // Background callers (e.g. completion) scan document below.
+            try {
+                int lineOffset = document.getLineOffset(document.getLineOfOffset(currentPos));
+                SQLScriptIndex.Element element = getScriptIndex().getElementAt(lineOffset);
+                if (element != null) {
+                    return new SQLQuery(element.text, element.offset, element.length);
+                }
+            } catch (BadLocationException e) {
+                log.warn(e);
+            }
+        }
         //document.get
         // Extract part of document between empty lines
         int startPos = 0;
         int endPos = document.getLength();
-        boolean useBlankLines = syntaxManager.isBlankLineDelimiter();
         final Set<String> statementDelimiters = syntaxManager.getStatementDelimiters();
 
         try {
@@ -542,7 +560,26 @@ public abstract class SQLEditorBase extends BaseTextEditor {
         return partitioner == null || IDocument.DEFAULT_CONTENT_TYPE.equals(partitioner.getContentType(currentPos));
     }
 
+    /**
+     * Statements index of current document
+     */
+    @NotNull
+    SQLScriptIndex getScriptIndex()
+    {
+        scriptIndex.setDocument(getDocument());
+        return scriptIndex;
+    }
+
     protected SQLQuery parseQuery(IDocument document, int startPos, int endPos, int currentPos) {
+        SQLScriptIndex.Element element = scanQuery(document, startPos, endPos, currentPos);
+        return element == null ? null : new SQLQuery(element.text, element.offset, element.length);
+    }
+
+    /**
+     * Finds bounds of statement which ends after current position. Doesn't parse statement text.
+     */
+    @Nullable
+    SQLScriptIndex.Element scanQuery(IDocument document, int startPos, int endPos, int currentPos) {
         if (endPos - startPos <= 0) {
             return null;
         }
@@ -603,6 +640,8 @@ public abstract class SQLEditorBase extends BaseTextEditor {
                     tokenOffset = document.getLength();
                 }
                 assert (tokenOffset >= currentPos);
+                final int endOffset = tokenOffset;
+                final int scanEnd = Math.min(tokenOffset + tokenLength, document.getLength());
                 try {
                     String queryText = document.get(statementStart, tokenOffset - statementStart);
 
@@ -638,10 +677,13 @@ public abstract class SQLEditorBase extends BaseTextEditor {
                         }
                     }
                     // make script line
-                    return new SQLQuery(
+                    return new SQLScriptIndex.Element(
+                        startPos,
                         queryText.trim(),
                         statementStart,
-                        tokenOffset - statementStart);
+                        tokenOffset - statementStart,
+                        endOffset,
+                        scanEnd);
                 } catch (BadLocationException ex) {
                     log.warn("Can't extract query", ex); //$NON-NLS-1$
                     return null;
@@ -0,0 +1,231 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.ui.editors.sql;
+
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.swt.widgets.Display;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Index of statements in SQL script.
+ * Index is built on first request by scanning the whole document.
+ * Document changes remove statements touched by the change and shift offsets of following statements.
+ * On next request scan is restarted after the last valid statement and continues only until
+ * it reaches the start of some valid statement - the rest of index is reused.
+ * Index is confined to UI thread (document changes are reported there). Callers from other threads
+ * (e.g. completion jobs) must check {@link #isAccessible()} and scan the document themselves.
+ */
+class SQLScriptIndex implements IDocumentListener {
+
+    /**
+     * Statement bounds
+     */
+    static class Element {
+        // Position where statement scan was started
+        int scanStart;
+        // Trimmed statement text and position
+        String text;
+        int offset;
+        int length;
+        // Offset and end of the token which finished statement (delimiter or end of text)
+        int endOffset;
+        int scanEnd;
+
+        Element(int scanStart, String text, int offset, int length, int endOffset, int scanEnd)
+        {
+            this.scanStart = scanStart;
+            this.text = text;
+            this.offset = offset;
+            this.length = length;
+            this.endOffset = endOffset;
+            this.scanEnd = scanEnd;
+        }
+
+        /**
+         * Position of the next statement scan (the same as in script extraction)
+         */
+        int getNextScanStart()
+        {
+            return offset + length + 1;
+        }
+
+        void shift(int delta)
+        {
+            scanStart += delta;
+            offset += delta;
+            endOffset += delta;
+            scanEnd += delta;
+        }
+    }
+
+    private final SQLEditorBase editor;
+    @Nullable
+    private IDocument document;
+    // Null if index wasn't built yet
+    @Nullable
+    private List<Element> elements;
+    private boolean dirty;
+
+    SQLScriptIndex(@NotNull SQLEditorBase editor)
+    {
+        this.editor = editor;
+    }
+
+    /**
+     * Checks that index may be used in the current thread
+     */
+    static boolean isAccessible()
+    {
+        return Display.getCurrent() != null;
+    }
+
+    void setDocument(@Nullable IDocument document)
+    {
+        if (this.document == document) {
+            return;
+        }
+        if (this.document != null) {
+            this.document.removeDocumentListener(this);
+        }
+        this.document = document;
+        if (this.document != null) {
+            this.document.addDocumentListener(this);
+        }
+        invalidate();
+    }
+
+    /**
+     * Drops the whole index (e.g. after syntax rules change)
+     */
+    void invalidate()
+    {
+        elements = null;
+        dirty = false;
+    }
+
+    void dispose()
+    {
+        setDocument(null);
+    }
+
+    /**
+     * All statements of script
+     */
+    @NotNull
+    List<Element> getElements()
+    {
+        reconcile();
+        return elements == null ? Collections.<Element>emptyList() : Collections.unmodifiableList(elements);
+    }
+
+    /**
+     * Statement which is finished by the first delimiter after specified offset
+     */
+    @Nullable
+    Element getElementAt(int offset)
+    {
+        reconcile();
+        if (elements == null || elements.isEmpty()) {
+            return null;
+        }
+        int low = 0, high = elements.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (elements.get(mid).endOffset < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        Element element = elements.get(low);
+        return element.endOffset >= offset ? element : null;
+    }
+
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event)
+    {
+    }
+
+    @Override
+    public void documentChanged(DocumentEvent event)
+    {
+        if (elements == null) {
+            return;
+        }
+        int changeOffset = event.getOffset();
+        int changeEnd = changeOffset + event.getLength();
+        int delta = (event.getText() == null ? 0 : event.getText().length()) - event.getLength();
+
+        List<Element> validElements = new ArrayList<>(elements.size());
+        for (Element element : elements) {
+            if (element.scanEnd + 1 < changeOffset) {
+                // Before change (scanner may look one char ahead)
+                validElements.add(element);
+            } else if (element.scanStart >= changeEnd) {
+                // After change - statement scan doesn't look back
+                element.shift(delta);
+                validElements.add(element);
+            }
+        }
+        elements = validElements;
+        dirty = true;
+    }
+
+    private void reconcile()
+    {
+        if (!isAccessible()) {
+            throw new IllegalStateException("SQL script index accessed outside of UI thread");
+        }
+        if (document == null || (elements != null && !dirty)) {
+            return;
+        }
+        List<Element> oldElements = elements == null ? Collections.<Element>emptyList() : elements;
+        List<Element> newElements = new ArrayList<>(oldElements.size());
+        int docLength = document.getLength();
+        int oldIndex = 0;
+        for (int scanPos = 0; scanPos < docLength; ) {
+            // Skip old statements which were overlapped by new ones
+            while (oldIndex < oldElements.size() && oldElements.get(oldIndex).scanStart < scanPos) {
+                oldIndex++;
+            }
+            Element element;
+            if (oldIndex < oldElements.size() && oldElements.get(oldIndex).scanStart == scanPos) {
+                // Scan reached valid statement - reuse it
+                element = oldElements.get(oldIndex++);
+            } else {
+                element = editor.scanQuery(document, scanPos, docLength, scanPos);
+                if (element == null) {
+                    break;
+                }
+            }
+            newElements.add(element);
+            scanPos = element.getNextScanStart();
+        }
+        elements = newElements;
+        dirty = false;
+    }
+
+}
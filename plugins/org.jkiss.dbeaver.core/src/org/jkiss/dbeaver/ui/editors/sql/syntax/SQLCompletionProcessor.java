@@ -43,6 +43,8 @@ import org.jkiss.dbeaver.model.sql.SQLDataSource;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.sql.SQLQuery;
 import org.jkiss.dbeaver.model.struct.*;
+import org.jkiss.dbeaver.runtime.meta.MetadataNameIndex;
+import org.jkiss.dbeaver.runtime.meta.MetadataSnapshotStore;
 import org.jkiss.dbeaver.runtime.properties.PropertyCollector;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
 import org.jkiss.dbeaver.ui.editors.sql.SQLEditorBase;
@@ -326,12 +328,12 @@ public class SQLCompletionProcessor implements IContentAssistProcessor
                         if (childObject == null) {
                             DBSStructureAssistant structureAssistant = DBUtils.getAdapter(DBSStructureAssistant.class, sc);
                             if (structureAssistant != null) {
-                                Collection<DBSObjectReference> references = structureAssistant.findObjectsByMask(
+                                Collection<DBSObjectReference> references = findObjectsByMask(
                                     monitor,
+                                    structureAssistant,
                                     null,
-                                    structureAssistant.getAutoCompleteObjectTypes(),
-                                    wordDetector.removeQuotes(token),
-                                    wordDetector.isQuoted(token),
+                                    token,
+                                    false,
                                     2);
                                 if (!references.isEmpty()) {
                                     childObject = references.iterator().next().resolveObject(monitor);
@@ -472,12 +474,12 @@ public class SQLCompletionProcessor implements IContentAssistProcessor
                 DBSStructureAssistant structureAssistant = DBUtils.getAdapter(DBSStructureAssistant.class, sc);
                 if (structureAssistant != null) {
                     String objectNameMask = nameList.get(0);
-                    Collection<DBSObjectReference> tables = structureAssistant.findObjectsByMask(
+                    Collection<DBSObjectReference> tables = findObjectsByMask(
                         monitor,
+                        structureAssistant,
                         sc,
-                        structureAssistant.getAutoCompleteObjectTypes(),
-                        wordDetector.removeQuotes(objectNameMask),
-                        wordDetector.isQuoted(objectNameMask),
+                        objectNameMask,
+                        false,
                         2);
                     if (!tables.isEmpty()) {
                         return tables.iterator().next().resolveObject(monitor);
@@ -509,6 +511,16 @@ public class SQLCompletionProcessor implements IContentAssistProcessor
         try {
             Collection<? extends DBSObject> children = null;
             if (parent instanceof DBSObjectContainer) {
+                // Use persisted snapshot (if it is still valid) instead of reading all container objects
+                MetadataSnapshotStore metadataSnapshots = DBeaverCore.getInstance().getMetadataSnapshots();
+                List<DBSObjectReference> snapshotObjects = metadataSnapshots == null ?
+                    null : metadataSnapshots.findObjects((DBSObjectContainer) parent, startPart);
+                if (snapshotObjects != null) {
+                    for (DBSObjectReference reference : snapshotObjects) {
+                        proposals.add(makeProposalsFromObject(monitor, reference, reference.getObjectType().getImage()));
+                    }
+                    return;
+                }
                 children = ((DBSObjectContainer)parent).getChildren(monitor);
             } else if (parent instanceof DBSEntity) {
                 children = ((DBSEntity)parent).getAttributes(monitor);
@@ -534,12 +546,12 @@ public class SQLCompletionProcessor implements IContentAssistProcessor
         List<SQLCompletionProposal> proposals)
     {
         try {
-            Collection<DBSObjectReference> references = assistant.findObjectsByMask(
+            Collection<DBSObjectReference> references = findObjectsByMask(
                 monitor,
+                assistant,
                 rootSC,
-                assistant.getAutoCompleteObjectTypes(),
-                wordDetector.removeQuotes(objectName) + "%",
-                wordDetector.isQuoted(objectName),
+                objectName,
+                true,
                 100);
             for (DBSObjectReference reference : references) {
                 proposals.add(makeProposalsFromObject(monitor, reference, reference.getObjectType().getImage()));
@@ -549,6 +561,61 @@ public class SQLCompletionProcessor implements IContentAssistProcessor
         }
     }
 
+    /**
+     * Looks up objects in completion name index first. Server is not queried if index covers the whole scope
+     * and all auto-complete object types (index holds tables and views only). Otherwise index and server
+     * results are merged.
+     */
+    private Collection<DBSObjectReference> findObjectsByMask(
+        DBRProgressMonitor monitor,
+        DBSStructureAssistant assistant,
+        @Nullable DBSObjectContainer rootSC,
+        String objectName,
+        boolean prefix,
+        int maxResults)
+        throws DBException
+    {
+        String name = wordDetector.removeQuotes(objectName);
+        boolean caseSensitive = wordDetector.isQuoted(objectName);
+        DBPDataSource dataSource = editor.getDataSource();
+        MetadataNameIndex nameIndex = DBeaverCore.getInstance().getMetadataNameIndex();
+        List<DBSObjectReference> indexReferences = null;
+        if (dataSource != null && nameIndex != null) {
+            indexReferences = nameIndex.findObjects(dataSource, rootSC, name, prefix, caseSensitive, maxResults);
+            // Check scope first - it schedules background load of scope tables
+            if (nameIndex.isIndexed(dataSource, rootSC) &&
+                MetadataNameIndex.isIndexedTypes(assistant.getAutoCompleteObjectTypes()))
+            {
+                // Index covers the whole scope - no need to ask server
+                return indexReferences;
+            }
+        }
+        Collection<DBSObjectReference> references = assistant.findObjectsByMask(
+            monitor,
+            rootSC,
+            assistant.getAutoCompleteObjectTypes(),
+            prefix ? name + "%" : name,
+            caseSensitive,
+            maxResults);
+        if (CommonUtils.isEmpty(indexReferences)) {
+            return references;
+        }
+        // Merge index and server results
+        Map<String, DBSObjectReference> result = new LinkedHashMap<>();
+        for (DBSObjectReference reference : indexReferences) {
+            result.put(reference.getFullQualifiedName(), reference);
+        }
+        for (DBSObjectReference reference : references) {
+            if (result.size() >= maxResults) {
+                break;
+            }
+            if (!result.containsKey(reference.getFullQualifiedName())) {
+                result.put(reference.getFullQualifiedName(), reference);
+            }
+        }
+        return result.values();
+    }
+
     private SQLCompletionProposal makeProposalsFromObject(DBRProgressMonitor monitor, DBSObject object)
     {
         DBNNode node = DBeaverCore.getInstance().getNavigatorModel().getNodeByObject(monitor, object, false);
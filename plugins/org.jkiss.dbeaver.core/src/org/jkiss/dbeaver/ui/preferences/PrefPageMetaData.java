@@ -23,6 +23,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Spinner;
 import org.jkiss.dbeaver.DBeaverPreferences;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.core.CoreMessages;
@@ -41,6 +42,12 @@ public class PrefPageMetaData extends TargetPrefPage
     private Button readExpensiveCheck;
     private Button separateMetaConnectionCheck;
     private Button caseSensitiveNamesCheck;
+    private Button preloadFoldersCheck;
+    private Spinner preloadThreadsSpinner;
+    private Button diskCacheCheck;
+    private Button poolIsolatedCheck;
+    private Spinner poolMaxIdleSpinner;
+    private Spinner poolIdleTimeoutSpinner;
 
     public PrefPageMetaData()
     {
@@ -54,7 +61,13 @@ public class PrefPageMetaData extends TargetPrefPage
         return
             store.contains(DBeaverPreferences.READ_EXPENSIVE_PROPERTIES) ||
             store.contains(ModelPreferences.META_SEPARATE_CONNECTION) ||
-            store.contains(ModelPreferences.META_CASE_SENSITIVE)
+            store.contains(ModelPreferences.META_CASE_SENSITIVE) ||
+            store.contains(ModelPreferences.META_PRELOAD_FOLDERS) ||
+            store.contains(ModelPreferences.META_PRELOAD_THREADS) ||
+            store.contains(ModelPreferences.META_DISK_CACHE) ||
+            store.contains(ModelPreferences.CONNECTION_POOL_ISOLATED) ||
+            store.contains(ModelPreferences.CONNECTION_POOL_MAX_IDLE) ||
+            store.contains(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT)
             ;
     }
 
@@ -75,6 +88,17 @@ public class PrefPageMetaData extends TargetPrefPage
             separateMetaConnectionCheck = UIUtils.createLabelCheckbox(metadataGroup, CoreMessages.pref_page_database_general_separate_meta_connection, false);
             caseSensitiveNamesCheck = UIUtils.createLabelCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_case_sensitive_names, false);
             readExpensiveCheck = UIUtils.createLabelCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_show_row_count, false);
+            preloadFoldersCheck = UIUtils.createLabelCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_preload_folders, false);
+            preloadThreadsSpinner = UIUtils.createLabelSpinner(metadataGroup, CoreMessages.pref_page_database_general_label_preload_threads, 3, 1, 16);
+            diskCacheCheck = UIUtils.createLabelCheckbox(metadataGroup, CoreMessages.pref_page_database_general_checkbox_disk_cache, false);
+        }
+
+        {
+            Group poolGroup = UIUtils.createControlGroup(composite, CoreMessages.pref_page_database_general_group_connection_pool, 2, SWT.NONE, 0);
+
+            poolIsolatedCheck = UIUtils.createLabelCheckbox(poolGroup, CoreMessages.pref_page_database_general_checkbox_pool_isolated, false);
+            poolMaxIdleSpinner = UIUtils.createLabelSpinner(poolGroup, CoreMessages.pref_page_database_general_label_pool_max_idle, 4, 1, 100);
+            poolIdleTimeoutSpinner = UIUtils.createLabelSpinner(poolGroup, CoreMessages.pref_page_database_general_label_pool_idle_timeout, 300, 10, 24 * 60 * 60);
         }
 
 
@@ -88,6 +112,12 @@ public class PrefPageMetaData extends TargetPrefPage
             readExpensiveCheck.setSelection(store.getBoolean(DBeaverPreferences.READ_EXPENSIVE_PROPERTIES));
             separateMetaConnectionCheck.setSelection(store.getBoolean(ModelPreferences.META_SEPARATE_CONNECTION));
             caseSensitiveNamesCheck.setSelection(store.getBoolean(ModelPreferences.META_CASE_SENSITIVE));
+            preloadFoldersCheck.setSelection(store.getBoolean(ModelPreferences.META_PRELOAD_FOLDERS));
+            preloadThreadsSpinner.setSelection(store.getInt(ModelPreferences.META_PRELOAD_THREADS));
+            diskCacheCheck.setSelection(store.getBoolean(ModelPreferences.META_DISK_CACHE));
+            poolIsolatedCheck.setSelection(store.getBoolean(ModelPreferences.CONNECTION_POOL_ISOLATED));
+            poolMaxIdleSpinner.setSelection(store.getInt(ModelPreferences.CONNECTION_POOL_MAX_IDLE));
+            poolIdleTimeoutSpinner.setSelection(store.getInt(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT));
         } catch (Exception e) {
             log.warn(e);
         }
@@ -100,6 +130,12 @@ public class PrefPageMetaData extends TargetPrefPage
             store.setValue(DBeaverPreferences.READ_EXPENSIVE_PROPERTIES, readExpensiveCheck.getSelection());
             store.setValue(ModelPreferences.META_SEPARATE_CONNECTION, separateMetaConnectionCheck.getSelection());
             store.setValue(ModelPreferences.META_CASE_SENSITIVE, caseSensitiveNamesCheck.getSelection());
+            store.setValue(ModelPreferences.META_PRELOAD_FOLDERS, preloadFoldersCheck.getSelection());
+            store.setValue(ModelPreferences.META_PRELOAD_THREADS, preloadThreadsSpinner.getSelection());
+            store.setValue(ModelPreferences.META_DISK_CACHE, diskCacheCheck.getSelection());
+            store.setValue(ModelPreferences.CONNECTION_POOL_ISOLATED, poolIsolatedCheck.getSelection());
+            store.setValue(ModelPreferences.CONNECTION_POOL_MAX_IDLE, poolMaxIdleSpinner.getSelection());
+            store.setValue(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT, poolIdleTimeoutSpinner.getSelection());
         } catch (Exception e) {
             log.warn(e);
         }
@@ -112,6 +148,12 @@ public class PrefPageMetaData extends TargetPrefPage
         store.setToDefault(DBeaverPreferences.READ_EXPENSIVE_PROPERTIES);
         store.setToDefault(ModelPreferences.META_SEPARATE_CONNECTION);
         store.setToDefault(ModelPreferences.META_CASE_SENSITIVE);
+        store.setToDefault(ModelPreferences.META_PRELOAD_FOLDERS);
+        store.setToDefault(ModelPreferences.META_PRELOAD_THREADS);
+        store.setToDefault(ModelPreferences.META_DISK_CACHE);
+        store.setToDefault(ModelPreferences.CONNECTION_POOL_ISOLATED);
+        store.setToDefault(ModelPreferences.CONNECTION_POOL_MAX_IDLE);
+        store.setToDefault(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT);
     }
 
     @Override
@@ -59,6 +59,7 @@ public class PrefPageQueryManager extends PreferencePage implements IWorkbenchPr
     private Button checkQueryTypeDDL;
     private Text textHistoryDays;
     private Text textEntriesPerPage;
+    private Button checkStoreHistory;
     private Button checkStoreLog;
     private Text textOutputFolder;
 
@@ -97,9 +98,20 @@ public class PrefPageQueryManager extends PreferencePage implements IWorkbenchPr
 
         {
             Group storageSettings = UIUtils.createControlGroup(composite, CoreMessages.pref_page_query_manager_group_storage, 2, GridData.FILL_HORIZONTAL | GridData.VERTICAL_ALIGN_BEGINNING, 0);
-            checkStoreLog = UIUtils.createCheckbox(storageSettings, CoreMessages.pref_page_query_manager_checkbox_store_log_file, false);
+            checkStoreHistory = UIUtils.createCheckbox(storageSettings, CoreMessages.pref_page_query_manager_checkbox_store_history, false);
             GridData gd = new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING);
             gd.horizontalSpan = 2;
+            checkStoreHistory.setLayoutData(gd);
+            checkStoreHistory.addSelectionListener(new SelectionAdapter() {
+                @Override
+                public void widgetSelected(SelectionEvent e)
+                {
+                    textHistoryDays.setEnabled(checkStoreHistory.getSelection());
+                }
+            });
+            checkStoreLog = UIUtils.createCheckbox(storageSettings, CoreMessages.pref_page_query_manager_checkbox_store_log_file, false);
+            gd = new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING);
+            gd.horizontalSpan = 2;
             checkStoreLog.setLayoutData(gd);
             checkStoreLog.addSelectionListener(new SelectionAdapter() {
                 @Override
@@ -110,7 +122,6 @@ public class PrefPageQueryManager extends PreferencePage implements IWorkbenchPr
             });
             textOutputFolder = UIUtils.createOutputFolderChooser(storageSettings, CoreMessages.pref_page_query_manager_logs_folder, null);
             textHistoryDays = UIUtils.createLabelText(storageSettings, CoreMessages.pref_page_query_manager_label_days_to_store_log, "", SWT.BORDER, new GridData(50, SWT.DEFAULT)); //$NON-NLS-2$
-            textHistoryDays.setEnabled(false);
         }
         performDefaults();
 
@@ -138,6 +149,8 @@ public class PrefPageQueryManager extends PreferencePage implements IWorkbenchPr
         textHistoryDays.setText(store.getString(QMConstants.PROP_HISTORY_DAYS));
         textEntriesPerPage.setText(store.getString(QMConstants.PROP_ENTRIES_PER_PAGE));
 
+        checkStoreHistory.setSelection(store.getBoolean(QMConstants.PROP_STORE_HISTORY));
+        textHistoryDays.setEnabled(checkStoreHistory.getSelection());
         checkStoreLog.setSelection(store.getBoolean(QMConstants.PROP_STORE_LOG_FILE));
         textOutputFolder.setText(store.getString(QMConstants.PROP_LOG_DIRECTORY));
         UIUtils.enableWithChildren(textOutputFolder.getParent(), checkStoreLog.getSelection());
@@ -173,6 +186,7 @@ public class PrefPageQueryManager extends PreferencePage implements IWorkbenchPr
         if (entriesPerPage != null) {
             store.setValue(QMConstants.PROP_ENTRIES_PER_PAGE, entriesPerPage);
         }
+        store.setValue(QMConstants.PROP_STORE_HISTORY, checkStoreHistory.getSelection());
         store.setValue(QMConstants.PROP_STORE_LOG_FILE, checkStoreLog.getSelection());
         store.setValue(QMConstants.PROP_LOG_DIRECTORY, textOutputFolder.getText());
         PrefUtils.savePreferenceStore(store);
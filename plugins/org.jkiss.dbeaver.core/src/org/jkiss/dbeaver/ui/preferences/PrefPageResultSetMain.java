@@ -41,6 +41,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
     private Spinner resultSetSize;
     private Button resultSetUseSQLCheck;
     private Button serverSideOrderingCheck;
+    private Spinner spillRowsSpinner;
 
     private Button keepStatementOpenCheck;
     private Button rollbackOnErrorCheck;
@@ -63,7 +64,8 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.contains(ModelPreferences.QUERY_ROLLBACK_ON_ERROR) ||
             store.contains(DBeaverPreferences.RS_EDIT_USE_ALL_COLUMNS) ||
             store.contains(DBeaverPreferences.KEEP_STATEMENT_OPEN) ||
-            store.contains(DBeaverPreferences.RESULT_SET_ORDER_SERVER_SIDE)
+            store.contains(DBeaverPreferences.RESULT_SET_ORDER_SERVER_SIDE) ||
+            store.contains(DBeaverPreferences.RESULT_SET_SPILL_ROWS)
             ;
     }
 
@@ -93,6 +95,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
             autoFetchNextSegmentCheck = UIUtils.createLabelCheckbox(queriesGroup, CoreMessages.pref_page_database_resultsets_label_auto_fetch_segment, true);
             resultSetUseSQLCheck = UIUtils.createLabelCheckbox(queriesGroup, CoreMessages.pref_page_database_resultsets_label_use_sql, false);
             serverSideOrderingCheck = UIUtils.createLabelCheckbox(queriesGroup, CoreMessages.pref_page_database_resultsets_label_server_side_order, false);
+
+            UIUtils.createControlLabel(queriesGroup, CoreMessages.pref_page_database_resultsets_label_spill_rows);
+            spillRowsSpinner = new Spinner(queriesGroup, SWT.BORDER);
+            spillRowsSpinner.setDigits(0);
+            spillRowsSpinner.setIncrement(10000);
+            spillRowsSpinner.setMinimum(0);
+            spillRowsSpinner.setMaximum(Integer.MAX_VALUE);
         }
 
         // Transactions settings
@@ -119,6 +128,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
             resultSetSize.setSelection(store.getInt(DBeaverPreferences.RESULT_SET_MAX_ROWS));
             resultSetUseSQLCheck.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL));
             serverSideOrderingCheck.setSelection(store.getBoolean(DBeaverPreferences.RESULT_SET_ORDER_SERVER_SIDE));
+            spillRowsSpinner.setSelection(store.getInt(DBeaverPreferences.RESULT_SET_SPILL_ROWS));
 
             keepStatementOpenCheck.setSelection(store.getBoolean(DBeaverPreferences.KEEP_STATEMENT_OPEN));
             rollbackOnErrorCheck.setSelection(store.getBoolean(ModelPreferences.QUERY_ROLLBACK_ON_ERROR));
@@ -136,6 +146,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.setValue(DBeaverPreferences.RESULT_SET_MAX_ROWS, resultSetSize.getSelection());
             store.setValue(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL, resultSetUseSQLCheck.getSelection());
             store.setValue(DBeaverPreferences.RESULT_SET_ORDER_SERVER_SIDE, serverSideOrderingCheck.getSelection());
+            store.setValue(DBeaverPreferences.RESULT_SET_SPILL_ROWS, spillRowsSpinner.getSelection());
 
             store.setValue(DBeaverPreferences.KEEP_STATEMENT_OPEN, keepStatementOpenCheck.getSelection());
             store.setValue(ModelPreferences.QUERY_ROLLBACK_ON_ERROR, rollbackOnErrorCheck.getSelection());
@@ -153,6 +164,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
         store.setToDefault(DBeaverPreferences.RESULT_SET_MAX_ROWS);
         store.setToDefault(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL);
         store.setToDefault(DBeaverPreferences.RESULT_SET_ORDER_SERVER_SIDE);
+        store.setToDefault(DBeaverPreferences.RESULT_SET_SPILL_ROWS);
 
         store.setToDefault(DBeaverPreferences.KEEP_STATEMENT_OPEN);
         store.setToDefault(ModelPreferences.QUERY_ROLLBACK_ON_ERROR);
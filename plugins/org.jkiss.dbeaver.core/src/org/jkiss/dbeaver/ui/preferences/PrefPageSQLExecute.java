@@ -45,6 +45,7 @@ public class PrefPageSQLExecute extends TargetPrefPage
     private Combo commitTypeCombo;
     private Combo errorHandlingCombo;
     private Spinner commitLinesText;
+    private Spinner batchSizeText;
     private Button fetchResultSetsCheck;
     private Text statementDelimiterText;
     private Button ignoreNativeDelimiter;
@@ -69,6 +70,7 @@ public class PrefPageSQLExecute extends TargetPrefPage
             store.contains(DBeaverPreferences.SCRIPT_COMMIT_TYPE) ||
             store.contains(DBeaverPreferences.SCRIPT_ERROR_HANDLING) ||
             store.contains(DBeaverPreferences.SCRIPT_COMMIT_LINES) ||
+            store.contains(DBeaverPreferences.SCRIPT_BATCH_SIZE) ||
             store.contains(DBeaverPreferences.SCRIPT_FETCH_RESULT_SETS) ||
             store.contains(ModelPreferences.SCRIPT_STATEMENT_DELIMITER) ||
             store.contains(ModelPreferences.SCRIPT_IGNORE_NATIVE_DELIMITER) ||
@@ -131,6 +133,16 @@ public class PrefPageSQLExecute extends TargetPrefPage
                 commitLinesText.setMaximum(1024 * 1024);
             }
 
+            {
+                UIUtils.createControlLabel(scriptsGroup, CoreMessages.pref_page_sql_editor_label_batch_size);
+                batchSizeText = new Spinner(scriptsGroup, SWT.BORDER);
+                batchSizeText.setSelection(0);
+                batchSizeText.setDigits(0);
+                batchSizeText.setIncrement(1);
+                batchSizeText.setMinimum(0);
+                batchSizeText.setMaximum(100000);
+            }
+
             {
                 UIUtils.createControlLabel(scriptsGroup, CoreMessages.pref_page_sql_editor_label_error_handling);
 
@@ -175,6 +187,7 @@ public class PrefPageSQLExecute extends TargetPrefPage
             commitTypeCombo.select(SQLScriptCommitType.valueOf(store.getString(DBeaverPreferences.SCRIPT_COMMIT_TYPE)).ordinal());
             errorHandlingCombo.select(SQLScriptErrorHandling.valueOf(store.getString(DBeaverPreferences.SCRIPT_ERROR_HANDLING)).ordinal());
             commitLinesText.setSelection(store.getInt(DBeaverPreferences.SCRIPT_COMMIT_LINES));
+            batchSizeText.setSelection(store.getInt(DBeaverPreferences.SCRIPT_BATCH_SIZE));
             fetchResultSetsCheck.setSelection(store.getBoolean(DBeaverPreferences.SCRIPT_FETCH_RESULT_SETS));
             statementDelimiterText.setText(store.getString(ModelPreferences.SCRIPT_STATEMENT_DELIMITER));
             ignoreNativeDelimiter.setSelection(store.getBoolean(ModelPreferences.SCRIPT_IGNORE_NATIVE_DELIMITER));
@@ -197,6 +210,7 @@ public class PrefPageSQLExecute extends TargetPrefPage
 
             store.setValue(DBeaverPreferences.SCRIPT_COMMIT_TYPE, CommonUtils.fromOrdinal(SQLScriptCommitType.class, commitTypeCombo.getSelectionIndex()).name());
             store.setValue(DBeaverPreferences.SCRIPT_COMMIT_LINES, commitLinesText.getSelection());
+            store.setValue(DBeaverPreferences.SCRIPT_BATCH_SIZE, batchSizeText.getSelection());
             store.setValue(DBeaverPreferences.SCRIPT_ERROR_HANDLING, CommonUtils.fromOrdinal(SQLScriptErrorHandling.class, errorHandlingCombo.getSelectionIndex()).name());
             store.setValue(DBeaverPreferences.SCRIPT_FETCH_RESULT_SETS, fetchResultSetsCheck.getSelection());
             store.setValue(ModelPreferences.SCRIPT_STATEMENT_DELIMITER, statementDelimiterText.getText());
@@ -220,6 +234,7 @@ public class PrefPageSQLExecute extends TargetPrefPage
 
         store.setToDefault(DBeaverPreferences.SCRIPT_COMMIT_TYPE);
         store.setToDefault(DBeaverPreferences.SCRIPT_COMMIT_LINES);
+        store.setToDefault(DBeaverPreferences.SCRIPT_BATCH_SIZE);
         store.setToDefault(DBeaverPreferences.SCRIPT_ERROR_HANDLING);
         store.setToDefault(DBeaverPreferences.SCRIPT_FETCH_RESULT_SETS);
         store.setToDefault(ModelPreferences.SCRIPT_STATEMENT_DELIMITER);
@@ -53,6 +53,7 @@ public class SearchDataPage extends AbstractSearchPage {
     private static final String PROP_FAST_SEARCH = "search.data.fast-search"; //$NON-NLS-1$
     private static final String PROP_SEARCH_NUMBERS = "search.data.search-numbers"; //$NON-NLS-1$
     private static final String PROP_SEARCH_LOBS = "search.data.search-lobs"; //$NON-NLS-1$
+    private static final String PROP_MAX_THREADS = "search.data.max-threads"; //$NON-NLS-1$
     private static final String PROP_HISTORY = "search.data.history"; //$NON-NLS-1$
     private static final String PROP_SOURCES = "search.data.object-source"; //$NON-NLS-1$
 
@@ -176,6 +177,21 @@ public class SearchDataPage extends AbstractSearchPage {
                 }
             });
 
+            if (params.maxThreads <= 0) {
+                params.maxThreads = SearchDataQuery.DEFAULT_MAX_THREADS;
+            }
+
+            final Spinner maxThreadsSpinner = UIUtils.createLabelSpinner(optionsGroup2, "Parallel searches", params.maxThreads, 1, SearchDataQuery.MAX_THREADS_LIMIT);
+            maxThreadsSpinner.setToolTipText("Maximum number of tables searched at once in each database.\nEach parallel search uses its own connection.");
+            maxThreadsSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            maxThreadsSpinner.addModifyListener(new ModifyListener() {
+                @Override
+                public void modifyText(ModifyEvent e)
+                {
+                    params.maxThreads = maxThreadsSpinner.getSelection();
+                }
+            });
+
             final Button caseCheckbox = UIUtils.createLabelCheckbox(optionsGroup2, CoreMessages.dialog_search_objects_case_sensitive, params.caseSensitive);
             caseCheckbox.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
             caseCheckbox.addSelectionListener(new SelectionAdapter() {
@@ -259,6 +275,7 @@ public class SearchDataPage extends AbstractSearchPage {
         params.searchNumbers = store.getString(PROP_SEARCH_NUMBERS) == null || store.getBoolean(PROP_SEARCH_NUMBERS);
         params.searchLOBs = store.getBoolean(PROP_SEARCH_LOBS);
         params.maxResults = store.getInt(PROP_SAMPLE_ROWS);
+        params.maxThreads = store.getInt(PROP_MAX_THREADS);
         for (int i = 0; ;i++) {
             String history = store.getString(PROP_HISTORY + "." + i); //$NON-NLS-1$
             if (CommonUtils.isEmpty(history)) {
@@ -278,6 +295,7 @@ public class SearchDataPage extends AbstractSearchPage {
         store.setValue(PROP_FAST_SEARCH, params.fastSearch);
         store.setValue(PROP_SEARCH_NUMBERS, params.searchNumbers);
         store.setValue(PROP_SEARCH_LOBS, params.searchLOBs);
+        store.setValue(PROP_MAX_THREADS, params.maxThreads);
         saveTreeState(store, PROP_SOURCES, dataSourceTree);
 
         {
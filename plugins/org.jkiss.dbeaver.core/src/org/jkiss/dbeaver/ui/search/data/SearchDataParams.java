@@ -34,6 +34,7 @@ public class SearchDataParams {
     boolean searchNumbers;
     boolean searchLOBs;
     int maxResults;
+    int maxThreads; // Per data source
 
     public SearchDataParams()
     {
@@ -94,4 +95,12 @@ public class SearchDataParams {
     public void setMaxResults(int maxResults) {
         this.maxResults = maxResults;
     }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
 }
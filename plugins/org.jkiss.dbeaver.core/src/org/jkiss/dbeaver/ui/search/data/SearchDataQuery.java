@@ -17,6 +17,7 @@
  */
 package org.jkiss.dbeaver.ui.search.data;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
@@ -30,8 +31,9 @@ import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.navigator.DBNModel;
+import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
-import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.DefaultProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
@@ -40,12 +42,19 @@ import org.jkiss.dbeaver.ui.search.IObjectSearchQuery;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class SearchDataQuery implements IObjectSearchQuery {
 
     static final Log log = Log.getLog(SearchDataQuery.class);
 
+    public static final int DEFAULT_MAX_THREADS = 4;
+    public static final int MAX_THREADS_LIMIT = 32;
+
+    private static final long RESULT_POLL_TIMEOUT = 100;
+
     private final SearchDataParams params;
+    private volatile boolean canceled;
 
     private SearchDataQuery(SearchDataParams params)
     {
@@ -78,6 +87,11 @@ public class SearchDataQuery implements IObjectSearchQuery {
             monitor.beginTask(
                 "Search \"" + searchString + "\" in " + params.sources.size() + " table(s) / " + dataSources.size() + " database(s)",
                 params.sources.size());
+            canceled = false;
+            // Tables are searched in parallel. Each data source has its own bounded pool.
+            Map<DBPDataSource, SearchDataSourcePool> pools = new HashMap<>();
+            BlockingQueue<Future<SearchDataObject>> results = new LinkedBlockingQueue<>();
+            int tasksSubmitted = 0;
             try {
                 for (DBSDataContainer dataContainer : params.sources) {
                     if (monitor.isCanceled()) {
@@ -87,30 +101,57 @@ public class SearchDataQuery implements IObjectSearchQuery {
                     DBNDatabaseNode node = dbnModel.findNode(dataContainer);
                     if (node == null) {
                         log.warn("Can't find tree node for object \"" + objectName + "\"");
+                        monitor.worked(1);
                         continue;
                     }
-                    monitor.subTask(objectName);
                     DBPDataSource dataSource = dataContainer.getDataSource();
                     if (dataSource == null) {
                         log.warn("Object \"" + objectName + "\" not connected");
+                        monitor.worked(1);
                         continue;
                     }
-                    SearchTableMonitor searchMonitor = new SearchTableMonitor();
-                    try (DBCSession session = DBUtils.openUtilSession(searchMonitor, dataSource, "Search rows in " + objectName)) {
-                        TestDataReceiver dataReceiver = new TestDataReceiver(searchMonitor);
-                        findRows(session, dataContainer, dataReceiver);
-
-                        if (dataReceiver.rowCount > 0) {
-                            SearchDataObject object = new SearchDataObject(node, dataReceiver.rowCount, dataReceiver.filter);
-                            listener.objectsFound(monitor, Collections.singleton(object));
-                        }
-                    } catch (DBCException e) {
-                        log.error("Error searching string in '" + objectName + "'", e);
+                    SearchDataSourcePool pool = pools.get(dataSource);
+                    if (pool == null) {
+                        pool = new SearchDataSourcePool(dataSource);
+                        pools.put(dataSource, pool);
                     }
+                    pool.executor.execute(new SearchTableTask(pool, monitor, dataContainer, node, objectName, results));
+                    tasksSubmitted++;
+                }
 
+                // Results are reported from the search job thread only
+                for (int tasksFinished = 0; tasksFinished < tasksSubmitted; ) {
+                    if (monitor.isCanceled()) {
+                        canceled = true;
+                        break;
+                    }
+                    Future<SearchDataObject> result = results.poll(RESULT_POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                    if (result == null) {
+                        continue;
+                    }
+                    tasksFinished++;
+                    SearchDataObject object;
+                    try {
+                        object = result.get();
+                    } catch (ExecutionException e) {
+                        log.error("Data search failed", e.getCause());
+                        object = null;
+                    }
+                    if (object != null) {
+                        listener.objectsFound(monitor, Collections.singleton(object));
+                    }
+                    monitor.subTask("Searched " + tasksFinished + " of " + tasksSubmitted + " table(s)");
                     monitor.worked(1);
                 }
+            } catch (InterruptedException e) {
+                canceled = true;
+                throw new DBException("Data search interrupted", e);
             } finally {
+                // Stop tasks which are still running (if search was canceled or failed)
+                canceled = true;
+                for (SearchDataSourcePool pool : pools.values()) {
+                    pool.close();
+                }
                 monitor.done();
             }
         } finally {
@@ -188,7 +229,9 @@ public class SearchDataQuery implements IObjectSearchQuery {
             dataReceiver.filter = new DBDDataFilter(constraints);
             dataReceiver.filter.setAnyConstraint(true);
             DBCExecutionSource searchSource = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), this);
-            return dataContainer.readData(searchSource, session, dataReceiver, dataReceiver.filter, -1, -1, 0);
+            // We only need to know that table has matching rows so fetch is limited by max results.
+            // The limit goes to the query itself, so server stops scanning once enough rows are found.
+            return dataContainer.readData(searchSource, session, dataReceiver, dataReceiver.filter, 0, params.maxResults, 0);
         } catch (DBException e) {
             throw new DBCException("Error finding rows", e);
         }
@@ -200,16 +243,191 @@ public class SearchDataQuery implements IObjectSearchQuery {
         return new SearchDataQuery(params);
     }
 
-    private class SearchTableMonitor extends VoidProgressMonitor {
+    private SearchDataObject searchTable(
+        @NotNull SearchDataSourcePool pool,
+        @NotNull DBRProgressMonitor jobMonitor,
+        @NotNull DBSDataContainer dataContainer,
+        @NotNull DBNDatabaseNode node,
+        @NotNull String objectName)
+    {
+        SearchTableMonitor searchMonitor = new SearchTableMonitor(jobMonitor);
+        if (searchMonitor.isCanceled()) {
+            return null;
+        }
+        DBCExecutionContext context;
+        try {
+            context = pool.acquireContext(searchMonitor);
+        } catch (DBException e) {
+            if (!searchMonitor.isCanceled()) {
+                log.error("Can't open connection to search in '" + objectName + "'", e);
+            }
+            return null;
+        }
+        pool.addActiveMonitor(searchMonitor);
+        try (DBCSession session = context.openSession(searchMonitor, DBCExecutionPurpose.UTIL, "Search rows in " + objectName)) {
+            TestDataReceiver dataReceiver = new TestDataReceiver(searchMonitor);
+            findRows(session, dataContainer, dataReceiver);
+
+            if (dataReceiver.rowCount > 0) {
+                return new SearchDataObject(node, dataReceiver.rowCount, dataReceiver.filter);
+            }
+        } catch (DBCException e) {
+            if (!searchMonitor.isCanceled()) {
+                log.error("Error searching string in '" + objectName + "'", e);
+            }
+        } finally {
+            pool.removeActiveMonitor(searchMonitor);
+            pool.releaseContext(context);
+        }
+        return null;
+    }
+
+    /**
+     * Searches single table in pooled context. Puts itself in results queue when finished.
+     */
+    private class SearchTableTask extends FutureTask<SearchDataObject> {
+
+        private final BlockingQueue<Future<SearchDataObject>> results;
+
+        private SearchTableTask(
+            final SearchDataSourcePool pool,
+            final DBRProgressMonitor jobMonitor,
+            final DBSDataContainer dataContainer,
+            final DBNDatabaseNode node,
+            final String objectName,
+            BlockingQueue<Future<SearchDataObject>> results)
+        {
+            super(new Callable<SearchDataObject>() {
+                @Override
+                public SearchDataObject call() throws Exception {
+                    return SearchDataQuery.this.searchTable(pool, jobMonitor, dataContainer, node, objectName);
+                }
+            });
+            this.results = results;
+        }
 
+        @Override
+        protected void done() {
+            results.add(this);
+        }
+    }
+
+    /**
+     * Bounded pool of isolated contexts of a single data source.
+     * Number of contexts never exceeds number of pool threads.
+     * Contexts which are in use when pool is closed are closed by their tasks.
+     */
+    private class SearchDataSourcePool {
+
+        private final DBPDataSource dataSource;
+        private final ExecutorService executor;
+        private final Queue<DBCExecutionContext> idleContexts = new ArrayDeque<>();
+        private final Set<SearchTableMonitor> activeMonitors = new HashSet<>();
+        private boolean closed;
+
+        private SearchDataSourcePool(final DBPDataSource dataSource) {
+            this.dataSource = dataSource;
+            int maxThreads = params.maxThreads <= 0 ? DEFAULT_MAX_THREADS : Math.min(params.maxThreads, MAX_THREADS_LIMIT);
+            this.executor = Executors.newFixedThreadPool(maxThreads, new ThreadFactory() {
+                private int threadNumber = 0;
+                @Override
+                public synchronized Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "Data search (" + dataSource.getContainer().getName() + ") #" + (++threadNumber));
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        private DBCExecutionContext acquireContext(DBRProgressMonitor monitor) throws DBException {
+            synchronized (this) {
+                if (closed) {
+                    throw new DBException("Data search was stopped");
+                }
+                DBCExecutionContext context = idleContexts.poll();
+                if (context != null) {
+                    return context;
+                }
+            }
+            DBCExecutionContext context = dataSource.openIsolatedContext(monitor, "Data search");
+            synchronized (this) {
+                if (!closed) {
+                    return context;
+                }
+            }
+            context.close();
+            throw new DBException("Data search was stopped");
+        }
+
+        private void releaseContext(DBCExecutionContext context) {
+            synchronized (this) {
+                if (!closed) {
+                    idleContexts.add(context);
+                    return;
+                }
+            }
+            context.close();
+        }
+
+        private synchronized void addActiveMonitor(SearchTableMonitor monitor) {
+            activeMonitors.add(monitor);
+        }
+
+        private synchronized void removeActiveMonitor(SearchTableMonitor monitor) {
+            activeMonitors.remove(monitor);
+        }
+
+        /**
+         * Cancels running statements and closes idle contexts.
+         * Doesn't wait for running tasks - they close their contexts when finished.
+         */
+        private void close() {
+            executor.shutdown();
+            List<DBCExecutionContext> contexts;
+            List<SearchTableMonitor> monitors;
+            synchronized (this) {
+                closed = true;
+                contexts = new ArrayList<>(idleContexts);
+                idleContexts.clear();
+                monitors = new ArrayList<>(activeMonitors);
+            }
+            for (SearchTableMonitor monitor : monitors) {
+                monitor.cancelBlock();
+            }
+            for (DBCExecutionContext context : contexts) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Monitor of single table search. Tracks statement executed by task so it can be canceled.
+     */
+    private class SearchTableMonitor extends DefaultProgressMonitor {
+
+        private final DBRProgressMonitor jobMonitor;
         private volatile boolean canceled;
 
-        private SearchTableMonitor() {
+        private SearchTableMonitor(DBRProgressMonitor jobMonitor) {
+            super(new NullProgressMonitor());
+            this.jobMonitor = jobMonitor;
         }
 
         @Override
         public boolean isCanceled() {
-            return canceled;
+            return canceled || SearchDataQuery.this.canceled || jobMonitor.isCanceled();
+        }
+
+        private void cancelBlock() {
+            canceled = true;
+            DBRBlockingObject block = getActiveBlock();
+            if (block != null) {
+                try {
+                    block.cancelBlock();
+                } catch (Throwable e) {
+                    log.debug("Can't cancel data search query", e);
+                }
+            }
         }
     }
 
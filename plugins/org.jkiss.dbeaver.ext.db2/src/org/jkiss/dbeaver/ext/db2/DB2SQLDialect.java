@@ -49,6 +49,13 @@ public class DB2SQLDialect extends JDBCSQLDialect {
         return MultiValueInsertMode.GROUP_ROWS;
     }
 
+    @Override
+    public int getMaxParametersInStatement()
+    {
+        // Max number of host variable references in a statement
+        return 32767;
+    }
+
     @NotNull
     @Override
     public Collection<String> getExecuteKeywords()
@@ -302,24 +302,18 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
     }
 
     @Override
-    protected Connection openConnection(@NotNull DBRProgressMonitor monitor, @NotNull String purpose) throws DBCException {
-        Connection mysqlConnection = super.openConnection(monitor, purpose);
-
-        {
-            // Provide client info
-            IProduct product = Platform.getProduct();
-            if (product != null) {
-                String appName = DBeaverCore.getProductTitle();
-                try {
-                    mysqlConnection.setClientInfo("ApplicationName", appName + " - " + purpose);
-                } catch (Throwable e) {
-                    // just ignore
-                    log.debug(e);
-                }
+    protected void setConnectionPurpose(@NotNull Connection connection, @NotNull String purpose) {
+        // Provide client info
+        IProduct product = Platform.getProduct();
+        if (product != null) {
+            String appName = DBeaverCore.getProductTitle();
+            try {
+                connection.setClientInfo("ApplicationName", appName + " - " + purpose);
+            } catch (Throwable e) {
+                // just ignore
+                log.debug(e);
             }
         }
-
-        return mysqlConnection;
     }
 
 
@@ -521,6 +515,8 @@ public class MySQLDataSource extends JDBCDataSource implements DBSObjectSelector
             return new MySQLStructureAssistant(this);
         } else if (adapter == DBAServerSessionManager.class) {
             return new MySQLSessionManager(this);
+        } else if (adapter == DBSStructureVersionProvider.class) {
+            return new MySQLStructureVersionProvider(this);
         }
         return super.getAdapter(adapter);
     }
@@ -36,4 +36,10 @@ class MySQLDialect extends JDBCSQLDialect {
     public MultiValueInsertMode getMultiValueInsertMode() {
         return MultiValueInsertMode.GROUP_ROWS;
     }
+
+    @Override
+    public int getMaxParametersInStatement() {
+        // Prepared statement parameters count is a 16-bit value in MySQL protocol
+        return 65535;
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.ext.mysql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ext.mysql.MySQLDataSourceProvider;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.BulkLoadBatchImpl;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk load batch which sends rows with LOAD DATA LOCAL INFILE from in-memory stream.
+ * Driver statement API is accessed by reflection because driver classes are loaded at runtime.
+ * Note: with LOCAL option server ignores duplicate keys and data conversion errors (they become warnings),
+ * so warnings are read after each load and reported as errors. At that point good rows are already stored,
+ * so the error is {@link PartialLoadException} (batch is not retried).
+ * Rows are sent in utf8mb4 (full UTF-8) where server supports it, BIT columns are loaded through user variables.
+ */
+class MySQLLoadDataBatch extends BulkLoadBatchImpl {
+
+    static final Log log = Log.getLog(MySQLLoadDataBatch.class);
+
+    private static final String[] STATEMENT_CLASSES = {
+        "com.mysql.jdbc.Statement",
+        "com.mysql.cj.jdbc.JdbcStatement",
+        "org.mariadb.jdbc.MariaDbStatement"
+    };
+    private static final String SET_STREAM_METHOD = "setLocalInfileInputStream";
+    // Connector/J and MariaDB driver properties which enable LOCAL INFILE
+    private static final String[] LOCAL_INFILE_PROPERTIES = { "allowLoadLocalInfile", "allowLocalInfile" };
+    // Only Connector/J 5.x allows LOCAL INFILE by default
+    private static final String LOCAL_INFILE_DEFAULT_DRIVER_PACKAGE = "com.mysql.jdbc.";
+    private static final int MAX_REPORTED_WARNINGS = 5;
+    private static final String TYPE_BIT = "bit";
+
+    private final MySQLTableBase table;
+
+    MySQLLoadDataBatch(@NotNull MySQLTableBase table, @NotNull DBSAttributeBase[] attributes)
+    {
+        super(attributes);
+        this.table = table;
+    }
+
+    static boolean isLoadDataSupported(@NotNull DBCSession session)
+    {
+        if (!(session instanceof JDBCSession)) {
+            return false;
+        }
+        try {
+            Connection connection = ((JDBCSession) session).getOriginal();
+            if (!isLocalInfileAllowed(session, connection)) {
+                log.debug("LOCAL INFILE is disabled in driver properties - LOAD DATA isn't used");
+                return false;
+            }
+            ClassLoader driverClassLoader = connection.getClass().getClassLoader();
+            for (String className : STATEMENT_CLASSES) {
+                try {
+                    Class.forName(className, true, driverClassLoader).getMethod(SET_STREAM_METHOD, InputStream.class);
+                    return true;
+                } catch (ClassNotFoundException | NoSuchMethodException e) {
+                    // Try next one
+                }
+            }
+        } catch (Throwable e) {
+            log.debug("MySQL LOAD DATA API is not available: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private static boolean isLocalInfileAllowed(@NotNull DBCSession session, @NotNull Connection connection)
+    {
+        DBPDataSourceContainer container = session.getDataSource().getContainer();
+        List<Map<?, ?>> propertySources = new ArrayList<>();
+        propertySources.add(container.getConnectionConfiguration().getProperties());
+        propertySources.add(container.getDriver().getConnectionProperties());
+        propertySources.add(container.getDriver().getDefaultConnectionProperties());
+        propertySources.add(MySQLDataSourceProvider.getConnectionsProps());
+        for (Map<?, ?> properties : propertySources) {
+            for (String propName : LOCAL_INFILE_PROPERTIES) {
+                Object value = properties.get(propName);
+                if (value != null) {
+                    return CommonUtils.toBoolean(value);
+                }
+            }
+        }
+        return connection.getClass().getName().startsWith(LOCAL_INFILE_DEFAULT_DRIVER_PACKAGE);
+    }
+
+    @Override
+    protected long loadRows(@NotNull DBCSession session, @NotNull List<Object[]> rows) throws DBCException
+    {
+        String sql = null;
+        try {
+            Connection connection = ((JDBCSession) session).getOriginal();
+            sql = "LOAD DATA LOCAL INFILE 'stream' INTO TABLE " + table.getFullQualifiedName() +
+                " CHARACTER SET " + getLoadCharset(connection) + " " + getColumnsClause(session);
+            try (Statement statement = connection.createStatement()) {
+                Method setStream = statement.getClass().getMethod(SET_STREAM_METHOD, InputStream.class);
+                setStream.setAccessible(true);
+                setStream.invoke(statement, new RowsInputStream(rows));
+                int rowCount = statement.executeUpdate(sql);
+                checkWarnings(session, statement, rows.size(), rowCount);
+                return rowCount;
+            }
+        } catch (DBCException e) {
+            throw e;
+        } catch (InvocationTargetException e) {
+            throw new DBCException(e.getTargetException(), session.getDataSource());
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getDataSource());
+        } catch (Exception e) {
+            throw new DBCException("Can't execute " + sql, e);
+        }
+    }
+
+    /**
+     * utf8 is 3-byte utf8mb3 in MySQL - it can't load supplementary characters.
+     * utf8mb4 is available since MySQL 5.5.3 (and in all MariaDB versions which report 5.5+).
+     */
+    private static String getLoadCharset(@NotNull Connection connection) throws SQLException
+    {
+        DatabaseMetaData metaData = connection.getMetaData();
+        int major = metaData.getDatabaseMajorVersion();
+        int minor = metaData.getDatabaseMinorVersion();
+        return major > 5 || (major == 5 && minor >= 5) ? "utf8mb4" : "utf8";
+    }
+
+    /**
+     * Column list and SET clause. BIT values are read into user variables and converted with CAST
+     * (otherwise server stores character code of '1' into BIT column).
+     */
+    private String getColumnsClause(@NotNull DBCSession session)
+    {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder setClause = new StringBuilder();
+        int varIndex = 0;
+        for (DBSAttributeBase attribute : attributes) {
+            if (!isLoadedAttribute(attribute)) {
+                continue;
+            }
+            if (columns.length() > 0) columns.append(',');
+            String columnName = DBUtils.getQuotedIdentifier(session.getDataSource(), attribute.getName());
+            if (TYPE_BIT.equalsIgnoreCase(attribute.getTypeName())) {
+                String varName = "@bit" + (varIndex++);
+                columns.append(varName);
+                setClause.append(setClause.length() == 0 ? " SET " : ",")
+                    .append(columnName).append("=CAST(").append(varName).append(" AS UNSIGNED)");
+            } else {
+                columns.append(columnName);
+            }
+        }
+        return "(" + columns + ")" + setClause;
+    }
+
+    /**
+     * Server turns duplicate keys, truncations and conversion errors into warnings (and skips rows).
+     * Raise them as errors so rows aren't lost silently. Loaded rows are already stored, so the batch must not be resent.
+     */
+    private void checkWarnings(@NotNull DBCSession session, @NotNull Statement statement, int sentCount, int loadedCount)
+        throws SQLException, DBCException
+    {
+        List<String> warnings = new ArrayList<>();
+        int warningCount = 0;
+        try (ResultSet dbResult = statement.executeQuery("SHOW WARNINGS")) {
+            while (dbResult.next()) {
+                warningCount++;
+                if (warnings.size() < MAX_REPORTED_WARNINGS) {
+                    warnings.add(dbResult.getString("Level") + " " + dbResult.getInt("Code") + ": " + dbResult.getString("Message"));
+                }
+            }
+        }
+        if (warningCount == 0 && sentCount == loadedCount) {
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        message.append("LOAD DATA into ").append(table.getFullQualifiedName())
+            .append(" loaded ").append(loadedCount).append(" of ").append(sentCount).append(" rows");
+        if (warningCount > 0) {
+            message.append(" with ").append(warningCount).append(" warning(s)");
+            for (String warning : warnings) {
+                message.append("\n").append(warning);
+            }
+        }
+        throw new PartialLoadException(message.toString());
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ext.mysql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.ext.mysql.MySQLConstants;
+import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSStructureVersionProvider;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Catalog version is the last table create (rebuild) time plus count and checksum of table names.
+ * UPDATE_TIME is not used because it changes on data modifications.
+ */
+public class MySQLStructureVersionProvider implements DBSStructureVersionProvider
+{
+    private final MySQLDataSource dataSource;
+
+    public MySQLStructureVersionProvider(MySQLDataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    @Override
+    public Map<String, String> readStructureVersions(@NotNull DBRProgressMonitor monitor)
+        throws DBException
+    {
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Read catalog versions")) {
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT " + MySQLConstants.COL_TABLE_SCHEMA + ",MAX(" + MySQLConstants.COL_CREATE_TIME + ") LAST_CREATE_TIME," +
+                "COUNT(*) TABLE_COUNT,SUM(CRC32(" + MySQLConstants.COL_TABLE_NAME + ")) NAMES_CHECKSUM\n" +
+                "FROM " + MySQLConstants.META_TABLE_TABLES + " GROUP BY " + MySQLConstants.COL_TABLE_SCHEMA)) {
+                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                Map<String, String> versions = new HashMap<>();
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        versions.put(
+                            JDBCUtils.safeGetString(dbResult, MySQLConstants.COL_TABLE_SCHEMA),
+                            JDBCUtils.safeGetString(dbResult, "LAST_CREATE_TIME") + ":" +
+                                JDBCUtils.safeGetLong(dbResult, "TABLE_COUNT") + ":" +
+                                JDBCUtils.safeGetString(dbResult, "NAMES_CHECKSUM"));
+                    }
+                }
+                return versions;
+            }
+        } catch (SQLException e) {
+            throw new DBException(e, dataSource);
+        }
+    }
+
+}
@@ -405,6 +405,8 @@ public class OracleDataSource extends JDBCDataSource
     {
         if (adapter == DBSStructureAssistant.class) {
             return new OracleStructureAssistant(this);
+        } else if (adapter == DBSStructureVersionProvider.class) {
+            return new OracleStructureVersionProvider(this);
         }
         return super.getAdapter(adapter);
     }
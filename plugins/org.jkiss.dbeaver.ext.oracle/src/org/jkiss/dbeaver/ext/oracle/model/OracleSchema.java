@@ -66,6 +66,7 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
     final public ProceduresCache proceduresCache = new ProceduresCache();
     final public JavaCache javaCache = new JavaCache();
     final public RecycleBin recycleBin = new RecycleBin();
+    final OracleSchemaPrefetcher prefetcher = new OracleSchemaPrefetcher(this);
 
     private long id;
     private String name;
@@ -326,6 +327,7 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
         synonymCache.clearCache();
         javaCache.clearCache();
         recycleBin.clearCache();
+        prefetcher.reset();
         return true;
     }
 
@@ -341,6 +343,14 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
         return "Schema " + name;
     }
 
+    /**
+     * Checks whether objects of all schema tables should be read instead of objects of specified table
+     */
+    private boolean isBulkReadRequired(OracleTableBase forTable, boolean cached, OracleSchemaPrefetcher.Kind kind)
+    {
+        return forTable != null && forTable.isPersisted() && !cached && prefetcher.registerTableRead(kind);
+    }
+
     protected static OracleTableColumn getTableColumn(JDBCSession session, OracleTableBase parent, ResultSet dbResult) throws DBException
     {
         String columnName = JDBCUtils.safeGetStringTrimmed(dbResult, "COLUMN_NAME");
@@ -431,6 +441,25 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
             return new OracleTableColumn(session.getProgressMonitor(), table, dbResult);
         }
 
+        @Override
+        public void loadChildren(DBRProgressMonitor monitor, OracleSchema owner, @Nullable OracleTableBase forObject) throws DBException
+        {
+            if (owner.isBulkReadRequired(forObject, forObject != null && isChildrenCached(forObject), OracleSchemaPrefetcher.Kind.COLUMNS)) {
+                // Read columns of all tables at once
+                super.loadChildren(monitor, owner, null);
+                if (isChildrenCached(forObject)) {
+                    return;
+                }
+            }
+            super.loadChildren(monitor, owner, forObject);
+        }
+
+        @Override
+        protected int getChildrenFetchSize(@Nullable OracleTableBase forObject)
+        {
+            return forObject == null ? OracleSchemaPrefetcher.BULK_FETCH_SIZE : super.getChildrenFetchSize(forObject);
+        }
+
         @Override
         protected void cacheChildren(OracleTableBase parent, List<OracleTableColumn> oracleTableColumns) {
             Collections.sort(oracleTableColumns, ORDER_COMPARATOR);
@@ -500,6 +529,25 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
         {
             constraint.setColumns(rows);
         }
+
+        @Override
+        protected void loadObjects(DBRProgressMonitor monitor, OracleSchema schema, OracleTableBase forParent)
+            throws DBException
+        {
+            if (isBulkReadRequired(forParent, getCachedObjects(forParent) != null, OracleSchemaPrefetcher.Kind.CONSTRAINTS)) {
+                super.loadObjects(monitor, schema, null);
+                if (getCachedObjects(forParent) != null) {
+                    return;
+                }
+            }
+            super.loadObjects(monitor, schema, forParent);
+        }
+
+        @Override
+        protected int getObjectsFetchSize(@Nullable OracleTableBase forParent)
+        {
+            return forParent == null ? OracleSchemaPrefetcher.BULK_FETCH_SIZE : super.getObjectsFetchSize(forParent);
+        }
     }
 
     class ForeignKeyCache extends JDBCCompositeCache<OracleSchema, OracleTable, OracleTableForeignKey, OracleTableForeignKeyColumn> {
@@ -512,6 +560,12 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
         protected void loadObjects(DBRProgressMonitor monitor, OracleSchema schema, OracleTable forParent)
             throws DBException
         {
+            if (isBulkReadRequired(forParent, getCachedObjects(forParent) != null, OracleSchemaPrefetcher.Kind.FOREIGN_KEYS)) {
+                loadObjects(monitor, schema, null);
+                if (getCachedObjects(forParent) != null) {
+                    return;
+                }
+            }
             // Cache schema constraints in not table specified
             if (forParent == null) {
                 constraintCache.getObject(monitor, schema, null);
@@ -519,6 +573,12 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
             super.loadObjects(monitor, schema, forParent);
         }
 
+        @Override
+        protected int getObjectsFetchSize(@Nullable OracleTable forParent)
+        {
+            return forParent == null ? OracleSchemaPrefetcher.BULK_FETCH_SIZE : super.getObjectsFetchSize(forParent);
+        }
+
         @NotNull
         @Override
         protected JDBCStatement prepareObjectsStatement(JDBCSession session, OracleSchema owner, OracleTable forTable)
@@ -653,6 +713,25 @@ public class OracleSchema extends OracleGlobalObject implements DBSSchema, DBPRe
         {
             index.setColumns(rows);
         }
+
+        @Override
+        protected void loadObjects(DBRProgressMonitor monitor, OracleSchema schema, OracleTablePhysical forParent)
+            throws DBException
+        {
+            if (isBulkReadRequired(forParent, getCachedObjects(forParent) != null, OracleSchemaPrefetcher.Kind.INDEXES)) {
+                super.loadObjects(monitor, schema, null);
+                if (getCachedObjects(forParent) != null) {
+                    return;
+                }
+            }
+            super.loadObjects(monitor, schema, forParent);
+        }
+
+        @Override
+        protected int getObjectsFetchSize(@Nullable OracleTablePhysical forParent)
+        {
+            return forParent == null ? OracleSchemaPrefetcher.BULK_FETCH_SIZE : super.getObjectsFetchSize(forParent);
+        }
     }
 
     /**
@@ -0,0 +1,80 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ext.oracle.model;
+
+/**
+ * Decides when per-table metadata reads should be replaced with schema-wide bulk reads.
+ *
+ * Each per-table read is a separate dictionary query (round-trip).
+ * Bulk read of the whole schema costs roughly (tables * average rows per table / fetch size) round-trips.
+ * When number of per-table reads of some kind exceeds this estimate, the next read loads the whole schema.
+ */
+class OracleSchemaPrefetcher {
+
+    /**
+     * Fetch size for bulk dictionary queries
+     */
+    static final int BULK_FETCH_SIZE = 5000;
+    /**
+     * Minimal number of per-table reads before bulk read. Small schemas are always read in bulk after this.
+     */
+    private static final int MIN_TABLE_READS = 3;
+
+    enum Kind {
+        COLUMNS(15),
+        CONSTRAINTS(3),
+        FOREIGN_KEYS(2),
+        INDEXES(4);
+
+        // Rough average number of dictionary rows per table
+        private final int rowsPerTable;
+
+        Kind(int rowsPerTable)
+        {
+            this.rowsPerTable = rowsPerTable;
+        }
+    }
+
+    private final OracleSchema schema;
+    private final int[] tableReads = new int[Kind.values().length];
+
+    OracleSchemaPrefetcher(OracleSchema schema)
+    {
+        this.schema = schema;
+    }
+
+    /**
+     * Registers per-table read.
+     * @return true if whole schema should be read instead
+     */
+    synchronized boolean registerTableRead(Kind kind)
+    {
+        int reads = ++tableReads[kind.ordinal()];
+        int tableCount = schema.tableCache.getCachedObjects().size();
+        long bulkCost = (long) tableCount * kind.rowsPerTable / BULK_FETCH_SIZE;
+        return reads > Math.max(MIN_TABLE_READS, bulkCost);
+    }
+
+    synchronized void reset()
+    {
+        for (int i = 0; i < tableReads.length; i++) {
+            tableReads[i] = 0;
+        }
+    }
+
+}
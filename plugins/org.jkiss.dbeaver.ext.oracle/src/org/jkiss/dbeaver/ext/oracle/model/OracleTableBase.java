@@ -103,6 +103,13 @@ public abstract class OracleTableBase extends JDBCTable<OracleDataSource, Oracle
         return getContainer().tableCache;
     }
 
+    @Override
+    public int getSupportedFeatures()
+    {
+        // Oracle doesn't support multiple VALUES lists in INSERT
+        return super.getSupportedFeatures() & ~DATA_INSERT_MULTI_ROW;
+    }
+
     @Override
     @NotNull
     public OracleSchema getSchema()
@@ -0,0 +1,93 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.data.BulkLoadBatchImpl;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Bulk load batch which streams rows with COPY ... FROM STDIN protocol.
+ * Driver CopyManager API is accessed by reflection because driver classes are loaded at runtime.
+ */
+class PostgreCopyBatch extends BulkLoadBatchImpl {
+
+    static final Log log = Log.getLog(PostgreCopyBatch.class);
+
+    private static final String PG_CONNECTION_CLASS = "org.postgresql.PGConnection";
+    private static final String PG_COPY_MANAGER_CLASS = "org.postgresql.copy.CopyManager";
+
+    private final PostgreTableBase table;
+
+    PostgreCopyBatch(@NotNull PostgreTableBase table, @NotNull DBSAttributeBase[] attributes)
+    {
+        super(attributes);
+        this.table = table;
+    }
+
+    static boolean isCopySupported(@NotNull DBCSession session)
+    {
+        if (!(session instanceof JDBCSession)) {
+            return false;
+        }
+        try {
+            Connection connection = ((JDBCSession) session).getOriginal();
+            Class<?> pgConnectionClass = Class.forName(PG_CONNECTION_CLASS, true, connection.getClass().getClassLoader());
+            return connection.isWrapperFor(pgConnectionClass);
+        } catch (Throwable e) {
+            log.debug("PostgreSQL COPY API is not available: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    protected long loadRows(@NotNull DBCSession session, @NotNull List<Object[]> rows) throws DBCException
+    {
+        String sql = "COPY " + table.getFullQualifiedName() + " (" + getAttributeList(session) + ") FROM STDIN";
+        try {
+            Connection connection = ((JDBCSession) session).getOriginal();
+            ClassLoader driverClassLoader = connection.getClass().getClassLoader();
+            Class<?> pgConnectionClass = Class.forName(PG_CONNECTION_CLASS, true, driverClassLoader);
+            Class<?> copyManagerClass = Class.forName(PG_COPY_MANAGER_CLASS, true, driverClassLoader);
+            Object pgConnection = connection.unwrap(pgConnectionClass);
+            Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(pgConnection);
+            Method copyIn = copyManagerClass.getMethod("copyIn", String.class, Reader.class);
+            Object rowCount = copyIn.invoke(copyManager, sql, new RowsReader(rows));
+            return rowCount instanceof Number ? ((Number) rowCount).longValue() : rows.size();
+        } catch (InvocationTargetException e) {
+            throw new DBCException(e.getTargetException(), session.getDataSource());
+        } catch (SQLException e) {
+            throw new DBCException(e, session.getDataSource());
+        } catch (Exception e) {
+            throw new DBCException("Can't execute " + sql, e);
+        }
+    }
+
+}
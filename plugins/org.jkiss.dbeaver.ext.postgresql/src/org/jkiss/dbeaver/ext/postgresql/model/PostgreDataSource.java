@@ -229,24 +229,18 @@ public class PostgreDataSource extends JDBCDataSource implements DBSObjectSelect
     }
 
     @Override
-    protected Connection openConnection(@NotNull DBRProgressMonitor monitor, @NotNull String purpose) throws DBCException {
-        Connection mysqlConnection = super.openConnection(monitor, purpose);
-
-        {
-            // Provide client info
-            IProduct product = Platform.getProduct();
-            if (product != null) {
-                String appName = DBeaverCore.getProductTitle();
-                try {
-                    mysqlConnection.setClientInfo("ApplicationName", appName + " - " + purpose);
-                } catch (Throwable e) {
-                    // just ignore
-                    log.debug(e);
-                }
+    protected void setConnectionPurpose(@NotNull Connection connection, @NotNull String purpose) {
+        // Provide client info
+        IProduct product = Platform.getProduct();
+        if (product != null) {
+            String appName = DBeaverCore.getProductTitle();
+            try {
+                connection.setClientInfo("ApplicationName", appName + " - " + purpose);
+            } catch (Throwable e) {
+                // just ignore
+                log.debug(e);
             }
         }
-
-        return mysqlConnection;
     }
 
     @Override
@@ -262,6 +256,8 @@ public class PostgreDataSource extends JDBCDataSource implements DBSObjectSelect
     {
         if (adapter == DBSStructureAssistant.class) {
             return new PostgreStructureAssistant(this);
+        } else if (adapter == DBSStructureVersionProvider.class) {
+            return new PostgreStructureVersionProvider(this);
         }
 /*
         else if (adapter == DBAServerSessionManager.class) {
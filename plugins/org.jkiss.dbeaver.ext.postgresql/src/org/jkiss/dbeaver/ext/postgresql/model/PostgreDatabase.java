@@ -202,6 +202,12 @@ public class PostgreDatabase implements DBSInstance, DBSCatalog, DBPRefreshableO
         return dataSource.openIsolatedContext(monitor, purpose);
     }
 
+    @NotNull
+    @Override
+    public DBCExecutionContext openIsolatedContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose, boolean reusable) throws DBException {
+        return dataSource.openIsolatedContext(monitor, purpose, reusable);
+    }
+
     @Override
     public void close() {
 
@@ -33,6 +33,12 @@ class PostgreDialect extends JDBCSQLDialect {
         removeSQLKeyword("LANGUAGE");
     }
 
+    @Override
+    public int getMaxParametersInStatement() {
+        // PostgreSQL JDBC driver sends parameters count as a 16-bit signed value
+        return 32767;
+    }
+
 /*
     @NotNull
     @Override
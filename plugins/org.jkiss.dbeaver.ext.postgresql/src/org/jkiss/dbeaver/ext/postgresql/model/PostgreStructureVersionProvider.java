@@ -0,0 +1,75 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.ext.postgresql.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.DBConstants;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSStructureVersionProvider;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Schema version is the newest pg_class row version (xmin) plus relations count (to detect drops).
+ * Only schemas of the active database are read.
+ */
+public class PostgreStructureVersionProvider implements DBSStructureVersionProvider
+{
+    private final PostgreDataSource dataSource;
+
+    public PostgreStructureVersionProvider(PostgreDataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+    @NotNull
+    @Override
+    public Map<String, String> readStructureVersions(@NotNull DBRProgressMonitor monitor)
+        throws DBException
+    {
+        final PostgreDatabase database = dataSource.getDefaultInstance();
+        try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Read schema versions")) {
+            try (JDBCPreparedStatement dbStat = session.prepareStatement(
+                "SELECT n.nspname,max(c.xmin::text::bigint) as last_xmin,count(*) as rel_count\n" +
+                "FROM pg_catalog.pg_class c,pg_catalog.pg_namespace n\n" +
+                "WHERE c.relnamespace=n.oid GROUP BY n.nspname")) {
+                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                Map<String, String> versions = new HashMap<>();
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        versions.put(
+                            database.getName() + "/" + JDBCUtils.safeGetString(dbResult, "nspname"),
+                            JDBCUtils.safeGetLong(dbResult, "last_xmin") + ":" + JDBCUtils.safeGetLong(dbResult, "rel_count"));
+                    }
+                }
+                return versions;
+            }
+        } catch (SQLException e) {
+            throw new DBException(e, dataSource);
+        }
+    }
+
+}
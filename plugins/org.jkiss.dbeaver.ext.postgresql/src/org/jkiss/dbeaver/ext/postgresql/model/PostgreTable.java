@@ -25,6 +25,7 @@ import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDPseudoAttribute;
 import org.jkiss.dbeaver.model.data.DBDPseudoAttributeContainer;
 import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
@@ -34,6 +35,8 @@ import org.jkiss.dbeaver.model.impl.SimpleObjectCache;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.*;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataBulkLoader;
 import org.jkiss.dbeaver.model.struct.DBSEntityAssociation;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTableIndex;
 import org.jkiss.utils.CommonUtils;
@@ -48,7 +51,7 @@ import java.util.List;
 /**
  * PostgreTable
  */
-public class PostgreTable extends PostgreTableReal implements DBDPseudoAttributeContainer
+public class PostgreTable extends PostgreTableReal implements DBDPseudoAttributeContainer, DBSDataBulkLoader
 {
     private SimpleObjectCache<PostgreTable, PostgreTableForeignKey> foreignKeys = new SimpleObjectCache<>();
 
@@ -319,4 +322,18 @@ public class PostgreTable extends PostgreTableReal implements DBDPseudoAttribute
         }
         return subTables;
     }
+
+    @Override
+    public boolean isBulkLoadSupported(@NotNull DBCSession session, @NotNull DBSAttributeBase[] attributes)
+    {
+        return PostgreCopyBatch.isBulkLoadSupported(attributes) && PostgreCopyBatch.isCopySupported(session);
+    }
+
+    @NotNull
+    @Override
+    public ExecuteBatch bulkLoadData(@NotNull DBCSession session, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source)
+        throws DBCException
+    {
+        return new PostgreCopyBatch(this, attributes);
+    }
 }
@@ -125,6 +125,13 @@ public class WMIDataSource implements DBPDataSource, DBCExecutionContext, SQLDat
         return this;
     }
 
+    @NotNull
+    @Override
+    public DBCExecutionContext openIsolatedContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose, boolean reusable) throws DBException
+    {
+        return this;
+    }
+
     @NotNull
     @Override
     public InvalidateResult invalidateContext(@NotNull DBRProgressMonitor monitor) throws DBException
@@ -52,6 +52,13 @@ public final class ModelPreferences
     public static final String CONTENT_CACHE_MAX_SIZE = "content.cache.maxsize"; //$NON-NLS-1$
     public static final String META_SEPARATE_CONNECTION = "database.meta.separate.connection"; //$NON-NLS-1$
     public static final String META_CASE_SENSITIVE = "database.meta.casesensitive"; //$NON-NLS-1$
+    public static final String META_PRELOAD_FOLDERS = "database.meta.preload"; //$NON-NLS-1$
+    public static final String META_PRELOAD_THREADS = "database.meta.preload.threads"; //$NON-NLS-1$
+    public static final String META_DISK_CACHE = "database.meta.diskCache"; //$NON-NLS-1$
+
+    public static final String CONNECTION_POOL_ISOLATED = "database.connection.pool.isolated"; //$NON-NLS-1$
+    public static final String CONNECTION_POOL_MAX_IDLE = "database.connection.pool.maxIdle"; //$NON-NLS-1$
+    public static final String CONNECTION_POOL_IDLE_TIMEOUT = "database.connection.pool.idleTimeout"; //$NON-NLS-1$
 
     // Network
     public static final String NET_TUNNEL_PORT_MIN = "net.tunnel.port.min"; //$NON-NLS-1$
@@ -95,6 +102,12 @@ public final class ModelPreferences
         PrefUtils.setDefaultPreferenceValue(store, MEMORY_CONTENT_MAX_SIZE, 10000);
         PrefUtils.setDefaultPreferenceValue(store, META_SEPARATE_CONNECTION, true);
         PrefUtils.setDefaultPreferenceValue(store, META_CASE_SENSITIVE, false);
+        PrefUtils.setDefaultPreferenceValue(store, META_PRELOAD_FOLDERS, false);
+        PrefUtils.setDefaultPreferenceValue(store, META_PRELOAD_THREADS, 3);
+        PrefUtils.setDefaultPreferenceValue(store, META_DISK_CACHE, false);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_POOL_ISOLATED, false);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_POOL_MAX_IDLE, 4);
+        PrefUtils.setDefaultPreferenceValue(store, CONNECTION_POOL_IDLE_TIMEOUT, 300);
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_HEX_ENCODING, GeneralUtils.getDefaultFileEncoding());
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_CLOB, false);
         PrefUtils.setDefaultPreferenceValue(store, CONTENT_CACHE_BLOB, false);
@@ -116,6 +129,7 @@ public final class ModelPreferences
             QMObjectType.toString(Arrays.asList(QMObjectType.txn, QMObjectType.query)));
         PrefUtils.setDefaultPreferenceValue(store, QMConstants.PROP_QUERY_TYPES, DBCExecutionPurpose.USER + "," + DBCExecutionPurpose.USER_FILTERED + "," + DBCExecutionPurpose.USER_SCRIPT);
         PrefUtils.setDefaultPreferenceValue(store, QMConstants.PROP_STORE_LOG_FILE, false);
+        PrefUtils.setDefaultPreferenceValue(store, QMConstants.PROP_STORE_HISTORY, false);
         PrefUtils.setDefaultPreferenceValue(store, QMConstants.PROP_LOG_DIRECTORY, Platform.getLogFileLocation().toFile().getParent());
 
         // SQL
@@ -1481,6 +1481,10 @@ public final class DBUtils {
     @SuppressWarnings("unchecked")
     @NotNull
     public static <T extends DBCSession> T openMetaSession(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSource dataSource, @NotNull String task) {
+        DBCExecutionContext threadContext = DBCExecutionContext.THREAD_META_CONTEXT.get();
+        if (threadContext != null && threadContext.getDataSource() == dataSource) {
+            return (T) threadContext.openSession(monitor, DBCExecutionPurpose.META, task);
+        }
         return (T) dataSource.getDefaultContext(true).openSession(monitor, DBCExecutionPurpose.META, task);
     }
 
@@ -36,6 +36,12 @@ public interface DBCExecutionContext extends DBPObject,DBPCloseableObject
      */
     ThreadLocal<DBCExecutionContext> ACTIVE_CONTEXT = new ThreadLocal<>();
 
+    /**
+     * Context used for metadata reads in current thread instead of data source default meta context.
+     * Used by background metadata loaders which read several caches concurrently.
+     */
+    ThreadLocal<DBCExecutionContext> THREAD_META_CONTEXT = new ThreadLocal<>();
+
     enum InvalidateResult {
         DISCONNECTED,
         CONNECTED,
@@ -40,7 +40,8 @@ public abstract class AbstractExecutionContext<DATASOURCE extends DBPDataSource>
 
     @NotNull
     protected final DATASOURCE dataSource;
-    protected final String purpose;
+    // May be changed when pooled context is reused
+    protected volatile String purpose;
 
     public AbstractExecutionContext(@NotNull DATASOURCE dataSource, String purpose) {
         this.dataSource = dataSource;
@@ -31,15 +31,17 @@ import org.jkiss.dbeaver.model.struct.DBSObject;
 import java.util.*;
 
 /**
- * Various objects cache
+ * Various objects cache.
+ * Cache contents is an immutable snapshot (list and lazily built name map). Readers don't lock,
+ * writers (synchronized on cache) copy current snapshot and publish a new one.
  */
 public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extends DBSObject> implements DBSObjectCache<OWNER, OBJECT>
 {
     static final Log log = Log.getLog(AbstractObjectCache.class);
 
-    private List<OBJECT> objectList;
-    private Map<String, OBJECT> objectMap;
-    protected boolean caseSensitive = true;
+    // Null if cache is not loaded
+    private volatile CacheSnapshot<OBJECT> snapshot;
+    protected volatile boolean caseSensitive = true;
     protected Comparator<OBJECT> listOrderComparator;
 
     protected AbstractObjectCache() {
@@ -64,9 +66,8 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public List<OBJECT> getCachedObjects()
     {
-        synchronized (this) {
-            return objectList == null ? Collections.<OBJECT>emptyList() : objectList;
-        }
+        final CacheSnapshot<OBJECT> curSnapshot = snapshot;
+        return curSnapshot == null ? Collections.<OBJECT>emptyList() : curSnapshot.objectList;
     }
 
     public <SUB_TYPE> Collection<SUB_TYPE> getTypedObjects(DBRProgressMonitor monitor, OWNER owner, Class<SUB_TYPE> type)
@@ -85,23 +86,29 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     @Override
     public OBJECT getCachedObject(@NotNull String name)
     {
-        synchronized (this) {
-            return objectList == null || name == null ? null : getObjectMap().get(caseSensitive ? name : name.toUpperCase());
-        }
+        final CacheSnapshot<OBJECT> curSnapshot = snapshot;
+        return curSnapshot == null || name == null ? null : getObjectMap(curSnapshot).get(caseSensitive ? name : name.toUpperCase());
     }
 
     @Override
     public void cacheObject(@NotNull OBJECT object)
     {
         synchronized (this) {
-            if (this.objectList != null) {
+            final CacheSnapshot<OBJECT> curSnapshot = snapshot;
+            if (curSnapshot != null) {
+                boolean wasCaseSensitive = caseSensitive;
                 detectCaseSensitivity(object);
-                this.objectList.add(object);
-                if (this.objectMap != null) {
+                List<OBJECT> newList = new ArrayList<>(curSnapshot.objectList.size() + 1);
+                newList.addAll(curSnapshot.objectList);
+                newList.add(object);
+                Map<String, OBJECT> newMap = null;
+                if (curSnapshot.objectMap != null && wasCaseSensitive == caseSensitive) {
+                    newMap = new HashMap<>(curSnapshot.objectMap);
                     String name = getObjectName(object);
-                    checkDuplicateName(name, object);
-                    this.objectMap.put(name, object);
+                    checkDuplicateName(newMap, name, object);
+                    newMap.put(name, object);
                 }
+                snapshot = new CacheSnapshot<>(newList, newMap);
             }
         }
     }
@@ -110,16 +117,24 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
     public void removeObject(@NotNull OBJECT object)
     {
         synchronized (this) {
-            if (this.objectList != null) {
+            if (snapshot != null) {
                 detectCaseSensitivity(object);
-                this.objectList.remove(object);
-                if (this.objectMap != null) {
-                    this.objectMap.remove(getObjectName(object));
-                }
+                removeCachedObject(object);
             }
         }
     }
 
+    private synchronized void removeCachedObject(OBJECT object)
+    {
+        final CacheSnapshot<OBJECT> curSnapshot = snapshot;
+        if (curSnapshot != null) {
+            List<OBJECT> newList = new ArrayList<>(curSnapshot.objectList);
+            newList.remove(object);
+            // Name map is rebuilt on demand (case sensitivity might have been changed)
+            snapshot = new CacheSnapshot<>(newList, null);
+        }
+    }
+
     @Nullable
     public <SUB_TYPE> SUB_TYPE getObject(DBRProgressMonitor monitor, OWNER owner, String name, Class<SUB_TYPE> type)
         throws DBException
@@ -130,43 +145,46 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
 
     public boolean isCached()
     {
-        synchronized (this) {
-            return objectList != null;
-        }
+        return snapshot != null;
     }
 
     @Override
     public void clearCache()
     {
         synchronized (this) {
-            this.objectList = null;
-            this.objectMap = null;
+            this.snapshot = null;
         }
     }
 
     public void setCache(List<OBJECT> objects)
     {
         synchronized (this) {
-            objectList = objects;
-            objectMap = null;
+            // Copy list - caller may modify it later
+            snapshot = new CacheSnapshot<>(new ArrayList<>(objects), null);
         }
     }
 
-    private synchronized Map<String, OBJECT> getObjectMap()
+    /**
+     * Returns name map of snapshot. Map is built on first access.
+     * Concurrent readers may build it twice but both maps are equal and never modified after publishing.
+     */
+    private Map<String, OBJECT> getObjectMap(CacheSnapshot<OBJECT> curSnapshot)
     {
+        Map<String, OBJECT> objectMap = curSnapshot.objectMap;
         if (objectMap == null) {
-            this.objectMap = new HashMap<>();
-            for (OBJECT object : objectList) {
+            objectMap = new HashMap<>();
+            for (OBJECT object : curSnapshot.objectList) {
                 String name = getObjectName(object);
-                checkDuplicateName(name, object);
-                this.objectMap.put(name, object);
+                checkDuplicateName(objectMap, name, object);
+                objectMap.put(name, object);
             }
+            curSnapshot.objectMap = objectMap;
         }
         return objectMap;
     }
 
-    private void checkDuplicateName(String name, OBJECT object) {
-        if (this.objectMap.containsKey(name)) {
+    private void checkDuplicateName(Map<String, OBJECT> objectMap, String name, OBJECT object) {
+        if (objectMap.containsKey(name)) {
             log.debug("Duplicate object name '" + name + "' in cache " + this.getClass().getSimpleName() + ". Last value: " + DBUtils.getObjectFullName(object));
         }
     }
@@ -194,8 +212,11 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
             object.getName().toUpperCase();
     }
 
+    /**
+     * Iterates over current snapshot. Removal publishes new snapshot.
+     */
     protected class CacheIterator implements Iterator<OBJECT> {
-        private Iterator<OBJECT> listIterator = objectList.iterator();
+        private Iterator<OBJECT> listIterator = getCachedObjects().iterator();
         private OBJECT curObject;
         public CacheIterator()
         {
@@ -216,10 +237,18 @@ public abstract class AbstractObjectCache<OWNER extends DBSObject, OBJECT extend
         @Override
         public void remove()
         {
-            listIterator.remove();
-            if (objectMap != null) {
-                objectMap.remove(getObjectName(curObject));
-            }
+            removeCachedObject(curObject);
+        }
+    }
+
+    private static class CacheSnapshot<OBJECT> {
+        final List<OBJECT> objectList;
+        volatile Map<String, OBJECT> objectMap;
+
+        CacheSnapshot(List<OBJECT> objectList, Map<String, OBJECT> objectMap)
+        {
+            this.objectList = Collections.unmodifiableList(objectList);
+            this.objectMap = objectMap;
         }
     }
 }
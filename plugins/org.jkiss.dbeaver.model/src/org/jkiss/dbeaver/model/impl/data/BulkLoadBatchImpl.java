@@ -0,0 +1,317 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.model.impl.data;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataKind;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+import org.jkiss.dbeaver.model.exec.DBCStatistics;
+import org.jkiss.dbeaver.model.struct.DBSAttributeBase;
+import org.jkiss.dbeaver.model.struct.DBSDataManipulator;
+import org.jkiss.utils.ArrayUtils;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Bulk load batch.
+ * Collects rows and sends them in tab-delimited text format (as used by PostgreSQL COPY and MySQL LOAD DATA):
+ * fields are separated with tab, rows with new line, NULL is \N and special characters are escaped with backslash.
+ * Rows are rendered lazily while database reads the stream.
+ */
+public abstract class BulkLoadBatchImpl implements DBSDataManipulator.ExecuteBatch {
+
+    public static final Charset DATA_CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * Error raised after some rows were already stored. Batch is cleared and must not be executed again
+     * (it would duplicate loaded rows).
+     */
+    public static class PartialLoadException extends DBCException {
+        public PartialLoadException(String message)
+        {
+            super(message);
+        }
+    }
+
+    protected final DBSAttributeBase[] attributes;
+    protected final List<Object[]> values = new ArrayList<>();
+
+    protected BulkLoadBatchImpl(@NotNull DBSAttributeBase[] attributes)
+    {
+        this.attributes = attributes;
+    }
+
+    /**
+     * Checks that all attributes have simple types which can be represented in text format
+     */
+    public static boolean isBulkLoadSupported(@NotNull DBSAttributeBase[] attributes)
+    {
+        for (DBSAttributeBase attribute : attributes) {
+            switch (attribute.getDataKind()) {
+                case BOOLEAN:
+                case NUMERIC:
+                case STRING:
+                case DATETIME:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void add(@NotNull Object[] attributeValues) throws DBCException
+    {
+        if (!ArrayUtils.isEmpty(attributes) && ArrayUtils.isEmpty(attributeValues)) {
+            throw new DBCException("Bad attribute values: " + Arrays.toString(attributeValues));
+        }
+        values.add(attributeValues);
+    }
+
+    @NotNull
+    @Override
+    public DBCStatistics execute(@NotNull DBCSession session) throws DBCException
+    {
+        DBCStatistics statistics = new DBCStatistics();
+        if (values.isEmpty()) {
+            return statistics;
+        }
+        long startTime = System.currentTimeMillis();
+        long rowCount;
+        try {
+            rowCount = loadRows(session, values);
+        } catch (PartialLoadException e) {
+            values.clear();
+            throw e;
+        }
+        statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+        statistics.addRowsUpdated(rowCount);
+        values.clear();
+        return statistics;
+    }
+
+    @Override
+    public void close()
+    {
+        values.clear();
+    }
+
+    /**
+     * Sends rows to the database
+     * @return number of loaded rows
+     * @throws PartialLoadException if rows were loaded only partially and batch can't be retried
+     */
+    protected abstract long loadRows(@NotNull DBCSession session, @NotNull List<Object[]> rows) throws DBCException;
+
+    protected boolean isLoadedAttribute(DBSAttributeBase attribute)
+    {
+        return !attribute.isPseudoAttribute() && !attribute.isAutoGenerated();
+    }
+
+    /**
+     * Comma-separated list of quoted names of loaded attributes
+     */
+    protected String getAttributeList(DBCSession session)
+    {
+        StringBuilder list = new StringBuilder();
+        for (DBSAttributeBase attribute : attributes) {
+            if (!isLoadedAttribute(attribute)) {
+                continue;
+            }
+            if (list.length() > 0) list.append(',');
+            list.append(DBUtils.getQuotedIdentifier(session.getDataSource(), attribute.getName()));
+        }
+        return list.toString();
+    }
+
+    protected void appendRow(StringBuilder buffer, Object[] row)
+    {
+        boolean hasValue = false;
+        for (int i = 0; i < attributes.length; i++) {
+            if (!isLoadedAttribute(attributes[i])) {
+                continue;
+            }
+            if (hasValue) buffer.append('\t');
+            hasValue = true;
+            appendValue(buffer, attributes[i], row[i]);
+        }
+        buffer.append('\n');
+    }
+
+    protected void appendValue(StringBuilder buffer, DBSAttributeBase attribute, Object value)
+    {
+        if (DBUtils.isNullValue(value)) {
+            buffer.append("\\N");
+            return;
+        }
+        if (value instanceof Boolean) {
+            buffer.append((Boolean) value ? '1' : '0');
+        } else if (value instanceof BigDecimal) {
+            buffer.append(((BigDecimal) value).toPlainString());
+        } else if (value instanceof Number) {
+            buffer.append(value.toString());
+        } else if (value instanceof Date) {
+            // java.sql types render themselves in JDBC escape format which is accepted by databases
+            if (value instanceof java.sql.Date || value instanceof java.sql.Time || value instanceof Timestamp) {
+                buffer.append(value.toString());
+            } else {
+                buffer.append(new Timestamp(((Date) value).getTime()).toString());
+            }
+        } else {
+            appendEscaped(buffer, attribute.getDataKind() == DBPDataKind.STRING ? value.toString() : CommonUtils.toString(value));
+        }
+    }
+
+    private static void appendEscaped(StringBuilder buffer, String str)
+    {
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            switch (c) {
+                case '\\': buffer.append("\\\\"); break;
+                case '\t': buffer.append("\\t"); break;
+                case '\n': buffer.append("\\n"); break;
+                case '\r': buffer.append("\\r"); break;
+                default: buffer.append(c); break;
+            }
+        }
+    }
+
+    /**
+     * Character stream of rows in text format
+     */
+    protected class RowsReader extends Reader {
+        private final List<Object[]> rows;
+        private final StringBuilder buffer = new StringBuilder();
+        private int rowIndex = 0;
+        private int bufferPos = 0;
+
+        public RowsReader(List<Object[]> rows)
+        {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException
+        {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fillBuffer()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.length() - bufferPos);
+            buffer.getChars(bufferPos, bufferPos + count, cbuf, off);
+            bufferPos += count;
+            return count;
+        }
+
+        private boolean fillBuffer()
+        {
+            while (bufferPos >= buffer.length()) {
+                if (rowIndex >= rows.size()) {
+                    return false;
+                }
+                buffer.setLength(0);
+                bufferPos = 0;
+                appendRow(buffer, rows.get(rowIndex++));
+            }
+            return true;
+        }
+
+        @Override
+        public void close()
+        {
+            rowIndex = rows.size();
+        }
+    }
+
+    /**
+     * Byte stream of rows in text format encoded in UTF-8
+     */
+    protected class RowsInputStream extends InputStream {
+        private final List<Object[]> rows;
+        private final StringBuilder rowBuffer = new StringBuilder();
+        private byte[] buffer = new byte[0];
+        private int rowIndex = 0;
+        private int bufferPos = 0;
+
+        public RowsInputStream(List<Object[]> rows)
+        {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            if (!fillBuffer()) {
+                return -1;
+            }
+            return buffer[bufferPos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fillBuffer()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.length - bufferPos);
+            System.arraycopy(buffer, bufferPos, b, off, count);
+            bufferPos += count;
+            return count;
+        }
+
+        private boolean fillBuffer()
+        {
+            while (bufferPos >= buffer.length) {
+                if (rowIndex >= rows.size()) {
+                    return false;
+                }
+                rowBuffer.setLength(0);
+                appendRow(rowBuffer, rows.get(rowIndex++));
+                buffer = rowBuffer.toString().getBytes(DATA_CHARSET);
+                bufferPos = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public void close()
+        {
+            rowIndex = rows.size();
+        }
+    }
+
+}
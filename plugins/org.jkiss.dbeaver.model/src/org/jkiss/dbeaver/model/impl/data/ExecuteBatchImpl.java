@@ -46,6 +46,7 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
     protected final List<Object[]> values = new ArrayList<>();
     protected final DBDDataReceiver keysReceiver;
     protected final boolean reuseStatement;
+    protected final boolean bindNulls;
 
     /**
      * Constructs new batch
@@ -54,10 +55,24 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
      * @param reuseStatement true if engine should reuse single prepared statement for each execution.
      */
     protected ExecuteBatchImpl(@NotNull DBSAttributeBase[] attributes, @Nullable DBDDataReceiver keysReceiver, boolean reuseStatement)
+    {
+        this(attributes, keysReceiver, reuseStatement, false);
+    }
+
+    /**
+     * Constructs new batch
+     * @param attributes array of attributes used in batch
+     * @param keysReceiver keys receiver (or null)
+     * @param reuseStatement true if engine should reuse single prepared statement for each execution.
+     * @param bindNulls true if statement binds NULL values explicitly. In this case statement text doesn't
+     *                  depend on row NULL values and it is reused for all rows.
+     */
+    protected ExecuteBatchImpl(@NotNull DBSAttributeBase[] attributes, @Nullable DBDDataReceiver keysReceiver, boolean reuseStatement, boolean bindNulls)
     {
         this.attributes = attributes;
         this.keysReceiver = keysReceiver;
         this.reuseStatement = reuseStatement;
+        this.bindNulls = bindNulls;
     }
 
     @Override
@@ -96,13 +111,14 @@ public abstract class ExecuteBatchImpl implements DBSDataManipulator.ExecuteBatc
             // We must be aware of nulls because actual insert statements may differ depending on null values.
             // So if row nulls aren't the same as in previous row we need to prepare new statement and restart batch.
             // Quite complicated but works.
+            // If nulls are bound explicitly then statement is always the same.
             boolean[] prevNulls = new boolean[attributes.length];
             boolean[] nulls = new boolean[attributes.length];
             int statementsInBatch = 0;
 
             for (Object[] rowValues : values) {
                 boolean reuse = reuseStatement;
-                if (reuse) {
+                if (reuse && !bindNulls) {
                     for (int i = 0; i < rowValues.length; i++) {
                         nulls[i] = DBUtils.isNullValue(rowValues[i]);
                     }
@@ -82,6 +82,8 @@ public abstract class JDBCDataSource
     protected volatile DBPDataSourceInfo dataSourceInfo;
     protected volatile SQLDialect sqlDialect;
     protected final JDBCFactory jdbcFactory;
+    @NotNull
+    private final JDBCExecutionContextPool isolatedContextPool = new JDBCExecutionContextPool(this);
 
     public JDBCDataSource(@NotNull DBRProgressMonitor monitor, @NotNull DBPDataSourceContainer container)
         throws DBException
@@ -165,6 +167,7 @@ public abstract class JDBCDataSource
             if (container.isConnectionReadOnly() && !isConnectionReadOnlyBroken()) {
                 connection.setReadOnly(true);
             }
+            setConnectionPurpose(connection, purpose);
 
             return connection;
         }
@@ -217,8 +220,25 @@ public abstract class JDBCDataSource
     @Override
     public DBCExecutionContext openIsolatedContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose) throws DBException
     {
+        return openIsolatedContext(monitor, purpose, true);
+    }
+
+    @NotNull
+    @Override
+    public DBCExecutionContext openIsolatedContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose, boolean reusable) throws DBException
+    {
+        boolean pooled = reusable && JDBCExecutionContextPool.isEnabled(container);
+        if (pooled) {
+            JDBCExecutionContext context = isolatedContextPool.borrowContext(monitor, purpose);
+            if (context != null) {
+                return context;
+            }
+        }
         JDBCExecutionContext context = new JDBCExecutionContext(this, purpose);
         context.connect(monitor, null, null, true);
+        if (pooled) {
+            context.setPool(isolatedContextPool);
+        }
         return context;
     }
 
@@ -226,6 +246,14 @@ public abstract class JDBCDataSource
 
     }
 
+    /**
+     * Passes context purpose to the server (e.g. as client application name).
+     * Called for new connections and for pooled connections reused with another purpose.
+     */
+    protected void setConnectionPurpose(@NotNull Connection connection, @NotNull String purpose) {
+
+    }
+
     @NotNull
     protected JDBCConnectionImpl createConnection(
         @NotNull DBRProgressMonitor monitor,
@@ -318,6 +346,7 @@ public abstract class JDBCDataSource
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         synchronized (this) {
+            isolatedContextPool.dispose();
             executionContext.close();
             if (metaContext != null) {
                 metaContext.close();
@@ -45,6 +45,13 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Connection connection;
     private volatile Boolean autoCommit;
     private volatile Integer transactionIsolationLevel;
+    // Pool which owns this context (for pooled isolated contexts)
+    @Nullable
+    private JDBCExecutionContextPool pool;
+    private volatile boolean pooledIdle;
+    // Isolation level of just opened connection. Restored when context is returned to the pool
+    @Nullable
+    private Integer pooledIsolationLevel;
 
     public JDBCExecutionContext(@NotNull JDBCDataSource dataSource, String purpose)
     {
@@ -56,6 +63,50 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         return connection;
     }
 
+    void setPool(@Nullable JDBCExecutionContextPool pool) {
+        this.pool = pool;
+        if (pool != null && connection != null) {
+            try {
+                pooledIsolationLevel = connection.getTransactionIsolation();
+            } catch (Throwable e) {
+                log.debug("Can't read transaction isolation level", e);
+            }
+        }
+    }
+
+    @Nullable
+    Integer getPooledIsolationLevel() {
+        return pooledIsolationLevel;
+    }
+
+    /**
+     * Puts context into the pool. Idle context is removed from data source contexts and its QM session is closed.
+     */
+    void setPooledIdle() {
+        this.pooledIdle = true;
+        super.closeContext();
+        this.dataSource.allContexts.remove(this);
+    }
+
+    /**
+     * Reuses idle pooled context for another purpose. Opens new QM session.
+     */
+    void setPooledActive(@NotNull String purpose) {
+        this.pooledIdle = false;
+        if (!purpose.equals(this.purpose)) {
+            this.purpose = purpose;
+            dataSource.setConnectionPurpose(connection, purpose);
+        }
+        // Auto-commit was reset to default when context was released
+        QMUtils.getDefaultHandler().handleContextOpen(this, !dataSource.getContainer().isDefaultAutoCommit());
+        this.dataSource.allContexts.add(this);
+    }
+
+    @Nullable
+    Connection getPooledConnection() {
+        return connection;
+    }
+
     public void connect(DBRProgressMonitor monitor) throws DBCException
     {
         connect(monitor, null, null, false);
@@ -65,7 +116,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     {
         if (connection != null) {
             log.error("Reopening not-closed connection");
-            close();
+            closePhysically();
         }
         boolean connectionReadOnly = dataSource.getContainer().isConnectionReadOnly();
         ACTIVE_CONTEXT.set(this);
@@ -171,7 +222,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         if (!JDBCUtils.isConnectionAlive(getConnection())) {
             Boolean prevAutocommit = autoCommit;
             Integer txnLevel = transactionIsolationLevel;
-            close();
+            closePhysically();
             connect(monitor, prevAutocommit, txnLevel, true);
 
             return InvalidateResult.RECONNECTED;
@@ -182,6 +233,25 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     @Override
     public void close()
     {
+        if (pooledIdle) {
+            // Already returned to pool
+            return;
+        }
+        JDBCExecutionContextPool pool = this.pool;
+        if (pool != null && connection != null && pool.releaseContext(this)) {
+            return;
+        }
+        closePhysically();
+    }
+
+    /**
+     * Closes connection. Pooled context is closed too (not returned to the pool).
+     */
+    void closePhysically()
+    {
+        boolean wasIdle = this.pooledIdle;
+        this.pool = null;
+        this.pooledIdle = false;
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         synchronized (this) {
@@ -189,7 +259,10 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
                 this.dataSource.closeConnection(connection);
                 connection = null;
             }
-            super.closeContext();
+            if (!wasIdle) {
+                // QM session of idle context is already closed
+                super.closeContext();
+            }
         }
 
         // Remove self from context list
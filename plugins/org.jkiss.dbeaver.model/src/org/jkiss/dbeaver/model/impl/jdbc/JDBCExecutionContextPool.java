@@ -0,0 +1,261 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+
+import java.sql.Connection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Pool of idle isolated execution contexts.
+ * Isolated context opened with pooling enabled returns itself to the pool on close.
+ * Idle contexts are not listed in data source contexts and have no open QM session.
+ * Borrowed context gets new purpose and QM session.
+ * Contexts are validated on borrow and closed after idle timeout or if pool is full.
+ * Idle timeout is checked by background eviction job, so unused connections are closed even if pool isn't accessed.
+ */
+class JDBCExecutionContextPool {
+
+    static final Log log = Log.getLog(JDBCExecutionContextPool.class);
+
+    private static class IdleContext {
+        final JDBCExecutionContext context;
+        final long releaseTime;
+
+        IdleContext(JDBCExecutionContext context, long releaseTime)
+        {
+            this.context = context;
+            this.releaseTime = releaseTime;
+        }
+    }
+
+    @NotNull
+    private final JDBCDataSource dataSource;
+    // Most recently released contexts first
+    private final Deque<IdleContext> idleContexts = new ArrayDeque<>();
+    private final EvictionJob evictionJob = new EvictionJob();
+    private boolean disposed;
+
+    JDBCExecutionContextPool(@NotNull JDBCDataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+    static boolean isEnabled(@NotNull DBPDataSourceContainer container)
+    {
+        return !container.getDriver().isEmbedded() &&
+            container.getPreferenceStore().getBoolean(ModelPreferences.CONNECTION_POOL_ISOLATED);
+    }
+
+    /**
+     * Returns alive idle context or null if there are no idle contexts.
+     */
+    @Nullable
+    JDBCExecutionContext borrowContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose)
+    {
+        List<JDBCExecutionContext> expired = new ArrayList<>();
+        JDBCExecutionContext result = null;
+        try {
+            long idleTimeout = getIdleTimeout();
+            while (result == null) {
+                IdleContext idle;
+                synchronized (this) {
+                    idle = idleContexts.pollFirst();
+                }
+                if (idle == null) {
+                    break;
+                }
+                if (idleTimeout > 0 && System.currentTimeMillis() - idle.releaseTime > idleTimeout) {
+                    expired.add(idle.context);
+                    continue;
+                }
+                monitor.subTask("Validate pooled connection");
+                Connection connection = idle.context.getPooledConnection();
+                if (connection != null && JDBCUtils.isConnectionAlive(connection)) {
+                    idle.context.setPooledActive(purpose);
+                    result = idle.context;
+                } else {
+                    log.debug("Pooled connection '" + idle.context.getContextName() + "' is dead - close it");
+                    expired.add(idle.context);
+                }
+            }
+        } finally {
+            closeContexts(expired);
+        }
+        return result;
+    }
+
+    /**
+     * Resets context state and puts it into the pool.
+     * @return false if context can't be reused (pool is full or disposed or state reset failed).
+     */
+    boolean releaseContext(@NotNull JDBCExecutionContext context)
+    {
+        DBPPreferenceStore preferenceStore = dataSource.getContainer().getPreferenceStore();
+        int maxIdle = preferenceStore.getInt(ModelPreferences.CONNECTION_POOL_MAX_IDLE);
+        synchronized (this) {
+            if (disposed || idleContexts.size() >= maxIdle) {
+                return false;
+            }
+        }
+        try {
+            resetContextState(VoidProgressMonitor.INSTANCE, context);
+        } catch (Throwable e) {
+            log.debug("Can't reset state of pooled connection '" + context.getContextName() + "'", e);
+            return false;
+        }
+        List<JDBCExecutionContext> expired = new ArrayList<>();
+        synchronized (this) {
+            if (disposed || idleContexts.size() >= maxIdle) {
+                return false;
+            }
+            context.setPooledIdle();
+            idleContexts.addFirst(new IdleContext(context, System.currentTimeMillis()));
+            long idleTimeout = getIdleTimeout();
+            evictExpired(idleTimeout, expired);
+            if (idleTimeout > 0 && evictionJob.getState() == Job.NONE) {
+                evictionJob.schedule(idleTimeout);
+            }
+        }
+        closeContexts(expired);
+        return true;
+    }
+
+    /**
+     * Removes contexts which were idle for too long. Must be called under pool lock.
+     */
+    private void evictExpired(long idleTimeout, @NotNull List<JDBCExecutionContext> expired)
+    {
+        while (idleTimeout > 0 && !idleContexts.isEmpty() &&
+            System.currentTimeMillis() - idleContexts.peekLast().releaseTime > idleTimeout)
+        {
+            expired.add(idleContexts.pollLast().context);
+        }
+    }
+
+    /**
+     * Restores defaults changed by previous user: rolls back open transaction,
+     * resets auto-commit, isolation level and active schema.
+     */
+    private void resetContextState(@NotNull DBRProgressMonitor monitor, @NotNull JDBCExecutionContext context) throws Exception
+    {
+        Connection connection = context.getPooledConnection();
+        if (connection == null || connection.isClosed()) {
+            throw new DBCException("Connection is closed");
+        }
+        DBPDataSourceContainer container = dataSource.getContainer();
+        if (!connection.getAutoCommit()) {
+            connection.rollback();
+        }
+        boolean autoCommit = container.isDefaultAutoCommit();
+        if (connection.getAutoCommit() != autoCommit) {
+            context.setAutoCommit(monitor, autoCommit);
+        }
+        Integer txnLevel = container.getDefaultTransactionsIsolation();
+        if (txnLevel == null) {
+            txnLevel = context.getPooledIsolationLevel();
+        }
+        if (txnLevel != null && connection.getTransactionIsolation() != txnLevel) {
+            context.setTransactionIsolation(monitor, JDBCTransactionIsolation.getByCode(txnLevel));
+        }
+        dataSource.initializeContextState(monitor, context, !container.isConnectionReadOnly());
+    }
+
+    private long getIdleTimeout()
+    {
+        return dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.CONNECTION_POOL_IDLE_TIMEOUT) * 1000L;
+    }
+
+    /**
+     * Closes all idle contexts. Contexts released after dispose are closed immediately.
+     */
+    void dispose()
+    {
+        List<JDBCExecutionContext> contexts = new ArrayList<>();
+        evictionJob.cancel();
+        synchronized (this) {
+            disposed = true;
+            for (IdleContext idle : idleContexts) {
+                contexts.add(idle.context);
+            }
+            idleContexts.clear();
+        }
+        closeContexts(contexts);
+    }
+
+    private static void closeContexts(List<JDBCExecutionContext> contexts)
+    {
+        for (JDBCExecutionContext context : contexts) {
+            context.closePhysically();
+        }
+    }
+
+    /**
+     * Closes expired idle contexts. Reschedules itself while pool has idle contexts.
+     */
+    private class EvictionJob extends AbstractJob {
+
+        private static final long MIN_CHECK_PERIOD = 1000;
+
+        EvictionJob()
+        {
+            super("Close idle pooled connections");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            List<JDBCExecutionContext> expired = new ArrayList<>();
+            long nextCheck = -1;
+            synchronized (JDBCExecutionContextPool.this) {
+                if (disposed) {
+                    return Status.OK_STATUS;
+                }
+                long idleTimeout = getIdleTimeout();
+                evictExpired(idleTimeout, expired);
+                if (idleTimeout > 0 && !idleContexts.isEmpty()) {
+                    // Check again when the oldest idle context expires
+                    nextCheck = idleContexts.peekLast().releaseTime + idleTimeout - System.currentTimeMillis();
+                }
+            }
+            closeContexts(expired);
+            if (nextCheck >= 0) {
+                schedule(Math.max(nextCheck, MIN_CHECK_PERIOD));
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -56,6 +56,7 @@ public class JDBCSQLDialect extends BasicSQLDialect {
     private DBPIdentifierCase unquotedIdentCase;
     private DBPIdentifierCase quotedIdentCase;
     private boolean supportsSubqueries = false;
+    private int maxStatementLength;
 
     private transient boolean typesLoaded = false;
 
@@ -187,6 +188,13 @@ public class JDBCSQLDialect extends BasicSQLDialect {
             this.isCatalogAtStart = true;
         }
 
+        try {
+            this.maxStatementLength = metaData.getMaxStatementLength();
+        } catch (Throwable e) {
+            log.debug(e.getMessage());
+            this.maxStatementLength = 0;
+        }
+
         loadDriverKeywords(metaData);
     }
 
@@ -304,6 +312,12 @@ public class JDBCSQLDialect extends BasicSQLDialect {
         this.supportsSubqueries = supportsSubqueries;
     }
 
+    @Override
+    public int getMaxStatementLength()
+    {
+        return maxStatementLength;
+    }
+
     @NotNull
     @Override
     public TreeSet<String> getTypes() {
@@ -35,6 +35,7 @@ import org.jkiss.utils.CommonUtils;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Composite objects cache.
@@ -60,7 +61,11 @@ public abstract class JDBCCompositeCache<
     private final Object parentColumnName;
     private final Object objectColumnName;
 
-    private final Map<PARENT, List<OBJECT>> objectCache = new IdentityHashMap<>();
+    // Object lists are never modified after they were put in map (copy-on-write), so readers don't lock.
+    // Writers synchronize on cache itself.
+    private final Map<PARENT, List<OBJECT>> objectCache = new ConcurrentHashMap<>();
+    // Objects may be loaded concurrently by navigator and background metadata loader
+    private final Object loadLock = new Object();
 
     protected JDBCCompositeCache(
         JDBCStructCache<OWNER,?,?> parentCache,
@@ -131,9 +136,7 @@ public abstract class JDBCCompositeCache<
         if (forParent == null) {
             return getCachedObjects();
         } else {
-            synchronized (objectCache) {
-                return objectCache.get(forParent);
-            }
+            return objectCache.get(forParent);
         }
     }
 
@@ -153,29 +156,32 @@ public abstract class JDBCCompositeCache<
         if (forParent == null) {
             return getCachedObject(objectName);
         } else {
-            synchronized (objectCache) {
-                return DBUtils.findObject(objectCache.get(forParent), objectName);
-            }
+            return DBUtils.findObject(objectCache.get(forParent), objectName);
         }
     }
 
     @Override
-    public void cacheObject(@NotNull OBJECT object)
+    public synchronized void cacheObject(@NotNull OBJECT object)
     {
         super.cacheObject(object);
-        synchronized (objectCache) {
-            List<OBJECT> objects = objectCache.get(getParent(object));
-            if (!CommonUtils.isEmpty(objects)) {
-                objects.add(object);
-            }
+        final PARENT parent = getParent(object);
+        List<OBJECT> objects = parent == null ? null : objectCache.get(parent);
+        if (!CommonUtils.isEmpty(objects)) {
+            List<OBJECT> newObjects = new ArrayList<>(objects.size() + 1);
+            newObjects.addAll(objects);
+            newObjects.add(object);
+            objectCache.put(parent, newObjects);
         }
     }
 
     @Override
-    public void removeObject(@NotNull OBJECT object)
+    public synchronized void removeObject(@NotNull OBJECT object)
     {
         super.removeObject(object);
-        objectCache.remove(getParent(object));
+        final PARENT parent = getParent(object);
+        if (parent != null) {
+            objectCache.remove(parent);
+        }
     }
 
     public void clearObjectCache(PARENT forParent)
@@ -188,12 +194,10 @@ public abstract class JDBCCompositeCache<
     }
 
     @Override
-    public void clearCache()
+    public synchronized void clearCache()
     {
-        synchronized (objectCache) {
-            this.objectCache.clear();
-            super.clearCache();
-        }
+        this.objectCache.clear();
+        super.clearCache();
     }
 
     private class ObjectInfo {
@@ -211,14 +215,25 @@ public abstract class JDBCCompositeCache<
     protected void loadObjects(DBRProgressMonitor monitor, OWNER owner, PARENT forParent)
         throws DBException
     {
-        synchronized (objectCache) {
-            if ((forParent == null && isCached()) ||
-                (forParent != null && (!forParent.isPersisted() || objectCache.containsKey(forParent))))
-            {
-                return;
+        if (isObjectsCached(forParent)) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (!isObjectsCached(forParent)) {
+                readObjects(monitor, owner, forParent);
             }
         }
+    }
+
+    private boolean isObjectsCached(PARENT forParent)
+    {
+        return (forParent == null && isCached()) ||
+            (forParent != null && (!forParent.isPersisted() || objectCache.containsKey(forParent)));
+    }
 
+    private void readObjects(DBRProgressMonitor monitor, OWNER owner, PARENT forParent)
+        throws DBException
+    {
         // Load tables and columns first
         if (forParent == null) {
             parentCache.loadObjects(monitor, owner);
@@ -233,7 +248,7 @@ public abstract class JDBCCompositeCache<
         try (JDBCSession session = DBUtils.openMetaSession(monitor, dataSource, "Load composite objects")) {
 
             JDBCStatement dbStat = prepareObjectsStatement(session, owner, forParent);
-            dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+            dbStat.setFetchSize(getObjectsFetchSize(forParent));
             try {
                 dbStat.executeStatement();
                 JDBCResultSet dbResult = dbStat.getResultSet();
@@ -268,11 +283,9 @@ public abstract class JDBCCompositeCache<
                                 continue;
                             }
                         }
-                        synchronized (objectCache) {
-                            if (objectCache.containsKey(parent)) {
-                                // Already cached
-                                continue;
-                            }
+                        if (objectCache.containsKey(parent)) {
+                            // Already cached
+                            continue;
                         }
                         // Add to map
                         Map<String, ObjectInfo> objectMap = parentObjectMap.get(parent);
@@ -321,57 +334,55 @@ public abstract class JDBCCompositeCache<
 
         // Fill global cache
         synchronized (this) {
-            synchronized (objectCache) {
-                if (forParent != null || !parentObjectMap.isEmpty()) {
-                    if (forParent == null) {
-                        // Cache global object list
-                        List<OBJECT> globalCache = new ArrayList<>();
-                        for (Map<String, ObjectInfo> objMap : parentObjectMap.values()) {
-                            if (objMap != null) {
-                                for (ObjectInfo info : objMap.values()) {
-                                    if (!info.broken) {
-                                        globalCache.add(info.object);
-                                    }
+            if (forParent != null || !parentObjectMap.isEmpty()) {
+                if (forParent == null) {
+                    // Cache global object list
+                    List<OBJECT> globalCache = new ArrayList<>();
+                    for (Map<String, ObjectInfo> objMap : parentObjectMap.values()) {
+                        if (objMap != null) {
+                            for (ObjectInfo info : objMap.values()) {
+                                if (!info.broken) {
+                                    globalCache.add(info.object);
                                 }
                             }
                         }
-                        // Save precached objects in global cache
-                        for (List<OBJECT> objects : objectCache.values()) {
-                            globalCache.addAll(objects);
-                        }
-                        // Add precached objects to global cache too
-                        this.setCache(globalCache);
-                        this.invalidateObjects(monitor, owner, new CacheIterator());
                     }
+                    // Save precached objects in global cache
+                    for (List<OBJECT> objects : objectCache.values()) {
+                        globalCache.addAll(objects);
+                    }
+                    // Add precached objects to global cache too
+                    this.setCache(globalCache);
+                    this.invalidateObjects(monitor, owner, new CacheIterator());
                 }
+            }
 
-                // Cache data in individual objects only if we have read something or have certain parent object
-                // Otherwise we assume that this function is not supported for mass data reading
+            // Cache data in individual objects only if we have read something or have certain parent object
+            // Otherwise we assume that this function is not supported for mass data reading
 
-                // All objects are read. Now assign them to parents
-                for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
-                    if (colEntry.getValue() == null || objectCache.containsKey(colEntry.getKey())) {
-                        // Do not overwrite this object's cache
-                        continue;
-                    }
-                    Collection<ObjectInfo> objectInfos = colEntry.getValue().values();
-                    ArrayList<OBJECT> objects = new ArrayList<>(objectInfos.size());
-                    for (ObjectInfo objectInfo : objectInfos) {
-                        objectInfo.needsCaching = true;
-                        objects.add(objectInfo.object);
-                    }
-                    objectCache.put(colEntry.getKey(), objects);
+            // All objects are read. Now assign them to parents
+            for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
+                if (colEntry.getValue() == null || objectCache.containsKey(colEntry.getKey())) {
+                    // Do not overwrite this object's cache
+                    continue;
                 }
-                // Now set empty object list for other parents
-                if (forParent == null) {
-                    for (PARENT tmpParent : parentCache.getTypedObjects(monitor, owner, parentType)) {
-                        if (!parentObjectMap.containsKey(tmpParent) && !objectCache.containsKey(tmpParent)) {
-                            objectCache.put(tmpParent, new ArrayList<OBJECT>());
-                        }
+                Collection<ObjectInfo> objectInfos = colEntry.getValue().values();
+                ArrayList<OBJECT> objects = new ArrayList<>(objectInfos.size());
+                for (ObjectInfo objectInfo : objectInfos) {
+                    objectInfo.needsCaching = true;
+                    objects.add(objectInfo.object);
+                }
+                objectCache.put(colEntry.getKey(), objects);
+            }
+            // Now set empty object list for other parents
+            if (forParent == null) {
+                for (PARENT tmpParent : parentCache.getTypedObjects(monitor, owner, parentType)) {
+                    if (!parentObjectMap.containsKey(tmpParent) && !objectCache.containsKey(tmpParent)) {
+                        objectCache.put(tmpParent, new ArrayList<OBJECT>());
                     }
-                } else if (!parentObjectMap.containsKey(forParent) && !objectCache.containsKey(forParent)) {
-                    objectCache.put(forParent, new ArrayList<OBJECT>());
                 }
+            } else if (!parentObjectMap.containsKey(forParent) && !objectCache.containsKey(forParent)) {
+                objectCache.put(forParent, new ArrayList<OBJECT>());
             }
             // Cache children lists (we do it in the end because children caching may operate with other model objects)
             for (Map.Entry<PARENT, Map<String, ObjectInfo>> colEntry : parentObjectMap.entrySet()) {
@@ -392,6 +403,15 @@ public abstract class JDBCCompositeCache<
 
     }
 
+    /**
+     * Fetch size for objects statement
+     * @param forParent parent for which objects are read. If null then objects of all parents are read.
+     */
+    protected int getObjectsFetchSize(@Nullable PARENT forParent)
+    {
+        return DBConstants.METADATA_FETCH_SIZE;
+    }
+
     protected String getDefaultObjectName(JDBCResultSet dbResult, String parentName) {
         return parentName == null ? DEFAULT_OBJECT_NAME : parentName.toUpperCase() + "_" + DEFAULT_OBJECT_NAME;
     }
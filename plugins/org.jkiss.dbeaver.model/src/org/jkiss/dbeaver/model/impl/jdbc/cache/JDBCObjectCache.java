@@ -39,6 +39,8 @@ import java.util.*;
  */
 public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DBSObject> extends AbstractObjectCache<OWNER, OBJECT>
 {
+    // Objects may be loaded concurrently by navigator and background metadata loader
+    private final Object loadLock = new Object();
 
     protected JDBCObjectCache() {
     }
@@ -77,7 +79,16 @@ public abstract class JDBCObjectCache<OWNER extends DBSObject, OBJECT extends DB
         if (isCached() || monitor.isCanceled()) {
             return;
         }
+        synchronized (loadLock) {
+            if (!isCached() && !monitor.isCanceled()) {
+                readObjects(monitor, owner);
+            }
+        }
+    }
 
+    private void readObjects(DBRProgressMonitor monitor, OWNER owner)
+        throws DBException
+    {
         List<OBJECT> tmpObjectList = new ArrayList<>();
 
         DBPDataSource dataSource = owner.getDataSource();
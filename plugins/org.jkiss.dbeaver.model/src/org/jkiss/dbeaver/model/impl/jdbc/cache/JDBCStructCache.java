@@ -37,6 +37,7 @@ import org.jkiss.dbeaver.model.struct.DBSObject;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JDBC structured objects cache. Stores objects themselves and their child objects.
@@ -47,7 +48,10 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
 
     private final Object objectNameColumn;
     private volatile boolean childrenCached = false;
-    private final Map<OBJECT, SimpleObjectCache<OBJECT, CHILD>> childrenCache = new IdentityHashMap<>();
+    // Model objects don't override equals so concurrent map works as identity map here
+    private final Map<OBJECT, SimpleObjectCache<OBJECT, CHILD>> childrenCache = new ConcurrentHashMap<>();
+    // Children may be loaded concurrently by navigator and background metadata loader
+    private final Object childrenLoadLock = new Object();
 
     abstract protected JDBCStatement prepareChildrenStatement(@NotNull JDBCSession session, @NotNull OWNER owner, @Nullable OBJECT forObject)
         throws SQLException;
@@ -79,7 +83,17 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         if (forObject == null) {
             super.loadObjects(monitor, owner);
         }
+        synchronized (childrenLoadLock) {
+            if ((forObject == null && this.childrenCached) || (forObject != null && isChildrenCached(forObject))) {
+                // Loaded by another thread
+                return;
+            }
+            readChildren(monitor, owner, forObject);
+        }
+    }
 
+    private void readChildren(DBRProgressMonitor monitor, OWNER owner, @Nullable final OBJECT forObject) throws DBException
+    {
         DBPDataSource dataSource = owner.getDataSource();
         if (dataSource == null) {
             throw new DBException("Not connected to database");
@@ -89,7 +103,7 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
 
             // Load columns
             try (JDBCStatement dbStat = prepareChildrenStatement(session, owner, forObject)) {
-                dbStat.setFetchSize(DBConstants.METADATA_FETCH_SIZE);
+                dbStat.setFetchSize(getChildrenFetchSize(forObject));
                 dbStat.executeStatement();
                 JDBCResultSet dbResult = dbStat.getResultSet();
                 if (dbResult != null) {
@@ -168,6 +182,15 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
         }
     }
 
+    /**
+     * Fetch size for children statement
+     * @param forObject object for which children are read. If null then children of all objects are read.
+     */
+    protected int getChildrenFetchSize(@Nullable OBJECT forObject)
+    {
+        return DBConstants.METADATA_FETCH_SIZE;
+    }
+
     @Override
     public void removeObject(@NotNull OBJECT object)
     {
@@ -191,56 +214,51 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
      */
     public DBSObjectCache<OBJECT, CHILD> getChildrenCache(final OBJECT forObject)
     {
-        synchronized (childrenCache) {
-            SimpleObjectCache<OBJECT, CHILD> nestedCache = childrenCache.get(forObject);
-            if (nestedCache == null) {
-                // Create new empty children cache
-                // This may happen only when invoked for newly created object (e.g. when we create new column
-                // in a new created table)
-                nestedCache = new SimpleObjectCache<>();
-                nestedCache.setCache(new ArrayList<CHILD>());
-                childrenCache.put(forObject, nestedCache);
+        SimpleObjectCache<OBJECT, CHILD> nestedCache = childrenCache.get(forObject);
+        if (nestedCache == null) {
+            synchronized (childrenCache) {
+                nestedCache = childrenCache.get(forObject);
+                if (nestedCache == null) {
+                    // Create new empty children cache
+                    // This may happen only when invoked for newly created object (e.g. when we create new column
+                    // in a new created table)
+                    nestedCache = new SimpleObjectCache<>();
+                    nestedCache.setCache(new ArrayList<CHILD>());
+                    childrenCache.put(forObject, nestedCache);
+                }
             }
-            return nestedCache;
         }
+        return nestedCache;
     }
 
     @Nullable
     public List<CHILD> getChildren(DBRProgressMonitor monitor, OWNER owner, final OBJECT forObject) throws DBException
     {
         loadChildren(monitor, owner, forObject);
-        synchronized (childrenCache) {
-            SimpleObjectCache<OBJECT, CHILD> nestedCache = childrenCache.get(forObject);
-            return nestedCache == null ? null : nestedCache.getAllObjects(monitor, null);
-        }
+        SimpleObjectCache<OBJECT, CHILD> nestedCache = forObject == null ? null : childrenCache.get(forObject);
+        return nestedCache == null ? null : nestedCache.getAllObjects(monitor, null);
     }
 
     @Nullable
     public CHILD getChild(DBRProgressMonitor monitor, OWNER owner, final OBJECT forObject, String objectName) throws DBException
     {
         loadChildren(monitor, owner, forObject);
-        synchronized (childrenCache) {
-            SimpleObjectCache<OBJECT, CHILD> nestedCache = childrenCache.get(forObject);
-            return nestedCache == null ? null : nestedCache.getObject(monitor, null, objectName);
-        }
+        SimpleObjectCache<OBJECT, CHILD> nestedCache = forObject == null ? null : childrenCache.get(forObject);
+        return nestedCache == null ? null : nestedCache.getObject(monitor, null, objectName);
     }
 
     public void clearChildrenCache(OBJECT forParent)
     {
-        synchronized (childrenCache) {
-            if (forParent != null) {
-                this.childrenCache.remove(forParent);
-            } else {
-                this.childrenCache.clear();
-            }
+        if (forParent != null) {
+            this.childrenCache.remove(forParent);
+        } else {
+            this.childrenCache.clear();
         }
     }
 
     protected boolean isChildrenCached(OBJECT parent)
     {
-        synchronized (childrenCache) {
-            return childrenCache.containsKey(parent);
-        }
+        return childrenCache.containsKey(parent);
     }
 
     protected void cacheChildren(OBJECT parent, List<CHILD> children)
@@ -250,9 +268,12 @@ public abstract class JDBCStructCache<OWNER extends DBSObject, OBJECT extends DB
             if (nestedCache == null) {
                 nestedCache = new SimpleObjectCache<>();
                 nestedCache.setCaseSensitive(caseSensitive);
+                // Publish filled cache
+                nestedCache.setCache(children);
                 childrenCache.put(parent, nestedCache);
+            } else {
+                nestedCache.setCache(children);
             }
-            nestedCache.setCache(children);
         }
     }
 
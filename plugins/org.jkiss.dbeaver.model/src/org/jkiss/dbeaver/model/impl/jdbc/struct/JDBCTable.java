@@ -27,6 +27,7 @@ import org.jkiss.dbeaver.model.DBPSaveableObject;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.*;
 import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCStatement;
 import org.jkiss.dbeaver.model.impl.DBObjectNameCaseTransformer;
 import org.jkiss.dbeaver.model.impl.data.ExecuteBatchImpl;
@@ -42,6 +43,9 @@ import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -94,7 +98,14 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     @Override
     public int getSupportedFeatures()
     {
-        return DATA_COUNT | DATA_FILTER | DATA_SEARCH | DATA_INSERT | DATA_UPDATE | DATA_DELETE;
+        int features = DATA_COUNT | DATA_FILTER | DATA_SEARCH | DATA_INSERT | DATA_INSERT_NULLS | DATA_UPDATE | DATA_DELETE;
+        DBPDataSource dataSource = getDataSource();
+        if (dataSource instanceof SQLDataSource &&
+            ((SQLDataSource) dataSource).getSQLDialect().getMultiValueInsertMode() == SQLDialect.MultiValueInsertMode.GROUP_ROWS)
+        {
+            features |= DATA_INSERT_MULTI_ROW;
+        }
+        return features;
     }
 
     @NotNull
@@ -292,10 +303,18 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
     @Override
     public ExecuteBatch insertData(@NotNull DBCSession session, @NotNull final DBSAttributeBase[] attributes, @Nullable DBDDataReceiver keysReceiver, @NotNull final DBCExecutionSource source)
         throws DBCException
+    {
+        return insertData(session, attributes, keysReceiver, source, false);
+    }
+
+    @NotNull
+    @Override
+    public ExecuteBatch insertData(@NotNull DBCSession session, @NotNull final DBSAttributeBase[] attributes, @Nullable DBDDataReceiver keysReceiver, @NotNull final DBCExecutionSource source, final boolean bindNulls)
+        throws DBCException
     {
         readRequiredMeta(session.getProgressMonitor());
 
-        return new ExecuteBatchImpl(attributes, keysReceiver, true) {
+        return new ExecuteBatchImpl(attributes, keysReceiver, true, bindNulls) {
 
             @NotNull
             @Override
@@ -307,7 +326,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 boolean hasKey = false;
                 for (int i = 0; i < attributes.length; i++) {
                     DBSAttributeBase attribute = attributes[i];
-                    if (attribute.isPseudoAttribute() || attribute.isAutoGenerated() || DBUtils.isNullValue(attributeValues[i])) {
+                    if (isSkippedAttribute(attribute, attributeValues[i])) {
                         continue;
                     }
                     if (hasKey) query.append(","); //$NON-NLS-1$
@@ -318,7 +337,7 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 hasKey = false;
                 for (int i = 0; i < attributes.length; i++) {
                     DBSAttributeBase attribute = attributes[i];
-                    if (attribute.isPseudoAttribute() || attribute.isAutoGenerated() || DBUtils.isNullValue(attributeValues[i])) {
+                    if (isSkippedAttribute(attribute, attributeValues[i])) {
                         continue;
                     }
                     if (hasKey) query.append(","); //$NON-NLS-1$
@@ -338,15 +357,43 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
                 int paramIndex = 0;
                 for (int k = 0; k < handlers.length; k++) {
                     DBSAttributeBase attribute = attributes[k];
-                    if (attribute.isPseudoAttribute() || attribute.isAutoGenerated() || DBUtils.isNullValue(attributeValues[k])) {
+                    if (isSkippedAttribute(attribute, attributeValues[k])) {
+                        continue;
+                    }
+                    if (bindNulls && DBUtils.isNullValue(attributeValues[k]) && statement instanceof JDBCPreparedStatement) {
+                        // Set NULL directly - not all value handlers can bind nulls
+                        try {
+                            ((JDBCPreparedStatement) statement).setNull(paramIndex + 1, attribute.getTypeID());
+                        } catch (SQLException e) {
+                            throw new DBCException(e, getDataSource());
+                        }
+                        paramIndex++;
                         continue;
                     }
                     handlers[k].bindValueObject(statement.getSession(), statement, attribute, paramIndex++, attributeValues[k]);
                 }
             }
+
+            private boolean isSkippedAttribute(DBSAttributeBase attribute, Object value) {
+                return attribute.isPseudoAttribute() || attribute.isAutoGenerated() || (!bindNulls && DBUtils.isNullValue(value));
+            }
         };
     }
 
+    @NotNull
+    @Override
+    public ExecuteBatch insertMultiRowData(@NotNull DBCSession session, @NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source, int maxRowsInStatement)
+        throws DBCException
+    {
+        readRequiredMeta(session.getProgressMonitor());
+
+        DBPDataSource dataSource = session.getDataSource();
+        if (!(dataSource instanceof SQLDataSource)) {
+            throw new DBCException("Multi-row insert is not supported by " + dataSource.getContainer().getName());
+        }
+        return new MultiRowInsertBatch(attributes, source, ((SQLDataSource) dataSource).getSQLDialect(), maxRowsInStatement);
+    }
+
     @NotNull
     @Override
     public ExecuteBatch updateData(
@@ -470,6 +517,171 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         };
     }
 
+    /**
+     * Inserts several rows with one statement: INSERT INTO table (columns) VALUES (?,?),(?,?),...
+     * All columns are bound (NULLs are set explicitly) so statement text depends only on rows count.
+     * Statement for the full rows count is prepared once and reused, only the last chunk of the batch
+     * may need a separate statement.
+     */
+    private class MultiRowInsertBatch implements ExecuteBatch {
+        private final DBSAttributeBase[] attributes;
+        private final DBCExecutionSource source;
+        private final int[] valueIndexes;
+        private final String queryPrefix;
+        private final int rowsInStatement;
+        private final List<Object[]> values = new ArrayList<>();
+
+        MultiRowInsertBatch(@NotNull DBSAttributeBase[] attributes, @NotNull DBCExecutionSource source, @NotNull SQLDialect dialect, int maxRowsInStatement)
+        {
+            this.attributes = attributes;
+            this.source = source;
+
+            List<Integer> indexes = new ArrayList<>();
+            StringBuilder query = new StringBuilder(200);
+            query.append("INSERT INTO ").append(getFullQualifiedName()).append(" ("); //$NON-NLS-1$ //$NON-NLS-2$
+            for (int i = 0; i < attributes.length; i++) {
+                DBSAttributeBase attribute = attributes[i];
+                if (attribute.isPseudoAttribute() || attribute.isAutoGenerated()) {
+                    continue;
+                }
+                if (!indexes.isEmpty()) query.append(","); //$NON-NLS-1$
+                indexes.add(i);
+                query.append(getAttributeName(attribute));
+            }
+            query.append(")\nVALUES "); //$NON-NLS-1$
+            this.queryPrefix = query.toString();
+            this.valueIndexes = new int[indexes.size()];
+            for (int i = 0; i < valueIndexes.length; i++) {
+                valueIndexes[i] = indexes.get(i);
+            }
+
+            // Respect database limits. Each row adds "(?,...,?)," to the query
+            int rowsLimit = maxRowsInStatement;
+            int maxParameters = dialect.getMaxParametersInStatement();
+            if (maxParameters > 0 && valueIndexes.length > 0) {
+                rowsLimit = Math.min(rowsLimit, maxParameters / valueIndexes.length);
+            }
+            int maxLength = dialect.getMaxStatementLength();
+            if (maxLength > 0) {
+                rowsLimit = Math.min(rowsLimit, (maxLength - queryPrefix.length()) / (valueIndexes.length * 2 + 2));
+            }
+            this.rowsInStatement = Math.max(1, rowsLimit);
+        }
+
+        @Override
+        public void add(@NotNull Object[] attributeValues) throws DBCException
+        {
+            if (!ArrayUtils.isEmpty(attributes) && ArrayUtils.isEmpty(attributeValues)) {
+                throw new DBCException("Bad attribute values: " + Arrays.toString(attributeValues));
+            }
+            values.add(attributeValues);
+        }
+
+        @NotNull
+        @Override
+        public DBCStatistics execute(@NotNull DBCSession session) throws DBCException
+        {
+            DBDValueHandler[] handlers = new DBDValueHandler[attributes.length];
+            for (int index : valueIndexes) {
+                if (attributes[index] instanceof DBDAttributeBinding) {
+                    handlers[index] = ((DBDAttributeBinding) attributes[index]).getValueHandler();
+                } else {
+                    handlers[index] = DBUtils.findValueHandler(session, attributes[index]);
+                }
+            }
+
+            DBCStatistics statistics = new DBCStatistics();
+            DBCStatement fullStatement = null;
+            try {
+                for (int offset = 0; offset < values.size(); ) {
+                    int rowCount = Math.min(rowsInStatement, values.size() - offset);
+                    DBCStatement statement;
+                    if (rowCount == rowsInStatement) {
+                        if (fullStatement == null) {
+                            fullStatement = prepareStatement(session, rowCount);
+                        }
+                        statement = fullStatement;
+                    } else {
+                        statement = prepareStatement(session, rowCount);
+                    }
+                    try {
+                        statistics.setQueryText(statement.getQueryString());
+                        int paramIndex = 0;
+                        for (int i = offset; i < offset + rowCount; i++) {
+                            paramIndex = bindRow(handlers, statement, values.get(i), paramIndex);
+                        }
+                        long startTime = System.currentTimeMillis();
+                        statement.executeStatement();
+                        statistics.addExecuteTime(System.currentTimeMillis() - startTime);
+                        statistics.addStatementsCount();
+
+                        long rowsUpdated = statement.getUpdateRowCount();
+                        if (rowsUpdated > 0) {
+                            statistics.addRowsUpdated(rowsUpdated);
+                        }
+                    } finally {
+                        if (statement != fullStatement) {
+                            statement.close();
+                        }
+                    }
+                    offset += rowCount;
+                }
+            } finally {
+                values.clear();
+                if (fullStatement != null) {
+                    fullStatement.close();
+                }
+            }
+            return statistics;
+        }
+
+        @Override
+        public void close()
+        {
+            values.clear();
+        }
+
+        @NotNull
+        private DBCStatement prepareStatement(@NotNull DBCSession session, int rowCount) throws DBCException
+        {
+            StringBuilder query = new StringBuilder(queryPrefix.length() + rowCount * (valueIndexes.length * 2 + 2));
+            query.append(queryPrefix);
+            for (int row = 0; row < rowCount; row++) {
+                if (row > 0) query.append(","); //$NON-NLS-1$
+                query.append("("); //$NON-NLS-1$
+                for (int i = 0; i < valueIndexes.length; i++) {
+                    if (i > 0) query.append(","); //$NON-NLS-1$
+                    query.append("?"); //$NON-NLS-1$
+                }
+                query.append(")"); //$NON-NLS-1$
+            }
+            DBCStatement dbStat = session.prepareStatement(DBCStatementType.QUERY, query.toString(), false, false, false);
+            dbStat.setStatementSource(source);
+            return dbStat;
+        }
+
+        private int bindRow(@NotNull DBDValueHandler[] handlers, @NotNull DBCStatement statement, Object[] attributeValues, int paramIndex) throws DBCException
+        {
+            for (int index : valueIndexes) {
+                DBSAttributeBase attribute = attributes[index];
+                if (DBUtils.isNullValue(attributeValues[index])) {
+                    if (!(statement instanceof JDBCPreparedStatement)) {
+                        throw new DBCException("Can't bind NULL value for '" + attribute.getName() + "'");
+                    }
+                    try {
+                        ((JDBCPreparedStatement) statement).setNull(paramIndex + 1, attribute.getTypeID());
+                    } catch (SQLException e) {
+                        throw new DBCException(e, getDataSource());
+                    }
+                    paramIndex++;
+                } else {
+                    handlers[index].bindValueObject(statement.getSession(), statement, attribute, paramIndex++, attributeValues[index]);
+                }
+            }
+            return paramIndex;
+        }
+    }
+
     private String getAttributeName(@NotNull DBSAttributeBase attribute) {
         // Entity attribute obtain commented because it broke complex attributes full name construction
         // We can't use entity attr because only particular query metadata contains real structure
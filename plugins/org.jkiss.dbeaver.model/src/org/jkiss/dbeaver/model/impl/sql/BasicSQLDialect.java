@@ -264,6 +264,16 @@ public class BasicSQLDialect implements SQLDialect {
         return MultiValueInsertMode.NOT_SUPPORTED;
     }
 
+    @Override
+    public int getMaxParametersInStatement() {
+        return 0;
+    }
+
+    @Override
+    public int getMaxStatementLength() {
+        return 0;
+    }
+
     @Override
     public String addFiltersToQuery(DBPDataSource dataSource, String query, DBDDataFilter filter) throws DBException {
         return SQLSemanticProcessor.addFiltersToQuery(dataSource, query, filter);
@@ -71,6 +71,10 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
     @Override
     void dispose(boolean reflect)
     {
+        DBNModel model = getModel();
+        if (model != null) {
+            model.getPreloader().cancelPreload(this);
+        }
         clearChildren(reflect);
         super.dispose(reflect);
     }
@@ -184,12 +188,24 @@ public abstract class DBNDatabaseNode extends DBNNode implements DBSWrapper, DBP
         throws DBException
     {
         if (childNodes == null && allowsChildren()) {
+            final DBNModel model = getModel();
+            if (model != null) {
+                // Folder may be already loading in background
+                model.getPreloader().beforeLoadChildren(monitor, this);
+                if (childNodes != null) {
+                    return childNodes;
+                }
+            }
             if (this.initializeNode(monitor, null)) {
                 final List<DBNDatabaseNode> tmpList = new ArrayList<>();
                 loadChildren(monitor, getMeta(), null, tmpList);
                 if (!monitor.isCanceled()) {
                     this.childNodes = tmpList;
                     this.afterChildRead();
+                    if (model != null) {
+                        model.onChildrenLoaded();
+                        model.getPreloader().preloadChildren(this, tmpList);
+                    }
                 }
             }
         }
@@ -38,6 +38,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * DBNModel.
@@ -56,6 +57,8 @@ public class DBNModel implements IResourceChangeListener {
     private final List<INavigatorListener> listeners = new ArrayList<>();
     private transient INavigatorListener[] listenersCopy = null;
     private final Map<DBSObject, Object> nodeMap = new HashMap<>();
+    private final DBNModelPreloader preloader = new DBNModelPreloader();
+    private final AtomicLong childrenLoadCount = new AtomicLong();
 
     public DBNModel(DBPApplication application) {
         this.application = application;
@@ -83,6 +86,7 @@ public class DBNModel implements IResourceChangeListener {
     public void dispose()
     {
         application.getWorkspace().removeResourceChangeListener(this);
+        this.preloader.dispose();
         this.root.dispose(false);
         synchronized (nodeMap) {
             this.nodeMap.clear();
@@ -104,6 +108,25 @@ public class DBNModel implements IResourceChangeListener {
         return root;
     }
 
+    DBNModelPreloader getPreloader()
+    {
+        return preloader;
+    }
+
+    /**
+     * Number of node children reads so far. Initial children read doesn't fire node events,
+     * so this counter lets metadata consumers detect that new nodes were loaded.
+     */
+    public long getChildrenLoadCount()
+    {
+        return childrenLoadCount.get();
+    }
+
+    void onChildrenLoaded()
+    {
+        childrenLoadCount.incrementAndGet();
+    }
+
     @Nullable
     public DBNDatabaseNode findNode(DBSObject object)
     {
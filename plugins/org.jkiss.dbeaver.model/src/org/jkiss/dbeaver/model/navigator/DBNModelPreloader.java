@@ -0,0 +1,357 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.navigator;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
+import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
+
+import java.util.*;
+
+/**
+ * Background loader of navigator folders.
+ * When children of schema or catalog node are read its folders (tables, views, procedures, etc) are loaded
+ * in background. Each loader job uses its own isolated meta context so independent caches are read
+ * concurrently and schema open time is bounded by the slowest query instead of the sum of all of them.
+ *
+ * Folder requested by navigator has priority: if it is still queued then it is removed from queue
+ * and read by caller, if it is being loaded then caller waits for it.
+ */
+class DBNModelPreloader {
+
+    static final Log log = Log.getLog(DBNModelPreloader.class);
+
+    private static final long WAIT_TIMEOUT = 100;
+
+    private final Map<DBNDatabaseNode, PreloadTask> tasks = new IdentityHashMap<>();
+    private boolean disposed;
+
+    /**
+     * Schedules background load of folders of specified node
+     */
+    void preloadChildren(@NotNull DBNDatabaseNode parent, @NotNull List<DBNDatabaseNode> children)
+    {
+        DBSObject object = parent.getObject();
+        if (!(object instanceof DBSSchema || object instanceof DBSCatalog)) {
+            return;
+        }
+        DBPDataSourceContainer container = parent.getDataSourceContainer();
+        DBPDataSource dataSource = object.getDataSource();
+        if (container == null || dataSource == null || !container.getPreferenceStore().getBoolean(ModelPreferences.META_PRELOAD_FOLDERS)) {
+            return;
+        }
+        List<DBNDatabaseNode> folders = new ArrayList<>();
+        for (DBNDatabaseNode child : children) {
+            if (child instanceof DBNDatabaseFolder && child.needsInitialization()) {
+                folders.add(child);
+            }
+        }
+        if (folders.size() < 2) {
+            // Nothing to parallelize
+            return;
+        }
+        int jobCount = Math.min(folders.size(), Math.max(1, container.getPreferenceStore().getInt(ModelPreferences.META_PRELOAD_THREADS)));
+        PreloadBatch batch = new PreloadBatch(dataSource);
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            for (DBNDatabaseNode folder : folders) {
+                if (!tasks.containsKey(folder)) {
+                    PreloadTask task = new PreloadTask(folder, batch);
+                    tasks.put(folder, task);
+                    batch.queue.add(task);
+                }
+            }
+        }
+        for (int i = 0; i < jobCount; i++) {
+            new PreloadJob(parent.getNodeName(), batch).schedule();
+        }
+    }
+
+    /**
+     * Called before node children read.
+     * Removes node from the queue or waits until background loader finishes it.
+     */
+    void beforeLoadChildren(@NotNull DBRProgressMonitor monitor, @NotNull DBNDatabaseNode node)
+    {
+        PreloadTask task;
+        synchronized (this) {
+            task = tasks.get(node);
+            if (task == null || task.thread == Thread.currentThread()) {
+                return;
+            }
+            if (task.thread == null) {
+                // Not started yet - caller will read it
+                task.batch.queue.remove(task);
+                tasks.remove(node);
+                return;
+            }
+        }
+        try {
+            synchronized (this) {
+                while (tasks.get(node) == task && !monitor.isCanceled()) {
+                    wait(WAIT_TIMEOUT);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Just stop waiting
+        }
+    }
+
+    /**
+     * Cancels background load of specified node
+     */
+    void cancelPreload(@NotNull DBNDatabaseNode node)
+    {
+        PreloadTask task;
+        synchronized (this) {
+            if (tasks.isEmpty()) {
+                return;
+            }
+            task = tasks.remove(node);
+            if (task == null) {
+                return;
+            }
+            task.batch.queue.remove(task);
+            notifyAll();
+        }
+        task.monitor.cancel();
+    }
+
+    void dispose()
+    {
+        List<PreloadTask> taskList;
+        synchronized (this) {
+            disposed = true;
+            taskList = new ArrayList<>(tasks.values());
+            for (PreloadTask task : taskList) {
+                task.batch.queue.clear();
+            }
+            tasks.clear();
+            notifyAll();
+        }
+        for (PreloadTask task : taskList) {
+            task.monitor.cancel();
+        }
+    }
+
+    private synchronized PreloadTask nextTask(PreloadBatch batch)
+    {
+        PreloadTask task = batch.queue.poll();
+        if (task != null) {
+            task.thread = Thread.currentThread();
+        }
+        return task;
+    }
+
+    private synchronized void finishTask(PreloadTask task)
+    {
+        if (tasks.get(task.node) == task) {
+            tasks.remove(task.node);
+        }
+        notifyAll();
+    }
+
+    private static class PreloadBatch {
+        final DBPDataSource dataSource;
+        final Deque<PreloadTask> queue = new ArrayDeque<>();
+
+        PreloadBatch(DBPDataSource dataSource)
+        {
+            this.dataSource = dataSource;
+        }
+    }
+
+    private static class PreloadTask {
+        final DBNDatabaseNode node;
+        final PreloadBatch batch;
+        final TaskMonitor monitor = new TaskMonitor();
+        volatile Thread thread;
+
+        PreloadTask(DBNDatabaseNode node, PreloadBatch batch)
+        {
+            this.node = node;
+            this.batch = batch;
+        }
+    }
+
+    /**
+     * Monitor of a single folder load. May be canceled separately from the loader job.
+     */
+    private static class TaskMonitor extends ProxyProgressMonitor {
+        private volatile DBRProgressMonitor jobMonitor;
+        private volatile boolean canceled;
+
+        TaskMonitor()
+        {
+            super(null);
+        }
+
+        void start(DBRProgressMonitor jobMonitor)
+        {
+            this.jobMonitor = jobMonitor;
+        }
+
+        @Override
+        public boolean isCanceled()
+        {
+            return canceled || (jobMonitor != null && jobMonitor.isCanceled());
+        }
+
+        void cancel()
+        {
+            canceled = true;
+            DBRProgressMonitor monitor = jobMonitor;
+            DBRBlockingObject block = monitor == null ? null : monitor.getActiveBlock();
+            if (block != null) {
+                try {
+                    block.cancelBlock();
+                } catch (Throwable e) {
+                    log.debug("Can't cancel metadata read", e);
+                }
+            }
+        }
+
+        @Override
+        public IProgressMonitor getNestedMonitor()
+        {
+            return jobMonitor.getNestedMonitor();
+        }
+
+        @Override
+        public void beginTask(String name, int totalWork)
+        {
+        }
+
+        @Override
+        public void done()
+        {
+        }
+
+        @Override
+        public void subTask(String name)
+        {
+            if (jobMonitor != null) {
+                jobMonitor.subTask(name);
+            }
+        }
+
+        @Override
+        public void worked(int work)
+        {
+        }
+
+        @Override
+        public void startBlock(DBRBlockingObject object, String taskName)
+        {
+            jobMonitor.startBlock(object, taskName);
+        }
+
+        @Override
+        public void endBlock()
+        {
+            jobMonitor.endBlock();
+        }
+
+        @Override
+        public DBRBlockingObject getActiveBlock()
+        {
+            return jobMonitor == null ? null : jobMonitor.getActiveBlock();
+        }
+    }
+
+    private class PreloadJob extends AbstractJob {
+        private final PreloadBatch batch;
+
+        PreloadJob(String parentName, PreloadBatch batch)
+        {
+            super("Load metadata of " + parentName);
+            this.batch = batch;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor)
+        {
+            DBCExecutionContext context;
+            try {
+                context = batch.dataSource.openIsolatedContext(monitor, "Metadata preload");
+            } catch (DBException e) {
+                log.debug("Can't open metadata preload context", e);
+                // Queued folders will be read on demand
+                cancelBatch();
+                return Status.OK_STATUS;
+            }
+            DBCExecutionContext.THREAD_META_CONTEXT.set(context);
+            try {
+                for (;;) {
+                    if (monitor.isCanceled()) {
+                        cancelBatch();
+                        break;
+                    }
+                    PreloadTask task = nextTask(batch);
+                    if (task == null) {
+                        break;
+                    }
+                    task.monitor.start(monitor);
+                    try {
+                        if (!task.monitor.isCanceled() && !task.node.isDisposed()) {
+                            task.node.getChildren(task.monitor);
+                        }
+                    } catch (Throwable e) {
+                        // Node will be read again on demand and error will be reported then
+                        log.debug("Error preloading '" + task.node.getNodeName() + "'", e);
+                    } finally {
+                        finishTask(task);
+                    }
+                }
+            } finally {
+                DBCExecutionContext.THREAD_META_CONTEXT.remove();
+                context.close();
+            }
+            return Status.OK_STATUS;
+        }
+
+        private void cancelBatch()
+        {
+            synchronized (DBNModelPreloader.this) {
+                for (PreloadTask task : batch.queue) {
+                    tasks.remove(task.node);
+                }
+                batch.queue.clear();
+                DBNModelPreloader.this.notifyAll();
+            }
+        }
+    }
+
+}
@@ -25,5 +25,14 @@ import org.jkiss.dbeaver.model.qm.meta.QMMSessionInfo;
  */
 public interface QMMCollector extends QMExecutionHandler {
 
+    /**
+     * Returns session meta information. Waits until pending events of this context are processed.
+     */
     QMMSessionInfo getSessionInfo(DBCExecutionContext context);
+
+    /**
+     * Returns last known session meta information. Doesn't wait for pending events
+     * so it is safe to call from UI thread.
+     */
+    QMMSessionInfo getSessionSnapshot(DBCExecutionContext context);
 }
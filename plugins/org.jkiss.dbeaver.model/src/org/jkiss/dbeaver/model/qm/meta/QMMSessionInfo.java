@@ -161,11 +161,18 @@ public class QMMSessionInfo extends QMMObject {
     }
 
     public QMMStatementExecuteInfo beginExecution(DBCStatement statement)
+    {
+        return beginExecution(statement, getExecutionQuery(statement));
+    }
+
+    /**
+     * Begins statement execution with query text captured at execution time
+     * (statement parameters may change after that).
+     */
+    public QMMStatementExecuteInfo beginExecution(DBCStatement statement, String queryString)
     {
         QMMStatementInfo stat = getStatement(statement);
         if (stat != null) {
-            String queryString = statement instanceof JDBCPreparedStatement ?
-                ((JDBCPreparedStatement) statement).getFormattedQuery() : statement.getQueryString();
             final QMMTransactionSavepointInfo savepoint =
                 isTransactional() && getTransaction() != null ?
                     getTransaction().getCurrentSavepoint() : null;
@@ -179,6 +186,12 @@ public class QMMSessionInfo extends QMMObject {
         }
     }
 
+    public static String getExecutionQuery(DBCStatement statement)
+    {
+        return statement instanceof JDBCPreparedStatement ?
+            ((JDBCPreparedStatement) statement).getFormattedQuery() : statement.getQueryString();
+    }
+
     public QMMStatementExecuteInfo endExecution(DBCStatement statement, long rowCount, Throwable error)
     {
         QMMStatementExecuteInfo exec = getExecution(statement);
@@ -198,6 +198,18 @@ public interface SQLDialect {
     @NotNull
     MultiValueInsertMode getMultiValueInsertMode();
 
+    /**
+     * Maximum number of bind parameters in one statement.
+     * @return max parameters count or 0 if there is no known limit
+     */
+    int getMaxParametersInStatement();
+
+    /**
+     * Maximum length of SQL statement text.
+     * @return max statement length or 0 if there is no known limit
+     */
+    int getMaxStatementLength();
+
     String addFiltersToQuery(DBPDataSource dataSource, String query, DBDDataFilter filter) throws DBException;
 
     /**
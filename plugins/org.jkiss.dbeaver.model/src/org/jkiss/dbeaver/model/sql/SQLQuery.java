@@ -18,7 +18,6 @@
 
 package org.jkiss.dbeaver.model.sql;
 
-import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Database;
 import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.Statement;
@@ -39,6 +38,7 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.exec.DBCAttributeMetaData;
 import org.jkiss.dbeaver.model.exec.DBCEntityMetaData;
+import org.jkiss.dbeaver.model.sql.parser.SQLStatementCache;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.Collections;
@@ -64,8 +64,12 @@ public class SQLQuery {
     private Object data;
     @NotNull
     private SQLQueryType type;
+    // Shared statement from parser cache. Must not be modified
     @Nullable
     private Statement statement;
+    // Own copy of statement (for callers which modify it)
+    @Nullable
+    private Statement ownStatement;
     private List<SQLQueryParameter> parameters;
     private SingleTableMeta singleTableMeta;
     private Map<String, SQLSelectItem> selectItems;
@@ -83,7 +87,7 @@ public class SQLQuery {
         this.length = length;
 
         try {
-            statement = CCJSqlParserUtil.parse(query);
+            statement = SQLStatementCache.parse(query);
             if (statement instanceof Select) {
                 type = SQLQueryType.SELECT;
                 // Detect single source table
@@ -155,6 +159,7 @@ public class SQLQuery {
      * @return true is this query is a plain select
      */
     public boolean isPlainSelect() {
+        Statement statement = ownStatement != null ? ownStatement : this.statement;
         if (statement instanceof Select && ((Select) statement).getSelectBody() instanceof PlainSelect) {
             PlainSelect selectBody = (PlainSelect) ((Select) statement).getSelectBody();
             return selectBody.getFromItem() != null &&
@@ -189,9 +194,20 @@ public class SQLQuery {
         return queryTitle;
     }
 
+    /**
+     * Returns parsed statement. Statement belongs to this query and may be modified by caller.
+     */
     @Nullable
     public Statement getStatement() {
-        return statement;
+        if (ownStatement == null && statement != null) {
+            try {
+                ownStatement = SQLStatementCache.parseCopy(originalQuery);
+            } catch (Throwable e) {
+                // Shouldn't happen - the same text was parsed before
+                return null;
+            }
+        }
+        return ownStatement;
     }
 
     public List<SQLQueryParameter> getParameters() {
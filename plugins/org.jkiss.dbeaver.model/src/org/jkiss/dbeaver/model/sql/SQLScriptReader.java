@@ -0,0 +1,479 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.model.sql;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.Pair;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming SQL script reader.
+ * Splits script text into statements using the same delimiter, comment, quote and block rules as the SQL editor
+ * but reads the source through a small fixed buffer, so only the current statement is kept in memory.
+ */
+public class SQLScriptReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int PENDING_NONE = 0;
+    private static final int PENDING_BEGIN = 1;
+    private static final int PENDING_END = 2;
+
+    @NotNull
+    private final Reader reader;
+    @NotNull
+    private final SQLDialect dialect;
+    private final char escapeChar;
+    @Nullable
+    private final String quoteSymbol;
+    @Nullable
+    private final Pair<String, String> multiLineComments;
+    private final List<String> lineComments = new ArrayList<>();
+    private final List<String> lineStartComments = new ArrayList<>();
+    private final List<String> symbolDelimiters = new ArrayList<>();
+    private final List<String> wordDelimiters = new ArrayList<>();
+    private final boolean blankLineDelimiter;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPos;
+    private int bufferEnd;
+    private boolean eof;
+
+    private long offset;
+    private int line = 1;
+    private int column;
+
+    private final StringBuilder statement = new StringBuilder();
+    private long statementOffset;
+    private int statementLine;
+
+    // Per-statement parse state
+    private int blockDepth;
+    private int bracketDepth;
+    private int pendingBlock;
+    private boolean hasBlocks;
+
+    public SQLScriptReader(@NotNull Reader reader, @NotNull SQLSyntaxManager syntaxManager)
+    {
+        this.reader = reader;
+        this.dialect = syntaxManager.getDialect();
+        this.escapeChar = syntaxManager.getEscapeChar();
+        this.quoteSymbol = syntaxManager.getQuoteSymbol();
+        this.multiLineComments = dialect.getMultiLineComments();
+        String[] singleLineComments = dialect.getSingleLineComments();
+        if (singleLineComments != null) {
+            for (String comment : singleLineComments) {
+                if (comment.startsWith("^")) {
+                    lineStartComments.add(comment.substring(1));
+                } else {
+                    lineComments.add(comment);
+                }
+            }
+        }
+        for (String delimiter : syntaxManager.getStatementDelimiters()) {
+            if (CommonUtils.isEmpty(delimiter)) {
+                continue;
+            }
+            if (isWordDelimiter(delimiter)) {
+                wordDelimiters.add(delimiter);
+            } else {
+                symbolDelimiters.add(delimiter);
+            }
+        }
+        this.blankLineDelimiter = syntaxManager.isBlankLineDelimiter();
+    }
+
+    /**
+     * Number of characters consumed from the source so far
+     */
+    public long getOffset()
+    {
+        return offset;
+    }
+
+    /**
+     * Character offset of the last statement returned by {@link #nextStatement()}
+     */
+    public long getStatementOffset()
+    {
+        return statementOffset;
+    }
+
+    /**
+     * Line number (1-based) of the last statement returned by {@link #nextStatement()}
+     */
+    public int getStatementLine()
+    {
+        return statementLine;
+    }
+
+    /**
+     * Reads next statement.
+     * Empty statements and comments between statements are skipped.
+     * @return statement text or null if the end of script was reached
+     */
+    @Nullable
+    public String nextStatement() throws IOException
+    {
+        statement.setLength(0);
+        blockDepth = 0;
+        bracketDepth = 0;
+        pendingBlock = PENDING_NONE;
+        hasBlocks = false;
+        boolean hasContent = false;
+        boolean lineBlank = true;
+
+        for (;;) {
+            int c = peek(0);
+            if (c < 0) {
+                break;
+            }
+            if (c == '\n') {
+                if (blankLineDelimiter && hasContent && lineBlank && blockDepth == 0) {
+                    consume(statement, 1, hasContent);
+                    break;
+                }
+                consume(statement, 1, hasContent);
+                lineBlank = true;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                consume(statement, 1, hasContent);
+                continue;
+            }
+            lineBlank = false;
+
+            // Comments
+            String comment = matchComment();
+            if (comment != null) {
+                if (multiLineComments != null && comment.equals(multiLineComments.getFirst())) {
+                    consume(statement, comment.length(), hasContent);
+                    consumeUntil(multiLineComments.getSecond(), hasContent);
+                } else {
+                    consume(statement, comment.length(), hasContent);
+                    while ((c = peek(0)) >= 0 && c != '\n') {
+                        consume(statement, 1, hasContent);
+                    }
+                }
+                continue;
+            }
+
+            // Quoted strings and identifiers
+            if (c == '\'') {
+                resolvePendingBlock(null);
+                hasContent = startContent(hasContent);
+                consumeQuoted("'", true);
+                continue;
+            }
+            if (quoteSymbol != null && matches(quoteSymbol, false)) {
+                resolvePendingBlock(null);
+                hasContent = startContent(hasContent);
+                consumeQuoted(quoteSymbol, false);
+                continue;
+            }
+            if (c == '"') {
+                resolvePendingBlock(null);
+                hasContent = startContent(hasContent);
+                consumeQuoted("\"", false);
+                continue;
+            }
+
+            // Symbol delimiters
+            String delimiter = matchSymbolDelimiter();
+            if (delimiter != null) {
+                resolvePendingBlock(delimiter);
+                if (blockDepth == 0 && bracketDepth == 0) {
+                    if (hasBlocks && dialect.isDelimiterAfterBlock()) {
+                        consume(statement, delimiter.length(), true);
+                    } else {
+                        consume(statement, delimiter.length(), false);
+                    }
+                    if (hasContent) {
+                        break;
+                    }
+                    continue;
+                }
+                hasContent = startContent(hasContent);
+                consume(statement, delimiter.length(), true);
+                continue;
+            }
+
+            if (isWordStart(c)) {
+                int wordLength = 1;
+                while (isWordPart(peek(wordLength))) {
+                    wordLength++;
+                }
+                String word = new String(buffer, bufferPos, wordLength);
+                boolean regularWord = resolvePendingBlock(word);
+                if (blockDepth == 0 && bracketDepth == 0 && isWordDelimiter(word, wordDelimiters)) {
+                    consume(statement, wordLength, false);
+                    if (hasContent) {
+                        break;
+                    }
+                    continue;
+                }
+                hasContent = startContent(hasContent);
+                if (regularWord) {
+                    processBlockWord(word);
+                }
+                consume(statement, wordLength, true);
+                continue;
+            }
+
+            resolvePendingBlock(null);
+            hasContent = startContent(hasContent);
+            if (c == '(') {
+                bracketDepth++;
+            } else if (c == ')' && bracketDepth > 0) {
+                bracketDepth--;
+            }
+            consume(statement, 1, true);
+        }
+
+        if (!hasContent) {
+            return null;
+        }
+        return statement.toString().trim();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        reader.close();
+    }
+
+    private boolean startContent(boolean hasContent)
+    {
+        if (!hasContent) {
+            statementOffset = offset;
+            statementLine = line;
+        }
+        return true;
+    }
+
+    /**
+     * BEGIN and END are resolved by the next token, so that BEGIN TRANSACTION, END IF and END LOOP
+     * don't change the block depth.
+     * @return true if token must be processed as a regular word
+     */
+    private boolean resolvePendingBlock(@Nullable String token)
+    {
+        int pending = pendingBlock;
+        pendingBlock = PENDING_NONE;
+        if (pending == PENDING_BEGIN) {
+            if (token != null && (isDelimiter(token) ||
+                token.equalsIgnoreCase("TRANSACTION") || token.equalsIgnoreCase("TRAN") || token.equalsIgnoreCase("WORK")))
+            {
+                return false;
+            }
+            blockDepth++;
+            hasBlocks = true;
+        } else if (pending == PENDING_END) {
+            if (token != null && (token.equalsIgnoreCase("IF") || token.equalsIgnoreCase("LOOP") ||
+                token.equalsIgnoreCase("WHILE") || token.equalsIgnoreCase("REPEAT")))
+            {
+                return false;
+            }
+            if (blockDepth > 0) {
+                blockDepth--;
+            }
+            if (token != null && token.equalsIgnoreCase("CASE")) {
+                // END CASE closes the CASE opened before
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void processBlockWord(String word)
+    {
+        if (word.equalsIgnoreCase(SQLConstants.BLOCK_BEGIN)) {
+            pendingBlock = PENDING_BEGIN;
+        } else if (word.equalsIgnoreCase(SQLConstants.BLOCK_END)) {
+            pendingBlock = PENDING_END;
+        } else if (word.equalsIgnoreCase("CASE")) {
+            // CASE expressions are closed with END
+            blockDepth++;
+        }
+    }
+
+    private boolean isDelimiter(String token)
+    {
+        return symbolDelimiters.contains(token) || isWordDelimiter(token, wordDelimiters);
+    }
+
+    @Nullable
+    private String matchComment() throws IOException
+    {
+        if (multiLineComments != null && matches(multiLineComments.getFirst(), false)) {
+            return multiLineComments.getFirst();
+        }
+        for (String comment : lineComments) {
+            if (matches(comment, false)) {
+                return comment;
+            }
+        }
+        if (column == 0) {
+            for (String comment : lineStartComments) {
+                if (matches(comment, false)) {
+                    return comment;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private String matchSymbolDelimiter() throws IOException
+    {
+        for (String delimiter : symbolDelimiters) {
+            if (matches(delimiter, true)) {
+                return delimiter;
+            }
+        }
+        return null;
+    }
+
+    private void consumeQuoted(String quote, boolean multiLine) throws IOException
+    {
+        consume(statement, quote.length(), true);
+        for (;;) {
+            int c = peek(0);
+            if (c < 0 || (!multiLine && c == '\n')) {
+                return;
+            }
+            if (c == escapeChar && escapeChar != 0 && peek(1) >= 0) {
+                consume(statement, 2, true);
+                continue;
+            }
+            if (matches(quote, false)) {
+                consume(statement, quote.length(), true);
+                if (!matches(quote, false)) {
+                    return;
+                }
+                // Doubled quote
+                consume(statement, quote.length(), true);
+                continue;
+            }
+            consume(statement, 1, true);
+        }
+    }
+
+    private void consumeUntil(String end, boolean append) throws IOException
+    {
+        while (peek(0) >= 0) {
+            if (matches(end, false)) {
+                consume(statement, end.length(), append);
+                return;
+            }
+            consume(statement, 1, append);
+        }
+    }
+
+    private boolean matches(String token, boolean ignoreCase) throws IOException
+    {
+        for (int i = 0; i < token.length(); i++) {
+            int c = peek(i);
+            if (c < 0) {
+                return false;
+            }
+            char tc = token.charAt(i);
+            if (c != tc && !(ignoreCase && Character.toLowerCase((char) c) == Character.toLowerCase(tc))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int peek(int ahead) throws IOException
+    {
+        while (bufferPos + ahead >= bufferEnd) {
+            if (eof || ahead >= buffer.length) {
+                return -1;
+            }
+            if (bufferPos > 0) {
+                System.arraycopy(buffer, bufferPos, buffer, 0, bufferEnd - bufferPos);
+                bufferEnd -= bufferPos;
+                bufferPos = 0;
+            }
+            int count = reader.read(buffer, bufferEnd, buffer.length - bufferEnd);
+            if (count < 0) {
+                eof = true;
+                return -1;
+            }
+            bufferEnd += count;
+        }
+        return buffer[bufferPos + ahead];
+    }
+
+    private void consume(StringBuilder text, int count, boolean append)
+    {
+        for (int i = 0; i < count && bufferPos < bufferEnd; i++) {
+            char c = buffer[bufferPos++];
+            offset++;
+            if (c == '\n') {
+                line++;
+                column = 0;
+            } else {
+                column++;
+            }
+            if (append) {
+                text.append(c);
+            }
+        }
+    }
+
+    private static boolean isWordStart(int c)
+    {
+        return c >= 0 && (Character.isLetterOrDigit(c) || c == '_');
+    }
+
+    private static boolean isWordPart(int c)
+    {
+        return c >= 0 && (Character.isLetterOrDigit(c) || c == '_' || c == '$');
+    }
+
+    private static boolean isWordDelimiter(String delimiter)
+    {
+        for (int i = 0; i < delimiter.length(); i++) {
+            if (!isWordPart(delimiter.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWordDelimiter(String word, List<String> wordDelimiters)
+    {
+        for (String delimiter : wordDelimiters) {
+            if (delimiter.equalsIgnoreCase(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
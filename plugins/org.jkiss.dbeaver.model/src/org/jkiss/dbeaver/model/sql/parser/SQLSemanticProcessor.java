@@ -51,7 +51,7 @@ public class SQLSemanticProcessor {
     public static boolean isSelectQuery(String query)
     {
         try {
-            Statement statement = CCJSqlParserUtil.parse(query);
+            Statement statement = SQLStatementCache.parse(query);
             return
                 statement instanceof Select &&
                 ((Select) statement).getSelectBody() instanceof PlainSelect &&
@@ -65,12 +65,14 @@ public class SQLSemanticProcessor {
     public static String addFiltersToQuery(final DBPDataSource dataSource, String sqlQuery, final DBDDataFilter dataFilter) throws DBException {
         boolean supportSubqueries = dataSource instanceof SQLDataSource && ((SQLDataSource) dataSource).getSQLDialect().supportsSubqueries();
         try {
-            Statement statement = CCJSqlParserUtil.parse(sqlQuery);
+            Statement statement = SQLStatementCache.parse(sqlQuery);
             if (statement instanceof Select && ((Select) statement).getSelectBody() instanceof PlainSelect) {
                 PlainSelect select = (PlainSelect) ((Select) statement).getSelectBody();
                 if (!supportSubqueries || CommonUtils.isEmpty(select.getJoins())) {
-                    patchSelectQuery(dataSource, select, dataFilter);
-                    return statement.toString();
+                    // Cached statement is shared. Patch own copy
+                    Statement ownStatement = SQLStatementCache.parseCopy(sqlQuery);
+                    patchSelectQuery(dataSource, (PlainSelect) ((Select) ownStatement).getSelectBody(), dataFilter);
+                    return ownStatement.toString();
                 }
             }
             return wrapQuery(dataSource, sqlQuery, dataFilter);
@@ -0,0 +1,116 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import org.jkiss.code.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of parsed SQL statements.
+ * Bounded LRU map of query text to parsed statement (or parse error).
+ * Cached statements are shared and must not be modified - callers which change
+ * statement must get own copy with {@link #parseCopy(String)}.
+ * Parser doesn't depend on SQL dialect so dialect is not a part of the key.
+ */
+public class SQLStatementCache {
+
+    private static final int MAX_CACHE_SIZE = 200;
+
+    private static final Map<String, Object> cache = new LinkedHashMap<String, Object>(MAX_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest)
+        {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Returns shared parsed statement. Result must not be modified.
+     */
+    @NotNull
+    public static Statement parse(@NotNull String query) throws JSQLParserException
+    {
+        String key = normalizeQuery(query);
+        Object result;
+        synchronized (cache) {
+            result = cache.get(key);
+        }
+        if (result != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+            // Parse outside of lock - the same query may be parsed twice but it doesn't matter
+            try {
+                result = CCJSqlParserUtil.parse(key);
+            } catch (JSQLParserException e) {
+                result = e;
+            } catch (Throwable e) {
+                // Parser may fail with errors
+                result = new JSQLParserException(e);
+            }
+            synchronized (cache) {
+                cache.put(key, result);
+            }
+        }
+        if (result instanceof JSQLParserException) {
+            throw (JSQLParserException) result;
+        }
+        return (Statement) result;
+    }
+
+    /**
+     * Parses new instance of statement which may be modified by caller.
+     */
+    @NotNull
+    public static Statement parseCopy(@NotNull String query) throws JSQLParserException
+    {
+        return CCJSqlParserUtil.parse(normalizeQuery(query));
+    }
+
+    public static long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+    public static long getMissCount()
+    {
+        return missCount.get();
+    }
+
+    public static void clear()
+    {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static String normalizeQuery(String query)
+    {
+        return query.trim();
+    }
+
+}
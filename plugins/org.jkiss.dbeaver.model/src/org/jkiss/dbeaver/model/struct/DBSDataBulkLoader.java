@@ -0,0 +1,49 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionSource;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+/**
+ * Data bulk loader.
+ * Data manipulator which can load data with native database bulk load protocol (COPY, LOAD DATA, etc).
+ * Bulk load is usually much faster than batched inserts but doesn't return generated keys.
+ */
+public interface DBSDataBulkLoader extends DBSDataManipulator {
+
+    /**
+     * Checks whether bulk load of specified attributes is possible in specified session.
+     * It may depend on driver version and attribute types.
+     */
+    boolean isBulkLoadSupported(@NotNull DBCSession session, @NotNull DBSAttributeBase[] attributes);
+
+    /**
+     * Creates bulk load batch. Batch is used the same way as batch returned by insertData.
+     */
+    @NotNull
+    ExecuteBatch bulkLoadData(
+        @NotNull DBCSession session,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source)
+        throws DBCException;
+
+}
@@ -35,6 +35,14 @@ public interface DBSDataManipulator extends DBSDataContainer {
     int DATA_INSERT         = 1 << 16;
     int DATA_UPDATE         = 1 << 17;
     int DATA_DELETE         = 1 << 18;
+    /**
+     * Insert can bind NULL values explicitly (see insertData with bindNulls parameter)
+     */
+    int DATA_INSERT_NULLS   = 1 << 19;
+    /**
+     * Insert can put several rows in one statement (see insertMultiRowData)
+     */
+    int DATA_INSERT_MULTI_ROW = 1 << 20;
 
     interface ExecuteBatch {
         void add(@NotNull Object[] attributeValues) throws DBCException;
@@ -53,6 +61,37 @@ public interface DBSDataManipulator extends DBSDataContainer {
         @NotNull DBCExecutionSource source)
         throws DBCException;
 
+    /**
+     * Creates insert batch.
+     * @param bindNulls if true then all attributes are bound (NULL values are set explicitly) and the same statement
+     *                  is reused for all rows regardless of their NULL values. Otherwise NULL attributes are omitted
+     *                  from insert (so their default values are used).
+     *                  May be true only if container supports {@link #DATA_INSERT_NULLS} feature.
+     */
+    @NotNull
+    ExecuteBatch insertData(
+        @NotNull DBCSession session,
+        @NotNull DBSAttributeBase[] attributes,
+        @Nullable DBDDataReceiver keysReceiver,
+        @NotNull DBCExecutionSource source,
+        boolean bindNulls)
+        throws DBCException;
+
+    /**
+     * Creates insert batch which puts several rows in one statement (INSERT ... VALUES (...),(...),...).
+     * All attributes are bound (NULL values are set explicitly).
+     * May be used only if container supports {@link #DATA_INSERT_MULTI_ROW} feature.
+     * @param maxRowsInStatement maximum number of rows in one statement. Actual number may be less
+     *                           because of parameters count and statement length limits of the database.
+     */
+    @NotNull
+    ExecuteBatch insertMultiRowData(
+        @NotNull DBCSession session,
+        @NotNull DBSAttributeBase[] attributes,
+        @NotNull DBCExecutionSource source,
+        int maxRowsInStatement)
+        throws DBCException;
+
     @NotNull
     ExecuteBatch updateData(
         @NotNull DBCSession session,
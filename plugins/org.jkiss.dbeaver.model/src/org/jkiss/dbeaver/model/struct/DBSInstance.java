@@ -59,4 +59,16 @@ public interface DBSInstance extends DBSObject, DBPCloseableObject
     @NotNull
     DBCExecutionContext openIsolatedContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose) throws DBException;
 
+    /**
+     * Opens new isolated execution context.
+     *
+     * @param monitor progress monitor
+     * @param purpose context purpose (just a descriptive string)
+     * @param reusable context may be taken from pool of idle contexts and returned there on close.
+     *                 Contexts which keep session state (variables, temp tables, etc) must not be reusable.
+     * @return execution context
+     */
+    @NotNull
+    DBCExecutionContext openIsolatedContext(@NotNull DBRProgressMonitor monitor, @NotNull String purpose, boolean reusable) throws DBException;
+
 }
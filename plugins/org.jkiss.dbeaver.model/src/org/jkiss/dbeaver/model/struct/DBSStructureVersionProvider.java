@@ -0,0 +1,43 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2016 Serge Rieder (serge@jkiss.org)
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (version 2)
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jkiss.dbeaver.model.struct;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.Map;
+
+/**
+ * Provides cheap structure change markers of data source containers (schemas, catalogs).
+ * Marker of container changes whenever any object in it is created, altered or dropped.
+ * Used to revalidate persisted metadata without reading it again.
+ */
+public interface DBSStructureVersionProvider
+{
+
+    /**
+     * Reads markers of all containers.
+     * Container is identified by path - names of containers from data source root separated by '/'.
+     * @return map of container path to its marker
+     */
+    @NotNull
+    Map<String, String> readStructureVersions(@NotNull DBRProgressMonitor monitor)
+        throws DBException;
+
+}